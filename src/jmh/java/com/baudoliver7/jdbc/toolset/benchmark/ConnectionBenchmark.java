@@ -0,0 +1,180 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.benchmark;
+
+import com.baudoliver7.jdbc.toolset.lockable.LockedConnection;
+import com.baudoliver7.jdbc.toolset.wrapper.ConnectionWrap;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of connection decorators stacked on a raw H2 in-memory connection.
+ * <p>A depth of zero measures the raw connection.</p>
+ *
+ * @since 0.5
+ * @checkstyle VisibilityModifierCheck (500 lines)
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+@SuppressWarnings("PMD")
+public class ConnectionBenchmark {
+
+    /**
+     * Kind of decorator.
+     */
+    @Param({"wrap", "locked"})
+    public String layer;
+
+    /**
+     * Number of decorators stacked.
+     */
+    @Param({"0", "1", "2", "3", "4", "5"})
+    public int depth;
+
+    /**
+     * Raw connection.
+     */
+    private Connection raw;
+
+    /**
+     * Decorated connection.
+     */
+    private Connection connection;
+
+    /**
+     * Opens connection and stacks decorators.
+     * @throws SQLException If fails
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        this.raw = DriverManager.getConnection("jdbc:h2:mem:bench");
+        Connection conn = this.raw;
+        for (int idx = 0; idx < this.depth; ++idx) {
+            if ("locked".equals(this.layer)) {
+                conn = new LockedConnection(conn);
+            } else {
+                conn = new Layer(conn);
+            }
+        }
+        this.connection = conn;
+    }
+
+    /**
+     * Closes connection.
+     * @throws SQLException If fails
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        this.raw.close();
+    }
+
+    /**
+     * Creates and closes a statement.
+     * @return Statement
+     * @throws SQLException If fails
+     */
+    @Benchmark
+    public Statement createStatement() throws SQLException {
+        final Statement stmt = this.connection.createStatement();
+        stmt.close();
+        return stmt;
+    }
+
+    /**
+     * Prepares and closes a statement.
+     * @return Statement
+     * @throws SQLException If fails
+     */
+    @Benchmark
+    public PreparedStatement prepareStatement() throws SQLException {
+        final PreparedStatement stmt = this.connection.prepareStatement("SELECT 1");
+        stmt.close();
+        return stmt;
+    }
+
+    /**
+     * Prepares, executes and closes a query.
+     * @return Value read
+     * @throws SQLException If fails
+     */
+    @Benchmark
+    public int execute() throws SQLException {
+        try (
+            PreparedStatement stmt = this.connection.prepareStatement("SELECT 1");
+            ResultSet rset = stmt.executeQuery()
+        ) {
+            rset.next();
+            return rset.getInt(1);
+        }
+    }
+
+    /**
+     * Reads a connection property through decorators.
+     * @return Auto-commit mode
+     * @throws SQLException If fails
+     */
+    @Benchmark
+    public boolean delegate() throws SQLException {
+        return this.connection.getAutoCommit();
+    }
+
+    /**
+     * Simplest connection decorator.
+     *
+     * @since 0.5
+     */
+    private static final class Layer extends ConnectionWrap {
+
+        /**
+         * Ctor.
+         * @param origin Connection wrapped
+         */
+        Layer(final Connection origin) {
+            super(origin);
+        }
+    }
+}
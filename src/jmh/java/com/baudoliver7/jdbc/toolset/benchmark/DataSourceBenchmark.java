@@ -0,0 +1,158 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.benchmark;
+
+import com.baudoliver7.jdbc.toolset.wrapper.DataSourceWrap;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of data source decorators when borrowing a connection.
+ * <p>The origin always gives the same H2 in-memory connection, so that only
+ * decorators are measured. A depth of zero measures the origin.</p>
+ *
+ * @since 0.5
+ * @checkstyle VisibilityModifierCheck (500 lines)
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+@SuppressWarnings("PMD")
+public class DataSourceBenchmark {
+
+    /**
+     * Number of decorators stacked.
+     */
+    @Param({"0", "1", "2", "3", "4", "5"})
+    public int depth;
+
+    /**
+     * Raw connection.
+     */
+    private Connection raw;
+
+    /**
+     * Decorated data source.
+     */
+    private DataSource source;
+
+    /**
+     * Opens connection and stacks decorators.
+     * @throws SQLException If fails
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        final JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:bench");
+        this.raw = h2.getConnection();
+        DataSource src = new Fixed(h2, this.raw);
+        for (int idx = 0; idx < this.depth; ++idx) {
+            src = new Layer(src);
+        }
+        this.source = src;
+    }
+
+    /**
+     * Closes connection.
+     * @throws SQLException If fails
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        this.raw.close();
+    }
+
+    /**
+     * Borrows a connection through decorators.
+     * @return Connection
+     * @throws SQLException If fails
+     */
+    @Benchmark
+    public Connection borrow() throws SQLException {
+        return this.source.getConnection();
+    }
+
+    /**
+     * Data source which always gives the same connection.
+     *
+     * @since 0.5
+     */
+    private static final class Fixed extends DataSourceWrap {
+
+        /**
+         * Connection.
+         */
+        private final Connection connection;
+
+        /**
+         * Ctor.
+         * @param origin Data source
+         * @param connection Connection to give
+         */
+        Fixed(final DataSource origin, final Connection connection) {
+            super(origin);
+            this.connection = connection;
+        }
+
+        @Override
+        public Connection getConnection() {
+            return this.connection;
+        }
+    }
+
+    /**
+     * Simplest data source decorator.
+     *
+     * @since 0.5
+     */
+    private static final class Layer extends DataSourceWrap {
+
+        /**
+         * Ctor.
+         * @param origin Data source wrapped
+         */
+        Layer(final DataSource origin) {
+            super(origin);
+        }
+    }
+}
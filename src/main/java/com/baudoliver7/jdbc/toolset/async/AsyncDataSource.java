@@ -0,0 +1,380 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.async;
+
+import com.baudoliver7.jdbc.toolset.stream.RowMapper;
+import com.baudoliver7.jdbc.toolset.wrapper.DataSourceWrap;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+
+/**
+ * Data source which runs queries and units of work asynchronously.
+ * <p>Each task runs on the executor with its own connection, closed after
+ * it, and its result completes the future returned. At most as many tasks
+ * as permits are handed to the executor at once: size permits to the pool
+ * under it, so that the pool is never exhausted by asynchronous tasks.
+ * Other tasks wait in a queue, without holding a thread, until a running
+ * task ends. When the queue holds its backlog of tasks, next submissions
+ * fail at once with a {@link RejectedExecutionException}: callers get
+ * backpressure instead of piling up tasks. Default executor runs each task
+ * on a virtual thread where the JVM has them (Java 21 and later), on a
+ * cached pool of daemon threads otherwise.</p>
+ * <p>Cancelling the future, or its timeout elapsing, cancels statements
+ * of the task with {@link java.sql.Statement#cancel()}. A task cancelled
+ * before it gets its permit doesn't run.</p>
+ * <pre>{@code
+ * final AsyncDataSource src = new AsyncDataSource(pool, 20);
+ * src.query("SELECT name FROM person", rset -> rset.getString(1))
+ *     .thenAccept(names -> ...);
+ * }</pre>
+ *
+ * @since 0.5
+ */
+public final class AsyncDataSource extends DataSourceWrap {
+
+    /**
+     * Timer of timeouts, shared by all data sources.
+     */
+    private static final ScheduledThreadPoolExecutor TIMER = AsyncDataSource.timer();
+
+    /**
+     * Permits to hold a connection.
+     */
+    private final Semaphore permits;
+
+    /**
+     * Executor of tasks.
+     */
+    private final Executor executor;
+
+    /**
+     * Tasks waiting for a permit, as starts.
+     */
+    private final Queue<Runnable> waiting;
+
+    /**
+     * Number of tasks waiting for a permit.
+     */
+    private final AtomicInteger queued;
+
+    /**
+     * Maximum number of tasks waiting for a permit.
+     */
+    private final int backlog;
+
+    /**
+     * Ctor.
+     * @param origin Data source wrapped
+     * @param permits Maximum number of tasks holding a connection at once
+     */
+    public AsyncDataSource(final DataSource origin, final int permits) {
+        this(origin, permits, AsyncDataSource.executor());
+    }
+
+    /**
+     * Ctor.
+     * @param origin Data source wrapped
+     * @param permits Maximum number of tasks holding a connection at once
+     * @param executor Executor of tasks
+     */
+    public AsyncDataSource(
+        final DataSource origin, final int permits, final Executor executor
+    ) {
+        this(origin, permits, 1000, executor);
+    }
+
+    /**
+     * Ctor.
+     * @param origin Data source wrapped
+     * @param permits Maximum number of tasks holding a connection at once
+     * @param backlog Maximum number of tasks waiting for a permit
+     * @param executor Executor of tasks
+     * @checkstyle ParameterNumberCheck (4 lines)
+     */
+    public AsyncDataSource(
+        final DataSource origin, final int permits, final int backlog,
+        final Executor executor
+    ) {
+        super(origin);
+        if (permits < 1 || backlog < 0) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Invalid number of permits (%d) or backlog (%d)", permits, backlog
+                )
+            );
+        }
+        this.permits = new Semaphore(permits);
+        this.executor = executor;
+        this.waiting = new ConcurrentLinkedQueue<>();
+        this.queued = new AtomicInteger();
+        this.backlog = backlog;
+    }
+
+    /**
+     * Submits a unit of work.
+     * <p>The future fails with a {@link RejectedExecutionException} if the
+     * backlog of tasks waiting for a permit is full.</p>
+     * @param task Task
+     * @param <T> Type of result
+     * @return Future result
+     */
+    public <T> CompletableFuture<T> submit(final Task<T> task) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        final Execution execution = new Execution();
+        future.whenComplete(
+            (result, err) -> {
+                if (err != null) {
+                    execution.cancel();
+                }
+            }
+        );
+        final Runnable start = () -> this.start(task, future, execution);
+        if (this.permits.tryAcquire()) {
+            start.run();
+        } else if (this.queued.incrementAndGet() > this.backlog) {
+            this.queued.decrementAndGet();
+            future.completeExceptionally(
+                new RejectedExecutionException(
+                    String.format("Backlog of %d tasks is full", this.backlog)
+                )
+            );
+        } else {
+            this.waiting.add(start);
+            this.drain();
+        }
+        return future;
+    }
+
+    /**
+     * Submits a unit of work which should complete within a timeout.
+     * <p>On timeout, the future completes with a {@link TimeoutException}
+     * and statements of task are cancelled.</p>
+     * @param task Task
+     * @param timeout Timeout
+     * @param <T> Type of result
+     * @return Future result
+     */
+    public <T> CompletableFuture<T> submit(final Task<T> task, final Duration timeout) {
+        final CompletableFuture<T> future = this.submit(task);
+        final ScheduledFuture<?> timer = AsyncDataSource.TIMER.schedule(
+            () -> future.completeExceptionally(
+                new TimeoutException(
+                    String.format("Task timed out after %s", timeout)
+                )
+            ),
+            timeout.toNanos(), TimeUnit.NANOSECONDS
+        );
+        future.whenComplete((result, err) -> timer.cancel(false));
+        return future;
+    }
+
+    /**
+     * Submits a query.
+     * @param sql Query
+     * @param mapper Mapper of rows
+     * @param params Parameters
+     * @param <T> Type of row
+     * @return Future rows
+     */
+    public <T> CompletableFuture<List<T>> query(
+        final String sql, final RowMapper<T> mapper, final Object... params
+    ) {
+        return this.submit(
+            conn -> {
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    AsyncDataSource.bind(stmt, params);
+                    try (ResultSet rset = stmt.executeQuery()) {
+                        final List<T> rows = new ArrayList<>(16);
+                        while (rset.next()) {
+                            rows.add(mapper.map(rset));
+                        }
+                        return rows;
+                    }
+                }
+            }
+        );
+    }
+
+    /**
+     * Submits an update.
+     * @param sql Update
+     * @param params Parameters
+     * @return Future number of rows updated
+     */
+    public CompletableFuture<Integer> update(final String sql, final Object... params) {
+        return this.submit(
+            conn -> {
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    AsyncDataSource.bind(stmt, params);
+                    return stmt.executeUpdate();
+                }
+            }
+        );
+    }
+
+    /**
+     * Hands a task holding a permit to the executor.
+     * @param task Task
+     * @param future Future to complete
+     * @param execution Execution of task
+     * @param <T> Type of result
+     */
+    private <T> void start(
+        final Task<T> task, final CompletableFuture<T> future, final Execution execution
+    ) {
+        try {
+            this.executor.execute(() -> this.run(task, future, execution));
+        } catch (final RejectedExecutionException ex) {
+            future.completeExceptionally(ex);
+            this.release();
+        }
+    }
+
+    /**
+     * Runs a task holding a permit, then gives back the permit.
+     * @param task Task
+     * @param future Future to complete
+     * @param execution Execution of task
+     * @param <T> Type of result
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private <T> void run(
+        final Task<T> task, final CompletableFuture<T> future, final Execution execution
+    ) {
+        try {
+            if (!future.isDone()) {
+                try (
+                    Connection conn = new CancellableConnection(
+                        super.getConnection(), execution
+                    )
+                ) {
+                    future.complete(task.apply(conn));
+                }
+            }
+            // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final SQLException | RuntimeException ex) {
+            future.completeExceptionally(ex);
+        } catch (final Error err) {
+            future.completeExceptionally(err);
+            throw err;
+        } finally {
+            this.release();
+        }
+    }
+
+    /**
+     * Gives back a permit, then starts tasks waiting for one.
+     */
+    private void release() {
+        this.permits.release();
+        this.drain();
+    }
+
+    /**
+     * Starts tasks waiting as long as there are permits.
+     * <p>Called after each task queued and each permit given back, so that
+     * no task is left waiting while a permit is free.</p>
+     */
+    private void drain() {
+        while (!this.waiting.isEmpty() && this.permits.tryAcquire()) {
+            final Runnable start = this.waiting.poll();
+            if (start == null) {
+                this.permits.release();
+            } else {
+                this.queued.decrementAndGet();
+                start.run();
+            }
+        }
+    }
+
+    /**
+     * Binds parameters to a statement.
+     * @param stmt Statement
+     * @param params Parameters
+     * @throws SQLException If fails
+     */
+    private static void bind(final PreparedStatement stmt, final Object... params)
+        throws SQLException {
+        for (int idx = 0; idx < params.length; ++idx) {
+            stmt.setObject(idx + 1, params[idx]);
+        }
+    }
+
+    /**
+     * Default executor: virtual threads if any, cached daemon threads otherwise.
+     * @return Executor
+     */
+    private static Executor executor() {
+        Executor exec;
+        try {
+            exec = (Executor) Executors.class
+                .getMethod("newVirtualThreadPerTaskExecutor")
+                .invoke(null);
+        } catch (final ReflectiveOperationException ex) {
+            exec = Executors.newCachedThreadPool(
+                task -> {
+                    final Thread thread = new Thread(task, "jdbc-toolset-async");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            );
+        }
+        return exec;
+    }
+
+    /**
+     * Timer of timeouts.
+     * @return Timer
+     */
+    private static ScheduledThreadPoolExecutor timer() {
+        final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(
+            1,
+            task -> {
+                final Thread thread = new Thread(task, "jdbc-toolset-async-timer");
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.async;
+
+import com.baudoliver7.jdbc.toolset.wrapper.ConnectionWrap;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Connection whose statements are registered in an execution, to be
+ * cancelled with it.
+ *
+ * @since 0.5
+ */
+final class CancellableConnection extends ConnectionWrap {
+
+    /**
+     * Execution of task.
+     */
+    private final Execution execution;
+
+    /**
+     * Ctor.
+     * @param origin Connection wrapped
+     * @param execution Execution of task
+     */
+    CancellableConnection(final Connection origin, final Execution execution) {
+        super(origin);
+        this.execution = execution;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            super.close();
+        } finally {
+            this.execution.end();
+        }
+    }
+
+    @Override
+    public Statement createStatement() throws SQLException {
+        return this.execution.register(super.createStatement());
+    }
+
+    @Override
+    public Statement createStatement(final int rsetype, final int rsetc) throws SQLException {
+        return this.execution.register(super.createStatement(rsetype, rsetc));
+    }
+
+    @Override
+    public Statement createStatement(
+        final int rsetype, final int rsetc, final int rseth
+    ) throws SQLException {
+        return this.execution.register(super.createStatement(rsetype, rsetc, rseth));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(final String sql) throws SQLException {
+        return this.execution.register(super.prepareStatement(sql));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final int rsetype, final int rsetc
+    ) throws SQLException {
+        return this.execution.register(super.prepareStatement(sql, rsetype, rsetc));
+    }
+
+    @Override
+    // @checkstyle ParameterNumberCheck (3 lines)
+    public PreparedStatement prepareStatement(
+        final String sql, final int rsetype, final int rsetc, final int rseth
+    ) throws SQLException {
+        return this.execution.register(
+            super.prepareStatement(sql, rsetype, rsetc, rseth)
+        );
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final int agkeys
+    ) throws SQLException {
+        return this.execution.register(super.prepareStatement(sql, agkeys));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final int[] icolumns
+    ) throws SQLException {
+        return this.execution.register(super.prepareStatement(sql, icolumns));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final String[] ncolumns
+    ) throws SQLException {
+        return this.execution.register(super.prepareStatement(sql, ncolumns));
+    }
+
+    @Override
+    public CallableStatement prepareCall(final String sql) throws SQLException {
+        return this.execution.register(super.prepareCall(sql));
+    }
+
+    @Override
+    public CallableStatement prepareCall(
+        final String sql, final int rsetype, final int rsetc
+    ) throws SQLException {
+        return this.execution.register(super.prepareCall(sql, rsetype, rsetc));
+    }
+
+    @Override
+    // @checkstyle ParameterNumberCheck (3 lines)
+    public CallableStatement prepareCall(
+        final String sql, final int rsetype, final int rsetc, final int rseth
+    ) throws SQLException {
+        return this.execution.register(super.prepareCall(sql, rsetype, rsetc, rseth));
+    }
+}
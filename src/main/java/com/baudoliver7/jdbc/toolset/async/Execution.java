@@ -0,0 +1,127 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.async;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Statements of a running task, to cancel.
+ * <p>Only open statements are kept: closed ones are dropped at each
+ * registration, and all are dropped when the task ends.</p>
+ *
+ * @since 0.5
+ */
+final class Execution {
+
+    /**
+     * Statements created by the task.
+     */
+    private final List<Statement> statements;
+
+    /**
+     * Cancelled or not.
+     */
+    private boolean cancelled;
+
+    /**
+     * Ctor.
+     */
+    Execution() {
+        this.statements = new ArrayList<>(2);
+    }
+
+    /**
+     * Registers a statement.
+     * <p>The statement is cancelled at once if the execution is.</p>
+     * @param stmt Statement
+     * @param <S> Type of statement
+     * @return The same statement
+     */
+    <S extends Statement> S register(final S stmt) {
+        final boolean cancel;
+        synchronized (this) {
+            cancel = this.cancelled;
+            if (!cancel) {
+                this.statements.removeIf(Execution::closed);
+                this.statements.add(stmt);
+            }
+        }
+        if (cancel) {
+            Execution.cancel(stmt);
+        }
+        return stmt;
+    }
+
+    /**
+     * Cancels all statements registered, and those to come.
+     */
+    void cancel() {
+        final Statement[] stmts;
+        synchronized (this) {
+            this.cancelled = true;
+            stmts = this.statements.toArray(new Statement[0]);
+            this.statements.clear();
+        }
+        for (final Statement stmt : stmts) {
+            Execution.cancel(stmt);
+        }
+    }
+
+    /**
+     * Drops all statements registered, once the task ended.
+     */
+    synchronized void end() {
+        this.statements.clear();
+    }
+
+    /**
+     * Tells whether a statement is closed.
+     * @param stmt Statement
+     * @return True if closed
+     */
+    private static boolean closed(final Statement stmt) {
+        boolean closed;
+        try {
+            closed = stmt.isClosed();
+        } catch (final SQLException ex) {
+            closed = true;
+        }
+        return closed;
+    }
+
+    /**
+     * Cancels a statement.
+     * @param stmt Statement
+     */
+    private static void cancel(final Statement stmt) {
+        try {
+            stmt.cancel();
+        } catch (final SQLException ex) {
+            // Statement is done or closed already.
+        }
+    }
+}
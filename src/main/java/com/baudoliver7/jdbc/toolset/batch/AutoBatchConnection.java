@@ -0,0 +1,230 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.batch;
+
+import com.baudoliver7.jdbc.toolset.wrapper.ConnectionWrap;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+
+/**
+ * Connection which sends repeated updates of a same statement in batches.
+ * <p>Out of auto-commit mode, {@link PreparedStatement#executeUpdate()}
+ * doesn't reach the database: parameters are buffered and the update returns
+ * {@link Statement#SUCCESS_NO_INFO}. Buffered updates are sent in one batch
+ * when they reach the batch size, before any execution of another statement,
+ * before a savepoint and before commit. Rollback drops them.</p>
+ * <p>Call {@link #flush()} to send buffered updates and get real update
+ * counts of all updates buffered since the last call or the last commit.
+ * Each statement also keeps update counts of its own updates, even after
+ * commit: unwrap it to {@link UpdateCounts} to get them. Both are reachable
+ * through wrappers, like a connection of
+ * {@link com.baudoliver7.jdbc.toolset.lockable.LocalLockedDataSource}, by
+ * {@code unwrap(AutoBatchConnection.class)} and
+ * {@code unwrap(UpdateCounts.class)}.</p>
+ * <p>Callable statements are not buffered: updates buffered are sent when
+ * they are prepared.</p>
+ *
+ * @since 0.5
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+public final class AutoBatchConnection extends ConnectionWrap {
+
+    /**
+     * Batch.
+     */
+    private final PendingBatch batch;
+
+    /**
+     * Ctor.
+     * @param origin Connection wrapped
+     */
+    public AutoBatchConnection(final Connection origin) {
+        this(origin, 100);
+    }
+
+    /**
+     * Ctor.
+     * @param origin Connection wrapped
+     * @param size Number of buffered updates after which they are sent
+     */
+    public AutoBatchConnection(final Connection origin, final int size) {
+        super(origin);
+        this.batch = new PendingBatch(size);
+    }
+
+    /**
+     * Sends buffered updates.
+     * @return Update counts of all updates buffered since last flush, in order
+     * @throws SQLException If fails
+     */
+    public int[] flush() throws SQLException {
+        this.batch.send();
+        return this.batch.collect();
+    }
+
+    @Override
+    public Statement createStatement() throws SQLException {
+        return new FlushingStatement(this, this.batch, super.createStatement());
+    }
+
+    @Override
+    public Statement createStatement(final int rsetype, final int rsetc) throws SQLException {
+        return new FlushingStatement(
+            this, this.batch, super.createStatement(rsetype, rsetc)
+        );
+    }
+
+    @Override
+    public Statement createStatement(
+        final int rsetype, final int rsetc, final int rseth
+    ) throws SQLException {
+        return new FlushingStatement(
+            this, this.batch, super.createStatement(rsetype, rsetc, rseth)
+        );
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(final String sql) throws SQLException {
+        return new AutoBatchStatement(this, this.batch, super.prepareStatement(sql));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final int rsetype, final int rsetc
+    ) throws SQLException {
+        return new AutoBatchStatement(
+            this, this.batch, super.prepareStatement(sql, rsetype, rsetc)
+        );
+    }
+
+    @Override
+    // @checkstyle ParameterNumberCheck (3 lines)
+    public PreparedStatement prepareStatement(
+        final String sql, final int rsetype, final int rsetc, final int rseth
+    ) throws SQLException {
+        return new AutoBatchStatement(
+            this, this.batch, super.prepareStatement(sql, rsetype, rsetc, rseth)
+        );
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final int agkeys
+    ) throws SQLException {
+        return new FlushingPreparedStatement(
+            this, this.batch, super.prepareStatement(sql, agkeys)
+        );
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final int[] icolumns
+    ) throws SQLException {
+        return new FlushingPreparedStatement(
+            this, this.batch, super.prepareStatement(sql, icolumns)
+        );
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final String[] ncolumns
+    ) throws SQLException {
+        return new FlushingPreparedStatement(
+            this, this.batch, super.prepareStatement(sql, ncolumns)
+        );
+    }
+
+    @Override
+    public CallableStatement prepareCall(final String sql) throws SQLException {
+        this.batch.send();
+        return super.prepareCall(sql);
+    }
+
+    @Override
+    public CallableStatement prepareCall(
+        final String sql, final int rsetype, final int rsetc
+    ) throws SQLException {
+        this.batch.send();
+        return super.prepareCall(sql, rsetype, rsetc);
+    }
+
+    @Override
+    // @checkstyle ParameterNumberCheck (3 lines)
+    public CallableStatement prepareCall(
+        final String sql, final int rsetype, final int rsetc, final int rseth
+    ) throws SQLException {
+        this.batch.send();
+        return super.prepareCall(sql, rsetype, rsetc, rseth);
+    }
+
+    @Override
+    public void setAutoCommit(final boolean autocommit) throws SQLException {
+        this.batch.send();
+        super.setAutoCommit(autocommit);
+    }
+
+    @Override
+    public void commit() throws SQLException {
+        this.batch.send();
+        this.batch.forget();
+        super.commit();
+    }
+
+    @Override
+    public void rollback() throws SQLException {
+        this.batch.discard();
+        super.rollback();
+    }
+
+    @Override
+    public Savepoint setSavepoint() throws SQLException {
+        this.batch.send();
+        return super.setSavepoint();
+    }
+
+    @Override
+    public Savepoint setSavepoint(final String name) throws SQLException {
+        this.batch.send();
+        return super.setSavepoint(name);
+    }
+
+    @Override
+    public void rollback(final Savepoint savepoint) throws SQLException {
+        this.batch.discard();
+        super.rollback(savepoint);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            this.batch.send();
+        } finally {
+            super.close();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.batch;
+
+import com.baudoliver7.jdbc.toolset.wrapper.DataSourceWrap;
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+
+/**
+ * Data source whose connections send repeated updates in batches.
+ * <p>Put it under a {@link com.baudoliver7.jdbc.toolset.lockable.LocalLockedDataSource}
+ * to batch updates of a unit of work, which are sent at the latest on its
+ * commit.</p>
+ *
+ * @since 0.5
+ */
+public final class AutoBatchDataSource extends DataSourceWrap {
+
+    /**
+     * Number of buffered updates after which they are sent.
+     */
+    private final int size;
+
+    /**
+     * Ctor.
+     * @param origin Data source to wrap
+     */
+    public AutoBatchDataSource(final DataSource origin) {
+        this(origin, 100);
+    }
+
+    /**
+     * Ctor.
+     * @param origin Data source to wrap
+     * @param size Number of buffered updates after which they are sent
+     */
+    public AutoBatchDataSource(final DataSource origin, final int size) {
+        super(origin);
+        this.size = size;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return new AutoBatchConnection(super.getConnection(), this.size);
+    }
+
+    @Override
+    public Connection getConnection(
+        final String username, final String password
+    ) throws SQLException {
+        return new AutoBatchConnection(
+            super.getConnection(username, password), this.size
+        );
+    }
+}
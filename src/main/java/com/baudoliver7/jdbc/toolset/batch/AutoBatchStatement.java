@@ -0,0 +1,160 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.batch;
+
+import com.baudoliver7.jdbc.toolset.wrapper.PreparedStatementWrap;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Prepared statement whose updates are buffered in a batch.
+ * <p>Out of auto-commit mode, {@link #executeUpdate()} only adds current
+ * parameters to the batch of the connection and returns
+ * {@link Statement#SUCCESS_NO_INFO}. Any other execution sends buffered
+ * updates first.</p>
+ * <p>Update counts of its batches are kept until collected by
+ * {@link #updateCounts()}, even after commit.</p>
+ *
+ * @since 0.5
+ */
+final class AutoBatchStatement extends PreparedStatementWrap implements UpdateCounts {
+
+    /**
+     * Connection which prepared this statement.
+     */
+    private final Connection connection;
+
+    /**
+     * Batch of the connection.
+     */
+    private final PendingBatch batch;
+
+    /**
+     * Statement wrapped.
+     */
+    private final PreparedStatement origin;
+
+    /**
+     * Update counts of batches sent and not collected yet.
+     */
+    private final List<int[]> counts;
+
+    /**
+     * Ctor.
+     * @param connection Connection which prepared this statement
+     * @param batch Batch of the connection
+     * @param origin Statement wrapped
+     */
+    AutoBatchStatement(
+        final Connection connection, final PendingBatch batch,
+        final PreparedStatement origin
+    ) {
+        super(origin);
+        this.connection = connection;
+        this.batch = batch;
+        this.origin = origin;
+        this.counts = new ArrayList<>(1);
+    }
+
+    @Override
+    public int[] updateCounts() throws SQLException {
+        this.batch.send(this.origin);
+        return PendingBatch.collect(this.counts);
+    }
+
+    @Override
+    public int executeUpdate() throws SQLException {
+        final int count;
+        if (this.connection.getAutoCommit()) {
+            this.batch.send();
+            count = super.executeUpdate();
+        } else {
+            this.batch.add(this.origin, this.counts);
+            count = Statement.SUCCESS_NO_INFO;
+        }
+        return count;
+    }
+
+    @Override
+    public long executeLargeUpdate() throws SQLException {
+        final long count;
+        if (this.connection.getAutoCommit()) {
+            this.batch.send();
+            count = super.executeLargeUpdate();
+        } else {
+            this.batch.add(this.origin, this.counts);
+            count = Statement.SUCCESS_NO_INFO;
+        }
+        return count;
+    }
+
+    @Override
+    public ResultSet executeQuery() throws SQLException {
+        this.batch.send();
+        return super.executeQuery();
+    }
+
+    @Override
+    public boolean execute() throws SQLException {
+        this.batch.send();
+        return super.execute();
+    }
+
+    @Override
+    public void addBatch() throws SQLException {
+        this.batch.send();
+        super.addBatch();
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        this.batch.send();
+        return super.executeBatch();
+    }
+
+    @Override
+    public long[] executeLargeBatch() throws SQLException {
+        this.batch.send();
+        return super.executeLargeBatch();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            this.batch.send(this.origin);
+        } finally {
+            super.close();
+        }
+    }
+
+    @Override
+    public Connection getConnection() {
+        return this.connection;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.batch;
+
+import com.baudoliver7.jdbc.toolset.wrapper.StatementWrap;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Statement which sends buffered updates of its connection before any
+ * execution.
+ *
+ * @since 0.5
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+final class FlushingStatement extends StatementWrap {
+
+    /**
+     * Connection which created this statement.
+     */
+    private final Connection connection;
+
+    /**
+     * Batch of the connection.
+     */
+    private final PendingBatch batch;
+
+    /**
+     * Ctor.
+     * @param connection Connection which created this statement
+     * @param batch Batch of the connection
+     * @param origin Statement wrapped
+     */
+    FlushingStatement(
+        final Connection connection, final PendingBatch batch, final Statement origin
+    ) {
+        super(origin);
+        this.connection = connection;
+        this.batch = batch;
+    }
+
+    @Override
+    public ResultSet executeQuery(final String sql) throws SQLException {
+        this.batch.send();
+        return super.executeQuery(sql);
+    }
+
+    @Override
+    public int executeUpdate(final String sql) throws SQLException {
+        this.batch.send();
+        return super.executeUpdate(sql);
+    }
+
+    @Override
+    public int executeUpdate(final String sql, final int agkeys) throws SQLException {
+        this.batch.send();
+        return super.executeUpdate(sql, agkeys);
+    }
+
+    @Override
+    public int executeUpdate(final String sql, final int[] icolumns) throws SQLException {
+        this.batch.send();
+        return super.executeUpdate(sql, icolumns);
+    }
+
+    @Override
+    public int executeUpdate(final String sql, final String[] ncolumns) throws SQLException {
+        this.batch.send();
+        return super.executeUpdate(sql, ncolumns);
+    }
+
+    @Override
+    public long executeLargeUpdate(final String sql) throws SQLException {
+        this.batch.send();
+        return super.executeLargeUpdate(sql);
+    }
+
+    @Override
+    public long executeLargeUpdate(final String sql, final int agkeys) throws SQLException {
+        this.batch.send();
+        return super.executeLargeUpdate(sql, agkeys);
+    }
+
+    @Override
+    public long executeLargeUpdate(final String sql, final int[] icolumns) throws SQLException {
+        this.batch.send();
+        return super.executeLargeUpdate(sql, icolumns);
+    }
+
+    @Override
+    public long executeLargeUpdate(
+        final String sql, final String[] ncolumns
+    ) throws SQLException {
+        this.batch.send();
+        return super.executeLargeUpdate(sql, ncolumns);
+    }
+
+    @Override
+    public boolean execute(final String sql) throws SQLException {
+        this.batch.send();
+        return super.execute(sql);
+    }
+
+    @Override
+    public boolean execute(final String sql, final int agkeys) throws SQLException {
+        this.batch.send();
+        return super.execute(sql, agkeys);
+    }
+
+    @Override
+    public boolean execute(final String sql, final int[] icolumns) throws SQLException {
+        this.batch.send();
+        return super.execute(sql, icolumns);
+    }
+
+    @Override
+    public boolean execute(final String sql, final String[] ncolumns) throws SQLException {
+        this.batch.send();
+        return super.execute(sql, ncolumns);
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        this.batch.send();
+        return super.executeBatch();
+    }
+
+    @Override
+    public long[] executeLargeBatch() throws SQLException {
+        this.batch.send();
+        return super.executeLargeBatch();
+    }
+
+    @Override
+    public Connection getConnection() {
+        return this.connection;
+    }
+}
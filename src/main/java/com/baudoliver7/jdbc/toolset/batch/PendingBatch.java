@@ -0,0 +1,173 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.batch;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Updates buffered on a connection, waiting to be sent in one batch.
+ * <p>Only executions of one statement are buffered at a time. Update counts
+ * of batches sent are kept until they are collected, and also given to the
+ * statement which buffered them.</p>
+ *
+ * @since 0.5
+ */
+final class PendingBatch {
+
+    /**
+     * Number of executions after which the batch is sent.
+     */
+    private final int size;
+
+    /**
+     * Update counts of batches sent and not collected yet.
+     */
+    private final List<int[]> counts;
+
+    /**
+     * Statement whose executions are buffered.
+     */
+    private PreparedStatement statement;
+
+    /**
+     * Update counts of the statement whose executions are buffered.
+     */
+    private List<int[]> sink;
+
+    /**
+     * Number of executions buffered.
+     */
+    private int buffered;
+
+    /**
+     * Ctor.
+     * @param size Number of executions after which the batch is sent
+     */
+    PendingBatch(final int size) {
+        this.size = size;
+        this.counts = new ArrayList<>(1);
+    }
+
+    /**
+     * Buffers current parameters of a statement.
+     * <p>Executions of another statement buffered before are sent first.</p>
+     * @param stmt Statement
+     * @param counts Update counts of the statement, to add those of its batches to
+     * @throws SQLException If fails
+     */
+    void add(final PreparedStatement stmt, final List<int[]> counts) throws SQLException {
+        if (this.statement != stmt) {
+            this.send();
+        }
+        stmt.addBatch();
+        this.statement = stmt;
+        this.sink = counts;
+        ++this.buffered;
+        if (this.buffered >= this.size) {
+            this.send();
+        }
+    }
+
+    /**
+     * Sends executions buffered, if any.
+     * @throws SQLException If fails
+     */
+    void send() throws SQLException {
+        if (this.statement != null) {
+            final PreparedStatement stmt = this.statement;
+            final List<int[]> owner = this.sink;
+            this.statement = null;
+            this.sink = null;
+            this.buffered = 0;
+            final int[] sent = stmt.executeBatch();
+            this.counts.add(sent);
+            owner.add(sent);
+        }
+    }
+
+    /**
+     * Sends executions buffered only if they belong to a statement.
+     * @param stmt Statement
+     * @throws SQLException If fails
+     */
+    void send(final PreparedStatement stmt) throws SQLException {
+        if (this.statement == stmt) {
+            this.send();
+        }
+    }
+
+    /**
+     * Drops executions buffered and update counts not collected.
+     * @throws SQLException If fails
+     */
+    void discard() throws SQLException {
+        final PreparedStatement stmt = this.statement;
+        this.statement = null;
+        this.sink = null;
+        this.buffered = 0;
+        this.counts.clear();
+        if (stmt != null) {
+            stmt.clearBatch();
+        }
+    }
+
+    /**
+     * Drops update counts not collected by the connection.
+     * <p>Statements keep theirs.</p>
+     */
+    void forget() {
+        this.counts.clear();
+    }
+
+    /**
+     * Collects update counts of batches sent since last collect.
+     * @return Update counts, one per execution, in order
+     */
+    int[] collect() {
+        return PendingBatch.collect(this.counts);
+    }
+
+    /**
+     * Collects update counts of batches.
+     * @param counts Update counts of batches, emptied
+     * @return Update counts, one per execution, in order
+     */
+    static int[] collect(final List<int[]> counts) {
+        int length = 0;
+        for (final int[] batch : counts) {
+            length += batch.length;
+        }
+        final int[] all = new int[length];
+        int pos = 0;
+        for (final int[] batch : counts) {
+            System.arraycopy(batch, 0, all, pos, batch.length);
+            pos += batch.length;
+        }
+        counts.clear();
+        return all;
+    }
+}
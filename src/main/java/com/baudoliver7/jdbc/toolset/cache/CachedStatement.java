@@ -0,0 +1,847 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.cache;
+
+import com.baudoliver7.jdbc.toolset.wrapper.PreparedStatementWrap;
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLType;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Prepared statement which goes back to its cache on close.
+ * <p>Parameters and the batch are cleared before, and its result sets are
+ * closed, so that the next borrower finds it as freshly prepared. Other
+ * settings of the statement, like fetch size or query timeout, are
+ * kept.</p>
+ * <p>Once closed, every call fails, so that a stale reference can't rebind
+ * or execute the statement lent to another borrower.</p>
+ *
+ * @since 0.5
+ */
+@SuppressWarnings({"PMD.TooManyMethods", "PMD.ExcessivePublicCount"})
+final class CachedStatement extends PreparedStatementWrap {
+
+    /**
+     * Connection which prepared this statement.
+     */
+    private final Connection connection;
+
+    /**
+     * Cache.
+     */
+    private final StatementCache cache;
+
+    /**
+     * Key in cache.
+     */
+    private final StatementKey key;
+
+    /**
+     * Statement wrapped.
+     */
+    private final PreparedStatement origin;
+
+    /**
+     * Closed or not.
+     */
+    private final AtomicBoolean closed;
+
+    /**
+     * Last result set of a query, or null.
+     */
+    private ResultSet last;
+
+    /**
+     * Ctor.
+     * @param connection Connection which prepared this statement
+     * @param cache Cache
+     * @param key Key in cache
+     * @param origin Statement wrapped
+     * @checkstyle ParameterNumberCheck (4 lines)
+     */
+    CachedStatement(
+        final Connection connection, final StatementCache cache,
+        final StatementKey key, final PreparedStatement origin
+    ) {
+        super(origin);
+        this.connection = connection;
+        this.cache = cache;
+        this.key = key;
+        this.origin = origin;
+        this.closed = new AtomicBoolean(false);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (this.closed.compareAndSet(false, true)) {
+            boolean reusable = false;
+            try {
+                if (!this.origin.isClosed()) {
+                    this.closeResults();
+                    this.origin.clearParameters();
+                    this.origin.clearBatch();
+                    this.origin.clearWarnings();
+                    reusable = true;
+                }
+            } finally {
+                if (reusable) {
+                    this.cache.put(this.key, this.origin);
+                } else {
+                    this.origin.close();
+                }
+            }
+        }
+    }
+
+    @Override
+    public ResultSet executeQuery() throws SQLException {
+        this.guard();
+        this.last = super.executeQuery();
+        return this.last;
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return this.closed.get() || this.origin.isClosed();
+    }
+
+    @Override
+    public Connection getConnection() {
+        return this.connection;
+    }
+
+    @Override
+    public <T> T unwrap(final Class<T> iface) throws SQLException {
+        this.guard();
+        return super.unwrap(iface);
+    }
+
+    @Override
+    public ResultSet executeQuery(final String sql) throws SQLException {
+        this.guard();
+        return super.executeQuery(sql);
+    }
+
+    @Override
+    public int executeUpdate(final String sql) throws SQLException {
+        this.guard();
+        return super.executeUpdate(sql);
+    }
+
+    @Override
+    public int getMaxFieldSize() throws SQLException {
+        this.guard();
+        return super.getMaxFieldSize();
+    }
+
+    @Override
+    public void setMaxFieldSize(final int max) throws SQLException {
+        this.guard();
+        super.setMaxFieldSize(max);
+    }
+
+    @Override
+    public int getMaxRows() throws SQLException {
+        this.guard();
+        return super.getMaxRows();
+    }
+
+    @Override
+    public void setMaxRows(final int max) throws SQLException {
+        this.guard();
+        super.setMaxRows(max);
+    }
+
+    @Override
+    public void setEscapeProcessing(final boolean enable) throws SQLException {
+        this.guard();
+        super.setEscapeProcessing(enable);
+    }
+
+    @Override
+    public int getQueryTimeout() throws SQLException {
+        this.guard();
+        return super.getQueryTimeout();
+    }
+
+    @Override
+    public void setQueryTimeout(final int seconds) throws SQLException {
+        this.guard();
+        super.setQueryTimeout(seconds);
+    }
+
+    @Override
+    public void cancel() throws SQLException {
+        this.guard();
+        super.cancel();
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        this.guard();
+        return super.getWarnings();
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        this.guard();
+        super.clearWarnings();
+    }
+
+    @Override
+    public void setCursorName(final String name) throws SQLException {
+        this.guard();
+        super.setCursorName(name);
+    }
+
+    @Override
+    public boolean execute(final String sql) throws SQLException {
+        this.guard();
+        return super.execute(sql);
+    }
+
+    @Override
+    public ResultSet getResultSet() throws SQLException {
+        this.guard();
+        return super.getResultSet();
+    }
+
+    @Override
+    public int getUpdateCount() throws SQLException {
+        this.guard();
+        return super.getUpdateCount();
+    }
+
+    @Override
+    public boolean getMoreResults() throws SQLException {
+        this.guard();
+        return super.getMoreResults();
+    }
+
+    @Override
+    public void setFetchDirection(final int direction) throws SQLException {
+        this.guard();
+        super.setFetchDirection(direction);
+    }
+
+    @Override
+    public int getFetchDirection() throws SQLException {
+        this.guard();
+        return super.getFetchDirection();
+    }
+
+    @Override
+    public void setFetchSize(final int rows) throws SQLException {
+        this.guard();
+        super.setFetchSize(rows);
+    }
+
+    @Override
+    public int getFetchSize() throws SQLException {
+        this.guard();
+        return super.getFetchSize();
+    }
+
+    @Override
+    public int getResultSetConcurrency() throws SQLException {
+        this.guard();
+        return super.getResultSetConcurrency();
+    }
+
+    @Override
+    public int getResultSetType() throws SQLException {
+        this.guard();
+        return super.getResultSetType();
+    }
+
+    @Override
+    public void addBatch(final String sql) throws SQLException {
+        this.guard();
+        super.addBatch(sql);
+    }
+
+    @Override
+    public void clearBatch() throws SQLException {
+        this.guard();
+        super.clearBatch();
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        this.guard();
+        return super.executeBatch();
+    }
+
+    @Override
+    public boolean getMoreResults(final int current) throws SQLException {
+        this.guard();
+        return super.getMoreResults(current);
+    }
+
+    @Override
+    public ResultSet getGeneratedKeys() throws SQLException {
+        this.guard();
+        return super.getGeneratedKeys();
+    }
+
+    @Override
+    public int executeUpdate(final String sql, final int agkeys) throws SQLException {
+        this.guard();
+        return super.executeUpdate(sql, agkeys);
+    }
+
+    @Override
+    public int executeUpdate(final String sql, final int[] icolumns) throws SQLException {
+        this.guard();
+        return super.executeUpdate(sql, icolumns);
+    }
+
+    @Override
+    public int executeUpdate(final String sql, final String[] ncolumns) throws SQLException {
+        this.guard();
+        return super.executeUpdate(sql, ncolumns);
+    }
+
+    @Override
+    public boolean execute(final String sql, final int agkeys) throws SQLException {
+        this.guard();
+        return super.execute(sql, agkeys);
+    }
+
+    @Override
+    public boolean execute(final String sql, final int[] icolumns) throws SQLException {
+        this.guard();
+        return super.execute(sql, icolumns);
+    }
+
+    @Override
+    public boolean execute(final String sql, final String[] ncolumns) throws SQLException {
+        this.guard();
+        return super.execute(sql, ncolumns);
+    }
+
+    @Override
+    public int getResultSetHoldability() throws SQLException {
+        this.guard();
+        return super.getResultSetHoldability();
+    }
+
+    @Override
+    public void setPoolable(final boolean poolable) throws SQLException {
+        this.guard();
+        super.setPoolable(poolable);
+    }
+
+    @Override
+    public boolean isPoolable() throws SQLException {
+        this.guard();
+        return super.isPoolable();
+    }
+
+    @Override
+    public void closeOnCompletion() throws SQLException {
+        this.guard();
+        super.closeOnCompletion();
+    }
+
+    @Override
+    public boolean isCloseOnCompletion() throws SQLException {
+        this.guard();
+        return super.isCloseOnCompletion();
+    }
+
+    @Override
+    public long getLargeUpdateCount() throws SQLException {
+        this.guard();
+        return super.getLargeUpdateCount();
+    }
+
+    @Override
+    public void setLargeMaxRows(final long max) throws SQLException {
+        this.guard();
+        super.setLargeMaxRows(max);
+    }
+
+    @Override
+    public long getLargeMaxRows() throws SQLException {
+        this.guard();
+        return super.getLargeMaxRows();
+    }
+
+    @Override
+    public long[] executeLargeBatch() throws SQLException {
+        this.guard();
+        return super.executeLargeBatch();
+    }
+
+    @Override
+    public long executeLargeUpdate(final String sql) throws SQLException {
+        this.guard();
+        return super.executeLargeUpdate(sql);
+    }
+
+    @Override
+    public long executeLargeUpdate(final String sql, final int agkeys) throws SQLException {
+        this.guard();
+        return super.executeLargeUpdate(sql, agkeys);
+    }
+
+    @Override
+    public long executeLargeUpdate(final String sql, final int[] icolumns) throws SQLException {
+        this.guard();
+        return super.executeLargeUpdate(sql, icolumns);
+    }
+
+    @Override
+    public long executeLargeUpdate(final String sql, final String[] ncolumns) throws SQLException {
+        this.guard();
+        return super.executeLargeUpdate(sql, ncolumns);
+    }
+
+    @Override
+    public int executeUpdate() throws SQLException {
+        this.guard();
+        return super.executeUpdate();
+    }
+
+    @Override
+    public void setNull(final int index, final int type) throws SQLException {
+        this.guard();
+        super.setNull(index, type);
+    }
+
+    @Override
+    public void setBoolean(final int index, final boolean value) throws SQLException {
+        this.guard();
+        super.setBoolean(index, value);
+    }
+
+    @Override
+    public void setByte(final int index, final byte value) throws SQLException {
+        this.guard();
+        super.setByte(index, value);
+    }
+
+    @Override
+    public void setShort(final int index, final short value) throws SQLException {
+        this.guard();
+        super.setShort(index, value);
+    }
+
+    @Override
+    public void setInt(final int index, final int value) throws SQLException {
+        this.guard();
+        super.setInt(index, value);
+    }
+
+    @Override
+    public void setLong(final int index, final long value) throws SQLException {
+        this.guard();
+        super.setLong(index, value);
+    }
+
+    @Override
+    public void setFloat(final int index, final float value) throws SQLException {
+        this.guard();
+        super.setFloat(index, value);
+    }
+
+    @Override
+    public void setDouble(final int index, final double value) throws SQLException {
+        this.guard();
+        super.setDouble(index, value);
+    }
+
+    @Override
+    public void setBigDecimal(final int index, final BigDecimal value) throws SQLException {
+        this.guard();
+        super.setBigDecimal(index, value);
+    }
+
+    @Override
+    public void setString(final int index, final String value) throws SQLException {
+        this.guard();
+        super.setString(index, value);
+    }
+
+    @Override
+    public void setBytes(final int index, final byte[] value) throws SQLException {
+        this.guard();
+        super.setBytes(index, value);
+    }
+
+    @Override
+    public void setDate(final int index, final Date value) throws SQLException {
+        this.guard();
+        super.setDate(index, value);
+    }
+
+    @Override
+    public void setTime(final int index, final Time value) throws SQLException {
+        this.guard();
+        super.setTime(index, value);
+    }
+
+    @Override
+    public void setTimestamp(final int index, final Timestamp value) throws SQLException {
+        this.guard();
+        super.setTimestamp(index, value);
+    }
+
+    @Override
+    public void setAsciiStream(
+        final int index, final InputStream stream, final int length
+    ) throws SQLException {
+        this.guard();
+        super.setAsciiStream(index, stream, length);
+    }
+
+    @Override
+    @Deprecated
+    @SuppressWarnings("deprecation")
+    public void setUnicodeStream(
+        final int index, final InputStream stream, final int length
+    ) throws SQLException {
+        this.guard();
+        super.setUnicodeStream(index, stream, length);
+    }
+
+    @Override
+    public void setBinaryStream(
+        final int index, final InputStream stream, final int length
+    ) throws SQLException {
+        this.guard();
+        super.setBinaryStream(index, stream, length);
+    }
+
+    @Override
+    public void clearParameters() throws SQLException {
+        this.guard();
+        super.clearParameters();
+    }
+
+    @Override
+    public void setObject(final int index, final Object value, final int type) throws SQLException {
+        this.guard();
+        super.setObject(index, value, type);
+    }
+
+    @Override
+    public void setObject(final int index, final Object value) throws SQLException {
+        this.guard();
+        super.setObject(index, value);
+    }
+
+    @Override
+    public boolean execute() throws SQLException {
+        this.guard();
+        return super.execute();
+    }
+
+    @Override
+    public void addBatch() throws SQLException {
+        this.guard();
+        super.addBatch();
+    }
+
+    @Override
+    public void setCharacterStream(
+        final int index, final Reader reader, final int length
+    ) throws SQLException {
+        this.guard();
+        super.setCharacterStream(index, reader, length);
+    }
+
+    @Override
+    public void setRef(final int index, final Ref value) throws SQLException {
+        this.guard();
+        super.setRef(index, value);
+    }
+
+    @Override
+    public void setBlob(final int index, final Blob value) throws SQLException {
+        this.guard();
+        super.setBlob(index, value);
+    }
+
+    @Override
+    public void setClob(final int index, final Clob value) throws SQLException {
+        this.guard();
+        super.setClob(index, value);
+    }
+
+    @Override
+    public void setArray(final int index, final Array value) throws SQLException {
+        this.guard();
+        super.setArray(index, value);
+    }
+
+    @Override
+    public ResultSetMetaData getMetaData() throws SQLException {
+        this.guard();
+        return super.getMetaData();
+    }
+
+    @Override
+    public void setDate(
+        final int index, final Date value, final Calendar calendar
+    ) throws SQLException {
+        this.guard();
+        super.setDate(index, value, calendar);
+    }
+
+    @Override
+    public void setTime(
+        final int index, final Time value, final Calendar calendar
+    ) throws SQLException {
+        this.guard();
+        super.setTime(index, value, calendar);
+    }
+
+    @Override
+    public void setTimestamp(
+        final int index, final Timestamp value, final Calendar calendar
+    ) throws SQLException {
+        this.guard();
+        super.setTimestamp(index, value, calendar);
+    }
+
+    @Override
+    public void setNull(final int index, final int type, final String tname) throws SQLException {
+        this.guard();
+        super.setNull(index, type, tname);
+    }
+
+    @Override
+    public void setURL(final int index, final URL value) throws SQLException {
+        this.guard();
+        super.setURL(index, value);
+    }
+
+    @Override
+    public ParameterMetaData getParameterMetaData() throws SQLException {
+        this.guard();
+        return super.getParameterMetaData();
+    }
+
+    @Override
+    public void setRowId(final int index, final RowId value) throws SQLException {
+        this.guard();
+        super.setRowId(index, value);
+    }
+
+    @Override
+    public void setNString(final int index, final String value) throws SQLException {
+        this.guard();
+        super.setNString(index, value);
+    }
+
+    @Override
+    public void setNCharacterStream(
+        final int index, final Reader reader, final long length
+    ) throws SQLException {
+        this.guard();
+        super.setNCharacterStream(index, reader, length);
+    }
+
+    @Override
+    public void setNClob(final int index, final NClob value) throws SQLException {
+        this.guard();
+        super.setNClob(index, value);
+    }
+
+    @Override
+    public void setClob(
+        final int index, final Reader reader, final long length
+    ) throws SQLException {
+        this.guard();
+        super.setClob(index, reader, length);
+    }
+
+    @Override
+    public void setBlob(
+        final int index, final InputStream stream, final long length
+    ) throws SQLException {
+        this.guard();
+        super.setBlob(index, stream, length);
+    }
+
+    @Override
+    public void setNClob(
+        final int index, final Reader reader, final long length
+    ) throws SQLException {
+        this.guard();
+        super.setNClob(index, reader, length);
+    }
+
+    @Override
+    public void setSQLXML(final int index, final SQLXML value) throws SQLException {
+        this.guard();
+        super.setSQLXML(index, value);
+    }
+
+    @Override
+    // @checkstyle ParameterNumberCheck (3 lines)
+    public void setObject(
+        final int index, final Object value, final int type, final int scale
+    ) throws SQLException {
+        this.guard();
+        super.setObject(index, value, type, scale);
+    }
+
+    @Override
+    public void setAsciiStream(
+        final int index, final InputStream stream, final long length
+    ) throws SQLException {
+        this.guard();
+        super.setAsciiStream(index, stream, length);
+    }
+
+    @Override
+    public void setBinaryStream(
+        final int index, final InputStream stream, final long length
+    ) throws SQLException {
+        this.guard();
+        super.setBinaryStream(index, stream, length);
+    }
+
+    @Override
+    public void setCharacterStream(
+        final int index, final Reader reader, final long length
+    ) throws SQLException {
+        this.guard();
+        super.setCharacterStream(index, reader, length);
+    }
+
+    @Override
+    public void setAsciiStream(final int index, final InputStream stream) throws SQLException {
+        this.guard();
+        super.setAsciiStream(index, stream);
+    }
+
+    @Override
+    public void setBinaryStream(final int index, final InputStream stream) throws SQLException {
+        this.guard();
+        super.setBinaryStream(index, stream);
+    }
+
+    @Override
+    public void setCharacterStream(final int index, final Reader reader) throws SQLException {
+        this.guard();
+        super.setCharacterStream(index, reader);
+    }
+
+    @Override
+    public void setNCharacterStream(final int index, final Reader reader) throws SQLException {
+        this.guard();
+        super.setNCharacterStream(index, reader);
+    }
+
+    @Override
+    public void setClob(final int index, final Reader reader) throws SQLException {
+        this.guard();
+        super.setClob(index, reader);
+    }
+
+    @Override
+    public void setBlob(final int index, final InputStream stream) throws SQLException {
+        this.guard();
+        super.setBlob(index, stream);
+    }
+
+    @Override
+    public void setNClob(final int index, final Reader reader) throws SQLException {
+        this.guard();
+        super.setNClob(index, reader);
+    }
+
+    @Override
+    // @checkstyle ParameterNumberCheck (3 lines)
+    public void setObject(
+        final int index, final Object value, final SQLType type, final int scale
+    ) throws SQLException {
+        this.guard();
+        super.setObject(index, value, type, scale);
+    }
+
+    @Override
+    public void setObject(
+        final int index, final Object value, final SQLType type
+    ) throws SQLException {
+        this.guard();
+        super.setObject(index, value, type);
+    }
+
+    @Override
+    public long executeLargeUpdate() throws SQLException {
+        this.guard();
+        return super.executeLargeUpdate();
+    }
+
+    /**
+     * Fails if this statement is closed.
+     * @throws SQLException If it is closed
+     */
+    private void guard() throws SQLException {
+        if (this.closed.get()) {
+            throw new SQLException("Statement is closed", "08003");
+        }
+    }
+
+    /**
+     * Closes result sets still open.
+     * @throws SQLException If fails
+     */
+    private void closeResults() throws SQLException {
+        if (this.last != null) {
+            this.last.close();
+            this.last = null;
+        }
+        final ResultSet current = this.origin.getResultSet();
+        if (current != null) {
+            current.close();
+        }
+    }
+}
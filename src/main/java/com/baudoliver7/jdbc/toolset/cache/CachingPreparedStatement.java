@@ -0,0 +1,578 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.cache;
+
+import com.baudoliver7.jdbc.toolset.wrapper.PreparedStatementWrap;
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.PreparedStatement;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLType;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetFactory;
+import javax.sql.rowset.RowSetProvider;
+
+/**
+ * Prepared statement of a whitelisted query, whose results are read through
+ * a cache.
+ * <p>Results are keyed by SQL and bind values. Values bound as streams,
+ * large objects, arrays or with a calendar can't make a key: the query is
+ * then executed without cache, as it is when changes of the connection are
+ * not committed yet. Each result is a copy of the cached rows, read
+ * through a cursor of its own. It is read with {@link #executeQuery()} or,
+ * as jOOQ does, with {@link #execute()} then {@link #getResultSet()}.</p>
+ *
+ * @since 0.5
+ */
+@SuppressWarnings({"PMD.TooManyMethods", "PMD.ExcessivePublicCount"})
+final class CachingPreparedStatement extends PreparedStatementWrap {
+
+    /**
+     * Factory of row sets.
+     */
+    private static final RowSetFactory ROWSETS = CachingPreparedStatement.rowsets();
+
+    /**
+     * Connection which prepared this statement.
+     */
+    private final ResultCachedConnection connection;
+
+    /**
+     * Cache of results.
+     */
+    private final ResultCache cache;
+
+    /**
+     * SQL.
+     */
+    private final String sql;
+
+    /**
+     * Tables read.
+     */
+    private final Set<String> tables;
+
+    /**
+     * Bind values, by index.
+     */
+    private final Map<Integer, Object> binds;
+
+    /**
+     * Whether a value is bound that can't make a key.
+     */
+    private boolean opaque;
+
+    /**
+     * Whether last {@link #execute()} was read through cache.
+     */
+    private boolean serving;
+
+    /**
+     * Result of last {@link #execute()} read through cache, until next
+     * results are asked.
+     */
+    private ResultSet served;
+
+    /**
+     * Ctor.
+     * @param origin Statement wrapped
+     * @param connection Connection which prepared this statement
+     * @param cache Cache of results
+     * @param sql SQL
+     * @checkstyle ParameterNumberCheck (4 lines)
+     */
+    CachingPreparedStatement(
+        final PreparedStatement origin, final ResultCachedConnection connection,
+        final ResultCache cache, final String sql
+    ) {
+        super(origin);
+        this.connection = connection;
+        this.cache = cache;
+        this.sql = sql;
+        this.tables = new Tables(sql).read();
+        this.binds = new TreeMap<>();
+    }
+
+    @Override
+    public ResultSet executeQuery() throws SQLException {
+        this.serving = false;
+        this.served = null;
+        return this.read();
+    }
+
+    @Override
+    public boolean execute() throws SQLException {
+        this.serving = !this.opaque && !this.connection.dirty();
+        this.served = null;
+        final boolean result;
+        if (this.serving) {
+            this.served = this.read();
+            result = true;
+        } else {
+            result = super.execute();
+        }
+        return result;
+    }
+
+    @Override
+    public ResultSet getResultSet() throws SQLException {
+        final ResultSet result;
+        if (this.serving) {
+            result = this.served;
+        } else {
+            result = super.getResultSet();
+        }
+        return result;
+    }
+
+    @Override
+    public int getUpdateCount() throws SQLException {
+        final int result;
+        if (this.serving) {
+            result = -1;
+        } else {
+            result = super.getUpdateCount();
+        }
+        return result;
+    }
+
+    @Override
+    public boolean getMoreResults() throws SQLException {
+        return this.getMoreResults(PreparedStatement.CLOSE_CURRENT_RESULT);
+    }
+
+    @Override
+    public boolean getMoreResults(final int current) throws SQLException {
+        final boolean result;
+        if (!this.serving) {
+            result = super.getMoreResults(current);
+        } else {
+            if (this.served != null && current != PreparedStatement.KEEP_CURRENT_RESULT) {
+                this.served.close();
+            }
+            this.served = null;
+            result = false;
+        }
+        return result;
+    }
+
+    @Override
+    public void clearParameters() throws SQLException {
+        super.clearParameters();
+        this.binds.clear();
+        this.opaque = false;
+    }
+
+    @Override
+    public void setNull(final int index, final int type) throws SQLException {
+        super.setNull(index, type);
+        this.binds.put(index, null);
+    }
+
+    @Override
+    public void setBoolean(final int index, final boolean value) throws SQLException {
+        super.setBoolean(index, value);
+        this.binds.put(index, value);
+    }
+
+    @Override
+    public void setByte(final int index, final byte value) throws SQLException {
+        super.setByte(index, value);
+        this.binds.put(index, value);
+    }
+
+    @Override
+    public void setShort(final int index, final short value) throws SQLException {
+        super.setShort(index, value);
+        this.binds.put(index, value);
+    }
+
+    @Override
+    public void setInt(final int index, final int value) throws SQLException {
+        super.setInt(index, value);
+        this.binds.put(index, value);
+    }
+
+    @Override
+    public void setLong(final int index, final long value) throws SQLException {
+        super.setLong(index, value);
+        this.binds.put(index, value);
+    }
+
+    @Override
+    public void setFloat(final int index, final float value) throws SQLException {
+        super.setFloat(index, value);
+        this.binds.put(index, value);
+    }
+
+    @Override
+    public void setDouble(final int index, final double value) throws SQLException {
+        super.setDouble(index, value);
+        this.binds.put(index, value);
+    }
+
+    @Override
+    public void setBigDecimal(final int index, final BigDecimal value) throws SQLException {
+        super.setBigDecimal(index, value);
+        this.binds.put(index, value);
+    }
+
+    @Override
+    public void setString(final int index, final String value) throws SQLException {
+        super.setString(index, value);
+        this.binds.put(index, value);
+    }
+
+    @Override
+    public void setNString(final int index, final String value) throws SQLException {
+        super.setNString(index, value);
+        this.binds.put(index, value);
+    }
+
+    @Override
+    public void setBytes(final int index, final byte[] value) throws SQLException {
+        super.setBytes(index, value);
+        this.binds.put(index, value);
+    }
+
+    @Override
+    public void setDate(final int index, final Date value) throws SQLException {
+        super.setDate(index, value);
+        this.binds.put(index, value);
+    }
+
+    @Override
+    public void setTime(final int index, final Time value) throws SQLException {
+        super.setTime(index, value);
+        this.binds.put(index, value);
+    }
+
+    @Override
+    public void setTimestamp(final int index, final Timestamp value) throws SQLException {
+        super.setTimestamp(index, value);
+        this.binds.put(index, value);
+    }
+
+    @Override
+    public void setObject(final int index, final Object value) throws SQLException {
+        super.setObject(index, value);
+        this.binds.put(index, value);
+    }
+
+    @Override
+    public void setObject(final int index, final Object value, final int type) throws SQLException {
+        super.setObject(index, value, type);
+        this.binds.put(index, value);
+    }
+
+    @Override
+    public void setObject(
+        final int index, final Object value, final int type, final int scale
+    ) throws SQLException {
+        super.setObject(index, value, type, scale);
+        this.binds.put(index, value);
+    }
+
+    @Override
+    public void setNull(final int index, final int type, final String tname) throws SQLException {
+        super.setNull(index, type, tname);
+        this.opaque = true;
+    }
+
+    @Override
+    public void setAsciiStream(
+        final int index, final InputStream stream, final int length
+    ) throws SQLException {
+        super.setAsciiStream(index, stream, length);
+        this.opaque = true;
+    }
+
+    @Override
+    public void setAsciiStream(
+        final int index, final InputStream stream, final long length
+    ) throws SQLException {
+        super.setAsciiStream(index, stream, length);
+        this.opaque = true;
+    }
+
+    @Override
+    public void setAsciiStream(final int index, final InputStream stream) throws SQLException {
+        super.setAsciiStream(index, stream);
+        this.opaque = true;
+    }
+
+    @Override
+    @Deprecated
+    @SuppressWarnings("deprecation")
+    public void setUnicodeStream(
+        final int index, final InputStream stream, final int length
+    ) throws SQLException {
+        super.setUnicodeStream(index, stream, length);
+        this.opaque = true;
+    }
+
+    @Override
+    public void setBinaryStream(
+        final int index, final InputStream stream, final int length
+    ) throws SQLException {
+        super.setBinaryStream(index, stream, length);
+        this.opaque = true;
+    }
+
+    @Override
+    public void setBinaryStream(
+        final int index, final InputStream stream, final long length
+    ) throws SQLException {
+        super.setBinaryStream(index, stream, length);
+        this.opaque = true;
+    }
+
+    @Override
+    public void setBinaryStream(final int index, final InputStream stream) throws SQLException {
+        super.setBinaryStream(index, stream);
+        this.opaque = true;
+    }
+
+    @Override
+    public void setCharacterStream(
+        final int index, final Reader reader, final int length
+    ) throws SQLException {
+        super.setCharacterStream(index, reader, length);
+        this.opaque = true;
+    }
+
+    @Override
+    public void setCharacterStream(
+        final int index, final Reader reader, final long length
+    ) throws SQLException {
+        super.setCharacterStream(index, reader, length);
+        this.opaque = true;
+    }
+
+    @Override
+    public void setCharacterStream(final int index, final Reader reader) throws SQLException {
+        super.setCharacterStream(index, reader);
+        this.opaque = true;
+    }
+
+    @Override
+    public void setNCharacterStream(
+        final int index, final Reader reader, final long length
+    ) throws SQLException {
+        super.setNCharacterStream(index, reader, length);
+        this.opaque = true;
+    }
+
+    @Override
+    public void setNCharacterStream(final int index, final Reader reader) throws SQLException {
+        super.setNCharacterStream(index, reader);
+        this.opaque = true;
+    }
+
+    @Override
+    public void setRef(final int index, final Ref value) throws SQLException {
+        super.setRef(index, value);
+        this.opaque = true;
+    }
+
+    @Override
+    public void setBlob(final int index, final Blob value) throws SQLException {
+        super.setBlob(index, value);
+        this.opaque = true;
+    }
+
+    @Override
+    public void setBlob(
+        final int index, final InputStream stream, final long length
+    ) throws SQLException {
+        super.setBlob(index, stream, length);
+        this.opaque = true;
+    }
+
+    @Override
+    public void setBlob(final int index, final InputStream stream) throws SQLException {
+        super.setBlob(index, stream);
+        this.opaque = true;
+    }
+
+    @Override
+    public void setClob(final int index, final Clob value) throws SQLException {
+        super.setClob(index, value);
+        this.opaque = true;
+    }
+
+    @Override
+    public void setClob(
+        final int index, final Reader reader, final long length
+    ) throws SQLException {
+        super.setClob(index, reader, length);
+        this.opaque = true;
+    }
+
+    @Override
+    public void setClob(final int index, final Reader reader) throws SQLException {
+        super.setClob(index, reader);
+        this.opaque = true;
+    }
+
+    @Override
+    public void setNClob(final int index, final NClob value) throws SQLException {
+        super.setNClob(index, value);
+        this.opaque = true;
+    }
+
+    @Override
+    public void setNClob(
+        final int index, final Reader reader, final long length
+    ) throws SQLException {
+        super.setNClob(index, reader, length);
+        this.opaque = true;
+    }
+
+    @Override
+    public void setNClob(final int index, final Reader reader) throws SQLException {
+        super.setNClob(index, reader);
+        this.opaque = true;
+    }
+
+    @Override
+    public void setArray(final int index, final Array value) throws SQLException {
+        super.setArray(index, value);
+        this.opaque = true;
+    }
+
+    @Override
+    public void setDate(
+        final int index, final Date value, final Calendar calendar
+    ) throws SQLException {
+        super.setDate(index, value, calendar);
+        this.opaque = true;
+    }
+
+    @Override
+    public void setTime(
+        final int index, final Time value, final Calendar calendar
+    ) throws SQLException {
+        super.setTime(index, value, calendar);
+        this.opaque = true;
+    }
+
+    @Override
+    public void setTimestamp(
+        final int index, final Timestamp value, final Calendar calendar
+    ) throws SQLException {
+        super.setTimestamp(index, value, calendar);
+        this.opaque = true;
+    }
+
+    @Override
+    public void setURL(final int index, final URL value) throws SQLException {
+        super.setURL(index, value);
+        this.opaque = true;
+    }
+
+    @Override
+    public void setRowId(final int index, final RowId value) throws SQLException {
+        super.setRowId(index, value);
+        this.opaque = true;
+    }
+
+    @Override
+    public void setSQLXML(final int index, final SQLXML value) throws SQLException {
+        super.setSQLXML(index, value);
+        this.opaque = true;
+    }
+
+    @Override
+    public void setObject(
+        final int index, final Object value, final SQLType type
+    ) throws SQLException {
+        super.setObject(index, value, type);
+        this.opaque = true;
+    }
+
+    @Override
+    public void setObject(
+        final int index, final Object value, final SQLType type, final int scale
+    ) throws SQLException {
+        super.setObject(index, value, type, scale);
+        this.opaque = true;
+    }
+
+    /**
+     * Reads results of the query, through cache if its key is known.
+     * @return Results
+     * @throws SQLException If fails
+     */
+    private ResultSet read() throws SQLException {
+        final ResultSet result;
+        if (this.opaque || this.connection.dirty()) {
+            result = super.executeQuery();
+        } else {
+            final ResultKey key = new ResultKey(this.sql, this.binds.values().toArray());
+            final CachedRowSet cached = this.cache.get(key);
+            final CachedRowSet rows = CachingPreparedStatement.ROWSETS.createCachedRowSet();
+            if (cached == null) {
+                final long version = this.cache.version();
+                try (ResultSet rset = super.executeQuery()) {
+                    rows.populate(rset);
+                }
+                this.cache.put(key, rows.createCopy(), this.tables, version);
+            } else {
+                rows.populate((ResultSet) cached.createShared());
+            }
+            result = rows;
+        }
+        return result;
+    }
+
+    /**
+     * Builds factory of row sets.
+     * @return Factory
+     */
+    private static RowSetFactory rowsets() {
+        try {
+            return RowSetProvider.newFactory();
+        } catch (final SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
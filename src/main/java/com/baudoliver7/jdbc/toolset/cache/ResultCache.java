@@ -0,0 +1,207 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import javax.sql.rowset.CachedRowSet;
+
+/**
+ * Bounded cache of query results, shared by connections of a
+ * {@link ResultCachedDataSource}.
+ * <p>Results expire after a time to live. The least recently used is
+ * evicted when the cache is full. Each result is tagged with the tables it
+ * reads, so that writes invalidate only the results of the tables they
+ * touch. A result read while an invalidation happened is not kept, since
+ * it may be older than the write.</p>
+ *
+ * @since 0.5
+ */
+public final class ResultCache {
+
+    /**
+     * Results, the least recently used first.
+     */
+    private final Map<ResultKey, Entry> results;
+
+    /**
+     * Maximum number of results.
+     */
+    private final int capacity;
+
+    /**
+     * Time to live of results, in nanoseconds.
+     */
+    private final long ttl;
+
+    /**
+     * Number of invalidations so far.
+     */
+    private long version;
+
+    /**
+     * Ctor.
+     * @param capacity Maximum number of results
+     * @param ttl Time to live of results
+     */
+    public ResultCache(final int capacity, final Duration ttl) {
+        this.capacity = capacity;
+        this.ttl = ttl.toNanos();
+        this.results = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Invalidates results which read some tables.
+     * <p>Use it when tables are changed outside of the data source.</p>
+     * @param tables Names of tables, without schema
+     */
+    public void invalidate(final String... tables) {
+        final Set<String> names = new HashSet<>(tables.length);
+        for (final String table : tables) {
+            names.add(Tables.normalized(table));
+        }
+        this.invalidate(names);
+    }
+
+    /**
+     * Removes all results.
+     */
+    public synchronized void clear() {
+        ++this.version;
+        this.results.clear();
+    }
+
+    /**
+     * Number of results cached.
+     * @return Size
+     */
+    public synchronized int size() {
+        return this.results.size();
+    }
+
+    /**
+     * Result of a query, if it is cached and alive.
+     * @param key Key of query
+     * @return Result or null
+     */
+    synchronized CachedRowSet get(final ResultKey key) {
+        final Entry entry = this.results.get(key);
+        CachedRowSet rows = null;
+        if (entry != null) {
+            if (System.nanoTime() - entry.created < this.ttl) {
+                rows = entry.rows;
+            } else {
+                this.results.remove(key);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Number of invalidations so far, to give to {@link #put}.
+     * @return Version
+     */
+    synchronized long version() {
+        return this.version;
+    }
+
+    /**
+     * Caches a result, unless an invalidation happened since it was read.
+     * @param key Key of query
+     * @param rows Result
+     * @param tables Tables read
+     * @param read Version when the result started to be read
+     */
+    synchronized void put(
+        final ResultKey key, final CachedRowSet rows, final Set<String> tables, final long read
+    ) {
+        if (this.capacity > 0 && read == this.version) {
+            this.results.put(key, new Entry(rows, tables, System.nanoTime()));
+            if (this.results.size() > this.capacity) {
+                final Iterator<Entry> eldest = this.results.values().iterator();
+                eldest.next();
+                eldest.remove();
+            }
+        }
+    }
+
+    /**
+     * Invalidates results which read some tables.
+     * @param tables Tables written, maybe {@link Tables#ALL}
+     */
+    synchronized void invalidate(final Collection<String> tables) {
+        if (!tables.isEmpty()) {
+            ++this.version;
+            final boolean all = tables.contains(Tables.ALL);
+            final Iterator<Entry> entries = this.results.values().iterator();
+            while (entries.hasNext()) {
+                final Set<String> read = entries.next().tables;
+                if (all || read.contains(Tables.ALL) || !Collections.disjoint(read, tables)) {
+                    entries.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Result cached.
+     *
+     * @since 0.5
+     */
+    private static final class Entry {
+
+        /**
+         * Result.
+         */
+        private final CachedRowSet rows;
+
+        /**
+         * Tables read.
+         */
+        private final Set<String> tables;
+
+        /**
+         * Time of creation, in nanoseconds.
+         */
+        private final long created;
+
+        /**
+         * Ctor.
+         * @param rows Result
+         * @param tables Tables read
+         * @param created Time of creation, in nanoseconds
+         */
+        Entry(final CachedRowSet rows, final Set<String> tables, final long created) {
+            this.rows = rows;
+            this.tables = tables;
+            this.created = created;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.cache;
+
+import com.baudoliver7.jdbc.toolset.wrapper.ConnectionWrap;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Connection which reads whitelisted queries through a result cache and
+ * invalidates results of tables it writes when its changes are committed.
+ * <p>Out of auto-commit mode, tables written are kept until commit, and
+ * forgotten on rollback. Meanwhile, the cache is bypassed, so that
+ * uncommitted changes are never cached. Callable statements are deemed to
+ * write all tables: results are invalidated when the connection is
+ * committed or closed.</p>
+ *
+ * @since 0.5
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+final class ResultCachedConnection extends ConnectionWrap {
+
+    /**
+     * Cache of results.
+     */
+    private final ResultCache cache;
+
+    /**
+     * Queries whose results are cached.
+     */
+    private final Set<String> queries;
+
+    /**
+     * Tables written and not committed yet.
+     */
+    private final Set<String> pending;
+
+    /**
+     * Ctor.
+     * @param origin Connection wrapped
+     * @param cache Cache of results
+     * @param queries Queries whose results are cached
+     */
+    ResultCachedConnection(
+        final Connection origin, final ResultCache cache, final Set<String> queries
+    ) {
+        super(origin);
+        this.cache = cache;
+        this.queries = queries;
+        this.pending = new HashSet<>(4);
+    }
+
+    @Override
+    public Statement createStatement() throws SQLException {
+        return new WriteTrackedStatement(super.createStatement(), this);
+    }
+
+    @Override
+    public Statement createStatement(final int rsetype, final int rsetc) throws SQLException {
+        return new WriteTrackedStatement(super.createStatement(rsetype, rsetc), this);
+    }
+
+    @Override
+    public Statement createStatement(
+        final int rsetype, final int rsetc, final int rseth
+    ) throws SQLException {
+        return new WriteTrackedStatement(super.createStatement(rsetype, rsetc, rseth), this);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(final String sql) throws SQLException {
+        final PreparedStatement stmt;
+        if (this.queries.contains(sql)) {
+            stmt = new CachingPreparedStatement(
+                super.prepareStatement(sql), this, this.cache, sql
+            );
+        } else {
+            stmt = new WriteTrackedPreparedStatement(super.prepareStatement(sql), this, sql);
+        }
+        return stmt;
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final int rsetype, final int rsetc
+    ) throws SQLException {
+        return new WriteTrackedPreparedStatement(
+            super.prepareStatement(sql, rsetype, rsetc), this, sql
+        );
+    }
+
+    @Override
+    // @checkstyle ParameterNumberCheck (3 lines)
+    public PreparedStatement prepareStatement(
+        final String sql, final int rsetype, final int rsetc, final int rseth
+    ) throws SQLException {
+        return new WriteTrackedPreparedStatement(
+            super.prepareStatement(sql, rsetype, rsetc, rseth), this, sql
+        );
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final int agkeys
+    ) throws SQLException {
+        return new WriteTrackedPreparedStatement(
+            super.prepareStatement(sql, agkeys), this, sql
+        );
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final int[] icolumns
+    ) throws SQLException {
+        return new WriteTrackedPreparedStatement(
+            super.prepareStatement(sql, icolumns), this, sql
+        );
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final String[] ncolumns
+    ) throws SQLException {
+        return new WriteTrackedPreparedStatement(
+            super.prepareStatement(sql, ncolumns), this, sql
+        );
+    }
+
+    @Override
+    public CallableStatement prepareCall(final String sql) throws SQLException {
+        this.pending.add(Tables.ALL);
+        return super.prepareCall(sql);
+    }
+
+    @Override
+    public CallableStatement prepareCall(
+        final String sql, final int rsetype, final int rsetc
+    ) throws SQLException {
+        this.pending.add(Tables.ALL);
+        return super.prepareCall(sql, rsetype, rsetc);
+    }
+
+    @Override
+    // @checkstyle ParameterNumberCheck (3 lines)
+    public CallableStatement prepareCall(
+        final String sql, final int rsetype, final int rsetc, final int rseth
+    ) throws SQLException {
+        this.pending.add(Tables.ALL);
+        return super.prepareCall(sql, rsetype, rsetc, rseth);
+    }
+
+    @Override
+    public void setAutoCommit(final boolean auto) throws SQLException {
+        super.setAutoCommit(auto);
+        if (auto) {
+            this.committed();
+        }
+    }
+
+    @Override
+    public void commit() throws SQLException {
+        super.commit();
+        this.committed();
+    }
+
+    @Override
+    public void rollback() throws SQLException {
+        super.rollback();
+        this.pending.clear();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            super.close();
+        } finally {
+            this.committed();
+        }
+    }
+
+    /**
+     * Records a statement executed successfully.
+     * <p>Results of tables it writes are invalidated at once in auto-commit
+     * mode, at commit otherwise.</p>
+     * @param sql SQL
+     * @throws SQLException If fails
+     */
+    void written(final String sql) throws SQLException {
+        final Set<String> tables = new Tables(sql).written();
+        if (!tables.isEmpty()) {
+            this.pending.addAll(tables);
+            if (super.getAutoCommit()) {
+                this.committed();
+            }
+        }
+    }
+
+    /**
+     * Tells whether changes are not committed yet.
+     * @return True if the cache should be bypassed
+     */
+    boolean dirty() {
+        return !this.pending.isEmpty();
+    }
+
+    /**
+     * Invalidates results of tables written, once committed.
+     */
+    private void committed() {
+        if (!this.pending.isEmpty()) {
+            this.cache.invalidate(this.pending);
+            this.pending.clear();
+        }
+    }
+}
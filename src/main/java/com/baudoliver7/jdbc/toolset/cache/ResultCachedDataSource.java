@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.cache;
+
+import com.baudoliver7.jdbc.toolset.wrapper.DataSourceWrap;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import javax.sql.DataSource;
+
+/**
+ * Data source which reads results of whitelisted queries through a cache.
+ * <p>Only queries prepared with {@link Connection#prepareStatement(String)}
+ * whose SQL is whitelisted are cached, by SQL and bind values, whether
+ * they are executed with {@code executeQuery()} or, as jOOQ does, with
+ * {@code execute()} then {@code getResultSet()}. Any write
+ * executed through this data source invalidates results of the tables it
+ * touches, found by regular expressions, once it is really committed. Put
+ * it under a {@link com.baudoliver7.jdbc.toolset.lockable.LocalLockedDataSource},
+ * whose connections don't commit, so that invalidation waits for the commit
+ * of the unit of work. Writes made outside of it must be invalidated with
+ * {@link ResultCache#invalidate(String...)}.</p>
+ * <pre>{@code
+ * final ResultCache cache = new ResultCache(1000, Duration.ofMinutes(10));
+ * final DataSource src = new ResultCachedDataSource(
+ *     pool, cache, "SELECT name FROM country WHERE code = ?"
+ * );
+ * }</pre>
+ *
+ * @since 0.5
+ */
+public final class ResultCachedDataSource extends DataSourceWrap {
+
+    /**
+     * Cache of results.
+     */
+    private final ResultCache cache;
+
+    /**
+     * Queries whose results are cached.
+     */
+    private final Set<String> queries;
+
+    /**
+     * Ctor.
+     * @param origin Data source to wrap
+     * @param cache Cache of results
+     * @param queries Read-only queries whose results are cached
+     */
+    public ResultCachedDataSource(
+        final DataSource origin, final ResultCache cache, final String... queries
+    ) {
+        super(origin);
+        this.cache = cache;
+        this.queries = new HashSet<>(Arrays.asList(queries));
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return new ResultCachedConnection(super.getConnection(), this.cache, this.queries);
+    }
+
+    @Override
+    public Connection getConnection(
+        final String username, final String password
+    ) throws SQLException {
+        return new ResultCachedConnection(
+            super.getConnection(username, password), this.cache, this.queries
+        );
+    }
+}
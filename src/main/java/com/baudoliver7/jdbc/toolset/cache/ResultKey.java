@@ -0,0 +1,79 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.cache;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Key of a query result: SQL and bind values.
+ *
+ * @since 0.5
+ */
+final class ResultKey {
+
+    /**
+     * SQL.
+     */
+    private final String sql;
+
+    /**
+     * Bind values, in order of parameters.
+     */
+    private final Object[] binds;
+
+    /**
+     * Ctor.
+     * @param sql SQL
+     * @param binds Bind values, in order of parameters
+     */
+    ResultKey(final String sql, final Object... binds) {
+        this.sql = sql;
+        this.binds = binds.clone();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        final boolean same;
+        if (this == obj) {
+            same = true;
+        } else if (obj instanceof ResultKey) {
+            final ResultKey other = (ResultKey) obj;
+            same = this.sql.equals(other.sql) && Arrays.deepEquals(this.binds, other.binds);
+        } else {
+            same = false;
+        }
+        return same;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.sql, Arrays.deepHashCode(this.binds));
+    }
+
+    @Override
+    public String toString() {
+        return this.sql;
+    }
+}
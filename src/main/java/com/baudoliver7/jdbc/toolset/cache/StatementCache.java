@@ -0,0 +1,122 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.cache;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of idle prepared statements of one connection.
+ * <p>A statement is taken out of the cache while it is used, so that it is
+ * never shared. Evicted statements are closed.</p>
+ *
+ * @since 0.5
+ */
+final class StatementCache {
+
+    /**
+     * Idle statements, the least recently used first.
+     */
+    private final Map<StatementKey, PreparedStatement> idle;
+
+    /**
+     * Maximum number of idle statements.
+     */
+    private final int capacity;
+
+    /**
+     * Ctor.
+     * @param capacity Maximum number of idle statements
+     */
+    StatementCache(final int capacity) {
+        this.capacity = capacity;
+        this.idle = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Takes an idle statement out of the cache.
+     * @param key Key
+     * @return Statement or null if there is none
+     */
+    synchronized PreparedStatement take(final StatementKey key) {
+        return this.idle.remove(key);
+    }
+
+    /**
+     * Puts back a statement in the cache.
+     * @param key Key
+     * @param stmt Statement
+     * @throws SQLException If fails to close an evicted statement
+     */
+    void put(final StatementKey key, final PreparedStatement stmt) throws SQLException {
+        final PreparedStatement evicted;
+        synchronized (this) {
+            if (this.idle.containsKey(key)) {
+                evicted = stmt;
+            } else {
+                this.idle.put(key, stmt);
+                if (this.idle.size() > this.capacity) {
+                    final Iterator<PreparedStatement> eldest = this.idle.values().iterator();
+                    evicted = eldest.next();
+                    eldest.remove();
+                } else {
+                    evicted = null;
+                }
+            }
+        }
+        if (evicted != null) {
+            evicted.close();
+        }
+    }
+
+    /**
+     * Closes and removes all idle statements.
+     * @throws SQLException If fails to close a statement
+     */
+    void clear() throws SQLException {
+        final PreparedStatement[] stmts;
+        synchronized (this) {
+            stmts = this.idle.values().toArray(new PreparedStatement[0]);
+            this.idle.clear();
+        }
+        SQLException error = null;
+        for (final PreparedStatement stmt : stmts) {
+            try {
+                stmt.close();
+            } catch (final SQLException ex) {
+                if (error == null) {
+                    error = ex;
+                } else {
+                    error.setNextException(ex);
+                }
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+}
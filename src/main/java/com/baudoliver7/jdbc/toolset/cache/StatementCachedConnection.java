@@ -0,0 +1,152 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.cache;
+
+import com.baudoliver7.jdbc.toolset.wrapper.ConnectionWrap;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Connection that caches its prepared statements.
+ * <p>A statement is cached by its SQL query, result set type, concurrency,
+ * holdability and auto-generated keys mode. Closing a statement gives it back
+ * to the cache, where the least recently used ones are closed when there are
+ * too many. Closing the connection closes all cached statements.</p>
+ * <p>Decorate the physical connection with it, so that statements survive
+ * the borrowing of the connection from a pool.</p>
+ *
+ * @since 0.5
+ */
+public final class StatementCachedConnection extends ConnectionWrap {
+
+    /**
+     * Cache.
+     */
+    private final StatementCache cache;
+
+    /**
+     * Ctor.
+     * @param origin Connection wrapped
+     */
+    public StatementCachedConnection(final Connection origin) {
+        this(origin, 64);
+    }
+
+    /**
+     * Ctor.
+     * @param origin Connection wrapped
+     * @param capacity Maximum number of idle statements to keep
+     */
+    public StatementCachedConnection(final Connection origin, final int capacity) {
+        super(origin);
+        this.cache = new StatementCache(capacity);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(final String sql) throws SQLException {
+        final StatementKey key = new StatementKey(sql);
+        PreparedStatement stmt = this.cache.take(key);
+        if (stmt == null) {
+            stmt = super.prepareStatement(sql);
+        }
+        return new CachedStatement(this, this.cache, key, stmt);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final int rsetype, final int rsetc
+    ) throws SQLException {
+        final StatementKey key = new StatementKey(sql, rsetype, rsetc);
+        PreparedStatement stmt = this.cache.take(key);
+        if (stmt == null) {
+            stmt = super.prepareStatement(sql, rsetype, rsetc);
+        }
+        return new CachedStatement(this, this.cache, key, stmt);
+    }
+
+    @Override
+    // @checkstyle ParameterNumberCheck (3 lines)
+    public PreparedStatement prepareStatement(
+        final String sql, final int rsetype, final int rsetc, final int rseth
+    ) throws SQLException {
+        final StatementKey key = new StatementKey(sql, rsetype, rsetc, rseth);
+        PreparedStatement stmt = this.cache.take(key);
+        if (stmt == null) {
+            stmt = super.prepareStatement(sql, rsetype, rsetc, rseth);
+        }
+        return new CachedStatement(this, this.cache, key, stmt);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final int agkeys
+    ) throws SQLException {
+        final StatementKey key = new StatementKey(
+            sql, new int[0], agkeys, new int[0], new String[0]
+        );
+        PreparedStatement stmt = this.cache.take(key);
+        if (stmt == null) {
+            stmt = super.prepareStatement(sql, agkeys);
+        }
+        return new CachedStatement(this, this.cache, key, stmt);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final int[] icolumns
+    ) throws SQLException {
+        final StatementKey key = new StatementKey(
+            sql, new int[0], -1, icolumns, new String[0]
+        );
+        PreparedStatement stmt = this.cache.take(key);
+        if (stmt == null) {
+            stmt = super.prepareStatement(sql, icolumns);
+        }
+        return new CachedStatement(this, this.cache, key, stmt);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final String[] ncolumns
+    ) throws SQLException {
+        final StatementKey key = new StatementKey(
+            sql, new int[0], -1, new int[0], ncolumns
+        );
+        PreparedStatement stmt = this.cache.take(key);
+        if (stmt == null) {
+            stmt = super.prepareStatement(sql, ncolumns);
+        }
+        return new CachedStatement(this, this.cache, key, stmt);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            this.cache.clear();
+        } finally {
+            super.close();
+        }
+    }
+}
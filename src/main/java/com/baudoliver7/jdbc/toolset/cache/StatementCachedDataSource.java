@@ -0,0 +1,77 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.cache;
+
+import com.baudoliver7.jdbc.toolset.wrapper.DataSourceWrap;
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+
+/**
+ * Data source whose connections cache their prepared statements.
+ * <p>Put it under a pool, so that each physical connection keeps its own
+ * cache while it lives:</p>
+ * <pre>{@code new PooledDataSource(new StatementCachedDataSource(origin))}</pre>
+ *
+ * @since 0.5
+ */
+public final class StatementCachedDataSource extends DataSourceWrap {
+
+    /**
+     * Maximum number of idle statements per connection.
+     */
+    private final int capacity;
+
+    /**
+     * Ctor.
+     * @param origin Data source to wrap
+     */
+    public StatementCachedDataSource(final DataSource origin) {
+        this(origin, 64);
+    }
+
+    /**
+     * Ctor.
+     * @param origin Data source to wrap
+     * @param capacity Maximum number of idle statements per connection
+     */
+    public StatementCachedDataSource(final DataSource origin, final int capacity) {
+        super(origin);
+        this.capacity = capacity;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return new StatementCachedConnection(super.getConnection(), this.capacity);
+    }
+
+    @Override
+    public Connection getConnection(
+        final String username, final String password
+    ) throws SQLException {
+        return new StatementCachedConnection(
+            super.getConnection(username, password), this.capacity
+        );
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.cache;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Key of a prepared statement in cache.
+ *
+ * @since 0.5
+ */
+final class StatementKey {
+
+    /**
+     * SQL query.
+     */
+    private final String sql;
+
+    /**
+     * Result set type, concurrency and holdability.
+     */
+    private final int[] options;
+
+    /**
+     * Auto-generated keys mode.
+     */
+    private final int agkeys;
+
+    /**
+     * Indexes of columns to return.
+     */
+    private final int[] icolumns;
+
+    /**
+     * Names of columns to return.
+     */
+    private final String[] ncolumns;
+
+    /**
+     * Ctor.
+     * @param sql SQL query
+     * @param options Result set type, concurrency and holdability
+     */
+    StatementKey(final String sql, final int... options) {
+        this(sql, options, -1, new int[0], new String[0]);
+    }
+
+    /**
+     * Ctor.
+     * @param sql SQL query
+     * @param options Result set type, concurrency and holdability
+     * @param agkeys Auto-generated keys mode
+     * @param icolumns Indexes of columns to return
+     * @param ncolumns Names of columns to return
+     * @checkstyle ParameterNumberCheck (4 lines)
+     */
+    StatementKey(
+        final String sql, final int[] options, final int agkeys,
+        final int[] icolumns, final String[] ncolumns
+    ) {
+        this.sql = sql;
+        this.options = options.clone();
+        this.agkeys = agkeys;
+        this.icolumns = icolumns.clone();
+        this.ncolumns = ncolumns.clone();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        final boolean same;
+        if (this == obj) {
+            same = true;
+        } else if (obj instanceof StatementKey) {
+            final StatementKey other = (StatementKey) obj;
+            same = this.sql.equals(other.sql)
+                && this.agkeys == other.agkeys
+                && Arrays.equals(this.options, other.options)
+                && Arrays.equals(this.icolumns, other.icolumns)
+                && Arrays.equals(this.ncolumns, other.ncolumns);
+        } else {
+            same = false;
+        }
+        return same;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+            this.sql, this.agkeys, Arrays.hashCode(this.options),
+            Arrays.hashCode(this.icolumns), Arrays.hashCode(this.ncolumns)
+        );
+    }
+
+    @Override
+    public String toString() {
+        return this.sql;
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.cache;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Tables of a SQL statement, found by regular expressions.
+ * <p>Names are unquoted, stripped of their schema and lower-cased, so that a
+ * table may be confused with a table of the same name in another schema:
+ * its entries are invalidated too much, never too little. When the tables
+ * written can't be found, {@link #ALL} stands for all tables.</p>
+ *
+ * @since 0.5
+ */
+final class Tables {
+
+    /**
+     * All tables.
+     */
+    static final String ALL = "*";
+
+    /**
+     * Table written by a data change or definition statement.
+     */
+    private static final Pattern WRITTEN = Pattern.compile(
+        String.join(
+            "",
+            "^\\s*(?:INSERT\\s+INTO|UPDATE|DELETE\\s+FROM|MERGE\\s+INTO|TRUNCATE(?:\\s+TABLE)?",
+            "|ALTER\\s+TABLE|DROP\\s+TABLE(?:\\s+IF\\s+EXISTS)?)\\s+(?:ONLY\\s+)?([\\w.\"$]+)"
+        ),
+        Pattern.CASE_INSENSITIVE
+    );
+
+    /**
+     * Statement which changes no data.
+     */
+    private static final Pattern READING = Pattern.compile(
+        "^\\s*(?:\\(\\s*)*(?:SELECT|VALUES|TABLE|SHOW|EXPLAIN|SET|BEGIN|START|COMMIT|ROLLBACK)\\b",
+        Pattern.CASE_INSENSITIVE
+    );
+
+    /**
+     * Data change in a common table expression.
+     */
+    private static final Pattern CHANGE = Pattern.compile(
+        "\\b(?:INSERT|UPDATE|DELETE|MERGE)\\b", Pattern.CASE_INSENSITIVE
+    );
+
+    /**
+     * List of tables read, with their aliases, after FROM.
+     */
+    private static final Pattern LIST = Pattern.compile(
+        String.join(
+            "",
+            "\\bFROM\\s+([\\w.\"$]+(?:\\s+(?:AS\\s+)?\\w+)?",
+            "(?:\\s*,\\s*[\\w.\"$]+(?:\\s+(?:AS\\s+)?\\w+)?)*)"
+        ),
+        Pattern.CASE_INSENSITIVE
+    );
+
+    /**
+     * Table read after JOIN.
+     */
+    private static final Pattern JOINED = Pattern.compile(
+        "\\bJOIN\\s+([\\w.\"$]+)", Pattern.CASE_INSENSITIVE
+    );
+
+    /**
+     * End of a list of tables before an item which is not a table: function
+     * or subquery.
+     */
+    private static final Pattern CUT = Pattern.compile("\\s*[(,]");
+
+    /**
+     * Subquery first in a list of tables.
+     */
+    private static final Pattern NESTED = Pattern.compile(
+        "\\bFROM\\s*\\(", Pattern.CASE_INSENSITIVE
+    );
+
+    /**
+     * SQL.
+     */
+    private final String sql;
+
+    /**
+     * Ctor.
+     * @param sql SQL
+     */
+    Tables(final String sql) {
+        this.sql = sql;
+    }
+
+    /**
+     * Tables read.
+     * <p>All tables of a list after FROM are read. If the list holds a
+     * subquery or a function, its other tables can't be found reliably:
+     * {@link #ALL} is read too.</p>
+     * @return Tables, or {@link #ALL} if none is found
+     */
+    Set<String> read() {
+        final Set<String> tables = new HashSet<>(4);
+        final Matcher list = Tables.LIST.matcher(this.sql);
+        final Matcher cut = Tables.CUT.matcher(this.sql);
+        while (list.find()) {
+            for (final String item : list.group(1).split(",")) {
+                tables.add(Tables.normalized(item.trim().split("\\s+")[0]));
+            }
+            if (cut.region(list.end(), this.sql.length()).lookingAt()) {
+                tables.add(Tables.ALL);
+            }
+        }
+        if (Tables.NESTED.matcher(this.sql).find()) {
+            tables.add(Tables.ALL);
+        }
+        final Matcher joined = Tables.JOINED.matcher(this.sql);
+        while (joined.find()) {
+            tables.add(Tables.normalized(joined.group(1)));
+        }
+        if (tables.isEmpty()) {
+            tables.add(Tables.ALL);
+        }
+        return tables;
+    }
+
+    /**
+     * Tables written.
+     * @return Tables, empty if no data changes, or {@link #ALL} if unknown
+     */
+    Set<String> written() {
+        final Matcher matcher = Tables.WRITTEN.matcher(this.sql);
+        final Set<String> tables;
+        if (matcher.find()) {
+            tables = Collections.singleton(Tables.normalized(matcher.group(1)));
+        } else if (Tables.READING.matcher(this.sql).find()
+            || this.sql.trim().regionMatches(true, 0, "WITH", 0, 4)
+            && !Tables.CHANGE.matcher(this.sql).find()) {
+            tables = Collections.emptySet();
+        } else {
+            tables = Collections.singleton(Tables.ALL);
+        }
+        return tables;
+    }
+
+    /**
+     * Normalized name of a table.
+     * @param name Name, maybe quoted and qualified
+     * @return Name
+     */
+    static String normalized(final String name) {
+        final String unquoted = name.replace("\"", "");
+        return unquoted.substring(unquoted.lastIndexOf('.') + 1).toLowerCase(Locale.ENGLISH);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.cache;
+
+import com.baudoliver7.jdbc.toolset.wrapper.PreparedStatementWrap;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Prepared statement which records in its connection its executions.
+ *
+ * @since 0.5
+ */
+final class WriteTrackedPreparedStatement extends PreparedStatementWrap {
+
+    /**
+     * Connection which prepared this statement.
+     */
+    private final ResultCachedConnection connection;
+
+    /**
+     * SQL.
+     */
+    private final String sql;
+
+    /**
+     * Ctor.
+     * @param origin Statement wrapped
+     * @param connection Connection which prepared this statement
+     * @param sql SQL
+     */
+    WriteTrackedPreparedStatement(
+        final PreparedStatement origin, final ResultCachedConnection connection,
+        final String sql
+    ) {
+        super(origin);
+        this.connection = connection;
+        this.sql = sql;
+    }
+
+    @Override
+    public ResultSet executeQuery() throws SQLException {
+        final ResultSet result = super.executeQuery();
+        this.connection.written(this.sql);
+        return result;
+    }
+
+    @Override
+    public int executeUpdate() throws SQLException {
+        final int result = super.executeUpdate();
+        this.connection.written(this.sql);
+        return result;
+    }
+
+    @Override
+    public long executeLargeUpdate() throws SQLException {
+        final long result = super.executeLargeUpdate();
+        this.connection.written(this.sql);
+        return result;
+    }
+
+    @Override
+    public boolean execute() throws SQLException {
+        final boolean result = super.execute();
+        this.connection.written(this.sql);
+        return result;
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        final int[] result = super.executeBatch();
+        this.connection.written(this.sql);
+        return result;
+    }
+
+    @Override
+    public long[] executeLargeBatch() throws SQLException {
+        final long[] result = super.executeLargeBatch();
+        this.connection.written(this.sql);
+        return result;
+    }
+}
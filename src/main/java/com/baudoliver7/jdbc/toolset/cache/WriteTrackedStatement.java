@@ -0,0 +1,190 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.cache;
+
+import com.baudoliver7.jdbc.toolset.wrapper.StatementWrap;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Statement which records in its connection the statements it executes.
+ *
+ * @since 0.5
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+final class WriteTrackedStatement extends StatementWrap {
+
+    /**
+     * Connection which created this statement.
+     */
+    private final ResultCachedConnection connection;
+
+    /**
+     * Statements of batch.
+     */
+    private final List<String> batch;
+
+    /**
+     * Ctor.
+     * @param origin Statement wrapped
+     * @param connection Connection which created this statement
+     */
+    WriteTrackedStatement(final Statement origin, final ResultCachedConnection connection) {
+        super(origin);
+        this.connection = connection;
+        this.batch = new ArrayList<>(0);
+    }
+
+    @Override
+    public ResultSet executeQuery(final String sql) throws SQLException {
+        final ResultSet result = super.executeQuery(sql);
+        this.connection.written(sql);
+        return result;
+    }
+
+    @Override
+    public int executeUpdate(final String sql) throws SQLException {
+        final int result = super.executeUpdate(sql);
+        this.connection.written(sql);
+        return result;
+    }
+
+    @Override
+    public int executeUpdate(final String sql, final int agkeys) throws SQLException {
+        final int result = super.executeUpdate(sql, agkeys);
+        this.connection.written(sql);
+        return result;
+    }
+
+    @Override
+    public int executeUpdate(final String sql, final int[] icolumns) throws SQLException {
+        final int result = super.executeUpdate(sql, icolumns);
+        this.connection.written(sql);
+        return result;
+    }
+
+    @Override
+    public int executeUpdate(final String sql, final String[] ncolumns) throws SQLException {
+        final int result = super.executeUpdate(sql, ncolumns);
+        this.connection.written(sql);
+        return result;
+    }
+
+    @Override
+    public long executeLargeUpdate(final String sql) throws SQLException {
+        final long result = super.executeLargeUpdate(sql);
+        this.connection.written(sql);
+        return result;
+    }
+
+    @Override
+    public long executeLargeUpdate(final String sql, final int agkeys) throws SQLException {
+        final long result = super.executeLargeUpdate(sql, agkeys);
+        this.connection.written(sql);
+        return result;
+    }
+
+    @Override
+    public long executeLargeUpdate(final String sql, final int[] icolumns) throws SQLException {
+        final long result = super.executeLargeUpdate(sql, icolumns);
+        this.connection.written(sql);
+        return result;
+    }
+
+    @Override
+    public long executeLargeUpdate(final String sql, final String[] ncolumns)
+        throws SQLException {
+        final long result = super.executeLargeUpdate(sql, ncolumns);
+        this.connection.written(sql);
+        return result;
+    }
+
+    @Override
+    public boolean execute(final String sql) throws SQLException {
+        final boolean result = super.execute(sql);
+        this.connection.written(sql);
+        return result;
+    }
+
+    @Override
+    public boolean execute(final String sql, final int agkeys) throws SQLException {
+        final boolean result = super.execute(sql, agkeys);
+        this.connection.written(sql);
+        return result;
+    }
+
+    @Override
+    public boolean execute(final String sql, final int[] icolumns) throws SQLException {
+        final boolean result = super.execute(sql, icolumns);
+        this.connection.written(sql);
+        return result;
+    }
+
+    @Override
+    public boolean execute(final String sql, final String[] ncolumns) throws SQLException {
+        final boolean result = super.execute(sql, ncolumns);
+        this.connection.written(sql);
+        return result;
+    }
+
+    @Override
+    public void addBatch(final String sql) throws SQLException {
+        super.addBatch(sql);
+        this.batch.add(sql);
+    }
+
+    @Override
+    public void clearBatch() throws SQLException {
+        super.clearBatch();
+        this.batch.clear();
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        final int[] result = super.executeBatch();
+        this.flushed();
+        return result;
+    }
+
+    @Override
+    public long[] executeLargeBatch() throws SQLException {
+        final long[] result = super.executeLargeBatch();
+        this.flushed();
+        return result;
+    }
+
+    /**
+     * Records statements of batch executed.
+     * @throws SQLException If fails
+     */
+    private void flushed() throws SQLException {
+        for (final String sql : this.batch) {
+            this.connection.written(sql);
+        }
+        this.batch.clear();
+    }
+}
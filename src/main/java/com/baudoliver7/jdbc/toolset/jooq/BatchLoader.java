@@ -0,0 +1,64 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.jooq;
+
+import java.util.List;
+import org.jooq.BatchBindStep;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Table;
+
+/**
+ * Loader which sends a chunk as one JDBC batch of inserts.
+ *
+ * @since 0.5
+ */
+final class BatchLoader implements Loader {
+
+    /**
+     * Context.
+     */
+    private final DSLContext ctx;
+
+    /**
+     * Ctor.
+     * @param ctx Context
+     */
+    BatchLoader(final DSLContext ctx) {
+        this.ctx = ctx;
+    }
+
+    @Override
+    public <R extends Record> void load(final Table<R> table, final List<? extends Record> rows) {
+        final Field<?>[] fields = table.fields();
+        final BatchBindStep batch = this.ctx.batch(
+            this.ctx.insertInto(table).columns(fields).values(new Object[fields.length])
+        );
+        for (final Record row : rows) {
+            batch.bind(Loader.values(row, fields));
+        }
+        batch.execute();
+    }
+}
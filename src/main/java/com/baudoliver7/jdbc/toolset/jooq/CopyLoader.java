@@ -0,0 +1,226 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.jooq;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.sql.Connection;
+import java.util.List;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+
+/**
+ * Loader which streams a chunk to PostgreSQL with {@code COPY FROM STDIN}.
+ * <p>Rows are written in CSV format through the copy API of the PostgreSQL
+ * driver, found by unwrapping the connection. The driver is looked up by
+ * reflection, so that it is only needed at runtime.</p>
+ * <p>Values are converted with the converter of their field and written
+ * as text. A table with a field of a custom binding or of a user-defined
+ * type is loaded by {@link BatchLoader} instead, because only jOOQ knows how
+ * to bind them.</p>
+ *
+ * @since 0.5
+ */
+final class CopyLoader implements Loader {
+
+    /**
+     * Connection interface of PostgreSQL driver.
+     */
+    private static final String PGCONNECTION = "org.postgresql.PGConnection";
+
+    /**
+     * Default binding of jOOQ, and its nested classes.
+     */
+    private static final String DEFAULT_BINDING = "org.jooq.impl.DefaultBinding";
+
+    /**
+     * Context.
+     */
+    private final DSLContext ctx;
+
+    /**
+     * Ctor.
+     * @param ctx Context
+     */
+    CopyLoader(final DSLContext ctx) {
+        this.ctx = ctx;
+    }
+
+    @Override
+    public <R extends Record> void load(final Table<R> table, final List<? extends Record> rows) {
+        final Field<?>[] fields = table.fields();
+        if (CopyLoader.copyable(fields)) {
+            final String sql = this.copy(table, fields);
+            final StringBuilder csv = new StringBuilder(rows.size() * fields.length * 8);
+            for (final Record row : rows) {
+                for (int idx = 0; idx < fields.length; ++idx) {
+                    if (idx > 0) {
+                        csv.append(',');
+                    }
+                    CopyLoader.append(csv, CopyLoader.database(row, fields[idx]));
+                }
+                csv.append('\n');
+            }
+            this.ctx.connection(
+                conn -> CopyLoader.copyIn(conn, sql, new StringReader(csv.toString()))
+            );
+        } else {
+            new BatchLoader(this.ctx).load(table, rows);
+        }
+    }
+
+    /**
+     * Whether values of fields can be written as text.
+     * <p>Bindings of jOOQ other than default ones are those of custom bindings,
+     * maybe chained with converters.</p>
+     * @param fields Fields
+     * @return True if all of them can
+     */
+    private static boolean copyable(final Field<?>... fields) {
+        boolean copyable = true;
+        for (final Field<?> field : fields) {
+            if (field.getDataType().isUDT()
+                || !field.getBinding().getClass().getName()
+                    .startsWith(CopyLoader.DEFAULT_BINDING)) {
+                copyable = false;
+                break;
+            }
+        }
+        return copyable;
+    }
+
+    /**
+     * Copy statement of a table.
+     * @param table Table
+     * @param fields Fields of table
+     * @return SQL
+     */
+    private String copy(final Table<?> table, final Field<?>... fields) {
+        final StringBuilder sql = new StringBuilder(64)
+            .append("COPY ")
+            .append(this.ctx.render(table))
+            .append(" (");
+        for (int idx = 0; idx < fields.length; ++idx) {
+            if (idx > 0) {
+                sql.append(", ");
+            }
+            sql.append(this.ctx.render(DSL.name(fields[idx].getName())));
+        }
+        return sql.append(") FROM STDIN WITH (FORMAT csv)").toString();
+    }
+
+    /**
+     * Copies rows in with the copy API of the driver.
+     * @param conn Connection
+     * @param sql Copy statement
+     * @param csv Rows in CSV format
+     * @throws Exception If fails
+     */
+    @SuppressWarnings("PMD.SignatureDeclareThrowsException")
+    private static void copyIn(final Connection conn, final String sql, final Reader csv)
+        throws Exception {
+        final Class<?> pgconn = Class.forName(CopyLoader.PGCONNECTION);
+        final Object api = pgconn.getMethod("getCopyAPI").invoke(conn.unwrap(pgconn));
+        try {
+            api.getClass().getMethod("copyIn", String.class, Reader.class)
+                .invoke(api, sql, csv);
+        } catch (final InvocationTargetException ex) {
+            if (ex.getCause() instanceof Exception) {
+                throw (Exception) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Value of a field of a row, converted to its database type.
+     * @param row Row
+     * @param field Field
+     * @param <T> Type of field
+     * @return Value
+     */
+    private static <T> Object database(final Record row, final Field<T> field) {
+        return field.getConverter().to(row.get(field));
+    }
+
+    /**
+     * Appends a value in CSV format.
+     * <p>Null is left empty, other values are quoted, so that an empty
+     * string differs from null. Binary values are written in hex, arrays
+     * as PostgreSQL array literals.</p>
+     * @param csv CSV
+     * @param value Value
+     */
+    static void append(final StringBuilder csv, final Object value) {
+        if (value != null) {
+            final StringBuilder text = new StringBuilder(16);
+            CopyLoader.text(text, value);
+            csv.append('"').append(text.toString().replace("\"", "\"\"")).append('"');
+        }
+    }
+
+    /**
+     * Appends text of a non-null value, as PostgreSQL reads it.
+     * @param text Text
+     * @param value Value
+     */
+    private static void text(final StringBuilder text, final Object value) {
+        if (value instanceof byte[]) {
+            text.append("\\x");
+            for (final byte octet : (byte[]) value) {
+                text.append(Character.forDigit((octet >> 4) & 0xF, 16))
+                    .append(Character.forDigit(octet & 0xF, 16));
+            }
+        } else if (value.getClass().isArray()) {
+            text.append('{');
+            for (int idx = 0; idx < Array.getLength(value); ++idx) {
+                if (idx > 0) {
+                    text.append(',');
+                }
+                final Object item = Array.get(value, idx);
+                if (item == null) {
+                    text.append("NULL");
+                } else if (item.getClass().isArray() && !(item instanceof byte[])) {
+                    CopyLoader.text(text, item);
+                } else {
+                    final StringBuilder element = new StringBuilder(16);
+                    CopyLoader.text(element, item);
+                    text.append('"')
+                        .append(
+                            element.toString().replace("\\", "\\\\").replace("\"", "\\\"")
+                        )
+                        .append('"');
+                }
+            }
+            text.append('}');
+        } else {
+            text.append(value);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.jooq;
+
+import com.baudoliver7.jdbc.toolset.wrapper.RoutingDataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
+import javax.sql.DataSource;
+import org.jooq.SQLDialect;
+
+/**
+ * SQL dialects of data sources.
+ * <p>A dialect is resolved once per data source, then cached as long as the
+ * data source lives. Decorators of a same data source share its dialect, so
+ * that wrapping it per request doesn't resolve it again. A data source which
+ * routes connections to several databases, a {@link RoutingDataSource},
+ * has its own dialect: it doesn't share the one of the data source it
+ * wraps.</p>
+ *
+ * @since 0.5
+ */
+public final class Dialects {
+
+    /**
+     * Dialects resolved.
+     */
+    private static final Map<DataSource, SQLDialect> RESOLVED =
+        Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Dialect of a data source.
+     * @param src Data source
+     * @return SQLDialect
+     */
+    public SQLDialect of(final DataSource src) {
+        SQLDialect dialect = this.cached(src);
+        if (dialect == null) {
+            try (Connection conn = src.getConnection()) {
+                dialect = this.of(src, conn);
+            } catch (final SQLException sqle) {
+                throw new IllegalStateException(sqle);
+            }
+        }
+        return dialect;
+    }
+
+    /**
+     * Resolves dialects of data sources, typically at startup.
+     * @param sources Data sources
+     */
+    public void warm(final DataSource... sources) {
+        for (final DataSource src : sources) {
+            this.of(src);
+        }
+    }
+
+    /**
+     * Dialect of a data source already resolved.
+     * @param src Data source
+     * @return SQLDialect or null if it is not resolved yet
+     */
+    SQLDialect cached(final DataSource src) {
+        return Dialects.RESOLVED.get(Dialects.key(src));
+    }
+
+    /**
+     * Resolves dialect of a data source with one of its connections.
+     * @param src Data source
+     * @param conn Connection of the data source
+     * @return SQLDialect
+     * @throws SQLException If fails
+     */
+    SQLDialect of(final DataSource src, final Connection conn) throws SQLException {
+        final SQLDialect dialect = this.of(conn);
+        Dialects.RESOLVED.put(Dialects.key(src), dialect);
+        return dialect;
+    }
+
+    /**
+     * Resolves dialect of a connection, without caching it.
+     * @param conn Connection
+     * @return SQLDialect
+     * @throws SQLException If fails
+     */
+    SQLDialect of(final Connection conn) throws SQLException {
+        final String driver = conn.getMetaData().getDriverName()
+            .toLowerCase(Locale.ENGLISH);
+        final SQLDialect dialect;
+        if (driver.contains("postgres")) {
+            dialect = SQLDialect.POSTGRES;
+        } else if (driver.contains("h2")) {
+            dialect = SQLDialect.H2;
+        } else {
+            dialect = SQLDialect.DEFAULT;
+        }
+        return dialect;
+    }
+
+    /**
+     * Key of a data source in cache.
+     * <p>It is the innermost data source it wraps which routes connections
+     * or, if none, the innermost data source it wraps.</p>
+     * @param src Data source
+     * @return Key
+     */
+    private static DataSource key(final DataSource src) {
+        DataSource key = null;
+        try {
+            if (src.isWrapperFor(RoutingDataSource.class)) {
+                key = src.unwrap(RoutingDataSource.class);
+            } else if (src.isWrapperFor(DataSource.class)) {
+                key = src.unwrap(DataSource.class);
+            }
+        } catch (final SQLException ex) {
+            key = null;
+        }
+        if (key == null) {
+            key = src;
+        }
+        return key;
+    }
+}
@@ -0,0 +1,371 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.jooq;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.sql.DataSource;
+
+/**
+ * Fingerprint of a database schema, as seen by code generation.
+ * <p>It is the SHA-256 of its tables, columns with their types, primary,
+ * unique and foreign keys, view definitions, sequences, user-defined types,
+ * enum values and routines with their parameters, and of the settings of
+ * generation (such as inclusion and exclusion filters). Items are sorted,
+ * so that it doesn't depend on the order in which the driver lists
+ * them.</p>
+ * <p>Kinds of items the database doesn't expose are left out: views and
+ * sequences are read from the standard {@code INFORMATION_SCHEMA}, enum
+ * values only on PostgreSQL and H2.</p>
+ *
+ * @since 0.5
+ */
+final class Fingerprint {
+
+    /**
+     * Data source.
+     */
+    private final DataSource src;
+
+    /**
+     * Schema.
+     */
+    private final String schema;
+
+    /**
+     * Settings of generation.
+     */
+    private final List<String> settings;
+
+    /**
+     * Ctor.
+     * @param src Data source
+     * @param schema Schema
+     * @param settings Settings of generation
+     */
+    Fingerprint(final DataSource src, final String schema, final String... settings) {
+        this.src = src;
+        this.schema = schema;
+        this.settings = new ArrayList<>(settings.length);
+        Collections.addAll(this.settings, settings);
+    }
+
+    /**
+     * Computes the fingerprint.
+     * @return Hexadecimal SHA-256
+     * @throws SQLException If fails to read the schema
+     */
+    String value() throws SQLException {
+        final List<String> items = new ArrayList<>(64);
+        for (final String setting : this.settings) {
+            items.add(String.join("|", "setting", setting));
+        }
+        try (Connection conn = this.src.getConnection()) {
+            final DatabaseMetaData meta = conn.getMetaData();
+            final String pattern = Fingerprint.pattern(meta, this.schema);
+            final List<String> tables = new ArrayList<>(16);
+            try (ResultSet rset = meta.getTables(null, pattern, "%", null)) {
+                while (rset.next()) {
+                    tables.add(rset.getString("TABLE_NAME"));
+                    items.add(
+                        String.join(
+                            "|", "table", rset.getString("TABLE_NAME"),
+                            rset.getString("TABLE_TYPE")
+                        )
+                    );
+                }
+            }
+            try (ResultSet rset = meta.getColumns(null, pattern, "%", "%")) {
+                while (rset.next()) {
+                    items.add(
+                        String.join(
+                            "|", "column", rset.getString("TABLE_NAME"),
+                            rset.getString("COLUMN_NAME"), rset.getString("ORDINAL_POSITION"),
+                            rset.getString("TYPE_NAME"), rset.getString("COLUMN_SIZE"),
+                            rset.getString("DECIMAL_DIGITS"), rset.getString("NULLABLE"),
+                            rset.getString("COLUMN_DEF")
+                        )
+                    );
+                }
+            }
+            for (final String table : tables) {
+                this.keys(meta, table, items);
+            }
+            this.objects(conn, pattern, items);
+        }
+        Collections.sort(items);
+        return Fingerprint.sha(items);
+    }
+
+    /**
+     * Adds keys of a table.
+     * @param meta Metadata
+     * @param table Table
+     * @param items Items to add to
+     * @throws SQLException If fails
+     */
+    private void keys(final DatabaseMetaData meta, final String table,
+        final List<String> items) throws SQLException {
+        try (ResultSet rset = meta.getPrimaryKeys(null, this.schema, table)) {
+            while (rset.next()) {
+                items.add(
+                    String.join(
+                        "|", "pk", table, rset.getString("COLUMN_NAME"),
+                        rset.getString("KEY_SEQ"), rset.getString("PK_NAME")
+                    )
+                );
+            }
+        }
+        try (ResultSet rset = meta.getIndexInfo(null, this.schema, table, true, true)) {
+            while (rset.next()) {
+                items.add(
+                    String.join(
+                        "|", "unique", table, rset.getString("INDEX_NAME"),
+                        rset.getString("COLUMN_NAME"), rset.getString("ORDINAL_POSITION")
+                    )
+                );
+            }
+        }
+        try (ResultSet rset = meta.getImportedKeys(null, this.schema, table)) {
+            while (rset.next()) {
+                items.add(
+                    String.join(
+                        "|", "fk", table, rset.getString("FK_NAME"),
+                        rset.getString("FKCOLUMN_NAME"), rset.getString("PKTABLE_SCHEM"),
+                        rset.getString("PKTABLE_NAME"), rset.getString("PKCOLUMN_NAME"),
+                        rset.getString("KEY_SEQ")
+                    )
+                );
+            }
+        }
+    }
+
+    /**
+     * Adds views, sequences, types and routines.
+     * @param conn Connection
+     * @param pattern Schema as a search pattern
+     * @param items Items to add to
+     * @throws SQLException If fails
+     */
+    private void objects(final Connection conn, final String pattern,
+        final List<String> items) throws SQLException {
+        final DatabaseMetaData meta = conn.getMetaData();
+        Fingerprint.optional(
+            items, "view",
+            () -> this.query(
+                conn,
+                String.join(
+                    " ",
+                    "SELECT TABLE_NAME, VIEW_DEFINITION",
+                    "FROM INFORMATION_SCHEMA.VIEWS WHERE TABLE_SCHEMA = ?"
+                )
+            ),
+            "TABLE_NAME", "VIEW_DEFINITION"
+        );
+        Fingerprint.optional(
+            items, "sequence",
+            () -> this.query(
+                conn,
+                String.join(
+                    " ",
+                    "SELECT SEQUENCE_NAME, DATA_TYPE, START_VALUE, MINIMUM_VALUE,",
+                    "MAXIMUM_VALUE, INCREMENT, CYCLE_OPTION",
+                    "FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_SCHEMA = ?"
+                )
+            ),
+            "SEQUENCE_NAME", "DATA_TYPE", "START_VALUE", "MINIMUM_VALUE",
+            "MAXIMUM_VALUE", "INCREMENT", "CYCLE_OPTION"
+        );
+        final String product = meta.getDatabaseProductName();
+        if ("PostgreSQL".equals(product)) {
+            Fingerprint.optional(
+                items, "enum",
+                () -> this.query(
+                    conn,
+                    String.join(
+                        " ",
+                        "SELECT t.typname AS name, e.enumlabel AS label,",
+                        "e.enumsortorder AS position FROM pg_catalog.pg_enum e",
+                        "JOIN pg_catalog.pg_type t ON t.oid = e.enumtypid",
+                        "JOIN pg_catalog.pg_namespace n ON n.oid = t.typnamespace",
+                        "WHERE n.nspname = ?"
+                    )
+                ),
+                "name", "label", "position"
+            );
+        } else if ("H2".equals(product)) {
+            Fingerprint.optional(
+                items, "enum",
+                () -> this.query(
+                    conn,
+                    String.join(
+                        " ",
+                        "SELECT OBJECT_NAME, ENUM_IDENTIFIER, VALUE_NAME, VALUE_ORDINAL",
+                        "FROM INFORMATION_SCHEMA.ENUM_VALUES WHERE OBJECT_SCHEMA = ?"
+                    )
+                ),
+                "OBJECT_NAME", "ENUM_IDENTIFIER", "VALUE_NAME", "VALUE_ORDINAL"
+            );
+        }
+        Fingerprint.optional(
+            items, "udt", () -> meta.getUDTs(null, pattern, "%", null),
+            "TYPE_NAME", "CLASS_NAME", "DATA_TYPE", "BASE_TYPE"
+        );
+        Fingerprint.optional(
+            items, "function", () -> meta.getFunctionColumns(null, pattern, "%", "%"),
+            "FUNCTION_NAME", "SPECIFIC_NAME", "COLUMN_NAME", "COLUMN_TYPE",
+            "TYPE_NAME", "ORDINAL_POSITION"
+        );
+        Fingerprint.optional(
+            items, "function", () -> meta.getFunctions(null, pattern, "%"),
+            "FUNCTION_NAME", "SPECIFIC_NAME", "FUNCTION_TYPE"
+        );
+        Fingerprint.optional(
+            items, "procedure", () -> meta.getProcedureColumns(null, pattern, "%", "%"),
+            "PROCEDURE_NAME", "SPECIFIC_NAME", "COLUMN_NAME", "COLUMN_TYPE",
+            "TYPE_NAME", "ORDINAL_POSITION"
+        );
+        Fingerprint.optional(
+            items, "procedure", () -> meta.getProcedures(null, pattern, "%"),
+            "PROCEDURE_NAME", "SPECIFIC_NAME", "PROCEDURE_TYPE"
+        );
+    }
+
+    /**
+     * Runs a query on the schema.
+     * <p>The statement is closed with the result set.</p>
+     * @param conn Connection
+     * @param sql SQL with one marker, for the schema
+     * @return Result set
+     * @throws SQLException If fails
+     */
+    private ResultSet query(final Connection conn, final String sql) throws SQLException {
+        final PreparedStatement stmt = conn.prepareStatement(sql);
+        try {
+            stmt.setString(1, this.schema);
+            stmt.closeOnCompletion();
+            return stmt.executeQuery();
+        } catch (final SQLException ex) {
+            stmt.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Adds rows listed, if the database can list them.
+     * @param items Items to add to
+     * @param kind Kind of item
+     * @param listing Listing of rows
+     * @param columns Columns of an item
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    private static void optional(final List<String> items, final String kind,
+        final Listing listing, final String... columns) {
+        final List<String> rows = new ArrayList<>(16);
+        try (ResultSet rset = listing.open()) {
+            while (rset.next()) {
+                final List<String> item = new ArrayList<>(columns.length + 1);
+                item.add(kind);
+                for (final String column : columns) {
+                    item.add(rset.getString(column));
+                }
+                rows.add(String.join("|", item));
+            }
+        } catch (final SQLException ex) {
+            // The database doesn't expose this kind of item: it is left out.
+            rows.clear();
+        }
+        items.addAll(rows);
+    }
+
+    /**
+     * Schema as a search pattern of metadata.
+     * <p>Wildcards {@code _} and {@code %} of its name are escaped, so that
+     * it matches no other schema.</p>
+     * @param meta Metadata
+     * @param schema Schema, or null
+     * @return Pattern, or null
+     * @throws SQLException If fails
+     */
+    private static String pattern(final DatabaseMetaData meta, final String schema)
+        throws SQLException {
+        final String escape = meta.getSearchStringEscape();
+        final String pattern;
+        if (schema == null || escape == null || escape.isEmpty()) {
+            pattern = schema;
+        } else {
+            pattern = schema.replace(escape, escape + escape)
+                .replace("_", escape + "_")
+                .replace("%", escape + "%");
+        }
+        return pattern;
+    }
+
+    /**
+     * SHA-256 of items.
+     * @param items Items
+     * @return Hexadecimal SHA-256
+     */
+    private static String sha(final List<String> items) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+        for (final String item : items) {
+            digest.update(item.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+        final StringBuilder hex = new StringBuilder(64);
+        for (final byte octet : digest.digest()) {
+            hex.append(String.format("%02x", octet));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Listing of rows of metadata.
+     *
+     * @since 0.5
+     */
+    private interface Listing {
+
+        /**
+         * Opens the rows.
+         * @return Result set
+         * @throws SQLException If fails
+         */
+        ResultSet open() throws SQLException;
+    }
+}
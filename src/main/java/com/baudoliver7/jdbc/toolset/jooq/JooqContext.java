@@ -23,16 +23,30 @@
  */
 package com.baudoliver7.jdbc.toolset.jooq;
 
-import java.sql.Connection;
-import java.sql.SQLException;
-import java.util.Locale;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
 import javax.sql.DataSource;
+import org.jooq.Configuration;
+import org.jooq.ExecuteListener;
+import org.jooq.Record;
 import org.jooq.SQLDialect;
+import org.jooq.Table;
 import org.jooq.conf.Settings;
+import org.jooq.impl.DefaultConfiguration;
 import org.jooq.impl.DefaultDSLContext;
+import org.jooq.impl.DefaultExecuteListenerProvider;
 
 /**
  * Jooq context.
+ * <p>SQL dialect is resolved once per data source, then cached. It can also
+ * be resolved lazily at first query or given explicitly.</p>
+ * <p>Records are bulk loaded by chunks with the fastest way of the dialect:
+ * {@code COPY FROM STDIN} on PostgreSQL, multi-row inserts on H2 and JDBC
+ * batches otherwise.</p>
  *
  * @since 0.4
  */
@@ -48,33 +62,203 @@ public final class JooqContext extends DefaultDSLContext {
      * @param src Data source
      */
     public JooqContext(final DataSource src) {
-        super(
-            src,
-            JooqContext.dialectOf(src),
-            new Settings().withRenderSchema(true)
-        );
+        this(src, DialectResolution.EAGER);
+    }
+
+    /**
+     * Ctor.
+     * @param src Data source
+     * @param resolution When to resolve dialect if it is not cached yet
+     * @since 0.5
+     */
+    public JooqContext(final DataSource src, final DialectResolution resolution) {
+        this(JooqContext.configuration(src, resolution));
     }
 
     /**
-     * Identifies dialect to use for data source.
+     * Ctor.
+     * @param src Data source
+     * @param resolution When to resolve dialect if it is not cached yet
+     * @param listeners Listeners of executions, such as {@link SlowQueries}
+     * @since 0.5
+     */
+    public JooqContext(
+        final DataSource src, final DialectResolution resolution,
+        final ExecuteListener... listeners
+    ) {
+        this(JooqContext.configuration(src, resolution, listeners));
+    }
+
+    /**
+     * Ctor.
      * @param src Data source
-     * @return SQLDialect
+     * @param dialect SQL dialect
+     * @since 0.5
      */
-    private static SQLDialect dialectOf(final DataSource src) {
-        try (final Connection conn = src.getConnection()) {
-            final String driver = conn.getMetaData().getDriverName();
-            final SQLDialect dialect;
-            if (driver.toLowerCase(Locale.ENGLISH).contains("postgres")) {
-                dialect = SQLDialect.POSTGRES;
-            } else if (driver.toLowerCase(Locale.ENGLISH).contains("h2")) {
-                dialect = SQLDialect.H2;
-            } else {
-                dialect = SQLDialect.DEFAULT;
+    public JooqContext(final DataSource src, final SQLDialect dialect) {
+        this(src, dialect, new ExecuteListener[0]);
+    }
+
+    /**
+     * Ctor.
+     * @param src Data source
+     * @param dialect SQL dialect
+     * @param listeners Listeners of executions, such as {@link SlowQueries}
+     * @since 0.5
+     */
+    public JooqContext(
+        final DataSource src, final SQLDialect dialect,
+        final ExecuteListener... listeners
+    ) {
+        this(
+            new DefaultConfiguration()
+                .set(src)
+                .set(dialect)
+                .set(new Settings().withRenderSchema(true))
+                .set(DefaultExecuteListenerProvider.providers(listeners))
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param configuration Configuration
+     */
+    private JooqContext(final Configuration configuration) {
+        super(configuration);
+    }
+
+    /**
+     * Loads records in a table, by chunks.
+     * <p>At most a chunk of records is held in memory at once. Each chunk
+     * is written in one round-trip: with {@code COPY FROM STDIN} on
+     * PostgreSQL (its driver is needed at runtime), a multi-row insert on H2
+     * and a JDBC batch otherwise. Values of records are read by field of
+     * table.</p>
+     * @param table Table
+     * @param records Records
+     * @param chunk Maximum number of records per chunk
+     * @param listener Listener of chunks written
+     * @param <R> Type of record of table
+     * @return Number of records loaded
+     * @since 0.5
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public <R extends Record> long load(
+        final Table<R> table, final Iterator<? extends Record> records,
+        final int chunk, final ChunkListener listener
+    ) {
+        if (chunk < 1) {
+            throw new IllegalArgumentException("Size of chunk should be at least 1!");
+        }
+        final Loader loader = this.loader();
+        final List<Record> rows = new ArrayList<>(Math.min(chunk, 1024));
+        long total = 0L;
+        long index = 0L;
+        while (records.hasNext()) {
+            rows.add(records.next());
+            if (rows.size() == chunk || !records.hasNext()) {
+                final long start = System.nanoTime();
+                loader.load(table, rows);
+                listener.loaded(index, rows.size(), Duration.ofNanos(System.nanoTime() - start));
+                total += rows.size();
+                ++index;
+                rows.clear();
             }
-            return dialect;
-        } catch (final SQLException sqle) {
-            throw new IllegalStateException(sqle);
         }
+        return total;
+    }
+
+    /**
+     * Loads records in a table, by chunks.
+     * @param table Table
+     * @param records Records, consumed lazily
+     * @param chunk Maximum number of records per chunk
+     * @param listener Listener of chunks written
+     * @param <R> Type of record of table
+     * @return Number of records loaded
+     * @see #load(Table, Iterator, int, ChunkListener)
+     * @since 0.5
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public <R extends Record> long load(
+        final Table<R> table, final Stream<? extends Record> records,
+        final int chunk, final ChunkListener listener
+    ) {
+        return this.load(table, records.iterator(), chunk, listener);
+    }
+
+    /**
+     * Queries kept prepared on a connection of this context.
+     * <p>On hot paths, a query built once and kept is rendered and prepared
+     * once, then only bound new values:</p>
+     * <pre>{@code
+     * try (KeptQueries kept = ctx.kept(64)) {
+     *     final ResultQuery<?> byid = kept.query(
+     *         ctx.selectFrom(PERSON).where(PERSON.ID.eq(DSL.val(0)))
+     *     );
+     *     for (final int id : ids) {
+     *         byid.bind(1, id).fetch();
+     *     }
+     * }
+     * }</pre>
+     * @param capacity Maximum number of queries kept
+     * @return Queries kept, to close after use
+     * @since 0.5
+     */
+    public KeptQueries kept(final int capacity) {
+        return new KeptQueries(this.configuration(), capacity);
     }
-}
 
+    /**
+     * Loader of the dialect.
+     * <p>Dialect is resolved with a connection if it is not yet.</p>
+     * @return Loader
+     */
+    private Loader loader() {
+        SQLDialect dialect = this.dialect();
+        if (dialect == SQLDialect.DEFAULT) {
+            dialect = this.connectionResult(conn -> new Dialects().of(conn));
+        }
+        final Loader loader;
+        if (dialect.family() == SQLDialect.POSTGRES) {
+            loader = new CopyLoader(this);
+        } else if (dialect.family() == SQLDialect.H2) {
+            loader = new InsertLoader(this);
+        } else {
+            loader = new BatchLoader(this);
+        }
+        return loader;
+    }
+
+    /**
+     * Builds configuration for data source.
+     * @param src Data source
+     * @param resolution When to resolve dialect if it is not cached yet
+     * @param listeners Listeners of executions
+     * @return Configuration
+     */
+    private static Configuration configuration(
+        final DataSource src, final DialectResolution resolution,
+        final ExecuteListener... listeners
+    ) {
+        final Dialects dialects = new Dialects();
+        final Configuration conf = new DefaultConfiguration()
+            .set(src)
+            .set(new Settings().withRenderSchema(true));
+        final List<ExecuteListener> all = new ArrayList<>(listeners.length + 1);
+        final SQLDialect cached = dialects.cached(src);
+        if (cached != null) {
+            conf.set(cached);
+        } else if (resolution == DialectResolution.LAZY) {
+            conf.set(SQLDialect.DEFAULT);
+            all.add(new LazyDialect(src, conf));
+        } else {
+            conf.set(dialects.of(src));
+        }
+        Collections.addAll(all, listeners);
+        conf.set(
+            DefaultExecuteListenerProvider.providers(all.toArray(new ExecuteListener[0]))
+        );
+        return conf;
+    }
+}
@@ -23,6 +23,24 @@
  */
 package com.baudoliver7.jdbc.toolset.jooq;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import javax.sql.DataSource;
 import org.jooq.codegen.GenerationTool;
 import org.jooq.meta.jaxb.Configuration;
@@ -32,11 +50,31 @@ import org.jooq.meta.jaxb.Target;
 
 /**
  * JOOQ generator.
+ * <p>When many input schemas are given, each one is generated in its own
+ * package, named after the schema in lower case, under the package given.
+ * Schemas are generated in parallel, each one by its own generation pass
+ * on its own connection. Since packages don't overlap, the output doesn't
+ * depend on the order in which passes end.</p>
+ * <p>Generation is incremental: a fingerprint of each schema (tables,
+ * columns, types, keys and filters) is kept in file
+ * {@value #FINGERPRINTS} of the target directory. Schemas whose fingerprint
+ * didn't change since last generation aren't generated again. For the
+ * others, jOOQ only rewrites files whose content changed.</p>
  *
  * @since 0.1
  */
 public final class JooqGenerator {
 
+    /**
+     * Name of file of fingerprints, in target directory.
+     */
+    private static final String FINGERPRINTS = ".jooq-fingerprints";
+
+    /**
+     * Tables excluded.
+     */
+    private static final String EXCLUSIONS = "databasechangelog|databasechangeloglock";
+
     /**
      * Data source.
      */
@@ -61,6 +99,16 @@ public final class JooqGenerator {
      */
     private final String target;
 
+    /**
+     * Input schemas.
+     */
+    private final List<String> schemas;
+
+    /**
+     * Maximum number of generation passes run at once.
+     */
+    private final int threads;
+
     /**
      * Ctor.
      * @param src Data source
@@ -72,19 +120,186 @@ public final class JooqGenerator {
     public JooqGenerator(
         final DataSource src, final String pkg,
         final String inclusions, final String target
+    ) {
+        this(src, pkg, inclusions, target, Collections.emptyList(), 1);
+    }
+
+    /**
+     * Ctor.
+     * @param src Data source
+     * @param pkg Package under which to generate classes of each schema
+     * @param inclusions Database tables to include
+     * @param target Target directory
+     * @param schemas Input schemas
+     * @since 0.5
+     * @checkstyle ParameterNumberCheck (4 lines)
+     */
+    public JooqGenerator(
+        final DataSource src, final String pkg, final String inclusions,
+        final String target, final List<String> schemas
+    ) {
+        this(
+            src, pkg, inclusions, target, schemas,
+            Runtime.getRuntime().availableProcessors()
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param src Data source
+     * @param pkg Package under which to generate classes of each schema
+     * @param inclusions Database tables to include
+     * @param target Target directory
+     * @param schemas Input schemas
+     * @param threads Maximum number of generation passes run at once
+     * @since 0.5
+     * @checkstyle ParameterNumberCheck (4 lines)
+     */
+    public JooqGenerator(
+        final DataSource src, final String pkg, final String inclusions,
+        final String target, final List<String> schemas, final int threads
     ) {
         this.src = src;
         this.pkg = pkg;
         this.inclusions = inclusions;
         this.target = target;
+        this.schemas = Collections.unmodifiableList(new ArrayList<>(schemas));
+        this.threads = threads;
     }
 
     /**
      * Starts generation.
+     * <p>When generation of many schemas fails, the failure of the first
+     * schema in the given order is thrown, with the others suppressed.</p>
      *
      * @throws Exception If fails
      */
     public void start() throws Exception {
+        final Properties known = this.fingerprints();
+        final Properties fresh = new Properties();
+        try {
+            if (this.schemas.isEmpty()) {
+                this.pass("public", this.pkg, known, fresh);
+            } else {
+                this.parallel(known, fresh);
+            }
+        } finally {
+            this.save(known, fresh);
+        }
+    }
+
+    /**
+     * Runs generation passes of all schemas in parallel.
+     * @param known Fingerprints of last generation
+     * @param fresh Fingerprints of schemas generated, to fill
+     * @throws Exception If fails
+     */
+    private void parallel(final Properties known, final Properties fresh) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(
+            Math.max(1, Math.min(this.threads, this.schemas.size()))
+        );
+        try {
+            final List<Future<Void>> passes = new ArrayList<>(this.schemas.size());
+            for (final String schema : this.schemas) {
+                passes.add(
+                    executor.submit(
+                        () -> {
+                            this.pass(
+                                schema,
+                                String.join(
+                                    ".", this.pkg, schema.toLowerCase(Locale.ENGLISH)
+                                ),
+                                known, fresh
+                            );
+                            return null;
+                        }
+                    )
+                );
+            }
+            JooqGenerator.await(passes);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Generates classes of a schema if it changed since last generation.
+     * @param schema Input schema
+     * @param location Package where to generate classes
+     * @param known Fingerprints of last generation
+     * @param fresh Fingerprints of schemas generated, to fill
+     * @throws Exception If fails
+     * @checkstyle ParameterNumberCheck (4 lines)
+     */
+    private void pass(
+        final String schema, final String location,
+        final Properties known, final Properties fresh
+    ) throws Exception {
+        final String print = new Fingerprint(
+            this.src, schema, location, this.inclusions, JooqGenerator.EXCLUSIONS
+        ).value();
+        final Path dir = Paths.get(this.target, location.split("\\."));
+        if (!print.equals(known.getProperty(schema)) || !Files.isDirectory(dir)) {
+            this.generate(schema, location);
+        }
+        fresh.setProperty(schema, print);
+    }
+
+    /**
+     * Fingerprints of last generation.
+     * @return Fingerprints by schema
+     * @throws IOException If fails to read them
+     */
+    private Properties fingerprints() throws IOException {
+        final Properties prints = new Properties();
+        final Path file = Paths.get(this.target, JooqGenerator.FINGERPRINTS);
+        if (Files.exists(file)) {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                prints.load(reader);
+            }
+        }
+        return prints;
+    }
+
+    /**
+     * Saves fingerprints.
+     * <p>Fingerprints of schemas whose generation failed are dropped, so
+     * that they are generated again next time.</p>
+     * @param known Fingerprints of last generation
+     * @param fresh Fingerprints of schemas generated
+     * @throws IOException If fails to write them
+     */
+    private void save(final Properties known, final Properties fresh) throws IOException {
+        final SortedMap<String, String> prints = new TreeMap<>();
+        for (final String schema : known.stringPropertyNames()) {
+            prints.put(schema, known.getProperty(schema));
+        }
+        if (this.schemas.isEmpty()) {
+            prints.remove("public");
+        } else {
+            for (final String schema : this.schemas) {
+                prints.remove(schema);
+            }
+        }
+        for (final String schema : fresh.stringPropertyNames()) {
+            prints.put(schema, fresh.getProperty(schema));
+        }
+        final Path dir = Paths.get(this.target);
+        Files.createDirectories(dir);
+        final List<String> lines = new ArrayList<>(prints.size());
+        for (final Map.Entry<String, String> print : prints.entrySet()) {
+            lines.add(String.join("=", print.getKey(), print.getValue()));
+        }
+        Files.write(dir.resolve(JooqGenerator.FINGERPRINTS), lines, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Generates classes of a schema.
+     * @param schema Input schema
+     * @param location Package where to generate classes
+     * @throws Exception If fails
+     */
+    private void generate(final String schema, final String location) throws Exception {
         final GenerationTool tool = new GenerationTool();
         tool.setDataSource(this.src);
         tool.run(
@@ -94,14 +309,43 @@ public final class JooqGenerator {
                         .withDatabase(
                             new Database()
                                 .withIncludes(this.inclusions)
-                                .withExcludes("databasechangelog|databasechangeloglock")
-                                .withInputSchema("public")
+                                .withExcludes(JooqGenerator.EXCLUSIONS)
+                                .withInputSchema(schema)
                         ).withTarget(
                             new Target()
-                                .withPackageName(this.pkg)
+                                .withPackageName(location)
                                 .withDirectory(this.target)
                         )
                 )
         );
     }
-}
\ No newline at end of file
+
+    /**
+     * Waits for all generation passes.
+     * @param passes Passes, in order of schemas
+     * @throws Exception First failure, in order of schemas
+     */
+    private static void await(final List<Future<Void>> passes) throws Exception {
+        Exception failure = null;
+        for (final Future<Void> pass : passes) {
+            try {
+                pass.get();
+            } catch (final ExecutionException ex) {
+                final Exception cause;
+                if (ex.getCause() instanceof Exception) {
+                    cause = (Exception) ex.getCause();
+                } else {
+                    cause = ex;
+                }
+                if (failure == null) {
+                    failure = cause;
+                } else {
+                    failure.addSuppressed(cause);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.jooq;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.jooq.Configuration;
+import org.jooq.ConnectionProvider;
+import org.jooq.Query;
+import org.jooq.SQLDialect;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DefaultConnectionProvider;
+
+/**
+ * Bounded LRU of jOOQ queries kept prepared on one connection.
+ * <p>A query is kept by its instance: build it once with parameters, then
+ * keep it and only {@link Query#bind(int, Object)} new values before each
+ * execution. jOOQ renders and prepares a kept query at its first execution
+ * only, and next executions reuse its statement. Beyond the capacity, the
+ * least recently used query is closed, with its statement.</p>
+ * <p>Queries are kept on a connection acquired from the context, held until
+ * this is closed. Like that connection and the queries themselves, this is
+ * used by one thread at a time.</p>
+ *
+ * @since 0.5
+ */
+public final class KeptQueries implements AutoCloseable {
+
+    /**
+     * Provider of connections of the context.
+     */
+    private final ConnectionProvider origin;
+
+    /**
+     * Connection held.
+     */
+    private final Connection connection;
+
+    /**
+     * Configuration of queries kept, on the connection held.
+     */
+    private final Configuration configuration;
+
+    /**
+     * Maximum number of queries kept.
+     */
+    private final int capacity;
+
+    /**
+     * Queries kept, the least recently used first.
+     */
+    private final Map<Identity, Query> kept;
+
+    /**
+     * Ctor.
+     * @param configuration Configuration of the context
+     * @param capacity Maximum number of queries kept
+     */
+    KeptQueries(final Configuration configuration, final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity should be at least 1!");
+        }
+        this.origin = configuration.connectionProvider();
+        this.connection = this.origin.acquire();
+        this.configuration = KeptQueries.derived(
+            configuration, this.origin, this.connection
+        );
+        this.capacity = capacity;
+        this.kept = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Keeps a query.
+     * <p>The query is attached to the connection held, if it is not kept
+     * yet.</p>
+     * @param query Query
+     * @param <Q> Type of query
+     * @return The same query, kept
+     */
+    public <Q extends Query> Q query(final Q query) {
+        final Identity key = new Identity(query);
+        if (this.kept.get(key) == null) {
+            query.attach(this.configuration);
+            query.keepStatement(true);
+            this.kept.put(key, query);
+            if (this.kept.size() > this.capacity) {
+                final Iterator<Query> eldest = this.kept.values().iterator();
+                final Query evicted = eldest.next();
+                eldest.remove();
+                evicted.close();
+            }
+        }
+        return query;
+    }
+
+    /**
+     * Number of queries kept.
+     * @return Size
+     */
+    public int size() {
+        return this.kept.size();
+    }
+
+    @Override
+    public void close() {
+        try {
+            for (final Query query : this.kept.values()) {
+                query.close();
+            }
+        } finally {
+            this.kept.clear();
+            this.origin.release(this.connection);
+        }
+    }
+
+    /**
+     * Configuration on a connection held.
+     * <p>Dialect is resolved with the connection if it is not yet. On
+     * failure, the connection is released.</p>
+     * @param configuration Configuration of the context
+     * @param origin Provider of connections of the context
+     * @param connection Connection held
+     * @return Configuration
+     */
+    private static Configuration derived(
+        final Configuration configuration, final ConnectionProvider origin,
+        final Connection connection
+    ) {
+        final Configuration derived = configuration.derive(
+            new DefaultConnectionProvider(connection)
+        );
+        if (derived.dialect() == SQLDialect.DEFAULT) {
+            try {
+                derived.set(new Dialects().of(connection));
+            } catch (final SQLException ex) {
+                origin.release(connection);
+                throw new DataAccessException("Unable to resolve SQL dialect", ex);
+            }
+        }
+        return derived;
+    }
+
+    /**
+     * Key of a query by its instance.
+     * <p>jOOQ compares queries by rendering them, which keeping them saves
+     * from.</p>
+     *
+     * @since 0.5
+     */
+    private static final class Identity {
+
+        /**
+         * Query.
+         */
+        private final Query query;
+
+        /**
+         * Ctor.
+         * @param query Query
+         */
+        Identity(final Query query) {
+            this.query = query;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof Identity && ((Identity) other).query == this.query;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this.query);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.jooq;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.sql.DataSource;
+import org.jooq.Configuration;
+import org.jooq.ExecuteContext;
+import org.jooq.SQLDialect;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DefaultExecuteListener;
+
+/**
+ * Listener which resolves SQL dialect at first query.
+ * <p>It uses the connection acquired for the query, so that no other
+ * connection is checked out.</p>
+ * <p>Each query is given the dialect through its own execute context. The
+ * shared configuration is updated once, before the dialect is published to
+ * other threads, so that no thread writes to it while others read it.</p>
+ *
+ * @since 0.5
+ */
+final class LazyDialect extends DefaultExecuteListener {
+
+    /**
+     * Serial version UID.
+     */
+    private static final long serialVersionUID = -2793424419178376591L;
+
+    /**
+     * Data source.
+     */
+    private final transient DataSource src;
+
+    /**
+     * Configuration to update.
+     */
+    private final Configuration configuration;
+
+    /**
+     * Dialect published, or null if not resolved yet.
+     */
+    private final AtomicReference<SQLDialect> dialect;
+
+    /**
+     * Ctor.
+     * @param src Data source
+     * @param configuration Configuration to update
+     */
+    LazyDialect(final DataSource src, final Configuration configuration) {
+        super();
+        this.src = src;
+        this.configuration = configuration;
+        this.dialect = new AtomicReference<>();
+    }
+
+    @Override
+    public void start(final ExecuteContext ctx) {
+        SQLDialect resolved = this.dialect.get();
+        if (resolved == null) {
+            try {
+                resolved = new Dialects().of(this.src, ctx.connection());
+            } catch (final SQLException ex) {
+                throw new DataAccessException("Unable to resolve SQL dialect", ex);
+            }
+            this.publish(resolved);
+        }
+        ctx.configuration().set(resolved);
+    }
+
+    /**
+     * Publishes dialect resolved, if it is not yet.
+     * @param resolved Dialect
+     */
+    private synchronized void publish(final SQLDialect resolved) {
+        if (this.dialect.get() == null) {
+            this.configuration.set(resolved);
+            this.dialect.set(resolved);
+        }
+    }
+}
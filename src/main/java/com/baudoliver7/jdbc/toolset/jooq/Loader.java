@@ -0,0 +1,59 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.jooq;
+
+import java.util.List;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Table;
+
+/**
+ * Writer of chunks of a bulk load.
+ *
+ * @since 0.5
+ */
+interface Loader {
+
+    /**
+     * Writes a chunk of rows in a table.
+     * @param table Table
+     * @param rows Rows, whose values are read by field of table
+     * @param <R> Type of record of table
+     */
+    <R extends Record> void load(Table<R> table, List<? extends Record> rows);
+
+    /**
+     * Values of a row, in order of fields.
+     * @param row Row
+     * @param fields Fields
+     * @return Values
+     */
+    static Object[] values(final Record row, final Field<?>... fields) {
+        final Object[] values = new Object[fields.length];
+        for (int idx = 0; idx < fields.length; ++idx) {
+            values[idx] = row.get(fields[idx]);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.jooq;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.jooq.ExecuteContext;
+import org.jooq.Query;
+import org.jooq.impl.DefaultExecuteListener;
+
+/**
+ * Listener which captures slow queries.
+ * <p>Every query is timed. Queries over threshold, and a sample of the others,
+ * are captured in a ring buffer of fixed size: once full, the oldest ones
+ * are overwritten. Capturing takes no lock and nothing is logged: read
+ * captured queries with {@link #snapshot()} or {@link #drain()}.</p>
+ * <p>Start times are kept in a stack per thread, rather than boxed in the
+ * execute context. A query whose end is signalled on another thread than
+ * its start, such as a lazy cursor closed elsewhere, is not timed.</p>
+ *
+ * @since 0.5
+ */
+public final class SlowQueries extends DefaultExecuteListener {
+
+    /**
+     * Serial version UID.
+     */
+    private static final long serialVersionUID = 7305648317270583192L;
+
+    /**
+     * Start times of queries executing in each thread.
+     */
+    private static final ThreadLocal<Starts> STARTS = ThreadLocal.withInitial(Starts::new);
+
+    /**
+     * Ring buffer.
+     */
+    private final AtomicReferenceArray<SlowQuery> ring;
+
+    /**
+     * Number of queries captured since creation.
+     */
+    private final AtomicLong captured;
+
+    /**
+     * Threshold, in nanoseconds.
+     */
+    private final long threshold;
+
+    /**
+     * Rate at which queries under threshold are sampled.
+     */
+    private final double rate;
+
+    /**
+     * Ctor.
+     * <p>Queries under threshold are not sampled.</p>
+     * @param capacity Number of queries kept
+     * @param threshold Duration over which a query is captured
+     */
+    public SlowQueries(final int capacity, final Duration threshold) {
+        this(capacity, threshold, 0.0);
+    }
+
+    /**
+     * Ctor.
+     * @param capacity Number of queries kept
+     * @param threshold Duration over which a query is captured
+     * @param rate Rate, between 0 and 1, at which queries under threshold are captured
+     */
+    public SlowQueries(final int capacity, final Duration threshold, final double rate) {
+        super();
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity should be at least 1!");
+        }
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.captured = new AtomicLong();
+        this.threshold = threshold.toNanos();
+        this.rate = rate;
+    }
+
+    @Override
+    public void start(final ExecuteContext ctx) {
+        SlowQueries.STARTS.get().push(ctx, System.nanoTime());
+    }
+
+    @Override
+    public void end(final ExecuteContext ctx) {
+        final long start = SlowQueries.STARTS.get().pop(ctx);
+        if (start != Starts.NONE) {
+            final long nanos = System.nanoTime() - start;
+            final boolean slow = nanos >= this.threshold;
+            if (slow || this.rate > 0.0 && ThreadLocalRandom.current().nextDouble() < this.rate) {
+                this.capture(ctx, nanos, slow);
+            }
+        }
+    }
+
+    /**
+     * Queries captured, the oldest first.
+     * @return Queries
+     */
+    public List<SlowQuery> snapshot() {
+        final List<SlowQuery> queries = new ArrayList<>(this.ring.length());
+        for (int idx = 0; idx < this.ring.length(); ++idx) {
+            final SlowQuery query = this.ring.get(idx);
+            if (query != null) {
+                queries.add(query);
+            }
+        }
+        queries.sort(Comparator.comparingLong(SlowQuery::sequence));
+        return queries;
+    }
+
+    /**
+     * Removes queries captured.
+     * @return Queries removed, the oldest first
+     */
+    public List<SlowQuery> drain() {
+        final List<SlowQuery> queries = new ArrayList<>(this.ring.length());
+        for (int idx = 0; idx < this.ring.length(); ++idx) {
+            final SlowQuery query = this.ring.getAndSet(idx, null);
+            if (query != null) {
+                queries.add(query);
+            }
+        }
+        queries.sort(Comparator.comparingLong(SlowQuery::sequence));
+        return queries;
+    }
+
+    /**
+     * Captures a query.
+     * @param ctx Execute context
+     * @param nanos Duration in nanoseconds
+     * @param slow Over threshold or sampled
+     */
+    private void capture(final ExecuteContext ctx, final long nanos, final boolean slow) {
+        final Query query = ctx.query();
+        final int binds;
+        if (query == null) {
+            binds = 0;
+        } else {
+            binds = query.getBindValues().size();
+        }
+        final int rows;
+        if (ctx.result() == null) {
+            rows = ctx.rows();
+        } else {
+            rows = ctx.result().size();
+        }
+        final long sequence = this.captured.getAndIncrement();
+        this.ring.set(
+            (int) (sequence % this.ring.length()),
+            new SlowQuery(
+                sequence, ctx.sql(), binds, rows,
+                Thread.currentThread().getName(), nanos, slow
+            )
+        );
+    }
+
+    /**
+     * Stack of start times of queries executing in a thread.
+     * <p>Queries of a thread start and end in nested order, so that the end of
+     * a query is found at the top. Beyond its depth, the oldest start is
+     * dropped: it is one of a query which never ended.</p>
+     *
+     * @since 0.5
+     */
+    private static final class Starts {
+
+        /**
+         * No start time.
+         */
+        static final long NONE = Long.MIN_VALUE;
+
+        /**
+         * Depth of stack.
+         */
+        private static final int DEPTH = 16;
+
+        /**
+         * Contexts of queries.
+         */
+        private final ExecuteContext[] contexts;
+
+        /**
+         * Start times, in nanoseconds.
+         */
+        private final long[] times;
+
+        /**
+         * Number of starts.
+         */
+        private int size;
+
+        /**
+         * Ctor.
+         */
+        Starts() {
+            this.contexts = new ExecuteContext[Starts.DEPTH];
+            this.times = new long[Starts.DEPTH];
+        }
+
+        /**
+         * Pushes start of a query.
+         * @param ctx Execute context
+         * @param time Start time, in nanoseconds
+         */
+        void push(final ExecuteContext ctx, final long time) {
+            if (this.size == Starts.DEPTH) {
+                this.remove(0);
+            }
+            this.contexts[this.size] = ctx;
+            this.times[this.size] = time;
+            ++this.size;
+        }
+
+        /**
+         * Pops start of a query.
+         * @param ctx Execute context
+         * @return Start time, in nanoseconds, or {@link #NONE}
+         */
+        long pop(final ExecuteContext ctx) {
+            long time = Starts.NONE;
+            for (int idx = this.size - 1; idx >= 0; --idx) {
+                if (this.contexts[idx] == ctx) {
+                    time = this.times[idx];
+                    this.remove(idx);
+                    break;
+                }
+            }
+            return time;
+        }
+
+        /**
+         * Removes a start.
+         * @param idx Index of start
+         */
+        private void remove(final int idx) {
+            final int moved = this.size - idx - 1;
+            System.arraycopy(this.contexts, idx + 1, this.contexts, idx, moved);
+            System.arraycopy(this.times, idx + 1, this.times, idx, moved);
+            --this.size;
+            this.contexts[this.size] = null;
+        }
+    }
+}
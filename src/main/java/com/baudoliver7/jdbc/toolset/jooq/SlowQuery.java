@@ -0,0 +1,164 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.jooq;
+
+import java.io.Serializable;
+import java.time.Duration;
+
+/**
+ * Query captured by {@link SlowQueries}.
+ *
+ * @since 0.5
+ */
+public final class SlowQuery implements Serializable {
+
+    /**
+     * Serial version UID.
+     */
+    private static final long serialVersionUID = -6153094617460183367L;
+
+    /**
+     * Sequence number of capture.
+     */
+    private final long sequence;
+
+    /**
+     * SQL.
+     */
+    private final String sql;
+
+    /**
+     * Number of bind values.
+     */
+    private final int binds;
+
+    /**
+     * Number of rows fetched or affected.
+     */
+    private final int rows;
+
+    /**
+     * Name of thread which ran the query.
+     */
+    private final String thread;
+
+    /**
+     * Duration, in nanoseconds.
+     */
+    private final long nanos;
+
+    /**
+     * Over threshold or sampled.
+     */
+    private final boolean slow;
+
+    /**
+     * Ctor.
+     * @param sequence Sequence number of capture
+     * @param sql SQL
+     * @param binds Number of bind values
+     * @param rows Number of rows fetched or affected, -1 if unknown
+     * @param thread Name of thread which ran the query
+     * @param nanos Duration in nanoseconds
+     * @param slow Over threshold or sampled
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    SlowQuery(
+        final long sequence, final String sql, final int binds, final int rows,
+        final String thread, final long nanos, final boolean slow
+    ) {
+        this.sequence = sequence;
+        this.sql = sql;
+        this.binds = binds;
+        this.rows = rows;
+        this.thread = thread;
+        this.nanos = nanos;
+        this.slow = slow;
+    }
+
+    /**
+     * Sequence number of capture, increasing.
+     * @return Number
+     */
+    public long sequence() {
+        return this.sequence;
+    }
+
+    /**
+     * SQL.
+     * @return SQL
+     */
+    public String sql() {
+        return this.sql;
+    }
+
+    /**
+     * Number of bind values.
+     * @return Number
+     */
+    public int binds() {
+        return this.binds;
+    }
+
+    /**
+     * Number of rows fetched or affected.
+     * @return Number, -1 if unknown
+     */
+    public int rows() {
+        return this.rows;
+    }
+
+    /**
+     * Name of thread which ran the query.
+     * @return Name
+     */
+    public String thread() {
+        return this.thread;
+    }
+
+    /**
+     * Duration.
+     * @return Duration
+     */
+    public Duration duration() {
+        return Duration.ofNanos(this.nanos);
+    }
+
+    /**
+     * Tells whether the query was over threshold, rather than sampled.
+     * @return True if over threshold
+     */
+    public boolean slow() {
+        return this.slow;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "%s (%d binds, %d rows, %s, %dms%s)",
+            this.sql, this.binds, this.rows, this.thread,
+            Duration.ofNanos(this.nanos).toMillis(), this.slow ? "" : ", sampled"
+        );
+    }
+}
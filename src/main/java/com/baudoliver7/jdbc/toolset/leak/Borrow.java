@@ -0,0 +1,109 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.leak;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.sql.Connection;
+import java.time.Duration;
+
+/**
+ * Borrowing of a connection, enqueued when its handle is garbage collected.
+ * <p>It doesn't hold the handle, so that the handle can be collected.</p>
+ *
+ * @since 0.5
+ */
+final class Borrow extends PhantomReference<Connection> {
+
+    /**
+     * Name of thread which acquired the connection.
+     */
+    private final String thread;
+
+    /**
+     * Time of acquisition, in nanoseconds.
+     */
+    private final long start;
+
+    /**
+     * Trace of acquisition, if sampled.
+     */
+    private final Throwable trace;
+
+    /**
+     * Reported as held too long or not.
+     */
+    private volatile boolean reported;
+
+    /**
+     * Ctor.
+     * @param handle Handle given to the caller
+     * @param trace Trace of acquisition, or null if not sampled
+     * @param queue Queue of handles collected
+     */
+    Borrow(
+        final Connection handle, final Throwable trace, final ReferenceQueue<Connection> queue
+    ) {
+        super(handle, queue);
+        this.thread = Thread.currentThread().getName();
+        this.start = System.nanoTime();
+        this.trace = trace;
+    }
+
+    /**
+     * Reports the connection if it is held longer than a threshold, once.
+     * @param now Current time, in nanoseconds
+     * @param threshold Threshold, in nanoseconds
+     * @param listener Listener of leaks
+     */
+    void check(final long now, final long threshold, final LeakListener listener) {
+        if (!this.reported && now - this.start > threshold) {
+            this.reported = true;
+            listener.leaked(this.leak(now, false));
+        }
+    }
+
+    /**
+     * Reports the connection as collected.
+     * <p>The connection under the handle is not closed: its statements and
+     * result sets don't hold the handle, so they may still be in use.</p>
+     * @param now Current time, in nanoseconds
+     * @param listener Listener of leaks
+     */
+    void collected(final long now, final LeakListener listener) {
+        listener.leaked(this.leak(now, true));
+    }
+
+    /**
+     * Leak.
+     * @param now Current time, in nanoseconds
+     * @param collected Collected or not
+     * @return Leak
+     */
+    private Leak leak(final long now, final boolean collected) {
+        return new Leak(
+            this.thread, Duration.ofNanos(now - this.start), this.trace, collected
+        );
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.leak;
+
+import java.time.Duration;
+
+/**
+ * Connection held too long, or garbage collected without being closed.
+ *
+ * @since 0.5
+ */
+public final class Leak {
+
+    /**
+     * Name of thread which acquired the connection.
+     */
+    private final String thread;
+
+    /**
+     * Time the connection was held.
+     */
+    private final Duration held;
+
+    /**
+     * Trace of acquisition, if sampled.
+     */
+    private final Throwable trace;
+
+    /**
+     * Collected without being closed or not.
+     */
+    private final boolean collected;
+
+    /**
+     * Ctor.
+     * @param thread Name of thread which acquired the connection
+     * @param held Time the connection was held
+     * @param trace Trace of acquisition, or null if not sampled
+     * @param collected Collected without being closed or not
+     * @checkstyle ParameterNumberCheck (4 lines)
+     */
+    Leak(
+        final String thread, final Duration held, final Throwable trace,
+        final boolean collected
+    ) {
+        this.thread = thread;
+        this.held = held;
+        this.trace = trace;
+        this.collected = collected;
+    }
+
+    /**
+     * Name of thread which acquired the connection.
+     * @return Name
+     */
+    public String thread() {
+        return this.thread;
+    }
+
+    /**
+     * Time the connection was held, until detection.
+     * @return Duration
+     */
+    public Duration held() {
+        return this.held;
+    }
+
+    /**
+     * Trace of acquisition.
+     * @return Trace, or null if the acquisition was not sampled
+     */
+    public Throwable trace() {
+        return this.trace;
+    }
+
+    /**
+     * Tells whether the connection was garbage collected without being
+     * closed, rather than still held.
+     * @return True if collected
+     */
+    public boolean collected() {
+        return this.collected;
+    }
+
+    @Override
+    public String toString() {
+        final String state;
+        if (this.collected) {
+            state = "collected without being closed";
+        } else {
+            state = "still held";
+        }
+        return String.format(
+            "Connection acquired by thread %s %s after %s", this.thread, state, this.held
+        );
+    }
+}
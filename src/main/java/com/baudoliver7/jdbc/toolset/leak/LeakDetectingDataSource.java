@@ -0,0 +1,247 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.leak;
+
+import com.baudoliver7.jdbc.toolset.lockable.LocalLockedDataSource;
+import com.baudoliver7.jdbc.toolset.lockable.LockedConnection;
+import com.baudoliver7.jdbc.toolset.lockable.NestedDataSource;
+import com.baudoliver7.jdbc.toolset.wrapper.DataSourceWrap;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+
+/**
+ * Data source which reports connections held too long or never closed.
+ * <p>Outstanding connections are kept in a concurrent registry. The stack
+ * trace of acquisition is only captured for a sampled fraction of borrows,
+ * to keep the overhead low. A background sweep reports, once, each
+ * connection held longer than the threshold, and each handle garbage
+ * collected without being closed. The connection under a collected handle
+ * is not closed, since statements and result sets still in use don't keep
+ * the handle reachable: fix the leak reported. Sweeps run on a shared
+ * daemon thread until the data source is closed.</p>
+ * <p>Handles whose closing is deliberately a no-op are not tracked: those
+ * of a {@link LocalLockedDataSource} or {@link NestedDataSource}, even
+ * behind other wrappers, and {@link LockedConnection}. Put it under them to
+ * track the connections of units of work.</p>
+ * <pre>{@code
+ * try (LeakDetectingDataSource src = new LeakDetectingDataSource(
+ *     pool, Duration.ofSeconds(30), 0.01, leak -> LOG.warn(leak, leak.trace())
+ * )) {
+ *     ...
+ * }
+ * }</pre>
+ *
+ * @since 0.5
+ */
+public final class LeakDetectingDataSource extends DataSourceWrap implements AutoCloseable {
+
+    /**
+     * Timer of sweeps, shared by all data sources.
+     */
+    private static final ScheduledThreadPoolExecutor TIMER = LeakDetectingDataSource.timer();
+
+    /**
+     * Whether connections of origin are those of units of work.
+     */
+    private final boolean locked;
+
+    /**
+     * Outstanding connections.
+     */
+    private final Set<Borrow> registry;
+
+    /**
+     * Queue of handles collected.
+     */
+    private final ReferenceQueue<Connection> queue;
+
+    /**
+     * Threshold of holding, in nanoseconds.
+     */
+    private final long threshold;
+
+    /**
+     * Fraction of borrows whose trace is captured.
+     */
+    private final double rate;
+
+    /**
+     * Listener of leaks.
+     */
+    private final LeakListener listener;
+
+    /**
+     * Periodic sweep.
+     */
+    private final ScheduledFuture<?> sweep;
+
+    /**
+     * Ctor.
+     * @param origin Data source wrapped
+     * @param threshold Time after which a connection held is reported
+     * @param rate Fraction of borrows whose trace is captured, from 0 to 1
+     * @param listener Listener of leaks
+     * @checkstyle ParameterNumberCheck (4 lines)
+     */
+    public LeakDetectingDataSource(
+        final DataSource origin, final Duration threshold, final double rate,
+        final LeakListener listener
+    ) {
+        super(origin);
+        this.locked = LeakDetectingDataSource.locked(origin);
+        this.registry = ConcurrentHashMap.newKeySet();
+        this.queue = new ReferenceQueue<>();
+        this.threshold = threshold.toNanos();
+        this.rate = rate;
+        this.listener = listener;
+        final long period = Math.max(
+            TimeUnit.MILLISECONDS.toNanos(10L),
+            Math.min(this.threshold / 2L, TimeUnit.SECONDS.toNanos(1L))
+        );
+        this.sweep = LeakDetectingDataSource.TIMER.scheduleWithFixedDelay(
+            this::sweep, period, period, TimeUnit.NANOSECONDS
+        );
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return this.tracked(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(
+        final String username, final String password
+    ) throws SQLException {
+        return this.tracked(super.getConnection(username, password));
+    }
+
+    /**
+     * Number of connections not closed yet.
+     * @return Number of connections
+     */
+    public int outstanding() {
+        return this.registry.size();
+    }
+
+    /**
+     * Stops detection.
+     * <p>Connections outstanding are no more tracked.</p>
+     */
+    @Override
+    public void close() {
+        this.sweep.cancel(false);
+        this.registry.clear();
+    }
+
+    /**
+     * Tracks a connection, unless its closing is a no-op.
+     * @param conn Connection
+     * @return Connection handle
+     */
+    private Connection tracked(final Connection conn) {
+        final Connection handle;
+        if (this.locked || conn instanceof LockedConnection) {
+            handle = conn;
+        } else {
+            Throwable trace = null;
+            if (this.rate > 0.0 && ThreadLocalRandom.current().nextDouble() < this.rate) {
+                trace = new Throwable("Connection acquired here");
+            }
+            handle = new TrackedConnection(conn, this.registry, trace, this.queue);
+        }
+        return handle;
+    }
+
+    /**
+     * Reports handles collected and connections held too long.
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void sweep() {
+        final long now = System.nanoTime();
+        Reference<? extends Connection> ref = this.queue.poll();
+        while (ref != null) {
+            final Borrow borrow = (Borrow) ref;
+            if (this.registry.remove(borrow)) {
+                try {
+                    borrow.collected(now, this.listener);
+                    // @checkstyle IllegalCatchCheck (1 line)
+                } catch (final RuntimeException ex) {
+                    // A failing listener must not stop reports of other leaks.
+                }
+            }
+            ref = this.queue.poll();
+        }
+        for (final Borrow borrow : this.registry) {
+            try {
+                borrow.check(now, this.threshold, this.listener);
+                // @checkstyle IllegalCatchCheck (1 line)
+            } catch (final RuntimeException ex) {
+                // A failing listener must not stop reports of other leaks.
+            }
+        }
+    }
+
+    /**
+     * Tells whether a data source gives connections of units of work.
+     * @param src Data source
+     * @return True if it or one it wraps is a locked or nested data source
+     */
+    private static boolean locked(final DataSource src) {
+        boolean locked;
+        try {
+            locked = src.isWrapperFor(LocalLockedDataSource.class)
+                || src.isWrapperFor(NestedDataSource.class);
+        } catch (final SQLException ex) {
+            locked = false;
+        }
+        return locked;
+    }
+
+    /**
+     * Timer of sweeps.
+     * @return Timer
+     */
+    private static ScheduledThreadPoolExecutor timer() {
+        final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(
+            1,
+            task -> {
+                final Thread thread = new Thread(task, "jdbc-toolset-leaks");
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+}
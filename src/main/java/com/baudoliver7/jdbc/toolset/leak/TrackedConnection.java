@@ -0,0 +1,88 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.leak;
+
+import com.baudoliver7.jdbc.toolset.wrapper.ConnectionWrap;
+import java.lang.ref.ReferenceQueue;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Connection handle which leaves the registry of outstanding connections
+ * when closed.
+ *
+ * @since 0.5
+ */
+final class TrackedConnection extends ConnectionWrap {
+
+    /**
+     * Outstanding connections.
+     */
+    private final Set<Borrow> registry;
+
+    /**
+     * Closed or not.
+     */
+    private final AtomicBoolean closed;
+
+    /**
+     * Borrowing of this handle.
+     */
+    private final Borrow borrow;
+
+    /**
+     * Ctor.
+     * @param origin Connection wrapped
+     * @param registry Outstanding connections
+     * @param trace Trace of acquisition, or null if not sampled
+     * @param queue Queue of handles collected
+     * @checkstyle ParameterNumberCheck (4 lines)
+     */
+    TrackedConnection(
+        final Connection origin, final Set<Borrow> registry, final Throwable trace,
+        final ReferenceQueue<Connection> queue
+    ) {
+        super(origin);
+        this.registry = registry;
+        this.closed = new AtomicBoolean(false);
+        this.borrow = new Borrow(this, trace, queue);
+        registry.add(this.borrow);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (this.closed.compareAndSet(false, true)) {
+            this.registry.remove(this.borrow);
+            this.borrow.clear();
+            super.close();
+        }
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return this.closed.get() || super.isClosed();
+    }
+}
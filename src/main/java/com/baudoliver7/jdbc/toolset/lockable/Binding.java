@@ -0,0 +1,60 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.lockable;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Binding of a {@link LocalLockedDataSource} to its physical connection.
+ *
+ * @since 0.5
+ */
+interface Binding {
+
+    /**
+     * Physical connection of the current unit of work.
+     * @return Connection
+     * @throws SQLException If fails to acquire it
+     */
+    Connection connection() throws SQLException;
+
+    /**
+     * Commits the current unit of work, if a connection is bound.
+     * @throws SQLException If fails
+     */
+    void commit() throws SQLException;
+
+    /**
+     * Rolls back the current unit of work, if a connection is bound.
+     * @throws SQLException If fails
+     */
+    void rollback() throws SQLException;
+
+    /**
+     * Ends the current unit of work.
+     * @throws SQLException If fails
+     */
+    void release() throws SQLException;
+}
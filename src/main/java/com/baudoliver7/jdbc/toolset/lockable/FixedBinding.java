@@ -0,0 +1,68 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.lockable;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Binding to a connection given by the caller, who owns it.
+ *
+ * @since 0.5
+ */
+final class FixedBinding implements Binding {
+
+    /**
+     * Connection.
+     */
+    private final Connection origin;
+
+    /**
+     * Ctor.
+     * @param origin Connection
+     */
+    FixedBinding(final Connection origin) {
+        this.origin = origin;
+    }
+
+    @Override
+    public Connection connection() {
+        return this.origin;
+    }
+
+    @Override
+    public void commit() throws SQLException {
+        this.origin.commit();
+    }
+
+    @Override
+    public void rollback() throws SQLException {
+        this.origin.rollback();
+    }
+
+    @Override
+    public void release() {
+        // The caller closes its connection.
+    }
+}
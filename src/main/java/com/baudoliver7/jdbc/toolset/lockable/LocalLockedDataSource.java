@@ -25,20 +25,40 @@ package com.baudoliver7.jdbc.toolset.lockable;
 
 import com.baudoliver7.jdbc.toolset.wrapper.DataSourceWrap;
 import java.sql.Connection;
+import java.sql.SQLException;
 import javax.sql.DataSource;
 
 /**
  * Data source that is locked to one connection.
  * <p>The same connection is always provided without possibility to commit or rollback.</p>
+ * <p>When no connection is given, each thread is locked to its own connection,
+ * which is only acquired from origin at the first {@link #getConnection()} of
+ * the thread. Then, {@link #commit()} or {@link #rollback()} ends the work
+ * and gives back the connection to origin. Call {@link #release()} in a
+ * {@code finally} block, so that the connection is given back when the work
+ * fails before either.</p>
+ * <p>Acquiring a connection may fail: {@link #getConnection()} then throws
+ * an {@link IllegalStateException} caused by the {@link SQLException}, to
+ * keep its signature.</p>
  *
  * @since 0.1
  */
 public final class LocalLockedDataSource extends DataSourceWrap {
 
     /**
-     * Connection locked on.
+     * Binding to connection locked on.
+     */
+    private final Binding binding;
+
+    /**
+     * Ctor.
+     * <p>Each thread is lazily locked to its own connection.</p>
+     * @param origin Data source to wrap
+     * @since 0.5
      */
-    private final Connection connection;
+    public LocalLockedDataSource(final DataSource origin) {
+        this(origin, new ThreadBinding(origin));
+    }
 
     /**
      * Ctor.
@@ -46,17 +66,77 @@ public final class LocalLockedDataSource extends DataSourceWrap {
      * @param connection Connection used
      */
     public LocalLockedDataSource(final DataSource origin, final Connection connection) {
+        this(origin, new FixedBinding(connection));
+    }
+
+    /**
+     * Ctor.
+     * @param origin Data source to wrap
+     * @param binding Binding to connection locked on
+     */
+    private LocalLockedDataSource(final DataSource origin, final Binding binding) {
         super(origin);
-        this.connection = connection;
+        this.binding = binding;
     }
 
     @Override
     public Connection getConnection() {
-        return new LockedConnection(this.connection);
+        return new LockedConnection(this.bound());
     }
 
     @Override
     public Connection getConnection(final String username, final String password) {
-        return new LockedConnection(this.connection);
+        return new LockedConnection(this.bound());
+    }
+
+    /**
+     * Commits changes made through the connection locked on.
+     * <p>When each thread is locked to its own connection, this ends the
+     * unit of work of the current thread and gives back its connection.
+     * Does nothing if the current thread didn't acquire a connection
+     * yet.</p>
+     * @throws SQLException If fails
+     * @since 0.5
+     */
+    public void commit() throws SQLException {
+        this.binding.commit();
+    }
+
+    /**
+     * Rolls back changes made through the connection locked on.
+     * <p>When each thread is locked to its own connection, this ends the
+     * unit of work of the current thread and gives back its connection.
+     * Does nothing if the current thread didn't acquire a connection
+     * yet.</p>
+     * @throws SQLException If fails
+     * @since 0.5
+     */
+    public void rollback() throws SQLException {
+        this.binding.rollback();
+    }
+
+    /**
+     * Ends the unit of work of the current thread.
+     * <p>Changes not committed are rolled back and the connection of the
+     * current thread is given back to origin. Does nothing when the work
+     * already ended by commit or rollback, or when the connection locked on
+     * was given at construction: its owner closes it.</p>
+     * @throws SQLException If fails
+     * @since 0.5
+     */
+    public void release() throws SQLException {
+        this.binding.release();
+    }
+
+    /**
+     * Connection locked on.
+     * @return Connection
+     */
+    private Connection bound() {
+        try {
+            return this.binding.connection();
+        } catch (final SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
     }
 }
@@ -65,12 +65,18 @@ public final class LockedConnection implements Connection {
 
     @Override
     public <T> T unwrap(final Class<T> iface) throws SQLException {
-        return this.origin.unwrap(iface);
+        final T result;
+        if (!this.origin.isWrapperFor(iface) && iface.isInstance(this)) {
+            result = iface.cast(this);
+        } else {
+            result = this.origin.unwrap(iface);
+        }
+        return result;
     }
 
     @Override
     public boolean isWrapperFor(final Class<?> iface) throws SQLException {
-        return this.origin.isWrapperFor(iface);
+        return iface.isInstance(this) || this.origin.isWrapperFor(iface);
     }
 
     @Override
@@ -0,0 +1,82 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.lockable;
+
+import com.baudoliver7.jdbc.toolset.wrapper.ConnectionWrap;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+
+/**
+ * Connection of a nested unit of work, delimited by a savepoint.
+ * <p>Commit releases the savepoint and rollback rolls back to it, then
+ * releases it. Closing it before either rolls back its changes, as a
+ * transaction not committed would.</p>
+ *
+ * @since 0.5
+ */
+final class NestedConnection extends ConnectionWrap {
+
+    /**
+     * Savepoint taken at beginning.
+     */
+    private final Savepoint savepoint;
+
+    /**
+     * Ended or not.
+     */
+    private boolean ended;
+
+    /**
+     * Ctor.
+     * @param origin Connection locked on
+     * @throws SQLException If fails to take savepoint
+     */
+    NestedConnection(final Connection origin) throws SQLException {
+        super(origin);
+        this.savepoint = origin.setSavepoint();
+    }
+
+    @Override
+    public void commit() throws SQLException {
+        if (!this.ended) {
+            this.ended = true;
+            super.releaseSavepoint(this.savepoint);
+        }
+    }
+
+    @Override
+    public void rollback() throws SQLException {
+        if (!this.ended) {
+            this.ended = true;
+            super.rollback(this.savepoint);
+            super.releaseSavepoint(this.savepoint);
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        this.rollback();
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.lockable;
+
+import com.baudoliver7.jdbc.toolset.wrapper.DataSourceWrap;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Data source of nested units of work in the unit of work of a
+ * {@link LocalLockedDataSource}.
+ * <p>Each connection it gives takes a savepoint on the connection locked
+ * on. Its {@code commit()} releases the savepoint and its
+ * {@code rollback()} rolls back to it, so that a failing inner component
+ * only discards its own changes. Closing a connection not committed rolls
+ * it back. Only the owner of the unit of work
+ * really commits, through {@link LocalLockedDataSource#commit()}.</p>
+ * <p>Nested units of work should end in the reverse order of their
+ * beginning, and before the enclosing unit of work ends. The connection
+ * locked on should be out of auto-commit mode.</p>
+ * <pre>{@code
+ * final LocalLockedDataSource uds = new LocalLockedDataSource(datasource);
+ * final DataSource nested = new NestedDataSource(uds);
+ * for (final Record rec : records) {
+ *     try (Connection conn = nested.getConnection()) {
+ *         try {
+ *             reconcile(conn, rec);
+ *             conn.commit(); // releases savepoint
+ *         } catch (final SQLException ex) {
+ *             conn.rollback(); // skips only this record
+ *         }
+ *     }
+ * }
+ * uds.commit(); // real commit
+ * }</pre>
+ *
+ * @since 0.5
+ */
+public final class NestedDataSource extends DataSourceWrap {
+
+    /**
+     * Ctor.
+     * @param origin Data source locked on
+     */
+    public NestedDataSource(final LocalLockedDataSource origin) {
+        super(origin);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return new NestedConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(
+        final String username, final String password
+    ) throws SQLException {
+        return new NestedConnection(super.getConnection(username, password));
+    }
+}
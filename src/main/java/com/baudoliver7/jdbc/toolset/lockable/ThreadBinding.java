@@ -0,0 +1,129 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.lockable;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+
+/**
+ * Binding of each thread to its own connection, acquired on first use.
+ * <p>The connection is acquired from the origin with auto-commit disabled.
+ * Commit and rollback end the unit of work: the connection is then
+ * released, so that the thread doesn't keep it, nor its thread-local
+ * entry, when {@link #release()} is forgotten. On release, pending changes
+ * are rolled back, auto-commit is restored and the connection is
+ * closed.</p>
+ *
+ * @since 0.5
+ */
+final class ThreadBinding implements Binding {
+
+    /**
+     * Data source to acquire connections from.
+     */
+    private final DataSource origin;
+
+    /**
+     * Connection of the current thread.
+     */
+    private final ThreadLocal<Connection> bound;
+
+    /**
+     * Ctor.
+     * @param origin Data source to acquire connections from
+     */
+    ThreadBinding(final DataSource origin) {
+        this.origin = origin;
+        this.bound = new ThreadLocal<>();
+    }
+
+    @Override
+    public Connection connection() throws SQLException {
+        Connection conn = this.bound.get();
+        if (conn == null) {
+            conn = this.origin.getConnection();
+            try {
+                conn.setAutoCommit(false);
+            } catch (final SQLException ex) {
+                conn.close();
+                throw ex;
+            }
+            this.bound.set(conn);
+        }
+        return conn;
+    }
+
+    @Override
+    public void commit() throws SQLException {
+        final Connection conn = this.bound.get();
+        if (conn != null) {
+            try {
+                conn.commit();
+            } catch (final SQLException ex) {
+                this.releaseAfter(ex);
+                throw ex;
+            }
+            this.release();
+        }
+    }
+
+    @Override
+    public void rollback() throws SQLException {
+        final Connection conn = this.bound.get();
+        if (conn != null) {
+            try {
+                conn.rollback();
+            } catch (final SQLException ex) {
+                this.releaseAfter(ex);
+                throw ex;
+            }
+            this.release();
+        }
+    }
+
+    @Override
+    public void release() throws SQLException {
+        final Connection conn = this.bound.get();
+        if (conn != null) {
+            this.bound.remove();
+            try (Connection closing = conn) {
+                closing.rollback();
+                closing.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Releases the connection after a failure.
+     * @param error Failure, to which a failure to release is added
+     */
+    private void releaseAfter(final SQLException error) {
+        try {
+            this.release();
+        } catch (final SQLException ex) {
+            error.addSuppressed(ex);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free log-linear histogram of durations in nanoseconds.
+ * <p>Values are counted in buckets: each power of two is split in
+ * {@value #SUBS} linear sub-buckets, so that a percentile is known with
+ * a relative error lower than 7%. Counters are striped by thread, so that
+ * threads recording at once rarely hit the same cache line. Recording never
+ * allocates.</p>
+ *
+ * @since 0.5
+ */
+public final class Histogram implements HistogramMBean {
+
+    /**
+     * Number of bits of a sub-bucket index.
+     */
+    private static final int BITS = 4;
+
+    /**
+     * Number of sub-buckets per power of two.
+     */
+    private static final int SUBS = 1 << Histogram.BITS;
+
+    /**
+     * Number of buckets to cover all positive longs.
+     */
+    private static final int BUCKETS = (Long.SIZE - Histogram.BITS) * Histogram.SUBS;
+
+    /**
+     * Number of stripes, a power of two.
+     */
+    private static final int STRIPES = 8;
+
+    /**
+     * Counters, stripe after stripe.
+     */
+    private final AtomicLongArray counters;
+
+    /**
+     * Highest value recorded.
+     */
+    private final AtomicLong highest;
+
+    /**
+     * Ctor.
+     */
+    public Histogram() {
+        this.counters = new AtomicLongArray(Histogram.STRIPES * Histogram.BUCKETS);
+        this.highest = new AtomicLong();
+    }
+
+    /**
+     * Records a duration.
+     * @param nanos Duration in nanoseconds
+     */
+    public void record(final long nanos) {
+        final long value = Math.max(0L, nanos);
+        final int stripe = (int) Thread.currentThread().getId() & (Histogram.STRIPES - 1);
+        this.counters.incrementAndGet(stripe * Histogram.BUCKETS + Histogram.bucket(value));
+        long max = this.highest.get();
+        while (value > max && !this.highest.compareAndSet(max, value)) {
+            max = this.highest.get();
+        }
+    }
+
+    /**
+     * Takes a snapshot of values recorded until now.
+     * @return Snapshot
+     */
+    public Snapshot snapshot() {
+        final long[] counts = new long[Histogram.BUCKETS];
+        for (int idx = 0; idx < this.counters.length(); ++idx) {
+            counts[idx % Histogram.BUCKETS] += this.counters.get(idx);
+        }
+        long total = 0L;
+        for (final long count : counts) {
+            total += count;
+        }
+        return new Snapshot(
+            total,
+            Histogram.quantile(counts, total, 0.5),
+            Histogram.quantile(counts, total, 0.99),
+            Histogram.quantile(counts, total, 0.999),
+            this.highest.get()
+        );
+    }
+
+    @Override
+    public long getCount() {
+        return this.snapshot().count();
+    }
+
+    @Override
+    public long getP50() {
+        return this.snapshot().p50();
+    }
+
+    @Override
+    public long getP99() {
+        return this.snapshot().p99();
+    }
+
+    @Override
+    public long getP999() {
+        return this.snapshot().p999();
+    }
+
+    @Override
+    public long getMax() {
+        return this.highest.get();
+    }
+
+    /**
+     * Index of the bucket of a value.
+     * @param value Positive value
+     * @return Index
+     */
+    private static int bucket(final long value) {
+        final int index;
+        if (value < Histogram.SUBS) {
+            index = (int) value;
+        } else {
+            final int shift = Long.SIZE - Long.numberOfLeadingZeros(value)
+                - Histogram.BITS - 1;
+            index = (shift + 1) * Histogram.SUBS
+                + (int) (value >>> shift & Histogram.SUBS - 1);
+        }
+        return index;
+    }
+
+    /**
+     * Lowest value of a bucket.
+     * @param index Index of bucket
+     * @return Value
+     */
+    private static long lowest(final int index) {
+        final long value;
+        if (index < Histogram.SUBS) {
+            value = index;
+        } else {
+            final int shift = index / Histogram.SUBS - 1;
+            value = (long) (Histogram.SUBS + index % Histogram.SUBS) << shift;
+        }
+        return value;
+    }
+
+    /**
+     * Value under which a fraction of values are.
+     * @param counts Counts per bucket
+     * @param total Total of counts
+     * @param fraction Fraction
+     * @return Value, in the middle of its bucket
+     */
+    private static long quantile(final long[] counts, final long total, final double fraction) {
+        final long rank = (long) Math.ceil(total * fraction);
+        long seen = 0L;
+        long value = 0L;
+        for (int idx = 0; idx < counts.length; ++idx) {
+            seen += counts[idx];
+            if (seen >= rank && counts[idx] > 0L) {
+                final long low = Histogram.lowest(idx);
+                final long high = Histogram.lowest(idx + 1);
+                value = low + (high - low) / 2L;
+                break;
+            }
+        }
+        return value;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.metrics;
+
+/**
+ * Latency histogram exposed through JMX.
+ *
+ * @since 0.5
+ */
+public interface HistogramMBean {
+
+    /**
+     * Number of values recorded.
+     * @return Count
+     */
+    long getCount();
+
+    /**
+     * Median, in nanoseconds.
+     * @return Value
+     */
+    long getP50();
+
+    /**
+     * 99th percentile, in nanoseconds.
+     * @return Value
+     */
+    long getP99();
+
+    /**
+     * 99.9th percentile, in nanoseconds.
+     * @return Value
+     */
+    long getP999();
+
+    /**
+     * Highest value recorded, in nanoseconds.
+     * @return Value
+     */
+    long getMax();
+}
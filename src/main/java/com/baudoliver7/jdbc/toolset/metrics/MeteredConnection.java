@@ -0,0 +1,256 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.metrics;
+
+import com.baudoliver7.jdbc.toolset.wrapper.ConnectionWrap;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Connection which records latencies of JDBC operations.
+ * <p>Hold time is recorded at first close. Callable statements are timed
+ * on prepare only.</p>
+ *
+ * @since 0.5
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+public final class MeteredConnection extends ConnectionWrap {
+
+    /**
+     * Metrics.
+     */
+    private final Metrics metrics;
+
+    /**
+     * Time of acquisition, in nanoseconds.
+     */
+    private final long acquired;
+
+    /**
+     * Closed or not.
+     */
+    private final AtomicBoolean closed;
+
+    /**
+     * Ctor.
+     * @param origin Connection wrapped
+     * @param metrics Metrics
+     */
+    public MeteredConnection(final Connection origin, final Metrics metrics) {
+        this(origin, metrics, System.nanoTime());
+    }
+
+    /**
+     * Ctor.
+     * @param origin Connection wrapped
+     * @param metrics Metrics
+     * @param acquired Time of acquisition, in nanoseconds
+     */
+    MeteredConnection(final Connection origin, final Metrics metrics, final long acquired) {
+        super(origin);
+        this.metrics = metrics;
+        this.acquired = acquired;
+        this.closed = new AtomicBoolean(false);
+    }
+
+    @Override
+    public Statement createStatement() throws SQLException {
+        return new MeteredStatement(super.createStatement(), this, this.metrics);
+    }
+
+    @Override
+    public Statement createStatement(final int rsetype, final int rsetc) throws SQLException {
+        return new MeteredStatement(super.createStatement(rsetype, rsetc), this, this.metrics);
+    }
+
+    @Override
+    public Statement createStatement(
+        final int rsetype, final int rsetc, final int rseth
+    ) throws SQLException {
+        return new MeteredStatement(
+            super.createStatement(rsetype, rsetc, rseth), this, this.metrics
+        );
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(final String sql) throws SQLException {
+        final long start = System.nanoTime();
+        try {
+            return new MeteredPreparedStatement(
+                super.prepareStatement(sql), this, this.metrics
+            );
+        } finally {
+            this.metrics.prepare().record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final int rsetype, final int rsetc
+    ) throws SQLException {
+        final long start = System.nanoTime();
+        try {
+            return new MeteredPreparedStatement(
+                super.prepareStatement(sql, rsetype, rsetc), this, this.metrics
+            );
+        } finally {
+            this.metrics.prepare().record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    // @checkstyle ParameterNumberCheck (3 lines)
+    public PreparedStatement prepareStatement(
+        final String sql, final int rsetype, final int rsetc, final int rseth
+    ) throws SQLException {
+        final long start = System.nanoTime();
+        try {
+            return new MeteredPreparedStatement(
+                super.prepareStatement(sql, rsetype, rsetc, rseth), this, this.metrics
+            );
+        } finally {
+            this.metrics.prepare().record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final int agkeys
+    ) throws SQLException {
+        final long start = System.nanoTime();
+        try {
+            return new MeteredPreparedStatement(
+                super.prepareStatement(sql, agkeys), this, this.metrics
+            );
+        } finally {
+            this.metrics.prepare().record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final int[] icolumns
+    ) throws SQLException {
+        final long start = System.nanoTime();
+        try {
+            return new MeteredPreparedStatement(
+                super.prepareStatement(sql, icolumns), this, this.metrics
+            );
+        } finally {
+            this.metrics.prepare().record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final String[] ncolumns
+    ) throws SQLException {
+        final long start = System.nanoTime();
+        try {
+            return new MeteredPreparedStatement(
+                super.prepareStatement(sql, ncolumns), this, this.metrics
+            );
+        } finally {
+            this.metrics.prepare().record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public CallableStatement prepareCall(final String sql) throws SQLException {
+        final long start = System.nanoTime();
+        try {
+            return super.prepareCall(sql);
+        } finally {
+            this.metrics.prepare().record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public CallableStatement prepareCall(
+        final String sql, final int rsetype, final int rsetc
+    ) throws SQLException {
+        final long start = System.nanoTime();
+        try {
+            return super.prepareCall(sql, rsetype, rsetc);
+        } finally {
+            this.metrics.prepare().record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    // @checkstyle ParameterNumberCheck (3 lines)
+    public CallableStatement prepareCall(
+        final String sql, final int rsetype, final int rsetc, final int rseth
+    ) throws SQLException {
+        final long start = System.nanoTime();
+        try {
+            return super.prepareCall(sql, rsetype, rsetc, rseth);
+        } finally {
+            this.metrics.prepare().record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void commit() throws SQLException {
+        final long start = System.nanoTime();
+        try {
+            super.commit();
+        } finally {
+            this.metrics.commit().record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void rollback() throws SQLException {
+        final long start = System.nanoTime();
+        try {
+            super.rollback();
+        } finally {
+            this.metrics.rollback().record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void rollback(final Savepoint savepoint) throws SQLException {
+        final long start = System.nanoTime();
+        try {
+            super.rollback(savepoint);
+        } finally {
+            this.metrics.rollback().record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (this.closed.compareAndSet(false, true)) {
+            this.metrics.hold().record(System.nanoTime() - this.acquired);
+        }
+        super.close();
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.metrics;
+
+import com.baudoliver7.jdbc.toolset.wrapper.StatementWrap;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Statement which records time of executions.
+ *
+ * @since 0.5
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+final class MeteredStatement extends StatementWrap {
+
+    /**
+     * Connection which created the statement.
+     */
+    private final Connection connection;
+
+    /**
+     * Metrics.
+     */
+    private final Metrics metrics;
+
+    /**
+     * Ctor.
+     * @param origin Statement wrapped
+     * @param connection Connection which created the statement
+     * @param metrics Metrics
+     */
+    MeteredStatement(
+        final Statement origin, final Connection connection, final Metrics metrics
+    ) {
+        super(origin);
+        this.connection = connection;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Connection getConnection() {
+        return this.connection;
+    }
+
+    @Override
+    public ResultSet executeQuery(final String sql) throws SQLException {
+        final long start = System.nanoTime();
+        try {
+            return super.executeQuery(sql);
+        } finally {
+            this.metrics.execute().record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public int executeUpdate(final String sql) throws SQLException {
+        final long start = System.nanoTime();
+        try {
+            return super.executeUpdate(sql);
+        } finally {
+            this.metrics.execute().record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public boolean execute(final String sql) throws SQLException {
+        final long start = System.nanoTime();
+        try {
+            return super.execute(sql);
+        } finally {
+            this.metrics.execute().record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        final long start = System.nanoTime();
+        try {
+            return super.executeBatch();
+        } finally {
+            this.metrics.execute().record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public int executeUpdate(final String sql, final int agkeys) throws SQLException {
+        final long start = System.nanoTime();
+        try {
+            return super.executeUpdate(sql, agkeys);
+        } finally {
+            this.metrics.execute().record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public int executeUpdate(final String sql, final int[] icolumns) throws SQLException {
+        final long start = System.nanoTime();
+        try {
+            return super.executeUpdate(sql, icolumns);
+        } finally {
+            this.metrics.execute().record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public int executeUpdate(final String sql, final String[] ncolumns) throws SQLException {
+        final long start = System.nanoTime();
+        try {
+            return super.executeUpdate(sql, ncolumns);
+        } finally {
+            this.metrics.execute().record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public boolean execute(final String sql, final int agkeys) throws SQLException {
+        final long start = System.nanoTime();
+        try {
+            return super.execute(sql, agkeys);
+        } finally {
+            this.metrics.execute().record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public boolean execute(final String sql, final int[] icolumns) throws SQLException {
+        final long start = System.nanoTime();
+        try {
+            return super.execute(sql, icolumns);
+        } finally {
+            this.metrics.execute().record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public boolean execute(final String sql, final String[] ncolumns) throws SQLException {
+        final long start = System.nanoTime();
+        try {
+            return super.execute(sql, ncolumns);
+        } finally {
+            this.metrics.execute().record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public long[] executeLargeBatch() throws SQLException {
+        final long start = System.nanoTime();
+        try {
+            return super.executeLargeBatch();
+        } finally {
+            this.metrics.execute().record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate(final String sql) throws SQLException {
+        final long start = System.nanoTime();
+        try {
+            return super.executeLargeUpdate(sql);
+        } finally {
+            this.metrics.execute().record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate(final String sql, final int agkeys) throws SQLException {
+        final long start = System.nanoTime();
+        try {
+            return super.executeLargeUpdate(sql, agkeys);
+        } finally {
+            this.metrics.execute().record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate(final String sql, final int[] icolumns) throws SQLException {
+        final long start = System.nanoTime();
+        try {
+            return super.executeLargeUpdate(sql, icolumns);
+        } finally {
+            this.metrics.execute().record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate(final String sql, final String[] ncolumns) throws SQLException {
+        final long start = System.nanoTime();
+        try {
+            return super.executeLargeUpdate(sql, ncolumns);
+        } finally {
+            this.metrics.execute().record(System.nanoTime() - start);
+        }
+    }
+}
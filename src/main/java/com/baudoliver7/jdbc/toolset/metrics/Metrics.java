@@ -0,0 +1,229 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Latency histograms of JDBC operations.
+ * <p>Share one instance between a {@link MeteredDataSource} and all its
+ * connections. Pull values with {@link #snapshot()} or expose them through
+ * JMX with {@link #register(String)}.</p>
+ *
+ * @since 0.5
+ */
+public final class Metrics {
+
+    /**
+     * Time to acquire a connection.
+     */
+    private final Histogram acquisition;
+
+    /**
+     * Time a connection is held.
+     */
+    private final Histogram holding;
+
+    /**
+     * Time to prepare a statement.
+     */
+    private final Histogram preparation;
+
+    /**
+     * Time to execute a statement.
+     */
+    private final Histogram execution;
+
+    /**
+     * Time to commit.
+     */
+    private final Histogram commits;
+
+    /**
+     * Time to roll back.
+     */
+    private final Histogram rollbacks;
+
+    /**
+     * Ctor.
+     */
+    public Metrics() {
+        this.acquisition = new Histogram();
+        this.holding = new Histogram();
+        this.preparation = new Histogram();
+        this.execution = new Histogram();
+        this.commits = new Histogram();
+        this.rollbacks = new Histogram();
+    }
+
+    /**
+     * Time to acquire a connection.
+     * @return Histogram
+     */
+    public Histogram acquire() {
+        return this.acquisition;
+    }
+
+    /**
+     * Time a connection is held until closed.
+     * @return Histogram
+     */
+    public Histogram hold() {
+        return this.holding;
+    }
+
+    /**
+     * Time to prepare a statement.
+     * @return Histogram
+     */
+    public Histogram prepare() {
+        return this.preparation;
+    }
+
+    /**
+     * Time to execute a statement.
+     * @return Histogram
+     */
+    public Histogram execute() {
+        return this.execution;
+    }
+
+    /**
+     * Time to commit.
+     * @return Histogram
+     */
+    public Histogram commit() {
+        return this.commits;
+    }
+
+    /**
+     * Time to roll back.
+     * @return Histogram
+     */
+    public Histogram rollback() {
+        return this.rollbacks;
+    }
+
+    /**
+     * Takes a snapshot of all histograms.
+     * @return Snapshots by name of operation
+     */
+    public Map<String, Snapshot> snapshot() {
+        final Map<String, Snapshot> snapshots = new LinkedHashMap<>(8);
+        for (final Map.Entry<String, Histogram> entry : this.histograms().entrySet()) {
+            snapshots.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return snapshots;
+    }
+
+    /**
+     * Registers histograms in the platform MBean server.
+     * <p>Each histogram is registered under name
+     * {@code com.baudoliver7.jdbc.toolset:type=Metrics,name=<name>,operation=<operation>}.</p>
+     * <p>If one of them fails, those already registered are unregistered,
+     * so that none of them is left behind.</p>
+     * @param name Name of the data source
+     * @throws SQLException If fails
+     */
+    public void register(final String name) throws SQLException {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final List<ObjectName> registered = new ArrayList<>(8);
+        try {
+            for (final Map.Entry<String, Histogram> entry : this.histograms().entrySet()) {
+                final ObjectName oname = Metrics.name(name, entry.getKey());
+                server.registerMBean(entry.getValue(), oname);
+                registered.add(oname);
+            }
+        } catch (final JMException ex) {
+            final SQLException error = new SQLException("Unable to register metrics", ex);
+            for (final ObjectName oname : registered) {
+                try {
+                    server.unregisterMBean(oname);
+                } catch (final JMException unreg) {
+                    error.addSuppressed(unreg);
+                }
+            }
+            throw error;
+        }
+    }
+
+    /**
+     * Unregisters histograms from the platform MBean server.
+     * @param name Name of the data source
+     * @throws SQLException If fails
+     */
+    public void unregister(final String name) throws SQLException {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            for (final String operation : this.histograms().keySet()) {
+                final ObjectName oname = Metrics.name(name, operation);
+                if (server.isRegistered(oname)) {
+                    server.unregisterMBean(oname);
+                }
+            }
+        } catch (final JMException ex) {
+            throw new SQLException("Unable to unregister metrics", ex);
+        }
+    }
+
+    /**
+     * Histograms by name of operation.
+     * @return Histograms
+     */
+    private Map<String, Histogram> histograms() {
+        final Map<String, Histogram> map = new LinkedHashMap<>(8);
+        map.put("acquire", this.acquisition);
+        map.put("hold", this.holding);
+        map.put("prepare", this.preparation);
+        map.put("execute", this.execution);
+        map.put("commit", this.commits);
+        map.put("rollback", this.rollbacks);
+        return map;
+    }
+
+    /**
+     * Name of an MBean.
+     * @param name Name of data source
+     * @param operation Operation
+     * @return Object name
+     * @throws JMException If name is not valid
+     */
+    private static ObjectName name(final String name, final String operation)
+        throws JMException {
+        return new ObjectName(
+            String.format(
+                "com.baudoliver7.jdbc.toolset:type=Metrics,name=%s,operation=%s",
+                ObjectName.quote(name), operation
+            )
+        );
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.metrics;
+
+/**
+ * Values of a histogram at a point in time.
+ *
+ * @since 0.5
+ */
+public final class Snapshot {
+
+    /**
+     * Number of values.
+     */
+    private final long total;
+
+    /**
+     * Median.
+     */
+    private final long median;
+
+    /**
+     * 99th percentile.
+     */
+    private final long high;
+
+    /**
+     * 99.9th percentile.
+     */
+    private final long higher;
+
+    /**
+     * Highest value.
+     */
+    private final long highest;
+
+    /**
+     * Ctor.
+     * @param total Number of values
+     * @param median Median
+     * @param high 99th percentile
+     * @param higher 99.9th percentile
+     * @param highest Highest value
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    public Snapshot(final long total, final long median, final long high,
+        final long higher, final long highest) {
+        this.total = total;
+        this.median = median;
+        this.high = high;
+        this.higher = higher;
+        this.highest = highest;
+    }
+
+    /**
+     * Number of values.
+     * @return Count
+     */
+    public long count() {
+        return this.total;
+    }
+
+    /**
+     * Median, in nanoseconds.
+     * @return Value
+     */
+    public long p50() {
+        return this.median;
+    }
+
+    /**
+     * 99th percentile, in nanoseconds.
+     * @return Value
+     */
+    public long p99() {
+        return this.high;
+    }
+
+    /**
+     * 99.9th percentile, in nanoseconds.
+     * @return Value
+     */
+    public long p999() {
+        return this.higher;
+    }
+
+    /**
+     * Highest value, in nanoseconds.
+     * @return Value
+     */
+    public long max() {
+        return this.highest;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "count=%d, p50=%dns, p99=%dns, p999=%dns, max=%dns",
+            this.total, this.median, this.high, this.higher, this.highest
+        );
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.pool;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Physical connection held by a pool.
+ * <p>The entry state is only changed by compare-and-set, so that borrowing
+ * and giving back never take a lock.</p>
+ * <p>It keeps the initial state of its connection, to restore it when a
+ * borrower changed it.</p>
+ *
+ * @since 0.5
+ */
+final class PoolEntry {
+
+    /**
+     * Entry is available.
+     */
+    private static final int IDLE = 0;
+
+    /**
+     * Entry is borrowed or reserved by the housekeeper.
+     */
+    private static final int RESERVED = 1;
+
+    /**
+     * Entry is removed from the pool.
+     */
+    private static final int REMOVED = -1;
+
+    /**
+     * Physical connection.
+     */
+    private final Connection connection;
+
+    /**
+     * Creation time in nanoseconds.
+     */
+    private final long created;
+
+    /**
+     * Last time the entry has been given back, in nanoseconds.
+     */
+    private volatile long used;
+
+    /**
+     * State.
+     */
+    private final AtomicInteger state;
+
+    /**
+     * Initial auto-commit.
+     */
+    private final boolean autocommit;
+
+    /**
+     * Initial read-only.
+     */
+    private final boolean readonly;
+
+    /**
+     * Initial transaction isolation.
+     */
+    private final int isolation;
+
+    /**
+     * Initial schema, or null if unknown.
+     */
+    private final String schema;
+
+    /**
+     * Ctor.
+     * <p>A new entry is reserved by its creator.</p>
+     * @param connection Physical connection
+     * @throws SQLException If fails to read the state of connection
+     */
+    PoolEntry(final Connection connection) throws SQLException {
+        this.connection = connection;
+        this.created = System.nanoTime();
+        this.used = this.created;
+        this.state = new AtomicInteger(PoolEntry.RESERVED);
+        this.autocommit = connection.getAutoCommit();
+        this.readonly = connection.isReadOnly();
+        this.isolation = connection.getTransactionIsolation();
+        this.schema = PoolEntry.schema(connection);
+    }
+
+    /**
+     * Physical connection.
+     * @return Connection
+     */
+    Connection connection() {
+        return this.connection;
+    }
+
+    /**
+     * Restores the initial state of the connection.
+     * <p>Only values which changed are set again.</p>
+     * @throws SQLException If fails
+     */
+    void restore() throws SQLException {
+        if (this.connection.getAutoCommit() != this.autocommit) {
+            this.connection.setAutoCommit(this.autocommit);
+        }
+        if (this.connection.isReadOnly() != this.readonly) {
+            this.connection.setReadOnly(this.readonly);
+        }
+        if (this.connection.getTransactionIsolation() != this.isolation) {
+            this.connection.setTransactionIsolation(this.isolation);
+        }
+        if (this.schema != null
+            && !this.schema.equals(this.connection.getSchema())) {
+            this.connection.setSchema(this.schema);
+        }
+    }
+
+    /**
+     * Tries to reserve this entry.
+     * @return True if it has been reserved by the caller
+     */
+    boolean reserve() {
+        return this.state.compareAndSet(PoolEntry.IDLE, PoolEntry.RESERVED);
+    }
+
+    /**
+     * Gives back a reserved entry and marks it as used now.
+     */
+    void release() {
+        this.used = System.nanoTime();
+        this.state.set(PoolEntry.IDLE);
+    }
+
+    /**
+     * Gives back a reserved entry without touching its last use time.
+     */
+    void revert() {
+        this.state.set(PoolEntry.IDLE);
+    }
+
+    /**
+     * Marks a reserved entry as removed.
+     */
+    void remove() {
+        this.state.set(PoolEntry.REMOVED);
+    }
+
+    /**
+     * Checks if this entry is available.
+     * @return True if idle
+     */
+    boolean idle() {
+        return this.state.get() == PoolEntry.IDLE;
+    }
+
+    /**
+     * Checks if this entry lived longer than the given lifetime.
+     * @param now Current time in nanoseconds
+     * @param lifetime Maximum lifetime in nanoseconds, zero for infinite
+     * @return True if expired
+     */
+    boolean expired(final long now, final long lifetime) {
+        return lifetime > 0L && now - this.created >= lifetime;
+    }
+
+    /**
+     * Checks if this entry stayed idle longer than the given timeout.
+     * @param now Current time in nanoseconds
+     * @param timeout Idle timeout in nanoseconds, zero for infinite
+     * @return True if it stayed idle too long
+     */
+    boolean stale(final long now, final long timeout) {
+        return timeout > 0L && now - this.used >= timeout;
+    }
+
+    /**
+     * Schema of a connection.
+     * @param connection Connection
+     * @return Schema, or null if the driver doesn't tell it
+     */
+    private static String schema(final Connection connection) {
+        String schema;
+        try {
+            schema = connection.getSchema();
+        } catch (final SQLException | AbstractMethodError ex) {
+            // Old drivers don't know schemas: it is then never restored.
+            schema = null;
+        }
+        return schema;
+    }
+}
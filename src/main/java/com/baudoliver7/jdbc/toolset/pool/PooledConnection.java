@@ -0,0 +1,463 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.pool;
+
+import com.baudoliver7.jdbc.toolset.wrapper.ConnectionWrap;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.Clob;
+import java.sql.DatabaseMetaData;
+import java.sql.NClob;
+import java.sql.PreparedStatement;
+import java.sql.SQLClientInfoException;
+import java.sql.SQLException;
+import java.sql.SQLXML;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.sql.Struct;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Connection borrowed from a {@link PooledDataSource}.
+ * <p>Closing it gives the physical connection back to the pool. Before,
+ * statements it opened are closed, a pending transaction is rolled back,
+ * and auto-commit, read-only, isolation and schema are restored to their
+ * initial values if they were set through it. Once closed, every call which
+ * would act on the physical connection fails, so that a stale reference
+ * can't drive it while it is lent to another borrower.</p>
+ * <p>Open statements are kept in a concurrent set, which each of them
+ * leaves on close, so that opening one takes no lock.</p>
+ *
+ * @since 0.5
+ */
+@SuppressWarnings({"PMD.TooManyMethods", "PMD.ExcessivePublicCount"})
+public final class PooledConnection extends ConnectionWrap {
+
+    /**
+     * Pool.
+     */
+    private final PooledDataSource pool;
+
+    /**
+     * Pool entry.
+     */
+    private final PoolEntry entry;
+
+    /**
+     * Closed or not.
+     */
+    private final AtomicBoolean closed;
+
+    /**
+     * Statements opened through this connection and not closed yet.
+     */
+    private final Set<Statement> statements;
+
+    /**
+     * Whether auto-commit, read-only, isolation or schema was set through
+     * this connection.
+     */
+    private volatile boolean dirty;
+
+    /**
+     * Ctor.
+     * @param pool Pool
+     * @param entry Pool entry
+     */
+    PooledConnection(final PooledDataSource pool, final PoolEntry entry) {
+        super(entry.connection());
+        this.pool = pool;
+        this.entry = entry;
+        this.closed = new AtomicBoolean(false);
+        this.statements = ConcurrentHashMap.newKeySet();
+    }
+
+    @Override
+    public <T> T unwrap(final Class<T> iface) throws SQLException {
+        this.guard();
+        return super.unwrap(iface);
+    }
+
+    @Override
+    public Statement createStatement() throws SQLException {
+        this.guard();
+        return this.opened(new PooledStatement(super.createStatement(), this));
+    }
+
+    @Override
+    public Statement createStatement(final int rsetype, final int rsetc) throws SQLException {
+        this.guard();
+        return this.opened(
+            new PooledStatement(super.createStatement(rsetype, rsetc), this)
+        );
+    }
+
+    @Override
+    public Statement createStatement(
+        final int rsetype, final int rsetc, final int rseth
+    ) throws SQLException {
+        this.guard();
+        return this.opened(
+            new PooledStatement(super.createStatement(rsetype, rsetc, rseth), this)
+        );
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(final String sql) throws SQLException {
+        this.guard();
+        return this.opened(new PooledPreparedStatement(super.prepareStatement(sql), this));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final int rsetype, final int rsetc
+    ) throws SQLException {
+        this.guard();
+        return this.opened(
+            new PooledPreparedStatement(super.prepareStatement(sql, rsetype, rsetc), this)
+        );
+    }
+
+    @Override
+    // @checkstyle ParameterNumberCheck (3 lines)
+    public PreparedStatement prepareStatement(
+        final String sql, final int rsetype, final int rsetc, final int rseth
+    ) throws SQLException {
+        this.guard();
+        return this.opened(
+            new PooledPreparedStatement(
+                super.prepareStatement(sql, rsetype, rsetc, rseth), this
+            )
+        );
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final int agkeys
+    ) throws SQLException {
+        this.guard();
+        return this.opened(
+            new PooledPreparedStatement(super.prepareStatement(sql, agkeys), this)
+        );
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final int[] icolumns
+    ) throws SQLException {
+        this.guard();
+        return this.opened(
+            new PooledPreparedStatement(super.prepareStatement(sql, icolumns), this)
+        );
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final String[] ncolumns
+    ) throws SQLException {
+        this.guard();
+        return this.opened(
+            new PooledPreparedStatement(super.prepareStatement(sql, ncolumns), this)
+        );
+    }
+
+    @Override
+    public CallableStatement prepareCall(final String sql) throws SQLException {
+        this.guard();
+        return this.opened(new PooledCallableStatement(super.prepareCall(sql), this));
+    }
+
+    @Override
+    public CallableStatement prepareCall(
+        final String sql, final int rsetype, final int rsetc
+    ) throws SQLException {
+        this.guard();
+        return this.opened(
+            new PooledCallableStatement(super.prepareCall(sql, rsetype, rsetc), this)
+        );
+    }
+
+    @Override
+    // @checkstyle ParameterNumberCheck (3 lines)
+    public CallableStatement prepareCall(
+        final String sql, final int rsetype, final int rsetc, final int rseth
+    ) throws SQLException {
+        this.guard();
+        return this.opened(
+            new PooledCallableStatement(super.prepareCall(sql, rsetype, rsetc, rseth), this)
+        );
+    }
+
+    @Override
+    public void setAutoCommit(final boolean autocommit) throws SQLException {
+        this.guard();
+        this.dirty = true;
+        super.setAutoCommit(autocommit);
+    }
+
+    @Override
+    public void setReadOnly(final boolean readonly) throws SQLException {
+        this.guard();
+        this.dirty = true;
+        super.setReadOnly(readonly);
+    }
+
+    @Override
+    public void setTransactionIsolation(final int level) throws SQLException {
+        this.guard();
+        this.dirty = true;
+        super.setTransactionIsolation(level);
+    }
+
+    @Override
+    public void setSchema(final String schema) throws SQLException {
+        this.guard();
+        this.dirty = true;
+        super.setSchema(schema);
+    }
+
+    @Override
+    public void commit() throws SQLException {
+        this.guard();
+        super.commit();
+    }
+
+    @Override
+    public void rollback() throws SQLException {
+        this.guard();
+        super.rollback();
+    }
+
+    @Override
+    public void rollback(final Savepoint savepoint) throws SQLException {
+        this.guard();
+        super.rollback(savepoint);
+    }
+
+    @Override
+    public Savepoint setSavepoint() throws SQLException {
+        this.guard();
+        return super.setSavepoint();
+    }
+
+    @Override
+    public Savepoint setSavepoint(final String name) throws SQLException {
+        this.guard();
+        return super.setSavepoint(name);
+    }
+
+    @Override
+    public void releaseSavepoint(final Savepoint savepoint) throws SQLException {
+        this.guard();
+        super.releaseSavepoint(savepoint);
+    }
+
+    @Override
+    public DatabaseMetaData getMetaData() throws SQLException {
+        this.guard();
+        return super.getMetaData();
+    }
+
+    @Override
+    public void setCatalog(final String catalog) throws SQLException {
+        this.guard();
+        super.setCatalog(catalog);
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        this.guard();
+        super.clearWarnings();
+    }
+
+    @Override
+    public void setTypeMap(final Map<String, Class<?>> map) throws SQLException {
+        this.guard();
+        super.setTypeMap(map);
+    }
+
+    @Override
+    public void setHoldability(final int holdability) throws SQLException {
+        this.guard();
+        super.setHoldability(holdability);
+    }
+
+    @Override
+    public Clob createClob() throws SQLException {
+        this.guard();
+        return super.createClob();
+    }
+
+    @Override
+    public Blob createBlob() throws SQLException {
+        this.guard();
+        return super.createBlob();
+    }
+
+    @Override
+    public NClob createNClob() throws SQLException {
+        this.guard();
+        return super.createNClob();
+    }
+
+    @Override
+    public SQLXML createSQLXML() throws SQLException {
+        this.guard();
+        return super.createSQLXML();
+    }
+
+    @Override
+    public Array createArrayOf(final String tname, final Object[] elements) throws SQLException {
+        this.guard();
+        return super.createArrayOf(tname, elements);
+    }
+
+    @Override
+    public Struct createStruct(
+        final String tname, final Object[] attributes
+    ) throws SQLException {
+        this.guard();
+        return super.createStruct(tname, attributes);
+    }
+
+    @Override
+    public boolean isValid(final int timeout) throws SQLException {
+        return !this.closed.get() && super.isValid(timeout);
+    }
+
+    @Override
+    public void setClientInfo(
+        final String name, final String value
+    ) throws SQLClientInfoException {
+        this.clientInfo();
+        super.setClientInfo(name, value);
+    }
+
+    @Override
+    public void setClientInfo(final Properties properties) throws SQLClientInfoException {
+        this.clientInfo();
+        super.setClientInfo(properties);
+    }
+
+    @Override
+    public void abort(final Executor executor) throws SQLException {
+        this.guard();
+        super.abort(executor);
+    }
+
+    @Override
+    public void setNetworkTimeout(
+        final Executor executor, final int milliseconds
+    ) throws SQLException {
+        this.guard();
+        super.setNetworkTimeout(executor, milliseconds);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (this.closed.compareAndSet(false, true)) {
+            boolean broken = true;
+            try {
+                if (!super.isClosed()) {
+                    this.closeStatements();
+                    if (!super.getAutoCommit()) {
+                        super.rollback();
+                    }
+                    if (this.dirty) {
+                        this.entry.restore();
+                    }
+                    broken = false;
+                }
+            } finally {
+                this.pool.giveBack(this.entry, broken);
+            }
+        }
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return this.closed.get() || super.isClosed();
+    }
+
+    /**
+     * Forgets a statement closed.
+     * @param stmt Statement
+     */
+    void closed(final Statement stmt) {
+        this.statements.remove(stmt);
+    }
+
+    /**
+     * Fails if this connection is closed.
+     * @throws SQLException If it is closed
+     */
+    private void guard() throws SQLException {
+        if (this.closed.get()) {
+            throw new SQLException("Connection is closed", "08003");
+        }
+    }
+
+    /**
+     * Fails if this connection is closed, to set client info.
+     * @throws SQLClientInfoException If it is closed
+     */
+    private void clientInfo() throws SQLClientInfoException {
+        try {
+            this.guard();
+        } catch (final SQLException ex) {
+            throw new SQLClientInfoException(
+                ex.getMessage(), ex.getSQLState(), Collections.emptyMap(), ex
+            );
+        }
+    }
+
+    /**
+     * Registers a statement opened, to close it with this connection.
+     * @param stmt Statement
+     * @param <S> Type of statement
+     * @return The same statement
+     */
+    private <S extends Statement> S opened(final S stmt) {
+        this.statements.add(stmt);
+        return stmt;
+    }
+
+    /**
+     * Closes statements opened through this connection and still open.
+     * @throws SQLException If fails
+     */
+    private void closeStatements() throws SQLException {
+        for (final Statement stmt : this.statements) {
+            stmt.close();
+        }
+        this.statements.clear();
+    }
+}
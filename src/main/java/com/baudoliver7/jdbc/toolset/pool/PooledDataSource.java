@@ -0,0 +1,575 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.pool;
+
+import com.baudoliver7.jdbc.toolset.wrapper.DataSourceWrap;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+
+/**
+ * Data source that pools connections of its origin.
+ * <p>Borrowing and giving back a connection never take a lock: a thread first
+ * tries the last connection it gave back, then scans the pool, then opens a
+ * new connection if the pool is not full. Only when the pool is exhausted,
+ * the thread waits for a connection to be handed off by another one.</p>
+ * <p>A background housekeeper closes connections that exceeded their lifetime
+ * or stayed idle too long, and keeps at least the minimum of idle
+ * connections.</p>
+ * <p>At startup, {@link #warm(String...)} opens the minimum of idle
+ * connections in parallel and validates all idle ones, so that first
+ * requests don't pay for it.</p>
+ * <p>Connections with specific credentials are not pooled.</p>
+ *
+ * @since 0.5
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+public final class PooledDataSource extends DataSourceWrap implements AutoCloseable {
+
+    /**
+     * Longest time a waiting thread sleeps before it scans the pool again,
+     * in nanoseconds.
+     */
+    private static final long SLICE = TimeUnit.MILLISECONDS.toNanos(10L);
+
+    /**
+     * Housekeeping period in milliseconds.
+     */
+    private static final long PERIOD = TimeUnit.SECONDS.toMillis(30L);
+
+    /**
+     * Maximum number of connections.
+     */
+    private final int max;
+
+    /**
+     * Minimum number of idle connections.
+     */
+    private final int min;
+
+    /**
+     * Maximum lifetime of a connection in nanoseconds.
+     */
+    private final long lifetime;
+
+    /**
+     * Time after which an idle connection is evicted in nanoseconds.
+     */
+    private final long idle;
+
+    /**
+     * Time to wait for a connection in nanoseconds.
+     */
+    private final long timeout;
+
+    /**
+     * All connections of the pool.
+     */
+    private final List<PoolEntry> entries;
+
+    /**
+     * Last connection given back by the current thread.
+     */
+    private final ThreadLocal<PoolEntry> slot;
+
+    /**
+     * Number of connections, including those being opened.
+     */
+    private final AtomicInteger total;
+
+    /**
+     * Number of threads waiting for a connection.
+     */
+    private final AtomicInteger waiters;
+
+    /**
+     * Hand-off queue to waiting threads.
+     */
+    private final SynchronousQueue<PoolEntry> handoff;
+
+    /**
+     * Housekeeper.
+     */
+    private final ScheduledExecutorService housekeeper;
+
+    /**
+     * Housekeeper started or not.
+     */
+    private final AtomicBoolean started;
+
+    /**
+     * Closed or not.
+     */
+    private final AtomicBoolean closed;
+
+    /**
+     * Ctor.
+     * @param origin Data source to pool
+     */
+    public PooledDataSource(final DataSource origin) {
+        this(origin, 10);
+    }
+
+    /**
+     * Ctor.
+     * @param origin Data source to pool
+     * @param max Maximum number of connections
+     */
+    public PooledDataSource(final DataSource origin, final int max) {
+        this(origin, max, 0, Duration.ofMinutes(30L), Duration.ofMinutes(10L));
+    }
+
+    /**
+     * Ctor.
+     * @param origin Data source to pool
+     * @param max Maximum number of connections
+     * @param min Minimum number of idle connections
+     * @param lifetime Maximum lifetime of a connection, zero for infinite
+     * @param idle Time after which an idle connection is evicted, zero for never
+     * @checkstyle ParameterNumberCheck (4 lines)
+     */
+    public PooledDataSource(
+        final DataSource origin, final int max, final int min,
+        final Duration lifetime, final Duration idle
+    ) {
+        this(origin, max, min, lifetime, idle, Duration.ofSeconds(30L));
+    }
+
+    /**
+     * Ctor.
+     * @param origin Data source to pool
+     * @param max Maximum number of connections
+     * @param min Minimum number of idle connections
+     * @param lifetime Maximum lifetime of a connection, zero for infinite
+     * @param idle Time after which an idle connection is evicted, zero for never
+     * @param timeout Time to wait for a connection when the pool is exhausted
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public PooledDataSource(
+        final DataSource origin, final int max, final int min,
+        final Duration lifetime, final Duration idle, final Duration timeout
+    ) {
+        super(origin);
+        if (max < 1 || min < 0 || min > max) {
+            throw new IllegalArgumentException(
+                String.format("Invalid pool sizes: max=%d, min=%d", max, min)
+            );
+        }
+        this.max = max;
+        this.min = min;
+        this.lifetime = lifetime.toNanos();
+        this.idle = idle.toNanos();
+        this.timeout = timeout.toNanos();
+        this.entries = new CopyOnWriteArrayList<>();
+        this.slot = new ThreadLocal<>();
+        this.total = new AtomicInteger();
+        this.waiters = new AtomicInteger();
+        this.handoff = new SynchronousQueue<>();
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+                final Thread thread = new Thread(runnable, "jdbc-toolset-pool");
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+        this.started = new AtomicBoolean(false);
+        this.closed = new AtomicBoolean(false);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (this.closed.get()) {
+            throw new SQLException("Pool is closed", "08003");
+        }
+        if (this.started.compareAndSet(false, true)) {
+            this.housekeeper.scheduleWithFixedDelay(
+                this::housekeep, 0L, PooledDataSource.PERIOD, TimeUnit.MILLISECONDS
+            );
+        }
+        final long deadline = System.nanoTime() + this.timeout;
+        PoolEntry entry = this.local();
+        if (entry == null) {
+            entry = this.scan();
+        }
+        if (entry == null) {
+            entry = this.grow();
+        }
+        if (entry == null) {
+            entry = this.await(deadline);
+        }
+        return new PooledConnection(this, entry);
+    }
+
+    @Override
+    public void close() {
+        if (this.closed.compareAndSet(false, true)) {
+            this.housekeeper.shutdownNow();
+            for (final PoolEntry entry : this.entries) {
+                if (entry.reserve()) {
+                    this.discard(entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * Warms the pool up, typically before a readiness probe passes.
+     * <p>Opens in parallel the connections missing to reach the minimum of
+     * idle connections. Then validates each idle connection, including
+     * those opened by the housekeeper or by a previous warm-up, and
+     * prepares the given statements on it. Connections borrowed meanwhile
+     * are left alone.</p>
+     * <p>Statements are prepared, not executed, since they may write or
+     * need parameters. This fills the client-side cache of
+     * {@link com.baudoliver7.jdbc.toolset.cache.StatementCachedDataSource},
+     * if put under the pool, and parses them in the driver. It doesn't
+     * always prepare them on the server: PostgreSQL's driver, for instance,
+     * only does it after {@code prepareThreshold} executions.</p>
+     * @param hot SQL of statements to prepare
+     * @return Time taken by warm-up
+     * @throws SQLException If a connection fails to open, validate or prepare
+     */
+    public Duration warm(final String... hot) throws SQLException {
+        if (this.closed.get()) {
+            throw new SQLException("Pool is closed", "08003");
+        }
+        final long start = System.nanoTime();
+        final List<Callable<Void>> tasks = new ArrayList<>(this.max);
+        for (final PoolEntry entry : this.entries) {
+            if (entry.reserve()) {
+                tasks.add(() -> this.warmOne(entry, hot));
+            }
+        }
+        final int count = this.min - this.total.get();
+        for (int idx = 0; idx < count; ++idx) {
+            tasks.add(() -> this.warmOne(this.grow(), hot));
+        }
+        if (!tasks.isEmpty()) {
+            final ExecutorService warmers = Executors.newFixedThreadPool(
+                tasks.size(),
+                runnable -> {
+                    final Thread thread = new Thread(runnable, "jdbc-toolset-pool-warm");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            );
+            try {
+                PooledDataSource.await(warmers.invokeAll(tasks));
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while warming the pool up", ex);
+            } finally {
+                warmers.shutdownNow();
+            }
+        }
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+
+    /**
+     * Gives back a connection to the pool.
+     * @param entry Entry borrowed
+     * @param broken Connection is no more usable
+     */
+    void giveBack(final PoolEntry entry, final boolean broken) {
+        if (broken || this.closed.get()
+            || entry.expired(System.nanoTime(), this.lifetime)) {
+            this.discard(entry);
+        } else {
+            entry.release();
+            this.slot.set(entry);
+            if (this.waiters.get() > 0) {
+                this.handoff.offer(entry);
+            }
+        }
+    }
+
+    /**
+     * Validates a connection reserved and prepares statements on it.
+     * @param entry Entry reserved, or null if the pool is full
+     * @param hot SQL of statements to prepare
+     * @return Nothing
+     * @throws SQLException If fails
+     */
+    private Void warmOne(final PoolEntry entry, final String... hot) throws SQLException {
+        if (entry != null) {
+            try {
+                final Connection conn = entry.connection();
+                if (!conn.isValid(this.seconds())) {
+                    throw new SQLTransientConnectionException(
+                        "Connection warmed up is not valid", "08001"
+                    );
+                }
+                for (final String sql : hot) {
+                    conn.prepareStatement(sql).close();
+                }
+            } catch (final SQLException ex) {
+                this.discard(entry);
+                throw ex;
+            }
+            entry.release();
+        }
+        return null;
+    }
+
+    /**
+     * Timeout of validation, in whole seconds.
+     * <p>It is rounded up and at least 1, since 0 means no timeout to
+     * {@link Connection#isValid(int)}.</p>
+     * @return Seconds
+     */
+    private int seconds() {
+        final long second = TimeUnit.SECONDS.toNanos(1L);
+        return (int) Math.min(
+            Math.max(1L, (this.timeout + second - 1L) / second), Integer.MAX_VALUE
+        );
+    }
+
+    /**
+     * Waits for warm-up tasks to end.
+     * @param futures Futures of tasks
+     * @throws SQLException If a task failed
+     * @throws InterruptedException If interrupted
+     */
+    private static void await(final List<Future<Void>> futures)
+        throws SQLException, InterruptedException {
+        SQLException error = null;
+        for (final Future<Void> future : futures) {
+            try {
+                future.get();
+            } catch (final ExecutionException ex) {
+                final SQLException cause;
+                if (ex.getCause() instanceof SQLException) {
+                    cause = (SQLException) ex.getCause();
+                } else {
+                    cause = new SQLException("Failed to warm the pool up", ex.getCause());
+                }
+                if (error == null) {
+                    error = cause;
+                } else {
+                    error.addSuppressed(cause);
+                }
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /**
+     * Tries to reserve the last connection given back by the current thread.
+     * @return Entry reserved or null
+     */
+    private PoolEntry local() {
+        final PoolEntry entry = this.slot.get();
+        final PoolEntry result;
+        if (entry != null && entry.reserve()) {
+            result = this.alive(entry);
+        } else {
+            result = null;
+        }
+        return result;
+    }
+
+    /**
+     * Tries to reserve any idle connection of the pool.
+     * @return Entry reserved or null
+     */
+    private PoolEntry scan() {
+        PoolEntry result = null;
+        for (final PoolEntry entry : this.entries) {
+            if (entry.reserve()) {
+                result = this.alive(entry);
+                if (result != null) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Opens a new connection if the pool is not full.
+     * @return Entry reserved or null if the pool is full
+     * @throws SQLException If fails to open a connection
+     */
+    private PoolEntry grow() throws SQLException {
+        PoolEntry result = null;
+        while (result == null) {
+            final int count = this.total.get();
+            if (count >= this.max) {
+                break;
+            }
+            if (this.total.compareAndSet(count, count + 1)) {
+                try {
+                    result = PooledDataSource.entry(super.getConnection());
+                } catch (final SQLException ex) {
+                    this.total.decrementAndGet();
+                    throw ex;
+                }
+                this.entries.add(result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Entry of a new physical connection.
+     * <p>The connection is closed if its state can't be read.</p>
+     * @param connection Physical connection
+     * @return Entry reserved
+     * @throws SQLException If fails
+     */
+    private static PoolEntry entry(final Connection connection) throws SQLException {
+        try {
+            return new PoolEntry(connection);
+        } catch (final SQLException ex) {
+            connection.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Waits for a connection to be available.
+     * @param deadline Time limit in nanoseconds
+     * @return Entry reserved
+     * @throws SQLException If times out
+     */
+    private PoolEntry await(final long deadline) throws SQLException {
+        this.waiters.incrementAndGet();
+        try {
+            PoolEntry result = null;
+            while (result == null) {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0L) {
+                    throw new SQLTransientConnectionException(
+                        String.format(
+                            "No connection available after %d ms (%d in use)",
+                            TimeUnit.NANOSECONDS.toMillis(this.timeout),
+                            this.total.get()
+                        ),
+                        "08001"
+                    );
+                }
+                final PoolEntry entry = this.handoff.poll(
+                    Math.min(remaining, PooledDataSource.SLICE), TimeUnit.NANOSECONDS
+                );
+                if (entry != null && entry.reserve()) {
+                    result = this.alive(entry);
+                }
+                if (result == null) {
+                    result = this.scan();
+                }
+                if (result == null) {
+                    result = this.grow();
+                }
+            }
+            return result;
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", ex);
+        } finally {
+            this.waiters.decrementAndGet();
+        }
+    }
+
+    /**
+     * Checks that a reserved entry can still be handed out.
+     * @param entry Entry reserved
+     * @return Entry or null if it has been discarded
+     */
+    private PoolEntry alive(final PoolEntry entry) {
+        final PoolEntry result;
+        if (entry.expired(System.nanoTime(), this.lifetime)) {
+            this.discard(entry);
+            result = null;
+        } else {
+            result = entry;
+        }
+        return result;
+    }
+
+    /**
+     * Removes a reserved entry from the pool and closes its connection.
+     * @param entry Entry reserved
+     */
+    private void discard(final PoolEntry entry) {
+        entry.remove();
+        if (this.entries.remove(entry)) {
+            this.total.decrementAndGet();
+        }
+        try {
+            entry.connection().close();
+        } catch (final SQLException ex) {
+            // The connection is dropped anyway.
+        }
+    }
+
+    /**
+     * Evicts expired and stale connections, then fills the pool up to the
+     * minimum of idle connections.
+     */
+    private void housekeep() {
+        final long now = System.nanoTime();
+        int available = 0;
+        for (final PoolEntry entry : this.entries) {
+            if (entry.reserve()) {
+                if (entry.expired(now, this.lifetime)
+                    || entry.stale(now, this.idle) && this.total.get() > this.min) {
+                    this.discard(entry);
+                } else {
+                    entry.revert();
+                    ++available;
+                }
+            }
+        }
+        try {
+            while (available < this.min && !this.closed.get()) {
+                final PoolEntry entry = this.grow();
+                if (entry == null) {
+                    break;
+                }
+                entry.release();
+                ++available;
+            }
+        } catch (final SQLException ex) {
+            // Retried at next run.
+        }
+    }
+}
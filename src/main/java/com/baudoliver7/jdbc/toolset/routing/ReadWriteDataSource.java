@@ -0,0 +1,183 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.routing;
+
+import com.baudoliver7.jdbc.toolset.wrapper.DataSourceWrap;
+import com.baudoliver7.jdbc.toolset.wrapper.RoutingDataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+
+/**
+ * Data source which splits reads and writes between a primary and replicas.
+ * <p>Connections given are bound to a physical connection only at first use,
+ * once read-only intent is known: after {@code setReadOnly(true)}, they are
+ * bound to the replica with the least outstanding connections, otherwise to
+ * the primary. A replica which can't be reached or which is rejected by the
+ * lag check is skipped; reads fall back to the primary when no replica is
+ * left.</p>
+ * <p>Connections with user name and password always go to the primary.</p>
+ *
+ * @since 0.5
+ */
+public final class ReadWriteDataSource extends DataSourceWrap implements RoutingDataSource {
+
+    /**
+     * Replicas.
+     */
+    private final List<Replica> replicas;
+
+    /**
+     * Check of replication lag.
+     */
+    private final LagCheck lag;
+
+    /**
+     * Cursor to break ties between replicas.
+     */
+    private final AtomicInteger cursor;
+
+    /**
+     * Ctor.
+     * @param primary Primary data source
+     * @param replicas Replicas
+     */
+    public ReadWriteDataSource(final DataSource primary, final DataSource... replicas) {
+        this(primary, Arrays.asList(replicas), LagCheck.NONE);
+    }
+
+    /**
+     * Ctor.
+     * @param primary Primary data source
+     * @param replicas Replicas
+     * @param lag Check of replication lag
+     */
+    public ReadWriteDataSource(
+        final DataSource primary, final List<DataSource> replicas, final LagCheck lag
+    ) {
+        super(primary);
+        this.replicas = new ArrayList<>(replicas.size());
+        for (final DataSource replica : replicas) {
+            this.replicas.add(new Replica(replica));
+        }
+        this.lag = lag;
+        this.cursor = new AtomicInteger();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return new RoutedConnection(this);
+    }
+
+    @Override
+    public Connection getConnection(
+        final String username, final String password
+    ) throws SQLException {
+        return super.getConnection(username, password);
+    }
+
+    /**
+     * Acquires a physical connection.
+     * @param readonly Read-only intent
+     * @return Connection
+     * @throws SQLException If fails
+     */
+    Connection connect(final boolean readonly) throws SQLException {
+        Connection conn = null;
+        if (readonly && !this.replicas.isEmpty()) {
+            conn = this.replica();
+        }
+        if (conn == null) {
+            conn = super.getConnection();
+        }
+        return conn;
+    }
+
+    /**
+     * Acquires a connection to the least loaded replica which is available.
+     * @return Connection or null if no replica is available
+     */
+    private Connection replica() {
+        final int size = this.replicas.size();
+        final boolean[] tried = new boolean[size];
+        final int start = Math.floorMod(this.cursor.getAndIncrement(), size);
+        Connection found = null;
+        for (int attempt = 0; attempt < size && found == null; ++attempt) {
+            int best = -1;
+            for (int step = 0; step < size; ++step) {
+                final int idx = (start + step) % size;
+                if (!tried[idx] && (best < 0
+                    || this.replicas.get(idx).load() < this.replicas.get(best).load())) {
+                    best = idx;
+                }
+            }
+            tried[best] = true;
+            found = this.fresh(this.replicas.get(best));
+        }
+        return found;
+    }
+
+    /**
+     * Acquires a connection to a replica, if reachable and fresh enough.
+     * @param replica Replica
+     * @return Connection or null
+     */
+    private Connection fresh(final Replica replica) {
+        Connection conn;
+        try {
+            conn = new ReplicaConnection(replica.acquire(), replica);
+        } catch (final SQLException ex) {
+            // Replica is skipped.
+            conn = null;
+        }
+        if (conn != null) {
+            try {
+                if (!this.lag.fresh(conn)) {
+                    ReadWriteDataSource.close(conn);
+                    conn = null;
+                }
+            } catch (final SQLException ex) {
+                ReadWriteDataSource.close(conn);
+                conn = null;
+            }
+        }
+        return conn;
+    }
+
+    /**
+     * Closes a connection of a replica which is skipped.
+     * @param conn Connection
+     */
+    private static void close(final Connection conn) {
+        try {
+            conn.close();
+        } catch (final SQLException ex) {
+            // The replica is skipped anyway.
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.routing;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+
+/**
+ * Replica with its number of outstanding connections.
+ *
+ * @since 0.5
+ */
+final class Replica {
+
+    /**
+     * Data source of replica.
+     */
+    private final DataSource source;
+
+    /**
+     * Number of connections not closed yet.
+     */
+    private final AtomicInteger outstanding;
+
+    /**
+     * Ctor.
+     * @param source Data source of replica
+     */
+    Replica(final DataSource source) {
+        this.source = source;
+        this.outstanding = new AtomicInteger();
+    }
+
+    /**
+     * Number of connections not closed yet.
+     * @return Number
+     */
+    int load() {
+        return this.outstanding.get();
+    }
+
+    /**
+     * Acquires a connection.
+     * @return Connection
+     * @throws SQLException If fails
+     */
+    Connection acquire() throws SQLException {
+        this.outstanding.incrementAndGet();
+        try {
+            return this.source.getConnection();
+        } catch (final SQLException ex) {
+            this.outstanding.decrementAndGet();
+            throw ex;
+        }
+    }
+
+    /**
+     * Notifies that a connection acquired is closed.
+     */
+    void release() {
+        this.outstanding.decrementAndGet();
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.routing;
+
+import com.baudoliver7.jdbc.toolset.wrapper.LazyConnection;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Connection bound to a primary or a replica at first use.
+ * <p>It is bound to a replica if it was set read-only before.</p>
+ *
+ * @since 0.5
+ */
+final class RoutedConnection extends LazyConnection {
+
+    /**
+     * Router.
+     */
+    private final ReadWriteDataSource router;
+
+    /**
+     * Ctor.
+     * @param router Router
+     */
+    RoutedConnection(final ReadWriteDataSource router) {
+        super(router);
+        this.router = router;
+    }
+
+    @Override
+    protected Connection acquire(final boolean intent) throws SQLException {
+        return this.router.connect(intent);
+    }
+}
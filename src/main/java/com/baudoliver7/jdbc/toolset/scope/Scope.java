@@ -0,0 +1,303 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.scope;
+
+import com.baudoliver7.jdbc.toolset.lockable.LockedConnection;
+import com.baudoliver7.jdbc.toolset.wrapper.DataSourceWrap;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+
+/**
+ * Scope of a transaction, seen as a data source.
+ * <p>All connections given by the scope, in the work and in its forked
+ * subtasks, are the same physical connection, acquired at first use. A
+ * connection is used exclusively from {@link #getConnection()} until it is
+ * closed: other tasks of the scope wait for it, up to a timeout. The thread
+ * holding it may get it again, as long as it closes each one. Commit,
+ * rollback and close have no effect on it: the scope ends the
+ * transaction.</p>
+ * <p>Access is serialized with a single permit, rather than a monitor or a
+ * lock owned by a thread: a virtual thread waiting for the connection
+ * doesn't pin its carrier thread, and the connection may be closed from
+ * another thread than the one which got it. Close it before waiting for a
+ * subtask which needs it, or both wait until the timeout.</p>
+ *
+ * @since 0.5
+ */
+public final class Scope extends DataSourceWrap {
+
+    /**
+     * Executor of forked subtasks.
+     */
+    private final Executor executor;
+
+    /**
+     * Maximum time to wait for the connection, in nanoseconds.
+     */
+    private final long timeout;
+
+    /**
+     * Permit to use the connection.
+     */
+    private final Semaphore permit;
+
+    /**
+     * Number of connections open by the holder of the permit.
+     */
+    private final AtomicInteger holds;
+
+    /**
+     * Subtasks forked and not joined yet.
+     */
+    private final Queue<Future<?>> forks;
+
+    /**
+     * Thread which took the permit, or null.
+     */
+    private volatile Thread holder;
+
+    /**
+     * Physical connection, once acquired.
+     */
+    private Connection physical;
+
+    /**
+     * Ended or not.
+     */
+    private volatile boolean ended;
+
+    /**
+     * Ctor.
+     * @param origin Data source to acquire the connection from
+     * @param executor Executor of forked subtasks
+     * @param timeout Maximum time to wait for the connection
+     */
+    Scope(final DataSource origin, final Executor executor, final Duration timeout) {
+        super(origin);
+        this.executor = executor;
+        this.timeout = timeout.toNanos();
+        this.permit = new Semaphore(1);
+        this.holds = new AtomicInteger();
+        this.forks = new ConcurrentLinkedQueue<>();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!this.reentered()) {
+            if (!this.acquired()) {
+                throw new SQLException(
+                    String.format(
+                        "Connection of transaction scope still used after %d ms",
+                        TimeUnit.NANOSECONDS.toMillis(this.timeout)
+                    )
+                );
+            }
+            this.holder = Thread.currentThread();
+            this.holds.set(1);
+        }
+        try {
+            if (this.ended) {
+                throw new SQLException("Transaction scope has ended");
+            }
+            if (this.physical == null) {
+                final Connection conn = super.getConnection();
+                try {
+                    conn.setAutoCommit(false);
+                } catch (final SQLException ex) {
+                    conn.close();
+                    throw ex;
+                }
+                this.physical = conn;
+            }
+            return new ScopedConnection(new LockedConnection(this.physical), this);
+        } catch (final SQLException ex) {
+            this.release();
+            throw ex;
+        }
+    }
+
+    @Override
+    public Connection getConnection(
+        final String username, final String password
+    ) throws SQLException {
+        return this.getConnection();
+    }
+
+    /**
+     * Forks a subtask in this scope.
+     * <p>It is joined before the scope ends: if it fails, the transaction
+     * is rolled back.</p>
+     * @param work Work of subtask
+     * @param <T> Type of result
+     * @return Future result
+     */
+    public <T> Future<T> fork(final Work<T> work) {
+        if (this.ended) {
+            throw new IllegalStateException("Transaction scope has ended");
+        }
+        final FutureTask<T> task = new FutureTask<>(() -> work.apply(this));
+        this.forks.add(task);
+        this.executor.execute(task);
+        return task;
+    }
+
+    /**
+     * Gives back the connection, once each one open by its holder is closed.
+     */
+    void release() {
+        if (this.holds.decrementAndGet() == 0) {
+            this.holder = null;
+            this.permit.release();
+        }
+    }
+
+    /**
+     * Waits for all subtasks forked, up to the timeout.
+     * <p>A subtask which is not done is left to {@link #end(boolean)}, which
+     * cancels it.</p>
+     * @throws SQLException If a subtask failed, is still running after the
+     *  timeout, or waiting was interrupted
+     */
+    void join() throws SQLException {
+        final long deadline = System.nanoTime() + this.timeout;
+        Future<?> task = this.forks.peek();
+        while (task != null) {
+            try {
+                task.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while joining subtasks", ex);
+            } catch (final ExecutionException ex) {
+                throw Scope.wrapped(ex.getCause());
+            } catch (final TimeoutException ex) {
+                throw new SQLException(
+                    String.format(
+                        "Subtasks of transaction scope still running after %d ms",
+                        TimeUnit.NANOSECONDS.toMillis(this.timeout)
+                    ),
+                    ex
+                );
+            }
+            this.forks.remove(task);
+            task = this.forks.peek();
+        }
+    }
+
+    /**
+     * Ends the scope.
+     * <p>Subtasks still running are cancelled, then the scope waits for the
+     * connection, up to the timeout. The transaction is committed or rolled
+     * back and the connection is given back to origin. If a subtask doesn't
+     * close the connection within the timeout, the connection is aborted
+     * rather than rolled back under the subtask still using it, and ending
+     * fails.</p>
+     * @param commit Commit or roll back
+     * @throws SQLException If fails
+     */
+    void end(final boolean commit) throws SQLException {
+        this.ended = true;
+        Future<?> task = this.forks.poll();
+        while (task != null) {
+            task.cancel(true);
+            task = this.forks.poll();
+        }
+        final boolean free = this.holder == Thread.currentThread() && this.holds.get() > 0
+            || this.acquired();
+        if (this.physical != null) {
+            try (Connection closing = this.physical) {
+                if (!free) {
+                    closing.abort(Runnable::run);
+                } else if (commit) {
+                    closing.commit();
+                    closing.setAutoCommit(true);
+                } else {
+                    closing.rollback();
+                    closing.setAutoCommit(true);
+                }
+            } finally {
+                this.physical = null;
+            }
+        }
+        if (!free) {
+            throw new SQLException(
+                "Transaction scope rolled back: a subtask didn't close its connection"
+            );
+        }
+    }
+
+    /**
+     * Failure as SQL exception.
+     * @param cause Cause of failure
+     * @return SQL exception
+     */
+    static SQLException wrapped(final Throwable cause) {
+        final SQLException error;
+        if (cause instanceof SQLException) {
+            error = (SQLException) cause;
+        } else {
+            error = new SQLException("Work of transaction scope failed", cause);
+        }
+        return error;
+    }
+
+    /**
+     * Gets the connection again in the thread holding it.
+     * @return True if the current thread holds the connection
+     */
+    private boolean reentered() {
+        boolean done = false;
+        int count = -1;
+        while (!done && count != 0 && this.holder == Thread.currentThread()) {
+            count = this.holds.get();
+            done = count > 0 && this.holds.compareAndSet(count, count + 1);
+        }
+        return done;
+    }
+
+    /**
+     * Waits for the permit, up to the timeout.
+     * @return True if acquired
+     * @throws SQLException If interrupted
+     */
+    private boolean acquired() throws SQLException {
+        try {
+            return this.permit.tryAcquire(this.timeout, TimeUnit.NANOSECONDS);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for the connection", ex);
+        }
+    }
+}
@@ -0,0 +1,468 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.scope;
+
+import com.baudoliver7.jdbc.toolset.lockable.LockedConnection;
+import com.baudoliver7.jdbc.toolset.wrapper.ConnectionWrap;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.Clob;
+import java.sql.DatabaseMetaData;
+import java.sql.NClob;
+import java.sql.PreparedStatement;
+import java.sql.SQLClientInfoException;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.sql.Struct;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Connection of a scope, used exclusively until closed.
+ * <p>The permit of the scope is taken before construction and is given
+ * back at first close, from whichever thread. Statements opened through
+ * it are closed before. Once closed, every call fails, so that a stale
+ * reference can't use the connection while another task holds it.</p>
+ *
+ * @since 0.5
+ */
+@SuppressWarnings({"PMD.TooManyMethods", "PMD.ExcessivePublicCount"})
+final class ScopedConnection extends ConnectionWrap {
+
+    /**
+     * Scope.
+     */
+    private final Scope scope;
+
+    /**
+     * Closed or not.
+     */
+    private final AtomicBoolean closed;
+
+    /**
+     * Statements opened through this connection.
+     */
+    private final Queue<Statement> statements;
+
+    /**
+     * Ctor.
+     * @param origin Connection locked on
+     * @param scope Scope, whose permit is held
+     */
+    ScopedConnection(final LockedConnection origin, final Scope scope) {
+        super(origin);
+        this.scope = scope;
+        this.closed = new AtomicBoolean(false);
+        this.statements = new ConcurrentLinkedQueue<>();
+    }
+
+    @Override
+    public <T> T unwrap(final Class<T> iface) throws SQLException {
+        this.guard();
+        return super.unwrap(iface);
+    }
+
+    @Override
+    public Statement createStatement() throws SQLException {
+        this.guard();
+        return this.opened(super.createStatement());
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(final String sql) throws SQLException {
+        this.guard();
+        return this.opened(super.prepareStatement(sql));
+    }
+
+    @Override
+    public CallableStatement prepareCall(final String sql) throws SQLException {
+        this.guard();
+        return this.opened(super.prepareCall(sql));
+    }
+
+    @Override
+    public String nativeSQL(final String sql) throws SQLException {
+        this.guard();
+        return super.nativeSQL(sql);
+    }
+
+    @Override
+    public void setAutoCommit(final boolean autocommit) throws SQLException {
+        this.guard();
+        super.setAutoCommit(autocommit);
+    }
+
+    @Override
+    public boolean getAutoCommit() throws SQLException {
+        this.guard();
+        return super.getAutoCommit();
+    }
+
+    @Override
+    public void commit() throws SQLException {
+        this.guard();
+        super.commit();
+    }
+
+    @Override
+    public void rollback() throws SQLException {
+        this.guard();
+        super.rollback();
+    }
+
+    @Override
+    public DatabaseMetaData getMetaData() throws SQLException {
+        this.guard();
+        return super.getMetaData();
+    }
+
+    @Override
+    public void setReadOnly(final boolean readonly) throws SQLException {
+        this.guard();
+        super.setReadOnly(readonly);
+    }
+
+    @Override
+    public boolean isReadOnly() throws SQLException {
+        this.guard();
+        return super.isReadOnly();
+    }
+
+    @Override
+    public void setCatalog(final String catalog) throws SQLException {
+        this.guard();
+        super.setCatalog(catalog);
+    }
+
+    @Override
+    public String getCatalog() throws SQLException {
+        this.guard();
+        return super.getCatalog();
+    }
+
+    @Override
+    public void setTransactionIsolation(final int level) throws SQLException {
+        this.guard();
+        super.setTransactionIsolation(level);
+    }
+
+    @Override
+    public int getTransactionIsolation() throws SQLException {
+        this.guard();
+        return super.getTransactionIsolation();
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        this.guard();
+        return super.getWarnings();
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        this.guard();
+        super.clearWarnings();
+    }
+
+    @Override
+    public Statement createStatement(final int rsetype, final int rsetc) throws SQLException {
+        this.guard();
+        return this.opened(super.createStatement(rsetype, rsetc));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final int rsetype, final int rsetc
+    ) throws SQLException {
+        this.guard();
+        return this.opened(super.prepareStatement(sql, rsetype, rsetc));
+    }
+
+    @Override
+    public CallableStatement prepareCall(
+        final String sql, final int rsetype, final int rsetc
+    ) throws SQLException {
+        this.guard();
+        return this.opened(super.prepareCall(sql, rsetype, rsetc));
+    }
+
+    @Override
+    public Map<String, Class<?>> getTypeMap() throws SQLException {
+        this.guard();
+        return super.getTypeMap();
+    }
+
+    @Override
+    public void setTypeMap(final Map<String, Class<?>> map) throws SQLException {
+        this.guard();
+        super.setTypeMap(map);
+    }
+
+    @Override
+    public void setHoldability(final int holdability) throws SQLException {
+        this.guard();
+        super.setHoldability(holdability);
+    }
+
+    @Override
+    public int getHoldability() throws SQLException {
+        this.guard();
+        return super.getHoldability();
+    }
+
+    @Override
+    public Savepoint setSavepoint() throws SQLException {
+        this.guard();
+        return super.setSavepoint();
+    }
+
+    @Override
+    public Savepoint setSavepoint(final String name) throws SQLException {
+        this.guard();
+        return super.setSavepoint(name);
+    }
+
+    @Override
+    public void rollback(final Savepoint savepoint) throws SQLException {
+        this.guard();
+        super.rollback(savepoint);
+    }
+
+    @Override
+    public void releaseSavepoint(final Savepoint savepoint) throws SQLException {
+        this.guard();
+        super.releaseSavepoint(savepoint);
+    }
+
+    @Override
+    public Statement createStatement(
+        final int rsetype, final int rsetc, final int rseth
+    ) throws SQLException {
+        this.guard();
+        return this.opened(super.createStatement(rsetype, rsetc, rseth));
+    }
+
+    @Override
+    // @checkstyle ParameterNumberCheck (3 lines)
+    public PreparedStatement prepareStatement(
+        final String sql, final int rsetype, final int rsetc, final int rseth
+    ) throws SQLException {
+        this.guard();
+        return this.opened(super.prepareStatement(sql, rsetype, rsetc, rseth));
+    }
+
+    @Override
+    // @checkstyle ParameterNumberCheck (3 lines)
+    public CallableStatement prepareCall(
+        final String sql, final int rsetype, final int rsetc, final int rseth
+    ) throws SQLException {
+        this.guard();
+        return this.opened(super.prepareCall(sql, rsetype, rsetc, rseth));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final int agkeys
+    ) throws SQLException {
+        this.guard();
+        return this.opened(super.prepareStatement(sql, agkeys));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final int[] icolumns
+    ) throws SQLException {
+        this.guard();
+        return this.opened(super.prepareStatement(sql, icolumns));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final String[] ncolumns
+    ) throws SQLException {
+        this.guard();
+        return this.opened(super.prepareStatement(sql, ncolumns));
+    }
+
+    @Override
+    public Clob createClob() throws SQLException {
+        this.guard();
+        return super.createClob();
+    }
+
+    @Override
+    public Blob createBlob() throws SQLException {
+        this.guard();
+        return super.createBlob();
+    }
+
+    @Override
+    public NClob createNClob() throws SQLException {
+        this.guard();
+        return super.createNClob();
+    }
+
+    @Override
+    public SQLXML createSQLXML() throws SQLException {
+        this.guard();
+        return super.createSQLXML();
+    }
+
+    @Override
+    public boolean isValid(final int timeout) throws SQLException {
+        return !this.closed.get() && super.isValid(timeout);
+    }
+
+    @Override
+    public void setClientInfo(final String name, final String value) throws SQLClientInfoException {
+        this.clientInfo();
+        super.setClientInfo(name, value);
+    }
+
+    @Override
+    public void setClientInfo(final Properties properties) throws SQLClientInfoException {
+        this.clientInfo();
+        super.setClientInfo(properties);
+    }
+
+    @Override
+    public String getClientInfo(final String name) throws SQLException {
+        this.guard();
+        return super.getClientInfo(name);
+    }
+
+    @Override
+    public Properties getClientInfo() throws SQLException {
+        this.guard();
+        return super.getClientInfo();
+    }
+
+    @Override
+    public Array createArrayOf(final String tname, final Object[] elements) throws SQLException {
+        this.guard();
+        return super.createArrayOf(tname, elements);
+    }
+
+    @Override
+    public Struct createStruct(final String tname, final Object[] attributes) throws SQLException {
+        this.guard();
+        return super.createStruct(tname, attributes);
+    }
+
+    @Override
+    public void setSchema(final String schema) throws SQLException {
+        this.guard();
+        super.setSchema(schema);
+    }
+
+    @Override
+    public String getSchema() throws SQLException {
+        this.guard();
+        return super.getSchema();
+    }
+
+    @Override
+    public void abort(final Executor executor) throws SQLException {
+        this.guard();
+        super.abort(executor);
+    }
+
+    @Override
+    public void setNetworkTimeout(
+        final Executor executor, final int milliseconds
+    ) throws SQLException {
+        this.guard();
+        super.setNetworkTimeout(executor, milliseconds);
+    }
+
+    @Override
+    public int getNetworkTimeout() throws SQLException {
+        this.guard();
+        return super.getNetworkTimeout();
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return this.closed.get() || super.isClosed();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (this.closed.compareAndSet(false, true)) {
+            try {
+                Statement stmt = this.statements.poll();
+                while (stmt != null) {
+                    stmt.close();
+                    stmt = this.statements.poll();
+                }
+            } finally {
+                this.scope.release();
+            }
+        }
+    }
+
+    /**
+     * Fails if this connection is closed.
+     * @throws SQLException If it is closed
+     */
+    private void guard() throws SQLException {
+        if (this.closed.get()) {
+            throw new SQLException("Connection is closed", "08003");
+        }
+    }
+
+    /**
+     * Fails if this connection is closed, to set client info.
+     * @throws SQLClientInfoException If it is closed
+     */
+    private void clientInfo() throws SQLClientInfoException {
+        try {
+            this.guard();
+        } catch (final SQLException ex) {
+            throw new SQLClientInfoException(
+                ex.getMessage(), ex.getSQLState(), Collections.emptyMap(), ex
+            );
+        }
+    }
+
+    /**
+     * Registers a statement opened, to close it with this connection.
+     * @param stmt Statement
+     * @param <S> Type of statement
+     * @return The same statement
+     */
+    private <S extends Statement> S opened(final S stmt) {
+        this.statements.add(stmt);
+        return stmt;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.scope;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import javax.sql.DataSource;
+
+/**
+ * Runs units of work in transaction scopes.
+ * <p>The connection of a unit of work is bound to its {@link Scope},
+ * which is given to the work and to the subtasks it forks, rather than to a
+ * thread. So that it may run on short-lived threads, such as virtual
+ * threads, without per-thread state. The transaction is committed when the
+ * work and all its subtasks succeed, otherwise it is rolled back.</p>
+ * <p>Tasks use the connection one at a time. A task must close its
+ * connection before waiting for a subtask which needs it: otherwise both
+ * wait until the timeout, and the transaction is rolled back. Subtasks
+ * still running a timeout after the work returned fail the scope too.</p>
+ * <pre>{@code
+ * final TransactionScope tx = new TransactionScope(
+ *     datasource, Executors.newVirtualThreadPerTaskExecutor()
+ * );
+ * tx.call(scope -> {
+ *     final Future<Integer> count = scope.fork(sub -> count(sub));
+ *     try (Connection conn = scope.getConnection()) {
+ *         insert(conn);
+ *     } // closed before waiting for the subtask
+ *     return count.get();
+ * });
+ * }</pre>
+ *
+ * @since 0.5
+ */
+public final class TransactionScope {
+
+    /**
+     * Data source to acquire connections from.
+     */
+    private final DataSource origin;
+
+    /**
+     * Executor of forked subtasks.
+     */
+    private final Executor executor;
+
+    /**
+     * Maximum time to wait for the connection.
+     */
+    private final Duration timeout;
+
+    /**
+     * Ctor.
+     * <p>Each forked subtask runs in a new daemon thread.</p>
+     * @param origin Data source to acquire connections from
+     */
+    public TransactionScope(final DataSource origin) {
+        this(
+            origin,
+            task -> {
+                final Thread thread = new Thread(task, "jdbc-toolset-scope");
+                thread.setDaemon(true);
+                thread.start();
+            }
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param origin Data source to acquire connections from
+     * @param executor Executor of forked subtasks
+     */
+    public TransactionScope(final DataSource origin, final Executor executor) {
+        this(origin, executor, Duration.ofSeconds(30L));
+    }
+
+    /**
+     * Ctor.
+     * @param origin Data source to acquire connections from
+     * @param executor Executor of forked subtasks
+     * @param timeout Maximum time a task waits for the connection, and the
+     *  scope for its subtasks to complete and to close it at the end
+     */
+    public TransactionScope(
+        final DataSource origin, final Executor executor, final Duration timeout
+    ) {
+        if (timeout.isNegative()) {
+            throw new IllegalArgumentException("Timeout can't be negative!");
+        }
+        this.origin = origin;
+        this.executor = executor;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Runs a unit of work in a new transaction scope.
+     * @param work Work
+     * @param <T> Type of result
+     * @return Result of work
+     * @throws SQLException If work or one of its subtasks fails
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public <T> T call(final Work<T> work) throws SQLException {
+        final Scope scope = new Scope(this.origin, this.executor, this.timeout);
+        final T result;
+        try {
+            result = work.apply(scope);
+            scope.join();
+            // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final Exception ex) {
+            try {
+                scope.end(false);
+            } catch (final SQLException err) {
+                ex.addSuppressed(err);
+            }
+            throw Scope.wrapped(ex);
+        }
+        scope.end(true);
+        return result;
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.stream;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import javax.sql.DataSource;
+
+/**
+ * Query whose rows are read lazily, with bounded memory.
+ * <p>Rows are read through a forward-only and read-only cursor, fetched
+ * by chunks of the fetch size, so that the driver never loads the whole
+ * result. Some drivers (PostgreSQL for instance) only use cursors out of
+ * auto-commit mode: auto-commit is disabled while the cursor is open and
+ * restored after. Inside a
+ * {@link com.baudoliver7.jdbc.toolset.lockable.LocalLockedDataSource}, the
+ * connection locked on is used and left open.</p>
+ * <pre>{@code
+ * try (Stream<String> names = new QueryStream<>(
+ *     src, "SELECT name FROM person WHERE age > ?", rset -> rset.getString(1)
+ * ).stream(18)) {
+ *     names.forEach(...);
+ * }
+ * }</pre>
+ *
+ * @param <T> Type of row
+ * @since 0.5
+ */
+public final class QueryStream<T> {
+
+    /**
+     * Data source.
+     */
+    private final DataSource src;
+
+    /**
+     * Query.
+     */
+    private final String sql;
+
+    /**
+     * Number of rows fetched at once.
+     */
+    private final int fetch;
+
+    /**
+     * Mapper of rows.
+     */
+    private final RowMapper<T> mapper;
+
+    /**
+     * Ctor.
+     * @param src Data source
+     * @param sql Query
+     * @param mapper Mapper of rows
+     */
+    public QueryStream(final DataSource src, final String sql, final RowMapper<T> mapper) {
+        this(src, sql, 1000, mapper);
+    }
+
+    /**
+     * Ctor.
+     * @param src Data source
+     * @param sql Query
+     * @param fetch Number of rows fetched at once
+     * @param mapper Mapper of rows
+     * @checkstyle ParameterNumberCheck (4 lines)
+     */
+    public QueryStream(
+        final DataSource src, final String sql, final int fetch, final RowMapper<T> mapper
+    ) {
+        this.src = src;
+        this.sql = sql;
+        this.fetch = fetch;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Executes the query and streams its rows.
+     * <p>Close the stream to release the cursor.</p>
+     * @param params Parameters of query
+     * @return Stream of rows
+     * @throws SQLException If fails
+     */
+    public Stream<T> stream(final Object... params) throws SQLException {
+        final RowCursor<T> cursor = this.iterator(params);
+        return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED), false
+        ).onClose(
+            () -> {
+                try {
+                    cursor.close();
+                } catch (final SQLException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            }
+        );
+    }
+
+    /**
+     * Executes the query and iterates over its rows.
+     * <p>Close the iterator to release the cursor.</p>
+     * @param params Parameters of query
+     * @return Iterator over rows
+     * @throws SQLException If fails
+     */
+    public RowCursor<T> iterator(final Object... params) throws SQLException {
+        final Connection conn = this.src.getConnection();
+        boolean restore = false;
+        PreparedStatement stmt = null;
+        try {
+            if (conn.getAutoCommit()) {
+                conn.setAutoCommit(false);
+                restore = !conn.getAutoCommit();
+            }
+            stmt = conn.prepareStatement(
+                this.sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY
+            );
+            stmt.setFetchSize(this.fetch);
+            stmt.setFetchDirection(ResultSet.FETCH_FORWARD);
+            for (int idx = 0; idx < params.length; ++idx) {
+                stmt.setObject(idx + 1, params[idx]);
+            }
+            return new RowCursor<>(conn, stmt, this.mapper, restore);
+        } catch (final SQLException ex) {
+            QueryStream.abandon(conn, stmt, restore, ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * Releases a cursor which failed to open.
+     * @param conn Connection
+     * @param stmt Statement or null
+     * @param restore Auto-commit was disabled or not
+     * @param failure Failure, to which errors are added
+     * @checkstyle ParameterNumberCheck (4 lines)
+     */
+    private static void abandon(
+        final Connection conn, final PreparedStatement stmt,
+        final boolean restore, final SQLException failure
+    ) {
+        try (Connection closing = conn) {
+            if (stmt != null) {
+                stmt.close();
+            }
+            if (restore) {
+                closing.rollback();
+                closing.setAutoCommit(true);
+            }
+        } catch (final SQLException ex) {
+            failure.addSuppressed(ex);
+        }
+    }
+}
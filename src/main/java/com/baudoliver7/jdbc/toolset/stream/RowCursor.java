@@ -0,0 +1,148 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.stream;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterator over rows of an open cursor.
+ * <p>Rows are fetched lazily. Statement and result set are closed, and
+ * auto-commit restored if it was disabled for the cursor, when the iterator
+ * is closed or exhausted. Failures to read are thrown as
+ * {@link IllegalStateException} whose cause is the {@link SQLException}.</p>
+ *
+ * @param <T> Type of row
+ * @since 0.5
+ */
+public final class RowCursor<T> implements Iterator<T>, AutoCloseable {
+
+    /**
+     * Connection of cursor.
+     */
+    private final Connection connection;
+
+    /**
+     * Statement of cursor.
+     */
+    private final PreparedStatement statement;
+
+    /**
+     * Result set.
+     */
+    private final ResultSet rset;
+
+    /**
+     * Mapper of rows.
+     */
+    private final RowMapper<T> mapper;
+
+    /**
+     * Auto-commit was disabled for the cursor or not.
+     */
+    private final boolean restore;
+
+    /**
+     * Result set is positioned on a row not consumed yet.
+     */
+    private boolean ahead;
+
+    /**
+     * Closed or not.
+     */
+    private boolean closed;
+
+    /**
+     * Ctor.
+     * @param connection Connection of cursor
+     * @param statement Statement of cursor
+     * @param mapper Mapper of rows
+     * @param restore Auto-commit was disabled for the cursor or not
+     * @throws SQLException If fails to execute query
+     * @checkstyle ParameterNumberCheck (4 lines)
+     */
+    RowCursor(
+        final Connection connection, final PreparedStatement statement,
+        final RowMapper<T> mapper, final boolean restore
+    ) throws SQLException {
+        this.connection = connection;
+        this.statement = statement;
+        this.rset = statement.executeQuery();
+        this.mapper = mapper;
+        this.restore = restore;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!this.ahead && !this.closed) {
+            try {
+                this.ahead = this.rset.next();
+                if (!this.ahead) {
+                    this.close();
+                }
+            } catch (final SQLException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+        return this.ahead;
+    }
+
+    @Override
+    public T next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException("No more rows");
+        }
+        this.ahead = false;
+        try {
+            return this.mapper.map(this.rset);
+        } catch (final SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (!this.closed) {
+            this.closed = true;
+            this.ahead = false;
+            try {
+                try {
+                    this.rset.close();
+                } finally {
+                    this.statement.close();
+                }
+                if (this.restore) {
+                    this.connection.commit();
+                    this.connection.setAutoCommit(true);
+                }
+            } finally {
+                this.connection.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.tenant;
+
+import com.baudoliver7.jdbc.toolset.wrapper.DataSourceWrap;
+import com.baudoliver7.jdbc.toolset.wrapper.RoutingDataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+
+/**
+ * Data source which routes connections to the tenant of the current context.
+ * <p>A tenant with a dedicated data source gets its connections from it.
+ * Others get connections of the shared origin, on the schema named after
+ * the tenant. The schema is set at every borrow, through the decorators of
+ * the origin: a {@code PooledDataSource} restores the initial schema when
+ * the connection is given back, so that no other borrower inherits the
+ * one of a tenant.</p>
+ * <p>Each tenant holds at most a given number of connections at once, so
+ * that a noisy tenant doesn't starve others. A tenant waits for one of
+ * its connections to be closed, up to a timeout.</p>
+ * <pre>{@code
+ * final ThreadTenant key = new ThreadTenant();
+ * final DataSource src = new TenantDataSource(
+ *     pool, Collections.singletonMap("bigcorp", bigcorp), key, 5
+ * );
+ * key.bind("acme");
+ * try (Connection conn = src.getConnection()) { // on schema acme of pool
+ *     ...
+ * }
+ * }</pre>
+ *
+ * @since 0.5
+ */
+public final class TenantDataSource extends DataSourceWrap implements RoutingDataSource {
+
+    /**
+     * Data sources of tenants with a dedicated database.
+     */
+    private final Map<String, DataSource> dedicated;
+
+    /**
+     * Key of tenant.
+     */
+    private final TenantKey key;
+
+    /**
+     * Maximum number of connections per tenant.
+     */
+    private final int cap;
+
+    /**
+     * Time to wait for a slot of tenant, in nanoseconds.
+     */
+    private final long wait;
+
+    /**
+     * Slots of tenants.
+     */
+    private final ConcurrentMap<String, Semaphore> slots;
+
+    /**
+     * Ctor.
+     * @param shared Data source shared by tenants
+     * @param key Key of tenant
+     * @param cap Maximum number of connections per tenant
+     */
+    public TenantDataSource(final DataSource shared, final TenantKey key, final int cap) {
+        this(shared, Collections.<String, DataSource>emptyMap(), key, cap);
+    }
+
+    /**
+     * Ctor.
+     * @param shared Data source shared by tenants
+     * @param dedicated Data sources of tenants with a dedicated database
+     * @param key Key of tenant
+     * @param cap Maximum number of connections per tenant
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public TenantDataSource(
+        final DataSource shared, final Map<String, DataSource> dedicated,
+        final TenantKey key, final int cap
+    ) {
+        this(shared, dedicated, key, cap, Duration.ofSeconds(30L));
+    }
+
+    /**
+     * Ctor.
+     * @param shared Data source shared by tenants
+     * @param dedicated Data sources of tenants with a dedicated database
+     * @param key Key of tenant
+     * @param cap Maximum number of connections per tenant
+     * @param wait Time to wait for a connection slot of tenant
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public TenantDataSource(
+        final DataSource shared, final Map<String, DataSource> dedicated,
+        final TenantKey key, final int cap, final Duration wait
+    ) {
+        super(shared);
+        if (cap < 1) {
+            throw new IllegalArgumentException(
+                "Maximum number of connections per tenant should be at least 1!"
+            );
+        }
+        this.dedicated = new HashMap<>(dedicated);
+        this.key = key;
+        this.cap = cap;
+        this.wait = wait.toNanos();
+        this.slots = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return this.connection(null, null);
+    }
+
+    @Override
+    public Connection getConnection(
+        final String username, final String password
+    ) throws SQLException {
+        return this.connection(username, password);
+    }
+
+    /**
+     * Connection of current tenant.
+     * @param username Username or null for default credentials
+     * @param password Password
+     * @return Connection
+     * @throws SQLException If fails
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private Connection connection(
+        final String username, final String password
+    ) throws SQLException {
+        final String tenant = this.key.tenant();
+        final Semaphore slot = this.acquire(tenant);
+        final DataSource own = this.dedicated.get(tenant);
+        final Connection conn;
+        try {
+            conn = this.borrow(own, username, password);
+            // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final SQLException | RuntimeException ex) {
+            slot.release();
+            throw ex;
+        }
+        final Connection tconn = new TenantConnection(conn, slot);
+        if (own == null) {
+            try {
+                tconn.setSchema(tenant);
+            } catch (final SQLException ex) {
+                try {
+                    tconn.close();
+                } catch (final SQLException err) {
+                    ex.addSuppressed(err);
+                }
+                throw ex;
+            }
+        }
+        return tconn;
+    }
+
+    /**
+     * Borrows a connection from dedicated data source or shared origin.
+     * @param own Dedicated data source or null
+     * @param username Username or null for default credentials
+     * @param password Password
+     * @return Connection
+     * @throws SQLException If fails
+     */
+    private Connection borrow(
+        final DataSource own, final String username, final String password
+    ) throws SQLException {
+        final Connection conn;
+        if (own == null && username == null) {
+            conn = super.getConnection();
+        } else if (own == null) {
+            conn = super.getConnection(username, password);
+        } else if (username == null) {
+            conn = own.getConnection();
+        } else {
+            conn = own.getConnection(username, password);
+        }
+        return conn;
+    }
+
+    /**
+     * Acquires a slot of a tenant.
+     * @param tenant Tenant
+     * @return Slots of tenant, one of which is held
+     * @throws SQLException If no slot is free in time
+     */
+    private Semaphore acquire(final String tenant) throws SQLException {
+        final Semaphore slot = this.slots.computeIfAbsent(
+            tenant, name -> new Semaphore(this.cap, true)
+        );
+        try {
+            if (!slot.tryAcquire(this.wait, TimeUnit.NANOSECONDS)) {
+                throw new SQLTransientConnectionException(
+                    String.format(
+                        "Tenant %s holds already %d connections", tenant, this.cap
+                    ),
+                    "08001"
+                );
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException(
+                String.format("Interrupted while waiting for a connection of %s", tenant),
+                "08001", ex
+            );
+        }
+        return slot;
+    }
+}
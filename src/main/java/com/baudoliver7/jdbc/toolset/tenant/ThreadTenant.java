@@ -0,0 +1,79 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.tenant;
+
+import java.sql.SQLException;
+
+/**
+ * Tenant bound to the current thread.
+ * <pre>{@code
+ * final ThreadTenant key = new ThreadTenant();
+ * key.bind("acme");
+ * try {
+ *     ...
+ * } finally {
+ *     key.unbind();
+ * }
+ * }</pre>
+ *
+ * @since 0.5
+ */
+public final class ThreadTenant implements TenantKey {
+
+    /**
+     * Tenant of the current thread.
+     */
+    private final ThreadLocal<String> bound;
+
+    /**
+     * Ctor.
+     */
+    public ThreadTenant() {
+        this.bound = new ThreadLocal<>();
+    }
+
+    /**
+     * Binds a tenant to the current thread.
+     * @param tenant Name of tenant
+     */
+    public void bind(final String tenant) {
+        this.bound.set(tenant);
+    }
+
+    /**
+     * Unbinds the tenant of the current thread.
+     */
+    public void unbind() {
+        this.bound.remove();
+    }
+
+    @Override
+    public String tenant() throws SQLException {
+        final String tenant = this.bound.get();
+        if (tenant == null) {
+            throw new SQLException("No tenant is bound to the current thread");
+        }
+        return tenant;
+    }
+}
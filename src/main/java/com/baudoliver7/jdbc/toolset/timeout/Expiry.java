@@ -0,0 +1,144 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.timeout;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executor;
+
+/**
+ * Expiry of an execution: cancels its statement, then aborts its
+ * connection if cancelling didn't end it within a grace period.
+ * <p>Cancel and abort run on the executor, never on the thread of the
+ * wheel, since drivers may block on them.</p>
+ *
+ * @since 0.5
+ */
+final class Expiry implements Runnable {
+
+    /**
+     * Statement executed.
+     */
+    private final Statement stmt;
+
+    /**
+     * Connection of statement.
+     */
+    private final Connection connection;
+
+    /**
+     * Wheel to schedule abort on.
+     */
+    private final TimerWheel wheel;
+
+    /**
+     * Executor of cancel and abort.
+     */
+    private final Executor executor;
+
+    /**
+     * Grace period before abort, in nanoseconds, or 0 to never abort.
+     */
+    private final long grace;
+
+    /**
+     * Execution ended or not.
+     */
+    private volatile boolean done;
+
+    /**
+     * Abort scheduled, if any.
+     */
+    private volatile Timeout abort;
+
+    /**
+     * Ctor.
+     * @param stmt Statement executed
+     * @param connection Connection of statement
+     * @param wheel Wheel to schedule abort on
+     * @param executor Executor of cancel and abort
+     * @param grace Grace period before abort, in nanoseconds, or 0 to never abort
+     * @checkstyle ParameterNumberCheck (4 lines)
+     */
+    Expiry(
+        final Statement stmt, final Connection connection, final TimerWheel wheel,
+        final Executor executor, final long grace
+    ) {
+        this.stmt = stmt;
+        this.connection = connection;
+        this.wheel = wheel;
+        this.executor = executor;
+        this.grace = grace;
+    }
+
+    @Override
+    public void run() {
+        if (!this.done) {
+            this.executor.execute(this::cancel);
+            if (this.grace > 0L) {
+                this.abort = this.wheel.schedule(
+                    () -> this.executor.execute(this::abort), this.grace
+                );
+            }
+        }
+    }
+
+    /**
+     * Marks the execution as ended, so that it is neither cancelled nor aborted.
+     */
+    void end() {
+        this.done = true;
+        final Timeout scheduled = this.abort;
+        if (scheduled != null) {
+            scheduled.cancel();
+        }
+    }
+
+    /**
+     * Cancels statement.
+     */
+    private void cancel() {
+        if (!this.done) {
+            try {
+                this.stmt.cancel();
+            } catch (final SQLException ex) {
+                // Statement is done or closed already.
+            }
+        }
+    }
+
+    /**
+     * Aborts connection.
+     */
+    private void abort() {
+        if (!this.done) {
+            try {
+                this.connection.abort(this.executor);
+            } catch (final SQLException ex) {
+                // The connection is dropped anyway.
+            }
+        }
+    }
+}
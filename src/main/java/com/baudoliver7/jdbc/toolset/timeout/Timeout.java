@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.timeout;
+
+/**
+ * Task scheduled on a {@link TimerWheel}.
+ *
+ * @since 0.5
+ */
+final class Timeout {
+
+    /**
+     * Task.
+     */
+    private final Runnable task;
+
+    /**
+     * Deadline, in nanoseconds.
+     */
+    private final long deadline;
+
+    /**
+     * Cancelled or not.
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * Ctor.
+     * @param task Task
+     * @param deadline Deadline, in nanoseconds
+     */
+    Timeout(final Runnable task, final long deadline) {
+        this.task = task;
+        this.deadline = deadline;
+    }
+
+    /**
+     * Cancels the task, if it didn't run yet.
+     */
+    void cancel() {
+        this.cancelled = true;
+    }
+
+    /**
+     * Tells whether it is cancelled.
+     * @return True if cancelled
+     */
+    boolean cancelled() {
+        return this.cancelled;
+    }
+
+    /**
+     * Deadline.
+     * @return Deadline, in nanoseconds
+     */
+    long deadline() {
+        return this.deadline;
+    }
+
+    /**
+     * Runs the task, unless cancelled.
+     */
+    void run() {
+        if (!this.cancelled) {
+            this.task.run();
+        }
+    }
+}
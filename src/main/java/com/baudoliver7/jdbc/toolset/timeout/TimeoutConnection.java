@@ -0,0 +1,262 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.timeout;
+
+import com.baudoliver7.jdbc.toolset.wrapper.ConnectionWrap;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connection whose statements are cancelled when they run longer than
+ * their query timeout, and which is aborted when cancelling doesn't end
+ * them within its network timeout.
+ * <p>The network timeout the physical connection had before is restored
+ * on close, so that it doesn't carry over to the next borrower of a
+ * pool.</p>
+ *
+ * @since 0.5
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+final class TimeoutConnection extends ConnectionWrap {
+
+    /**
+     * Default query timeout, in nanoseconds, or 0 for none.
+     */
+    private final long query;
+
+    /**
+     * Wheel of timeouts.
+     */
+    private final TimerWheel wheel;
+
+    /**
+     * Executor of cancel and abort.
+     */
+    private final Executor executor;
+
+    /**
+     * Network timeout, in milliseconds, or 0 for none.
+     */
+    private volatile int network;
+
+    /**
+     * Network timeout of the physical connection before it was changed,
+     * in milliseconds, or -1 if it wasn't changed.
+     */
+    private volatile int initial;
+
+    /**
+     * Ctor.
+     * @param origin Connection
+     * @param query Default query timeout, in nanoseconds, or 0 for none
+     * @param network Network timeout, in milliseconds, or 0 for none
+     * @param initial Network timeout before, in milliseconds, or -1 if the
+     *  connection wasn't changed
+     * @param wheel Wheel of timeouts
+     * @param executor Executor of cancel and abort
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    TimeoutConnection(
+        final Connection origin, final long query, final int network,
+        final int initial, final TimerWheel wheel, final Executor executor
+    ) {
+        super(origin);
+        this.query = query;
+        this.network = network;
+        this.initial = initial;
+        this.wheel = wheel;
+        this.executor = executor;
+    }
+
+    @Override
+    public Statement createStatement() throws SQLException {
+        return new TimeoutStatement(super.createStatement(), this, this.query);
+    }
+
+    @Override
+    public Statement createStatement(final int rsetype, final int rsetc) throws SQLException {
+        return new TimeoutStatement(
+            super.createStatement(rsetype, rsetc), this, this.query
+        );
+    }
+
+    @Override
+    public Statement createStatement(
+        final int rsetype, final int rsetc, final int rseth
+    ) throws SQLException {
+        return new TimeoutStatement(
+            super.createStatement(rsetype, rsetc, rseth), this, this.query
+        );
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(final String sql) throws SQLException {
+        return new TimeoutPreparedStatement(
+            super.prepareStatement(sql), this, this.query
+        );
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final int rsetype, final int rsetc
+    ) throws SQLException {
+        return new TimeoutPreparedStatement(
+            super.prepareStatement(sql, rsetype, rsetc), this, this.query
+        );
+    }
+
+    @Override
+    // @checkstyle ParameterNumberCheck (3 lines)
+    public PreparedStatement prepareStatement(
+        final String sql, final int rsetype, final int rsetc, final int rseth
+    ) throws SQLException {
+        return new TimeoutPreparedStatement(
+            super.prepareStatement(sql, rsetype, rsetc, rseth), this, this.query
+        );
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final int agkeys
+    ) throws SQLException {
+        return new TimeoutPreparedStatement(
+            super.prepareStatement(sql, agkeys), this, this.query
+        );
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final int[] icolumns
+    ) throws SQLException {
+        return new TimeoutPreparedStatement(
+            super.prepareStatement(sql, icolumns), this, this.query
+        );
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final String[] ncolumns
+    ) throws SQLException {
+        return new TimeoutPreparedStatement(
+            super.prepareStatement(sql, ncolumns), this, this.query
+        );
+    }
+
+    @Override
+    public CallableStatement prepareCall(final String sql) throws SQLException {
+        return this.timed(super.prepareCall(sql));
+    }
+
+    @Override
+    public CallableStatement prepareCall(
+        final String sql, final int rsetype, final int rsetc
+    ) throws SQLException {
+        return this.timed(super.prepareCall(sql, rsetype, rsetc));
+    }
+
+    @Override
+    // @checkstyle ParameterNumberCheck (3 lines)
+    public CallableStatement prepareCall(
+        final String sql, final int rsetype, final int rsetc, final int rseth
+    ) throws SQLException {
+        return this.timed(super.prepareCall(sql, rsetype, rsetc, rseth));
+    }
+
+    @Override
+    public void setNetworkTimeout(
+        final Executor exec, final int milliseconds
+    ) throws SQLException {
+        if (this.initial < 0) {
+            this.initial = super.getNetworkTimeout();
+        }
+        super.setNetworkTimeout(exec, milliseconds);
+        this.network = milliseconds;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            if (this.initial >= 0 && this.network != this.initial && !super.isClosed()) {
+                super.setNetworkTimeout(this.executor, this.initial);
+            }
+        } finally {
+            super.close();
+        }
+    }
+
+    /**
+     * Executes a statement under a query timeout.
+     * <p>Once the query timeout elapsed, the statement is cancelled. If it
+     * is still running after the network timeout, the connection is
+     * aborted.</p>
+     * @param stmt Statement
+     * @param timeout Query timeout, in nanoseconds, or 0 for none
+     * @param call Execution
+     * @param <T> Type of result
+     * @return Result
+     * @throws SQLException If fails
+     */
+    <T> T guarded(
+        final Statement stmt, final long timeout, final Call<T> call
+    ) throws SQLException {
+        final T result;
+        if (timeout > 0L) {
+            final Expiry expiry = new Expiry(
+                stmt, this, this.wheel, this.executor,
+                TimeUnit.MILLISECONDS.toNanos(this.network)
+            );
+            final Timeout scheduled = this.wheel.schedule(expiry, timeout);
+            try {
+                result = call.run();
+            } finally {
+                scheduled.cancel();
+                expiry.end();
+            }
+        } else {
+            result = call.run();
+        }
+        return result;
+    }
+
+    /**
+     * Gives the default query timeout to a callable statement.
+     * <p>Callable statements are left to the timer of the driver, since
+     * their many setters and getters aren't wrapped.</p>
+     * @param stmt Callable statement
+     * @return Same statement
+     * @throws SQLException If fails
+     */
+    private CallableStatement timed(final CallableStatement stmt) throws SQLException {
+        if (this.query > 0L) {
+            stmt.setQueryTimeout(TimeoutStatement.seconds(this.query));
+        }
+        return stmt;
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.timeout;
+
+import com.baudoliver7.jdbc.toolset.wrapper.DataSourceWrap;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.sql.DataSource;
+
+/**
+ * Data source enforcing a default query timeout and a network timeout.
+ * <p>Executions of statements are cancelled by {@link java.sql.Statement#cancel()}
+ * once they run longer than their query timeout. If they are still running
+ * after the network timeout, the connection is aborted by
+ * {@link Connection#abort(java.util.concurrent.Executor)}.</p>
+ * <p>All data sources share a single timer wheel, instead of the timer a
+ * driver usually starts per statement: scheduling a timeout is only a
+ * queue insertion. A statement may override its query timeout by
+ * {@link java.sql.Statement#setQueryTimeout(int)}, and a connection its
+ * network timeout by {@link Connection#setNetworkTimeout}. Callable
+ * statements keep the timer of the driver.</p>
+ * <p>Closing a connection restores the network timeout it had before, so
+ * that neither the default nor an override leaks to the next borrower of
+ * a pool under this data source.</p>
+ *
+ * @since 0.5
+ */
+public final class TimeoutDataSource extends DataSourceWrap {
+
+    /**
+     * Wheel of timeouts shared by all data sources.
+     */
+    private static final TimerWheel WHEEL = new TimerWheel(
+        Duration.ofMillis(10L), 512, "jdbc-toolset-timeouts"
+    );
+
+    /**
+     * Executor of cancel and abort shared by all data sources.
+     */
+    private static final ExecutorService EXECUTOR = TimeoutDataSource.executor();
+
+    /**
+     * Default query timeout, in nanoseconds, or 0 for none.
+     */
+    private final long query;
+
+    /**
+     * Network timeout, in milliseconds, or 0 for none.
+     */
+    private final int network;
+
+    /**
+     * Ctor.
+     * @param origin Data source
+     * @param query Default query timeout, zero for none
+     */
+    public TimeoutDataSource(final DataSource origin, final Duration query) {
+        this(origin, query, Duration.ZERO);
+    }
+
+    /**
+     * Ctor.
+     * @param origin Data source
+     * @param query Default query timeout, zero for none
+     * @param network Network timeout, zero for none
+     */
+    public TimeoutDataSource(
+        final DataSource origin, final Duration query, final Duration network
+    ) {
+        super(origin);
+        if (query.isNegative() || network.isNegative()) {
+            throw new IllegalArgumentException("Timeouts can't be negative!");
+        }
+        this.query = query.toNanos();
+        this.network = (int) Math.min(network.toMillis(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return this.timed(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(
+        final String username, final String password
+    ) throws SQLException {
+        return this.timed(super.getConnection(username, password));
+    }
+
+    /**
+     * Puts a connection under timeouts.
+     * @param connection Connection
+     * @return Connection under timeouts
+     * @throws SQLException If fails
+     */
+    private Connection timed(final Connection connection) throws SQLException {
+        int initial = -1;
+        if (this.network > 0) {
+            try {
+                final int before = connection.getNetworkTimeout();
+                connection.setNetworkTimeout(TimeoutDataSource.EXECUTOR, this.network);
+                initial = before;
+            } catch (final SQLFeatureNotSupportedException ex) {
+                // The abort after a failed cancel remains.
+            }
+        }
+        return new TimeoutConnection(
+            connection, this.query, this.network, initial,
+            TimeoutDataSource.WHEEL, TimeoutDataSource.EXECUTOR
+        );
+    }
+
+    /**
+     * Builds executor of cancel and abort.
+     * @return Executor
+     */
+    private static ExecutorService executor() {
+        return Executors.newCachedThreadPool(
+            task -> {
+                final Thread thread = new Thread(task, "jdbc-toolset-timeouts-cancel");
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+    }
+}
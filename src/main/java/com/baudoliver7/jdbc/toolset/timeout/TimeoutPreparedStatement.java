@@ -0,0 +1,123 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.timeout;
+
+import com.baudoliver7.jdbc.toolset.wrapper.PreparedStatementWrap;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Prepared statement whose executions are cancelled past its query timeout.
+ * <p>The query timeout is kept here and enforced by the wheel of the
+ * data source, it is never given to the driver.</p>
+ *
+ * @since 0.5
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+final class TimeoutPreparedStatement extends PreparedStatementWrap {
+
+    /**
+     * Connection.
+     */
+    private final TimeoutConnection connection;
+
+    /**
+     * Query timeout, in nanoseconds, or 0 for none.
+     */
+    private volatile long timeout;
+
+    /**
+     * Ctor.
+     * @param origin Prepared statement
+     * @param connection Connection
+     * @param timeout Query timeout, in nanoseconds, or 0 for none
+     */
+    TimeoutPreparedStatement(
+        final PreparedStatement origin, final TimeoutConnection connection,
+        final long timeout
+    ) {
+        super(origin);
+        this.connection = connection;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public Connection getConnection() {
+        return this.connection;
+    }
+
+    @Override
+    public int getQueryTimeout() {
+        return TimeoutStatement.seconds(this.timeout);
+    }
+
+    @Override
+    public void setQueryTimeout(final int seconds) throws SQLException {
+        this.timeout = TimeoutStatement.nanos(seconds);
+    }
+
+    @Override
+    public ResultSet executeQuery() throws SQLException {
+        return this.guarded(super::executeQuery);
+    }
+
+    @Override
+    public int executeUpdate() throws SQLException {
+        return this.guarded(super::executeUpdate);
+    }
+
+    @Override
+    public boolean execute() throws SQLException {
+        return this.guarded(super::execute);
+    }
+
+    @Override
+    public long executeLargeUpdate() throws SQLException {
+        return this.guarded(super::executeLargeUpdate);
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        return this.guarded(super::executeBatch);
+    }
+
+    @Override
+    public long[] executeLargeBatch() throws SQLException {
+        return this.guarded(super::executeLargeBatch);
+    }
+
+    /**
+     * Executes under the query timeout.
+     * @param call Execution
+     * @param <T> Type of result
+     * @return Result
+     * @throws SQLException If fails
+     */
+    private <T> T guarded(final Call<T> call) throws SQLException {
+        return this.connection.guarded(this, this.timeout, call);
+    }
+}
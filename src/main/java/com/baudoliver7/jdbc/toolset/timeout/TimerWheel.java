@@ -0,0 +1,152 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.timeout;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed timer wheel, run by one daemon thread.
+ * <p>Scheduling and cancelling a timeout take no lock: timeouts are handed
+ * to the thread of the wheel through a concurrent queue, then put in the
+ * bucket of the tick they are due. At each tick, due timeouts of the
+ * current bucket run on the thread of the wheel: tasks should be short.
+ * Timeouts fire with the precision of a tick.</p>
+ *
+ * @since 0.5
+ */
+final class TimerWheel {
+
+    /**
+     * Duration of a tick, in nanoseconds.
+     */
+    private final long tick;
+
+    /**
+     * Buckets of timeouts, by tick.
+     */
+    private final List<Queue<Timeout>> buckets;
+
+    /**
+     * Timeouts scheduled, not in a bucket yet.
+     */
+    private final Queue<Timeout> pending;
+
+    /**
+     * Ctor.
+     * @param tick Duration of a tick
+     * @param size Number of buckets
+     * @param name Name of thread
+     */
+    TimerWheel(final Duration tick, final int size, final String name) {
+        this.tick = tick.toNanos();
+        this.buckets = new ArrayList<>(size);
+        for (int idx = 0; idx < size; ++idx) {
+            this.buckets.add(new ArrayDeque<>());
+        }
+        this.pending = new ConcurrentLinkedQueue<>();
+        final Thread thread = new Thread(this::work, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Schedules a task.
+     * @param task Task
+     * @param delay Delay, in nanoseconds
+     * @return Timeout, to cancel
+     */
+    Timeout schedule(final Runnable task, final long delay) {
+        final Timeout timeout = new Timeout(task, System.nanoTime() + delay);
+        this.pending.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Runs the wheel, tick after tick.
+     */
+    private void work() {
+        final long start = System.nanoTime();
+        long ticks = 0L;
+        while (!Thread.currentThread().isInterrupted()) {
+            final long next = start + (ticks + 1L) * this.tick;
+            long wait = next - System.nanoTime();
+            while (wait > 0L) {
+                LockSupport.parkNanos(this, wait);
+                wait = next - System.nanoTime();
+            }
+            ++ticks;
+            this.transfer(start, ticks);
+            this.expire(this.buckets.get((int) (ticks % this.buckets.size())));
+        }
+    }
+
+    /**
+     * Puts timeouts scheduled in the buckets of the ticks they are due.
+     * @param start Start of wheel, in nanoseconds
+     * @param ticks Current tick
+     */
+    private void transfer(final long start, final long ticks) {
+        Timeout timeout = this.pending.poll();
+        while (timeout != null) {
+            if (!timeout.cancelled()) {
+                final long due = Math.max(
+                    ticks, (timeout.deadline() - start + this.tick - 1L) / this.tick
+                );
+                this.buckets.get((int) (due % this.buckets.size())).add(timeout);
+            }
+            timeout = this.pending.poll();
+        }
+    }
+
+    /**
+     * Runs due timeouts of a bucket and drops cancelled ones.
+     * @param bucket Bucket
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void expire(final Queue<Timeout> bucket) {
+        final long now = System.nanoTime();
+        final Iterator<Timeout> timeouts = bucket.iterator();
+        while (timeouts.hasNext()) {
+            final Timeout timeout = timeouts.next();
+            if (timeout.cancelled()) {
+                timeouts.remove();
+            } else if (timeout.deadline() - now <= 0L) {
+                timeouts.remove();
+                try {
+                    timeout.run();
+                    // @checkstyle IllegalCatchCheck (1 line)
+                } catch (final RuntimeException ex) {
+                    // A failing task must not stop the wheel.
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.validation;
+
+import java.sql.SQLException;
+
+/**
+ * Freshness of a physical connection.
+ * <p>It knows when the connection was last used successfully and whether
+ * an operation failed because the connection is lost.</p>
+ *
+ * @since 0.5
+ */
+final class Freshness {
+
+    /**
+     * Time of last successful use, in nanoseconds.
+     */
+    private volatile long used;
+
+    /**
+     * Used successfully at least once or not.
+     */
+    private volatile boolean known;
+
+    /**
+     * Connection lost or not.
+     */
+    private volatile boolean lost;
+
+    /**
+     * Records a successful use.
+     */
+    void succeeded() {
+        this.used = System.nanoTime();
+        this.known = true;
+    }
+
+    /**
+     * Records a failure.
+     * <p>Failures with an SQL state of class 08 (connection exception) mark
+     * the connection as lost.</p>
+     * @param error Failure
+     * @return The same failure
+     */
+    SQLException failed(final SQLException error) {
+        final String state = error.getSQLState();
+        if (state != null && state.startsWith("08")) {
+            this.lost = true;
+        }
+        return error;
+    }
+
+    /**
+     * Tells whether the connection is lost.
+     * @return True if lost
+     */
+    boolean lost() {
+        return this.lost;
+    }
+
+    /**
+     * Tells whether the connection was used successfully recently.
+     * @param now Now, in nanoseconds
+     * @param window Window, in nanoseconds
+     * @return True if used in window and not lost
+     */
+    boolean fresh(final long now, final long window) {
+        return this.known && !this.lost && now - this.used < window;
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.validation;
+
+import com.baudoliver7.jdbc.toolset.wrapper.ConnectionWrap;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Connection which records outcomes of its operations in its freshness.
+ * <p>When closed after its connection was lost, the physical connection is
+ * aborted before the connection is closed, so that a pool under it evicts
+ * it. Callable statements are only watched when prepared.</p>
+ *
+ * @since 0.5
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+final class ValidatedConnection extends ConnectionWrap {
+
+    /**
+     * Freshness of physical connection.
+     */
+    private final Freshness freshness;
+
+    /**
+     * Closed or not.
+     */
+    private final AtomicBoolean closed;
+
+    /**
+     * Ctor.
+     * @param origin Connection wrapped
+     * @param freshness Freshness of physical connection
+     */
+    ValidatedConnection(final Connection origin, final Freshness freshness) {
+        super(origin);
+        this.freshness = freshness;
+        this.closed = new AtomicBoolean(false);
+    }
+
+    @Override
+    public Statement createStatement() throws SQLException {
+        try {
+            return new WatchedStatement(super.createStatement(), this.freshness);
+        } catch (final SQLException ex) {
+            throw this.freshness.failed(ex);
+        }
+    }
+
+    @Override
+    public Statement createStatement(final int rsetype, final int rsetc) throws SQLException {
+        try {
+            return new WatchedStatement(super.createStatement(rsetype, rsetc), this.freshness);
+        } catch (final SQLException ex) {
+            throw this.freshness.failed(ex);
+        }
+    }
+
+    @Override
+    public Statement createStatement(
+        final int rsetype, final int rsetc, final int rseth
+    ) throws SQLException {
+        try {
+            return new WatchedStatement(
+                super.createStatement(rsetype, rsetc, rseth), this.freshness
+            );
+        } catch (final SQLException ex) {
+            throw this.freshness.failed(ex);
+        }
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(final String sql) throws SQLException {
+        try {
+            return new WatchedPreparedStatement(super.prepareStatement(sql), this.freshness);
+        } catch (final SQLException ex) {
+            throw this.freshness.failed(ex);
+        }
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final int rsetype, final int rsetc
+    ) throws SQLException {
+        try {
+            return new WatchedPreparedStatement(
+                super.prepareStatement(sql, rsetype, rsetc), this.freshness
+            );
+        } catch (final SQLException ex) {
+            throw this.freshness.failed(ex);
+        }
+    }
+
+    @Override
+    // @checkstyle ParameterNumberCheck (3 lines)
+    public PreparedStatement prepareStatement(
+        final String sql, final int rsetype, final int rsetc, final int rseth
+    ) throws SQLException {
+        try {
+            return new WatchedPreparedStatement(
+                super.prepareStatement(sql, rsetype, rsetc, rseth), this.freshness
+            );
+        } catch (final SQLException ex) {
+            throw this.freshness.failed(ex);
+        }
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final int agkeys
+    ) throws SQLException {
+        try {
+            return new WatchedPreparedStatement(
+                super.prepareStatement(sql, agkeys), this.freshness
+            );
+        } catch (final SQLException ex) {
+            throw this.freshness.failed(ex);
+        }
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final int[] icolumns
+    ) throws SQLException {
+        try {
+            return new WatchedPreparedStatement(
+                super.prepareStatement(sql, icolumns), this.freshness
+            );
+        } catch (final SQLException ex) {
+            throw this.freshness.failed(ex);
+        }
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final String[] ncolumns
+    ) throws SQLException {
+        try {
+            return new WatchedPreparedStatement(
+                super.prepareStatement(sql, ncolumns), this.freshness
+            );
+        } catch (final SQLException ex) {
+            throw this.freshness.failed(ex);
+        }
+    }
+
+    @Override
+    public CallableStatement prepareCall(final String sql) throws SQLException {
+        try {
+            return super.prepareCall(sql);
+        } catch (final SQLException ex) {
+            throw this.freshness.failed(ex);
+        }
+    }
+
+    @Override
+    public CallableStatement prepareCall(
+        final String sql, final int rsetype, final int rsetc
+    ) throws SQLException {
+        try {
+            return super.prepareCall(sql, rsetype, rsetc);
+        } catch (final SQLException ex) {
+            throw this.freshness.failed(ex);
+        }
+    }
+
+    @Override
+    // @checkstyle ParameterNumberCheck (3 lines)
+    public CallableStatement prepareCall(
+        final String sql, final int rsetype, final int rsetc, final int rseth
+    ) throws SQLException {
+        try {
+            return super.prepareCall(sql, rsetype, rsetc, rseth);
+        } catch (final SQLException ex) {
+            throw this.freshness.failed(ex);
+        }
+    }
+
+    @Override
+    public void setAutoCommit(final boolean autocommit) throws SQLException {
+        try {
+            super.setAutoCommit(autocommit);
+        } catch (final SQLException ex) {
+            throw this.freshness.failed(ex);
+        }
+    }
+
+    @Override
+    public void commit() throws SQLException {
+        try {
+            super.commit();
+        } catch (final SQLException ex) {
+            throw this.freshness.failed(ex);
+        }
+    }
+
+    @Override
+    public void rollback() throws SQLException {
+        try {
+            super.rollback();
+        } catch (final SQLException ex) {
+            throw this.freshness.failed(ex);
+        }
+    }
+
+    @Override
+    public void rollback(final Savepoint savepoint) throws SQLException {
+        try {
+            super.rollback(savepoint);
+        } catch (final SQLException ex) {
+            throw this.freshness.failed(ex);
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (this.closed.compareAndSet(false, true)) {
+            if (this.freshness.lost()) {
+                ValidatedDataSource.evict(this.unwrap(Connection.class));
+            }
+            super.close();
+        }
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.validation;
+
+import com.baudoliver7.jdbc.toolset.wrapper.DataSourceWrap;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import javax.sql.DataSource;
+
+/**
+ * Data source which validates connections before giving them.
+ * <p>Put it above a pool. A connection which executed a statement
+ * successfully, or was checked, within the window of freshness is given
+ * without check. Otherwise, it is checked with
+ * {@link Connection#isValid(int)}. Giving a connection without check
+ * doesn't make it fresher. A connection which is not valid, or whose
+ * operation failed with a connection exception (SQL state of class 08), is
+ * aborted so that the pool evicts it, and another one is borrowed.</p>
+ * <p>Freshness is kept per physical connection, found by unwrapping
+ * connections given by origin, in maps striped by connection so that
+ * borrowers seldom contend on a same lock.</p>
+ *
+ * @since 0.5
+ */
+public final class ValidatedDataSource extends DataSourceWrap {
+
+    /**
+     * Maximum number of connections borrowed to find a valid one.
+     */
+    private static final int ATTEMPTS = 16;
+
+    /**
+     * Number of stripes of freshness, a power of two.
+     */
+    private static final int STRIPES = 16;
+
+    /**
+     * Freshness of physical connections, striped.
+     */
+    private final List<Map<Connection, Freshness>> states;
+
+    /**
+     * Window of freshness, in nanoseconds.
+     */
+    private final long window;
+
+    /**
+     * Timeout of validation, in seconds.
+     */
+    private final int timeout;
+
+    /**
+     * Ctor.
+     * @param origin Data source to wrap
+     */
+    public ValidatedDataSource(final DataSource origin) {
+        this(origin, Duration.ofMillis(500L));
+    }
+
+    /**
+     * Ctor.
+     * @param origin Data source to wrap
+     * @param window Window of freshness
+     */
+    public ValidatedDataSource(final DataSource origin, final Duration window) {
+        this(origin, window, Duration.ofSeconds(5L));
+    }
+
+    /**
+     * Ctor.
+     * @param origin Data source to wrap
+     * @param window Window of freshness
+     * @param timeout Timeout of validation, rounded up to seconds
+     */
+    public ValidatedDataSource(
+        final DataSource origin, final Duration window, final Duration timeout
+    ) {
+        super(origin);
+        this.states = new ArrayList<>(ValidatedDataSource.STRIPES);
+        for (int idx = 0; idx < ValidatedDataSource.STRIPES; ++idx) {
+            this.states.add(new WeakHashMap<>());
+        }
+        this.window = window.toNanos();
+        this.timeout = (int) Math.max(1L, (timeout.toMillis() + 999L) / 1000L);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return this.validated(super::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(
+        final String username, final String password
+    ) throws SQLException {
+        return this.validated(() -> super.getConnection(username, password));
+    }
+
+    /**
+     * Borrows connections until a valid one is found.
+     * @param borrowing Borrowing of a connection from origin
+     * @return Valid connection
+     * @throws SQLException If fails
+     */
+    private Connection validated(final Borrowing borrowing) throws SQLException {
+        Connection valid = null;
+        for (int attempt = 0; attempt < ValidatedDataSource.ATTEMPTS && valid == null;
+            ++attempt) {
+            final Connection conn = borrowing.borrow();
+            final Freshness freshness = this.freshness(conn.unwrap(Connection.class));
+            if (freshness.fresh(System.nanoTime(), this.window)) {
+                valid = new ValidatedConnection(conn, freshness);
+            } else if (this.valid(conn)) {
+                freshness.succeeded();
+                valid = new ValidatedConnection(conn, freshness);
+            } else {
+                ValidatedDataSource.evict(conn.unwrap(Connection.class));
+                conn.close();
+            }
+        }
+        if (valid == null) {
+            throw new SQLTransientConnectionException(
+                String.format(
+                    "No valid connection after %d attempts", ValidatedDataSource.ATTEMPTS
+                ),
+                "08001"
+            );
+        }
+        return valid;
+    }
+
+    /**
+     * Aborts a physical connection.
+     * <p>It is closed if aborting it had no effect, as some drivers don't
+     * implement abort.</p>
+     * @param physical Physical connection
+     */
+    static void evict(final Connection physical) {
+        try {
+            physical.abort(Runnable::run);
+            if (!physical.isClosed()) {
+                physical.close();
+            }
+        } catch (final SQLException ex) {
+            // The connection is dropped anyway.
+        }
+    }
+
+    /**
+     * Freshness of a physical connection.
+     * @param physical Physical connection
+     * @return Freshness
+     */
+    private Freshness freshness(final Connection physical) {
+        final Map<Connection, Freshness> stripe = this.states.get(
+            System.identityHashCode(physical) & ValidatedDataSource.STRIPES - 1
+        );
+        synchronized (stripe) {
+            Freshness freshness = stripe.get(physical);
+            if (freshness == null || freshness.lost()) {
+                freshness = new Freshness();
+                stripe.put(physical, freshness);
+            }
+            return freshness;
+        }
+    }
+
+    /**
+     * Checks that a connection is valid.
+     * @param conn Connection
+     * @return True if valid
+     */
+    private boolean valid(final Connection conn) {
+        boolean valid;
+        try {
+            valid = conn.isValid(this.timeout);
+        } catch (final SQLException ex) {
+            valid = false;
+        }
+        return valid;
+    }
+
+    /**
+     * Borrowing of a connection from origin.
+     *
+     * @since 0.5
+     */
+    private interface Borrowing {
+
+        /**
+         * Borrows a connection.
+         * @return Connection
+         * @throws SQLException If fails
+         */
+        Connection borrow() throws SQLException;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.validation;
+
+import com.baudoliver7.jdbc.toolset.wrapper.PreparedStatementWrap;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Prepared statement which records outcomes of executions in freshness of its
+ * connection.
+ *
+ * @since 0.5
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+final class WatchedPreparedStatement extends PreparedStatementWrap {
+
+    /**
+     * Freshness of connection.
+     */
+    private final Freshness freshness;
+
+    /**
+     * Ctor.
+     * @param origin Statement wrapped
+     * @param freshness Freshness of connection
+     */
+    WatchedPreparedStatement(final PreparedStatement origin, final Freshness freshness) {
+        super(origin);
+        this.freshness = freshness;
+    }
+
+    @Override
+    public ResultSet executeQuery() throws SQLException {
+        try {
+            final ResultSet result = super.executeQuery();
+            this.freshness.succeeded();
+            return result;
+        } catch (final SQLException ex) {
+            throw this.freshness.failed(ex);
+        }
+    }
+
+    @Override
+    public int executeUpdate() throws SQLException {
+        try {
+            final int result = super.executeUpdate();
+            this.freshness.succeeded();
+            return result;
+        } catch (final SQLException ex) {
+            throw this.freshness.failed(ex);
+        }
+    }
+
+    @Override
+    public boolean execute() throws SQLException {
+        try {
+            final boolean result = super.execute();
+            this.freshness.succeeded();
+            return result;
+        } catch (final SQLException ex) {
+            throw this.freshness.failed(ex);
+        }
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        try {
+            final int[] result = super.executeBatch();
+            this.freshness.succeeded();
+            return result;
+        } catch (final SQLException ex) {
+            throw this.freshness.failed(ex);
+        }
+    }
+
+    @Override
+    public long[] executeLargeBatch() throws SQLException {
+        try {
+            final long[] result = super.executeLargeBatch();
+            this.freshness.succeeded();
+            return result;
+        } catch (final SQLException ex) {
+            throw this.freshness.failed(ex);
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate() throws SQLException {
+        try {
+            final long result = super.executeLargeUpdate();
+            this.freshness.succeeded();
+            return result;
+        } catch (final SQLException ex) {
+            throw this.freshness.failed(ex);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.validation;
+
+import com.baudoliver7.jdbc.toolset.wrapper.StatementWrap;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Statement which records outcomes of executions in freshness of its connection.
+ *
+ * @since 0.5
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+final class WatchedStatement extends StatementWrap {
+
+    /**
+     * Freshness of connection.
+     */
+    private final Freshness freshness;
+
+    /**
+     * Ctor.
+     * @param origin Statement wrapped
+     * @param freshness Freshness of connection
+     */
+    WatchedStatement(final Statement origin, final Freshness freshness) {
+        super(origin);
+        this.freshness = freshness;
+    }
+
+    @Override
+    public ResultSet executeQuery(final String sql) throws SQLException {
+        try {
+            final ResultSet result = super.executeQuery(sql);
+            this.freshness.succeeded();
+            return result;
+        } catch (final SQLException ex) {
+            throw this.freshness.failed(ex);
+        }
+    }
+
+    @Override
+    public int executeUpdate(final String sql) throws SQLException {
+        try {
+            final int result = super.executeUpdate(sql);
+            this.freshness.succeeded();
+            return result;
+        } catch (final SQLException ex) {
+            throw this.freshness.failed(ex);
+        }
+    }
+
+    @Override
+    public boolean execute(final String sql) throws SQLException {
+        try {
+            final boolean result = super.execute(sql);
+            this.freshness.succeeded();
+            return result;
+        } catch (final SQLException ex) {
+            throw this.freshness.failed(ex);
+        }
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        try {
+            final int[] result = super.executeBatch();
+            this.freshness.succeeded();
+            return result;
+        } catch (final SQLException ex) {
+            throw this.freshness.failed(ex);
+        }
+    }
+
+    @Override
+    public int executeUpdate(final String sql, final int agkeys) throws SQLException {
+        try {
+            final int result = super.executeUpdate(sql, agkeys);
+            this.freshness.succeeded();
+            return result;
+        } catch (final SQLException ex) {
+            throw this.freshness.failed(ex);
+        }
+    }
+
+    @Override
+    public int executeUpdate(final String sql, final int[] icolumns) throws SQLException {
+        try {
+            final int result = super.executeUpdate(sql, icolumns);
+            this.freshness.succeeded();
+            return result;
+        } catch (final SQLException ex) {
+            throw this.freshness.failed(ex);
+        }
+    }
+
+    @Override
+    public int executeUpdate(final String sql, final String[] ncolumns) throws SQLException {
+        try {
+            final int result = super.executeUpdate(sql, ncolumns);
+            this.freshness.succeeded();
+            return result;
+        } catch (final SQLException ex) {
+            throw this.freshness.failed(ex);
+        }
+    }
+
+    @Override
+    public boolean execute(final String sql, final int agkeys) throws SQLException {
+        try {
+            final boolean result = super.execute(sql, agkeys);
+            this.freshness.succeeded();
+            return result;
+        } catch (final SQLException ex) {
+            throw this.freshness.failed(ex);
+        }
+    }
+
+    @Override
+    public boolean execute(final String sql, final int[] icolumns) throws SQLException {
+        try {
+            final boolean result = super.execute(sql, icolumns);
+            this.freshness.succeeded();
+            return result;
+        } catch (final SQLException ex) {
+            throw this.freshness.failed(ex);
+        }
+    }
+
+    @Override
+    public boolean execute(final String sql, final String[] ncolumns) throws SQLException {
+        try {
+            final boolean result = super.execute(sql, ncolumns);
+            this.freshness.succeeded();
+            return result;
+        } catch (final SQLException ex) {
+            throw this.freshness.failed(ex);
+        }
+    }
+
+    @Override
+    public long[] executeLargeBatch() throws SQLException {
+        try {
+            final long[] result = super.executeLargeBatch();
+            this.freshness.succeeded();
+            return result;
+        } catch (final SQLException ex) {
+            throw this.freshness.failed(ex);
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate(final String sql) throws SQLException {
+        try {
+            final long result = super.executeLargeUpdate(sql);
+            this.freshness.succeeded();
+            return result;
+        } catch (final SQLException ex) {
+            throw this.freshness.failed(ex);
+        }
+    }
+}
@@ -0,0 +1,730 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.wrapper;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.Ref;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLType;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.Map;
+
+/**
+ * A callable statement wrapper.
+ *
+ * @since 0.5
+ * @checkstyle DesignForExtensionCheck (800 lines)
+ */
+@SuppressWarnings({"PMD.TooManyMethods", "PMD.ExcessivePublicCount"})
+public abstract class CallableStatementWrap extends PreparedStatementWrap
+    implements CallableStatement {
+
+    /**
+     * Callable statement wrapped.
+     */
+    private final CallableStatement origin;
+
+    /**
+     * Ctor.
+     * @param origin Callable statement wrapped
+     */
+    public CallableStatementWrap(final CallableStatement origin) {
+        super(origin);
+        this.origin = origin;
+    }
+
+    @Override
+    public void registerOutParameter(final int index, final int type) throws SQLException {
+        this.origin.registerOutParameter(index, type);
+    }
+
+    @Override
+    public void registerOutParameter(
+        final int index, final int type, final int scale
+    ) throws SQLException {
+        this.origin.registerOutParameter(index, type, scale);
+    }
+
+    @Override
+    public boolean wasNull() throws SQLException {
+        return this.origin.wasNull();
+    }
+
+    @Override
+    public String getString(final int index) throws SQLException {
+        return this.origin.getString(index);
+    }
+
+    @Override
+    public boolean getBoolean(final int index) throws SQLException {
+        return this.origin.getBoolean(index);
+    }
+
+    @Override
+    public byte getByte(final int index) throws SQLException {
+        return this.origin.getByte(index);
+    }
+
+    @Override
+    public short getShort(final int index) throws SQLException {
+        return this.origin.getShort(index);
+    }
+
+    @Override
+    public int getInt(final int index) throws SQLException {
+        return this.origin.getInt(index);
+    }
+
+    @Override
+    public long getLong(final int index) throws SQLException {
+        return this.origin.getLong(index);
+    }
+
+    @Override
+    public float getFloat(final int index) throws SQLException {
+        return this.origin.getFloat(index);
+    }
+
+    @Override
+    public double getDouble(final int index) throws SQLException {
+        return this.origin.getDouble(index);
+    }
+
+    @Override
+    @Deprecated
+    @SuppressWarnings("deprecation")
+    public BigDecimal getBigDecimal(final int index, final int scale) throws SQLException {
+        return this.origin.getBigDecimal(index, scale);
+    }
+
+    @Override
+    public byte[] getBytes(final int index) throws SQLException {
+        return this.origin.getBytes(index);
+    }
+
+    @Override
+    public Date getDate(final int index) throws SQLException {
+        return this.origin.getDate(index);
+    }
+
+    @Override
+    public Time getTime(final int index) throws SQLException {
+        return this.origin.getTime(index);
+    }
+
+    @Override
+    public Timestamp getTimestamp(final int index) throws SQLException {
+        return this.origin.getTimestamp(index);
+    }
+
+    @Override
+    public Object getObject(final int index) throws SQLException {
+        return this.origin.getObject(index);
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(final int index) throws SQLException {
+        return this.origin.getBigDecimal(index);
+    }
+
+    @Override
+    public Object getObject(final int index, final Map<String, Class<?>> map) throws SQLException {
+        return this.origin.getObject(index, map);
+    }
+
+    @Override
+    public Ref getRef(final int index) throws SQLException {
+        return this.origin.getRef(index);
+    }
+
+    @Override
+    public Blob getBlob(final int index) throws SQLException {
+        return this.origin.getBlob(index);
+    }
+
+    @Override
+    public Clob getClob(final int index) throws SQLException {
+        return this.origin.getClob(index);
+    }
+
+    @Override
+    public Array getArray(final int index) throws SQLException {
+        return this.origin.getArray(index);
+    }
+
+    @Override
+    public Date getDate(final int index, final Calendar calendar) throws SQLException {
+        return this.origin.getDate(index, calendar);
+    }
+
+    @Override
+    public Time getTime(final int index, final Calendar calendar) throws SQLException {
+        return this.origin.getTime(index, calendar);
+    }
+
+    @Override
+    public Timestamp getTimestamp(final int index, final Calendar calendar) throws SQLException {
+        return this.origin.getTimestamp(index, calendar);
+    }
+
+    @Override
+    public void registerOutParameter(
+        final int index, final int type, final String tname
+    ) throws SQLException {
+        this.origin.registerOutParameter(index, type, tname);
+    }
+
+    @Override
+    public void registerOutParameter(final String name, final int type) throws SQLException {
+        this.origin.registerOutParameter(name, type);
+    }
+
+    @Override
+    public void registerOutParameter(
+        final String name, final int type, final int scale
+    ) throws SQLException {
+        this.origin.registerOutParameter(name, type, scale);
+    }
+
+    @Override
+    public void registerOutParameter(
+        final String name, final int type, final String tname
+    ) throws SQLException {
+        this.origin.registerOutParameter(name, type, tname);
+    }
+
+    @Override
+    public URL getURL(final int index) throws SQLException {
+        return this.origin.getURL(index);
+    }
+
+    @Override
+    public void setURL(final String name, final URL value) throws SQLException {
+        this.origin.setURL(name, value);
+    }
+
+    @Override
+    public void setNull(final String name, final int type) throws SQLException {
+        this.origin.setNull(name, type);
+    }
+
+    @Override
+    public void setBoolean(final String name, final boolean value) throws SQLException {
+        this.origin.setBoolean(name, value);
+    }
+
+    @Override
+    public void setByte(final String name, final byte value) throws SQLException {
+        this.origin.setByte(name, value);
+    }
+
+    @Override
+    public void setShort(final String name, final short value) throws SQLException {
+        this.origin.setShort(name, value);
+    }
+
+    @Override
+    public void setInt(final String name, final int value) throws SQLException {
+        this.origin.setInt(name, value);
+    }
+
+    @Override
+    public void setLong(final String name, final long value) throws SQLException {
+        this.origin.setLong(name, value);
+    }
+
+    @Override
+    public void setFloat(final String name, final float value) throws SQLException {
+        this.origin.setFloat(name, value);
+    }
+
+    @Override
+    public void setDouble(final String name, final double value) throws SQLException {
+        this.origin.setDouble(name, value);
+    }
+
+    @Override
+    public void setBigDecimal(final String name, final BigDecimal value) throws SQLException {
+        this.origin.setBigDecimal(name, value);
+    }
+
+    @Override
+    public void setString(final String name, final String value) throws SQLException {
+        this.origin.setString(name, value);
+    }
+
+    @Override
+    public void setBytes(final String name, final byte[] value) throws SQLException {
+        this.origin.setBytes(name, value);
+    }
+
+    @Override
+    public void setDate(final String name, final Date value) throws SQLException {
+        this.origin.setDate(name, value);
+    }
+
+    @Override
+    public void setTime(final String name, final Time value) throws SQLException {
+        this.origin.setTime(name, value);
+    }
+
+    @Override
+    public void setTimestamp(final String name, final Timestamp value) throws SQLException {
+        this.origin.setTimestamp(name, value);
+    }
+
+    @Override
+    public void setAsciiStream(
+        final String name, final InputStream stream, final int length
+    ) throws SQLException {
+        this.origin.setAsciiStream(name, stream, length);
+    }
+
+    @Override
+    public void setBinaryStream(
+        final String name, final InputStream stream, final int length
+    ) throws SQLException {
+        this.origin.setBinaryStream(name, stream, length);
+    }
+
+    @Override
+    // @checkstyle ParameterNumberCheck (3 lines)
+    public void setObject(
+        final String name, final Object value, final int type, final int scale
+    ) throws SQLException {
+        this.origin.setObject(name, value, type, scale);
+    }
+
+    @Override
+    public void setObject(
+        final String name, final Object value, final int type
+    ) throws SQLException {
+        this.origin.setObject(name, value, type);
+    }
+
+    @Override
+    public void setObject(final String name, final Object value) throws SQLException {
+        this.origin.setObject(name, value);
+    }
+
+    @Override
+    public void setCharacterStream(
+        final String name, final Reader reader, final int length
+    ) throws SQLException {
+        this.origin.setCharacterStream(name, reader, length);
+    }
+
+    @Override
+    public void setDate(
+        final String name, final Date value, final Calendar calendar
+    ) throws SQLException {
+        this.origin.setDate(name, value, calendar);
+    }
+
+    @Override
+    public void setTime(
+        final String name, final Time value, final Calendar calendar
+    ) throws SQLException {
+        this.origin.setTime(name, value, calendar);
+    }
+
+    @Override
+    public void setTimestamp(
+        final String name, final Timestamp value, final Calendar calendar
+    ) throws SQLException {
+        this.origin.setTimestamp(name, value, calendar);
+    }
+
+    @Override
+    public void setNull(final String name, final int type, final String tname) throws SQLException {
+        this.origin.setNull(name, type, tname);
+    }
+
+    @Override
+    public String getString(final String name) throws SQLException {
+        return this.origin.getString(name);
+    }
+
+    @Override
+    public boolean getBoolean(final String name) throws SQLException {
+        return this.origin.getBoolean(name);
+    }
+
+    @Override
+    public byte getByte(final String name) throws SQLException {
+        return this.origin.getByte(name);
+    }
+
+    @Override
+    public short getShort(final String name) throws SQLException {
+        return this.origin.getShort(name);
+    }
+
+    @Override
+    public int getInt(final String name) throws SQLException {
+        return this.origin.getInt(name);
+    }
+
+    @Override
+    public long getLong(final String name) throws SQLException {
+        return this.origin.getLong(name);
+    }
+
+    @Override
+    public float getFloat(final String name) throws SQLException {
+        return this.origin.getFloat(name);
+    }
+
+    @Override
+    public double getDouble(final String name) throws SQLException {
+        return this.origin.getDouble(name);
+    }
+
+    @Override
+    public byte[] getBytes(final String name) throws SQLException {
+        return this.origin.getBytes(name);
+    }
+
+    @Override
+    public Date getDate(final String name) throws SQLException {
+        return this.origin.getDate(name);
+    }
+
+    @Override
+    public Time getTime(final String name) throws SQLException {
+        return this.origin.getTime(name);
+    }
+
+    @Override
+    public Timestamp getTimestamp(final String name) throws SQLException {
+        return this.origin.getTimestamp(name);
+    }
+
+    @Override
+    public Object getObject(final String name) throws SQLException {
+        return this.origin.getObject(name);
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(final String name) throws SQLException {
+        return this.origin.getBigDecimal(name);
+    }
+
+    @Override
+    public Object getObject(
+        final String name, final Map<String, Class<?>> map
+    ) throws SQLException {
+        return this.origin.getObject(name, map);
+    }
+
+    @Override
+    public Ref getRef(final String name) throws SQLException {
+        return this.origin.getRef(name);
+    }
+
+    @Override
+    public Blob getBlob(final String name) throws SQLException {
+        return this.origin.getBlob(name);
+    }
+
+    @Override
+    public Clob getClob(final String name) throws SQLException {
+        return this.origin.getClob(name);
+    }
+
+    @Override
+    public Array getArray(final String name) throws SQLException {
+        return this.origin.getArray(name);
+    }
+
+    @Override
+    public Date getDate(final String name, final Calendar calendar) throws SQLException {
+        return this.origin.getDate(name, calendar);
+    }
+
+    @Override
+    public Time getTime(final String name, final Calendar calendar) throws SQLException {
+        return this.origin.getTime(name, calendar);
+    }
+
+    @Override
+    public Timestamp getTimestamp(final String name, final Calendar calendar) throws SQLException {
+        return this.origin.getTimestamp(name, calendar);
+    }
+
+    @Override
+    public URL getURL(final String name) throws SQLException {
+        return this.origin.getURL(name);
+    }
+
+    @Override
+    public RowId getRowId(final int index) throws SQLException {
+        return this.origin.getRowId(index);
+    }
+
+    @Override
+    public RowId getRowId(final String name) throws SQLException {
+        return this.origin.getRowId(name);
+    }
+
+    @Override
+    public void setRowId(final String name, final RowId value) throws SQLException {
+        this.origin.setRowId(name, value);
+    }
+
+    @Override
+    public void setNString(final String name, final String value) throws SQLException {
+        this.origin.setNString(name, value);
+    }
+
+    @Override
+    public void setNCharacterStream(
+        final String name, final Reader value, final long length
+    ) throws SQLException {
+        this.origin.setNCharacterStream(name, value, length);
+    }
+
+    @Override
+    public void setNClob(final String name, final NClob value) throws SQLException {
+        this.origin.setNClob(name, value);
+    }
+
+    @Override
+    public void setClob(
+        final String name, final Reader reader, final long length
+    ) throws SQLException {
+        this.origin.setClob(name, reader, length);
+    }
+
+    @Override
+    public void setBlob(
+        final String name, final InputStream stream, final long length
+    ) throws SQLException {
+        this.origin.setBlob(name, stream, length);
+    }
+
+    @Override
+    public void setNClob(
+        final String name, final Reader reader, final long length
+    ) throws SQLException {
+        this.origin.setNClob(name, reader, length);
+    }
+
+    @Override
+    public NClob getNClob(final int index) throws SQLException {
+        return this.origin.getNClob(index);
+    }
+
+    @Override
+    public NClob getNClob(final String name) throws SQLException {
+        return this.origin.getNClob(name);
+    }
+
+    @Override
+    public void setSQLXML(final String name, final SQLXML value) throws SQLException {
+        this.origin.setSQLXML(name, value);
+    }
+
+    @Override
+    public SQLXML getSQLXML(final int index) throws SQLException {
+        return this.origin.getSQLXML(index);
+    }
+
+    @Override
+    public SQLXML getSQLXML(final String name) throws SQLException {
+        return this.origin.getSQLXML(name);
+    }
+
+    @Override
+    public String getNString(final int index) throws SQLException {
+        return this.origin.getNString(index);
+    }
+
+    @Override
+    public String getNString(final String name) throws SQLException {
+        return this.origin.getNString(name);
+    }
+
+    @Override
+    public Reader getNCharacterStream(final int index) throws SQLException {
+        return this.origin.getNCharacterStream(index);
+    }
+
+    @Override
+    public Reader getNCharacterStream(final String name) throws SQLException {
+        return this.origin.getNCharacterStream(name);
+    }
+
+    @Override
+    public Reader getCharacterStream(final int index) throws SQLException {
+        return this.origin.getCharacterStream(index);
+    }
+
+    @Override
+    public Reader getCharacterStream(final String name) throws SQLException {
+        return this.origin.getCharacterStream(name);
+    }
+
+    @Override
+    public void setBlob(final String name, final Blob value) throws SQLException {
+        this.origin.setBlob(name, value);
+    }
+
+    @Override
+    public void setClob(final String name, final Clob value) throws SQLException {
+        this.origin.setClob(name, value);
+    }
+
+    @Override
+    public void setAsciiStream(
+        final String name, final InputStream stream, final long length
+    ) throws SQLException {
+        this.origin.setAsciiStream(name, stream, length);
+    }
+
+    @Override
+    public void setBinaryStream(
+        final String name, final InputStream stream, final long length
+    ) throws SQLException {
+        this.origin.setBinaryStream(name, stream, length);
+    }
+
+    @Override
+    public void setCharacterStream(
+        final String name, final Reader reader, final long length
+    ) throws SQLException {
+        this.origin.setCharacterStream(name, reader, length);
+    }
+
+    @Override
+    public void setAsciiStream(final String name, final InputStream stream) throws SQLException {
+        this.origin.setAsciiStream(name, stream);
+    }
+
+    @Override
+    public void setBinaryStream(final String name, final InputStream stream) throws SQLException {
+        this.origin.setBinaryStream(name, stream);
+    }
+
+    @Override
+    public void setCharacterStream(final String name, final Reader reader) throws SQLException {
+        this.origin.setCharacterStream(name, reader);
+    }
+
+    @Override
+    public void setNCharacterStream(final String name, final Reader value) throws SQLException {
+        this.origin.setNCharacterStream(name, value);
+    }
+
+    @Override
+    public void setClob(final String name, final Reader reader) throws SQLException {
+        this.origin.setClob(name, reader);
+    }
+
+    @Override
+    public void setBlob(final String name, final InputStream stream) throws SQLException {
+        this.origin.setBlob(name, stream);
+    }
+
+    @Override
+    public void setNClob(final String name, final Reader reader) throws SQLException {
+        this.origin.setNClob(name, reader);
+    }
+
+    @Override
+    public <T> T getObject(final int index, final Class<T> type) throws SQLException {
+        return this.origin.getObject(index, type);
+    }
+
+    @Override
+    public <T> T getObject(final String name, final Class<T> type) throws SQLException {
+        return this.origin.getObject(name, type);
+    }
+
+    @Override
+    // @checkstyle ParameterNumberCheck (3 lines)
+    public void setObject(
+        final String name, final Object value, final SQLType type, final int scale
+    ) throws SQLException {
+        this.origin.setObject(name, value, type, scale);
+    }
+
+    @Override
+    public void setObject(
+        final String name, final Object value, final SQLType type
+    ) throws SQLException {
+        this.origin.setObject(name, value, type);
+    }
+
+    @Override
+    public void registerOutParameter(final int index, final SQLType type) throws SQLException {
+        this.origin.registerOutParameter(index, type);
+    }
+
+    @Override
+    public void registerOutParameter(
+        final int index, final SQLType type, final int scale
+    ) throws SQLException {
+        this.origin.registerOutParameter(index, type, scale);
+    }
+
+    @Override
+    public void registerOutParameter(
+        final int index, final SQLType type, final String tname
+    ) throws SQLException {
+        this.origin.registerOutParameter(index, type, tname);
+    }
+
+    @Override
+    public void registerOutParameter(final String name, final SQLType type) throws SQLException {
+        this.origin.registerOutParameter(name, type);
+    }
+
+    @Override
+    public void registerOutParameter(
+        final String name, final SQLType type, final int scale
+    ) throws SQLException {
+        this.origin.registerOutParameter(name, type, scale);
+    }
+
+    @Override
+    public void registerOutParameter(
+        final String name, final SQLType type, final String tname
+    ) throws SQLException {
+        this.origin.registerOutParameter(name, type, tname);
+    }
+}
@@ -44,6 +44,8 @@ import java.util.concurrent.Executor;
 
 /**
  * A connection wrapper.
+ * <p>Unwrapping gives the deepest object of the chain which is an instance
+ * of the class asked, so that wrappers can be reached too.</p>
  *
  * @since 0.1
  * @checkstyle DesignForExtensionCheck (500 lines)
@@ -66,12 +68,18 @@ public abstract class ConnectionWrap implements Connection {
 
     @Override
     public <T> T unwrap(final Class<T> iface) throws SQLException {
-        return this.origin.unwrap(iface);
+        final T result;
+        if (!this.origin.isWrapperFor(iface) && iface.isInstance(this)) {
+            result = iface.cast(this);
+        } else {
+            result = this.origin.unwrap(iface);
+        }
+        return result;
     }
 
     @Override
     public boolean isWrapperFor(final Class<?> iface) throws SQLException {
-        return this.origin.isWrapperFor(iface);
+        return iface.isInstance(this) || this.origin.isWrapperFor(iface);
     }
 
     @Override
@@ -0,0 +1,592 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.wrapper;
+
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.ClientInfoStatus;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.NClob;
+import java.sql.PreparedStatement;
+import java.sql.SQLClientInfoException;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.sql.Struct;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executor;
+import javax.sql.DataSource;
+
+/**
+ * A connection which acquires its physical connection at first use.
+ * <p>Auto-commit, read-only, transaction isolation, schema and catalog set
+ * before are recorded, then replayed on the physical connection when it is
+ * acquired, at the first statement, metadata call or savepoint. Commit and
+ * rollback before do nothing, since there is nothing to end.</p>
+ * <p>Override {@link #acquire(boolean)} to choose where the physical
+ * connection comes from.</p>
+ *
+ * @since 0.5
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ */
+@SuppressWarnings({"PMD.TooManyMethods", "PMD.ExcessivePublicCount", "PMD.GodClass"})
+public class LazyConnection implements Connection {
+
+    /**
+     * Data source to acquire the physical connection from.
+     */
+    private final DataSource source;
+
+    /**
+     * Physical connection, once acquired.
+     */
+    private Connection origin;
+
+    /**
+     * Auto-commit mode recorded.
+     */
+    private Boolean autocommit;
+
+    /**
+     * Read-only mode recorded.
+     */
+    private Boolean readonly;
+
+    /**
+     * Transaction isolation recorded.
+     */
+    private Integer isolation;
+
+    /**
+     * Schema recorded.
+     */
+    private String schema;
+
+    /**
+     * Catalog recorded.
+     */
+    private String catalog;
+
+    /**
+     * Closed before acquisition or not.
+     */
+    private boolean closed;
+
+    /**
+     * Ctor.
+     * @param source Data source to acquire the physical connection from
+     */
+    public LazyConnection(final DataSource source) {
+        this.source = source;
+    }
+
+    /**
+     * Tells whether the physical connection is acquired.
+     * @return True if acquired
+     */
+    public final boolean acquired() {
+        return this.origin != null;
+    }
+
+    @Override
+    public <T> T unwrap(final Class<T> iface) throws SQLException {
+        final T result;
+        if (iface.isInstance(this)) {
+            result = iface.cast(this);
+        } else {
+            result = this.physical().unwrap(iface);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean isWrapperFor(final Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || this.physical().isWrapperFor(iface);
+    }
+
+    @Override
+    public Statement createStatement() throws SQLException {
+        return this.physical().createStatement();
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(final String sql) throws SQLException {
+        return this.physical().prepareStatement(sql);
+    }
+
+    @Override
+    public CallableStatement prepareCall(final String sql) throws SQLException {
+        return this.physical().prepareCall(sql);
+    }
+
+    @Override
+    public String nativeSQL(final String sql) throws SQLException {
+        return this.physical().nativeSQL(sql);
+    }
+
+    @Override
+    public void setAutoCommit(final boolean autocommit) throws SQLException {
+        if (this.origin == null) {
+            this.open();
+            this.autocommit = autocommit;
+        } else {
+            this.origin.setAutoCommit(autocommit);
+        }
+    }
+
+    @Override
+    public boolean getAutoCommit() throws SQLException {
+        final boolean result;
+        if (this.origin == null) {
+            this.open();
+            if (this.autocommit == null) {
+                result = true;
+            } else {
+                result = this.autocommit;
+            }
+        } else {
+            result = this.origin.getAutoCommit();
+        }
+        return result;
+    }
+
+    @Override
+    public void commit() throws SQLException {
+        if (this.origin == null) {
+            this.open();
+        } else {
+            this.origin.commit();
+        }
+    }
+
+    @Override
+    public void rollback() throws SQLException {
+        if (this.origin == null) {
+            this.open();
+        } else {
+            this.origin.rollback();
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        this.closed = true;
+        if (this.origin != null) {
+            this.origin.close();
+        }
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        final boolean result;
+        if (this.origin == null) {
+            result = this.closed;
+        } else {
+            result = this.origin.isClosed();
+        }
+        return result;
+    }
+
+    @Override
+    public DatabaseMetaData getMetaData() throws SQLException {
+        return this.physical().getMetaData();
+    }
+
+    @Override
+    public void setReadOnly(final boolean readonly) throws SQLException {
+        if (this.origin == null) {
+            this.open();
+            this.readonly = readonly;
+        } else {
+            this.origin.setReadOnly(readonly);
+        }
+    }
+
+    @Override
+    public boolean isReadOnly() throws SQLException {
+        final boolean result;
+        if (this.origin == null) {
+            this.open();
+            if (this.readonly == null) {
+                result = false;
+            } else {
+                result = this.readonly;
+            }
+        } else {
+            result = this.origin.isReadOnly();
+        }
+        return result;
+    }
+
+    @Override
+    public void setCatalog(final String catalog) throws SQLException {
+        if (this.origin == null) {
+            this.open();
+            this.catalog = catalog;
+        } else {
+            this.origin.setCatalog(catalog);
+        }
+    }
+
+    @Override
+    public String getCatalog() throws SQLException {
+        final String result;
+        if (this.origin == null && this.catalog != null) {
+            result = this.catalog;
+        } else {
+            result = this.physical().getCatalog();
+        }
+        return result;
+    }
+
+    @Override
+    public void setTransactionIsolation(final int level) throws SQLException {
+        if (this.origin == null) {
+            this.open();
+            this.isolation = level;
+        } else {
+            this.origin.setTransactionIsolation(level);
+        }
+    }
+
+    @Override
+    public int getTransactionIsolation() throws SQLException {
+        final int result;
+        if (this.origin == null && this.isolation != null) {
+            result = this.isolation;
+        } else {
+            result = this.physical().getTransactionIsolation();
+        }
+        return result;
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        final SQLWarning result;
+        if (this.origin == null) {
+            this.open();
+            result = null;
+        } else {
+            result = this.origin.getWarnings();
+        }
+        return result;
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        if (this.origin == null) {
+            this.open();
+        } else {
+            this.origin.clearWarnings();
+        }
+    }
+
+    @Override
+    public Statement createStatement(final int rsetype, final int rsetc) throws SQLException {
+        return this.physical().createStatement(rsetype, rsetc);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final int rsetype, final int rsetc
+    ) throws SQLException {
+        return this.physical().prepareStatement(sql, rsetype, rsetc);
+    }
+
+    @Override
+    public CallableStatement prepareCall(
+        final String sql, final int rsetype, final int rsetc
+    ) throws SQLException {
+        return this.physical().prepareCall(sql, rsetype, rsetc);
+    }
+
+    @Override
+    public Map<String, Class<?>> getTypeMap() throws SQLException {
+        return this.physical().getTypeMap();
+    }
+
+    @Override
+    public void setTypeMap(final Map<String, Class<?>> map) throws SQLException {
+        this.physical().setTypeMap(map);
+    }
+
+    @Override
+    public void setHoldability(final int holdability) throws SQLException {
+        this.physical().setHoldability(holdability);
+    }
+
+    @Override
+    public int getHoldability() throws SQLException {
+        return this.physical().getHoldability();
+    }
+
+    @Override
+    public Savepoint setSavepoint() throws SQLException {
+        return this.physical().setSavepoint();
+    }
+
+    @Override
+    public Savepoint setSavepoint(final String name) throws SQLException {
+        return this.physical().setSavepoint(name);
+    }
+
+    @Override
+    public void rollback(final Savepoint savepoint) throws SQLException {
+        this.physical().rollback(savepoint);
+    }
+
+    @Override
+    public void releaseSavepoint(final Savepoint savepoint) throws SQLException {
+        this.physical().releaseSavepoint(savepoint);
+    }
+
+    @Override
+    public Statement createStatement(
+        final int rsetype, final int rsetc, final int rseth
+    ) throws SQLException {
+        return this.physical().createStatement(rsetype, rsetc, rseth);
+    }
+
+    @Override
+    // @checkstyle ParameterNumberCheck (3 lines)
+    public PreparedStatement prepareStatement(
+        final String sql, final int rsetype, final int rsetc, final int rseth
+    ) throws SQLException {
+        return this.physical().prepareStatement(sql, rsetype, rsetc, rseth);
+    }
+
+    @Override
+    // @checkstyle ParameterNumberCheck (3 lines)
+    public CallableStatement prepareCall(
+        final String sql, final int rsetype, final int rsetc, final int rseth
+    ) throws SQLException {
+        return this.physical().prepareCall(sql, rsetype, rsetc, rseth);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final int agkeys
+    ) throws SQLException {
+        return this.physical().prepareStatement(sql, agkeys);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final  String sql, final int[] icolumns
+    ) throws SQLException {
+        return this.physical().prepareStatement(sql, icolumns);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final String[] ncolumns
+    ) throws SQLException {
+        return this.physical().prepareStatement(sql, ncolumns);
+    }
+
+    @Override
+    public Clob createClob() throws SQLException {
+        return this.physical().createClob();
+    }
+
+    @Override
+    public Blob createBlob() throws SQLException {
+        return this.physical().createBlob();
+    }
+
+    @Override
+    public NClob createNClob() throws SQLException {
+        return this.physical().createNClob();
+    }
+
+    @Override
+    public SQLXML createSQLXML() throws SQLException {
+        return this.physical().createSQLXML();
+    }
+
+    @Override
+    public boolean isValid(final int timeout) throws SQLException {
+        return this.physical().isValid(timeout);
+    }
+
+    @Override
+    public void setClientInfo(
+        final String name, final String value
+    ) throws SQLClientInfoException {
+        this.client().setClientInfo(name, value);
+    }
+
+    @Override
+    public void setClientInfo(final Properties properties) throws SQLClientInfoException {
+        this.client().setClientInfo(properties);
+    }
+
+    @Override
+    public String getClientInfo(final String name) throws SQLException {
+        return this.physical().getClientInfo(name);
+    }
+
+    @Override
+    public Properties getClientInfo() throws SQLException {
+        return this.physical().getClientInfo();
+    }
+
+    @Override
+    public Array createArrayOf(final String tname, final Object[] elements) throws SQLException {
+        return this.physical().createArrayOf(tname, elements);
+    }
+
+    @Override
+    public Struct createStruct(
+        final String tname, final Object[] attributes
+    ) throws SQLException {
+        return this.physical().createStruct(tname, attributes);
+    }
+
+    @Override
+    public void setSchema(final String schema) throws SQLException {
+        if (this.origin == null) {
+            this.open();
+            this.schema = schema;
+        } else {
+            this.origin.setSchema(schema);
+        }
+    }
+
+    @Override
+    public String getSchema() throws SQLException {
+        final String result;
+        if (this.origin == null && this.schema != null) {
+            result = this.schema;
+        } else {
+            result = this.physical().getSchema();
+        }
+        return result;
+    }
+
+    @Override
+    public void abort(final Executor executor) throws SQLException {
+        this.closed = true;
+        if (this.origin != null) {
+            this.origin.abort(executor);
+        }
+    }
+
+    @Override
+    public void setNetworkTimeout(
+        final Executor executor, final int milliseconds
+    ) throws SQLException {
+        this.physical().setNetworkTimeout(executor, milliseconds);
+    }
+
+    @Override
+    public int getNetworkTimeout() throws SQLException {
+        return this.physical().getNetworkTimeout();
+    }
+
+    /**
+     * Acquires the physical connection.
+     * @param intent Read-only mode recorded
+     * @return Connection
+     * @throws SQLException If fails
+     */
+    protected Connection acquire(final boolean intent) throws SQLException {
+        return this.source.getConnection();
+    }
+
+    /**
+     * Physical connection, acquired at first call with recorded settings.
+     * @return Connection
+     * @throws SQLException If fails to acquire
+     */
+    private Connection physical() throws SQLException {
+        if (this.origin == null) {
+            this.open();
+            final Connection conn = this.acquire(Boolean.TRUE.equals(this.readonly));
+            try {
+                this.replay(conn);
+            } catch (final SQLException ex) {
+                conn.close();
+                throw ex;
+            }
+            this.origin = conn;
+        }
+        return this.origin;
+    }
+
+    /**
+     * Applies recorded settings on a physical connection.
+     * @param conn Connection
+     * @throws SQLException If fails
+     */
+    private void replay(final Connection conn) throws SQLException {
+        if (this.autocommit != null) {
+            conn.setAutoCommit(this.autocommit);
+        }
+        if (this.readonly != null) {
+            conn.setReadOnly(this.readonly);
+        }
+        if (this.isolation != null) {
+            conn.setTransactionIsolation(this.isolation);
+        }
+        if (this.catalog != null) {
+            conn.setCatalog(this.catalog);
+        }
+        if (this.schema != null) {
+            conn.setSchema(this.schema);
+        }
+    }
+
+    /**
+     * Physical connection, acquired at first call, to set client info.
+     * @return Connection
+     * @throws SQLClientInfoException If fails to acquire
+     */
+    private Connection client() throws SQLClientInfoException {
+        try {
+            return this.physical();
+        } catch (final SQLException ex) {
+            throw new SQLClientInfoException(
+                ex.getMessage(), Collections.<String, ClientInfoStatus>emptyMap(), ex
+            );
+        }
+    }
+
+    /**
+     * Checks that connection is not closed.
+     * @throws SQLException If closed
+     */
+    private void open() throws SQLException {
+        if (this.closed) {
+            throw new SQLException("Connection is closed", "08003");
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.wrapper;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+
+/**
+ * Data source whose connections acquire their physical connection at first use.
+ * <p>Put it above a pool, so that connections opened "just in case" don't
+ * hold a slot of the pool. Connections with user name and password are
+ * acquired at once.</p>
+ *
+ * @since 0.5
+ */
+public final class LazyDataSource extends DataSourceWrap {
+
+    /**
+     * Data source to acquire physical connections from.
+     */
+    private final DataSource origin;
+
+    /**
+     * Ctor.
+     * @param origin Data source to wrap
+     */
+    public LazyDataSource(final DataSource origin) {
+        super(origin);
+        this.origin = origin;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return new LazyConnection(this.origin);
+    }
+}
@@ -0,0 +1,398 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.wrapper;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLType;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+
+/**
+ * A prepared statement wrapper.
+ *
+ * @since 0.5
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ */
+@SuppressWarnings({"PMD.TooManyMethods", "PMD.ExcessivePublicCount"})
+public abstract class PreparedStatementWrap extends StatementWrap implements PreparedStatement {
+
+    /**
+     * Prepared statement wrapped.
+     */
+    private final PreparedStatement origin;
+
+    /**
+     * Ctor.
+     * @param origin Prepared statement wrapped
+     */
+    public PreparedStatementWrap(final PreparedStatement origin) {
+        super(origin);
+        this.origin = origin;
+    }
+
+    @Override
+    public ResultSet executeQuery() throws SQLException {
+        return this.origin.executeQuery();
+    }
+
+    @Override
+    public int executeUpdate() throws SQLException {
+        return this.origin.executeUpdate();
+    }
+
+    @Override
+    public void setNull(final int index, final int type) throws SQLException {
+        this.origin.setNull(index, type);
+    }
+
+    @Override
+    public void setBoolean(final int index, final boolean value) throws SQLException {
+        this.origin.setBoolean(index, value);
+    }
+
+    @Override
+    public void setByte(final int index, final byte value) throws SQLException {
+        this.origin.setByte(index, value);
+    }
+
+    @Override
+    public void setShort(final int index, final short value) throws SQLException {
+        this.origin.setShort(index, value);
+    }
+
+    @Override
+    public void setInt(final int index, final int value) throws SQLException {
+        this.origin.setInt(index, value);
+    }
+
+    @Override
+    public void setLong(final int index, final long value) throws SQLException {
+        this.origin.setLong(index, value);
+    }
+
+    @Override
+    public void setFloat(final int index, final float value) throws SQLException {
+        this.origin.setFloat(index, value);
+    }
+
+    @Override
+    public void setDouble(final int index, final double value) throws SQLException {
+        this.origin.setDouble(index, value);
+    }
+
+    @Override
+    public void setBigDecimal(final int index, final BigDecimal value) throws SQLException {
+        this.origin.setBigDecimal(index, value);
+    }
+
+    @Override
+    public void setString(final int index, final String value) throws SQLException {
+        this.origin.setString(index, value);
+    }
+
+    @Override
+    public void setBytes(final int index, final byte[] value) throws SQLException {
+        this.origin.setBytes(index, value);
+    }
+
+    @Override
+    public void setDate(final int index, final Date value) throws SQLException {
+        this.origin.setDate(index, value);
+    }
+
+    @Override
+    public void setTime(final int index, final Time value) throws SQLException {
+        this.origin.setTime(index, value);
+    }
+
+    @Override
+    public void setTimestamp(final int index, final Timestamp value) throws SQLException {
+        this.origin.setTimestamp(index, value);
+    }
+
+    @Override
+    public void setAsciiStream(
+        final int index, final InputStream stream, final int length
+    ) throws SQLException {
+        this.origin.setAsciiStream(index, stream, length);
+    }
+
+    @Override
+    @Deprecated
+    @SuppressWarnings("deprecation")
+    public void setUnicodeStream(
+        final int index, final InputStream stream, final int length
+    ) throws SQLException {
+        this.origin.setUnicodeStream(index, stream, length);
+    }
+
+    @Override
+    public void setBinaryStream(
+        final int index, final InputStream stream, final int length
+    ) throws SQLException {
+        this.origin.setBinaryStream(index, stream, length);
+    }
+
+    @Override
+    public void clearParameters() throws SQLException {
+        this.origin.clearParameters();
+    }
+
+    @Override
+    public void setObject(final int index, final Object value, final int type) throws SQLException {
+        this.origin.setObject(index, value, type);
+    }
+
+    @Override
+    public void setObject(final int index, final Object value) throws SQLException {
+        this.origin.setObject(index, value);
+    }
+
+    @Override
+    public boolean execute() throws SQLException {
+        return this.origin.execute();
+    }
+
+    @Override
+    public void addBatch() throws SQLException {
+        this.origin.addBatch();
+    }
+
+    @Override
+    public void setCharacterStream(
+        final int index, final Reader reader, final int length
+    ) throws SQLException {
+        this.origin.setCharacterStream(index, reader, length);
+    }
+
+    @Override
+    public void setRef(final int index, final Ref value) throws SQLException {
+        this.origin.setRef(index, value);
+    }
+
+    @Override
+    public void setBlob(final int index, final Blob value) throws SQLException {
+        this.origin.setBlob(index, value);
+    }
+
+    @Override
+    public void setClob(final int index, final Clob value) throws SQLException {
+        this.origin.setClob(index, value);
+    }
+
+    @Override
+    public void setArray(final int index, final Array value) throws SQLException {
+        this.origin.setArray(index, value);
+    }
+
+    @Override
+    public ResultSetMetaData getMetaData() throws SQLException {
+        return this.origin.getMetaData();
+    }
+
+    @Override
+    public void setDate(
+        final int index, final Date value, final Calendar calendar
+    ) throws SQLException {
+        this.origin.setDate(index, value, calendar);
+    }
+
+    @Override
+    public void setTime(
+        final int index, final Time value, final Calendar calendar
+    ) throws SQLException {
+        this.origin.setTime(index, value, calendar);
+    }
+
+    @Override
+    public void setTimestamp(
+        final int index, final Timestamp value, final Calendar calendar
+    ) throws SQLException {
+        this.origin.setTimestamp(index, value, calendar);
+    }
+
+    @Override
+    public void setNull(final int index, final int type, final String tname) throws SQLException {
+        this.origin.setNull(index, type, tname);
+    }
+
+    @Override
+    public void setURL(final int index, final URL value) throws SQLException {
+        this.origin.setURL(index, value);
+    }
+
+    @Override
+    public ParameterMetaData getParameterMetaData() throws SQLException {
+        return this.origin.getParameterMetaData();
+    }
+
+    @Override
+    public void setRowId(final int index, final RowId value) throws SQLException {
+        this.origin.setRowId(index, value);
+    }
+
+    @Override
+    public void setNString(final int index, final String value) throws SQLException {
+        this.origin.setNString(index, value);
+    }
+
+    @Override
+    public void setNCharacterStream(
+        final int index, final Reader reader, final long length
+    ) throws SQLException {
+        this.origin.setNCharacterStream(index, reader, length);
+    }
+
+    @Override
+    public void setNClob(final int index, final NClob value) throws SQLException {
+        this.origin.setNClob(index, value);
+    }
+
+    @Override
+    public void setClob(
+        final int index, final Reader reader, final long length
+    ) throws SQLException {
+        this.origin.setClob(index, reader, length);
+    }
+
+    @Override
+    public void setBlob(
+        final int index, final InputStream stream, final long length
+    ) throws SQLException {
+        this.origin.setBlob(index, stream, length);
+    }
+
+    @Override
+    public void setNClob(
+        final int index, final Reader reader, final long length
+    ) throws SQLException {
+        this.origin.setNClob(index, reader, length);
+    }
+
+    @Override
+    public void setSQLXML(final int index, final SQLXML value) throws SQLException {
+        this.origin.setSQLXML(index, value);
+    }
+
+    @Override
+    // @checkstyle ParameterNumberCheck (3 lines)
+    public void setObject(
+        final int index, final Object value, final int type, final int scale
+    ) throws SQLException {
+        this.origin.setObject(index, value, type, scale);
+    }
+
+    @Override
+    public void setAsciiStream(
+        final int index, final InputStream stream, final long length
+    ) throws SQLException {
+        this.origin.setAsciiStream(index, stream, length);
+    }
+
+    @Override
+    public void setBinaryStream(
+        final int index, final InputStream stream, final long length
+    ) throws SQLException {
+        this.origin.setBinaryStream(index, stream, length);
+    }
+
+    @Override
+    public void setCharacterStream(
+        final int index, final Reader reader, final long length
+    ) throws SQLException {
+        this.origin.setCharacterStream(index, reader, length);
+    }
+
+    @Override
+    public void setAsciiStream(final int index, final InputStream stream) throws SQLException {
+        this.origin.setAsciiStream(index, stream);
+    }
+
+    @Override
+    public void setBinaryStream(final int index, final InputStream stream) throws SQLException {
+        this.origin.setBinaryStream(index, stream);
+    }
+
+    @Override
+    public void setCharacterStream(final int index, final Reader reader) throws SQLException {
+        this.origin.setCharacterStream(index, reader);
+    }
+
+    @Override
+    public void setNCharacterStream(final int index, final Reader reader) throws SQLException {
+        this.origin.setNCharacterStream(index, reader);
+    }
+
+    @Override
+    public void setClob(final int index, final Reader reader) throws SQLException {
+        this.origin.setClob(index, reader);
+    }
+
+    @Override
+    public void setBlob(final int index, final InputStream stream) throws SQLException {
+        this.origin.setBlob(index, stream);
+    }
+
+    @Override
+    public void setNClob(final int index, final Reader reader) throws SQLException {
+        this.origin.setNClob(index, reader);
+    }
+
+    @Override
+    // @checkstyle ParameterNumberCheck (3 lines)
+    public void setObject(
+        final int index, final Object value, final SQLType type, final int scale
+    ) throws SQLException {
+        this.origin.setObject(index, value, type, scale);
+    }
+
+    @Override
+    public void setObject(
+        final int index, final Object value, final SQLType type
+    ) throws SQLException {
+        this.origin.setObject(index, value, type);
+    }
+
+    @Override
+    public long executeLargeUpdate() throws SQLException {
+        return this.origin.executeLargeUpdate();
+    }
+}
@@ -0,0 +1,426 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.wrapper;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.concurrent.Executor;
+
+/**
+ * Connection which only forwards real changes of its state to the driver.
+ * <p>Last known auto-commit, read-only, transaction isolation, schema,
+ * catalog and network timeout are cached, so that setting them again to
+ * the same value, or reading them, costs no driver round-trip.</p>
+ * <p>All values are forgotten when the connection or one of its statements
+ * fails, since the driver may have reset them. Schema and catalog are
+ * forgotten on rollback, since some databases undo a change of them
+ * (PostgreSQL's {@code SET search_path}). Once the connection is unwrapped
+ * to another class than its own, nothing is cached anymore, since its
+ * state may then change behind it at any time. State changed by a
+ * successful SQL statement is not seen.</p>
+ *
+ * @since 0.5
+ */
+@SuppressWarnings({"PMD.TooManyMethods", "PMD.ExcessivePublicCount"})
+public final class StatefulConnection extends ConnectionWrap {
+
+    /**
+     * Auto-commit mode known.
+     */
+    private Boolean autocommit;
+
+    /**
+     * Read-only mode known.
+     */
+    private Boolean readonly;
+
+    /**
+     * Transaction isolation known.
+     */
+    private Integer isolation;
+
+    /**
+     * Schema known.
+     */
+    private String schema;
+
+    /**
+     * Catalog known.
+     */
+    private String catalog;
+
+    /**
+     * Network timeout known, in milliseconds.
+     */
+    private Integer timeout;
+
+    /**
+     * Whether the connection escaped by unwrapping.
+     */
+    private volatile boolean escaped;
+
+    /**
+     * Ctor.
+     * @param origin Connection to wrap
+     */
+    public StatefulConnection(final Connection origin) {
+        super(origin);
+    }
+
+    @Override
+    public <T> T unwrap(final Class<T> iface) throws SQLException {
+        final T result;
+        if (iface.isInstance(this)) {
+            result = iface.cast(this);
+        } else {
+            this.escaped = true;
+            this.forget();
+            result = super.unwrap(iface);
+        }
+        return result;
+    }
+
+    @Override
+    public Statement createStatement() throws SQLException {
+        return new StatefulStatement(super.createStatement(), this);
+    }
+
+    @Override
+    public Statement createStatement(final int rsetype, final int rsetc) throws SQLException {
+        return new StatefulStatement(super.createStatement(rsetype, rsetc), this);
+    }
+
+    @Override
+    public Statement createStatement(
+        final int rsetype, final int rsetc, final int rseth
+    ) throws SQLException {
+        return new StatefulStatement(super.createStatement(rsetype, rsetc, rseth), this);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(final String sql) throws SQLException {
+        return new StatefulPreparedStatement(super.prepareStatement(sql), this);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final int rsetype, final int rsetc
+    ) throws SQLException {
+        return new StatefulPreparedStatement(
+            super.prepareStatement(sql, rsetype, rsetc), this
+        );
+    }
+
+    @Override
+    // @checkstyle ParameterNumberCheck (3 lines)
+    public PreparedStatement prepareStatement(
+        final String sql, final int rsetype, final int rsetc, final int rseth
+    ) throws SQLException {
+        return new StatefulPreparedStatement(
+            super.prepareStatement(sql, rsetype, rsetc, rseth), this
+        );
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final int agkeys
+    ) throws SQLException {
+        return new StatefulPreparedStatement(super.prepareStatement(sql, agkeys), this);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final int[] icolumns
+    ) throws SQLException {
+        return new StatefulPreparedStatement(super.prepareStatement(sql, icolumns), this);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(
+        final String sql, final String[] ncolumns
+    ) throws SQLException {
+        return new StatefulPreparedStatement(super.prepareStatement(sql, ncolumns), this);
+    }
+
+    @Override
+    public CallableStatement prepareCall(final String sql) throws SQLException {
+        return new StatefulCallableStatement(super.prepareCall(sql), this);
+    }
+
+    @Override
+    public CallableStatement prepareCall(
+        final String sql, final int rsetype, final int rsetc
+    ) throws SQLException {
+        return new StatefulCallableStatement(
+            super.prepareCall(sql, rsetype, rsetc), this
+        );
+    }
+
+    @Override
+    // @checkstyle ParameterNumberCheck (3 lines)
+    public CallableStatement prepareCall(
+        final String sql, final int rsetype, final int rsetc, final int rseth
+    ) throws SQLException {
+        return new StatefulCallableStatement(
+            super.prepareCall(sql, rsetype, rsetc, rseth), this
+        );
+    }
+
+    @Override
+    public void commit() throws SQLException {
+        this.guarded(
+            () -> {
+                super.commit();
+                return null;
+            }
+        );
+    }
+
+    @Override
+    public void rollback() throws SQLException {
+        this.schema = null;
+        this.catalog = null;
+        this.guarded(
+            () -> {
+                super.rollback();
+                return null;
+            }
+        );
+    }
+
+    @Override
+    public void rollback(final Savepoint savepoint) throws SQLException {
+        this.schema = null;
+        this.catalog = null;
+        this.guarded(
+            () -> {
+                super.rollback(savepoint);
+                return null;
+            }
+        );
+    }
+
+    @Override
+    public Savepoint setSavepoint() throws SQLException {
+        return this.guarded(super::setSavepoint);
+    }
+
+    @Override
+    public Savepoint setSavepoint(final String name) throws SQLException {
+        return this.guarded(() -> super.setSavepoint(name));
+    }
+
+    @Override
+    public void releaseSavepoint(final Savepoint savepoint) throws SQLException {
+        this.guarded(
+            () -> {
+                super.releaseSavepoint(savepoint);
+                return null;
+            }
+        );
+    }
+
+    @Override
+    public void setAutoCommit(final boolean auto) throws SQLException {
+        this.trusted();
+        if (this.autocommit == null || this.autocommit != auto) {
+            this.guarded(
+                () -> {
+                    super.setAutoCommit(auto);
+                    return null;
+                }
+            );
+            this.autocommit = auto;
+        }
+    }
+
+    @Override
+    public boolean getAutoCommit() throws SQLException {
+        this.trusted();
+        if (this.autocommit == null) {
+            this.autocommit = this.guarded(super::getAutoCommit);
+        }
+        return this.autocommit;
+    }
+
+    @Override
+    public void setReadOnly(final boolean readonly) throws SQLException {
+        this.trusted();
+        if (this.readonly == null || this.readonly != readonly) {
+            this.guarded(
+                () -> {
+                    super.setReadOnly(readonly);
+                    return null;
+                }
+            );
+            this.readonly = readonly;
+        }
+    }
+
+    @Override
+    public boolean isReadOnly() throws SQLException {
+        this.trusted();
+        if (this.readonly == null) {
+            this.readonly = this.guarded(super::isReadOnly);
+        }
+        return this.readonly;
+    }
+
+    @Override
+    public void setTransactionIsolation(final int level) throws SQLException {
+        this.trusted();
+        if (this.isolation == null || this.isolation != level) {
+            this.guarded(
+                () -> {
+                    super.setTransactionIsolation(level);
+                    return null;
+                }
+            );
+            this.isolation = level;
+        }
+    }
+
+    @Override
+    public int getTransactionIsolation() throws SQLException {
+        this.trusted();
+        if (this.isolation == null) {
+            this.isolation = this.guarded(super::getTransactionIsolation);
+        }
+        return this.isolation;
+    }
+
+    @Override
+    public void setSchema(final String schema) throws SQLException {
+        this.trusted();
+        if (this.schema == null || !this.schema.equals(schema)) {
+            this.guarded(
+                () -> {
+                    super.setSchema(schema);
+                    return null;
+                }
+            );
+            this.schema = schema;
+        }
+    }
+
+    @Override
+    public String getSchema() throws SQLException {
+        this.trusted();
+        if (this.schema == null) {
+            this.schema = this.guarded(super::getSchema);
+        }
+        return this.schema;
+    }
+
+    @Override
+    public void setCatalog(final String catalog) throws SQLException {
+        this.trusted();
+        if (this.catalog == null || !this.catalog.equals(catalog)) {
+            this.guarded(
+                () -> {
+                    super.setCatalog(catalog);
+                    return null;
+                }
+            );
+            this.catalog = catalog;
+        }
+    }
+
+    @Override
+    public String getCatalog() throws SQLException {
+        this.trusted();
+        if (this.catalog == null) {
+            this.catalog = this.guarded(super::getCatalog);
+        }
+        return this.catalog;
+    }
+
+    @Override
+    public void setNetworkTimeout(
+        final Executor executor, final int milliseconds
+    ) throws SQLException {
+        this.trusted();
+        if (this.timeout == null || this.timeout != milliseconds) {
+            this.guarded(
+                () -> {
+                    super.setNetworkTimeout(executor, milliseconds);
+                    return null;
+                }
+            );
+            this.timeout = milliseconds;
+        }
+    }
+
+    @Override
+    public int getNetworkTimeout() throws SQLException {
+        this.trusted();
+        if (this.timeout == null) {
+            this.timeout = this.guarded(super::getNetworkTimeout);
+        }
+        return this.timeout;
+    }
+
+    /**
+     * Calls the connection or one of its statements, forgetting all known
+     * values if it fails.
+     * @param call Call
+     * @param <T> Type of result
+     * @return Result
+     * @throws SQLException If fails
+     */
+    <T> T guarded(final Call<T> call) throws SQLException {
+        try {
+            return call.run();
+        } catch (final SQLException ex) {
+            this.forget();
+            throw ex;
+        }
+    }
+
+    /**
+     * Forgets all known values if the connection escaped, so that they are
+     * read or set again at each call.
+     */
+    private void trusted() {
+        if (this.escaped) {
+            this.forget();
+        }
+    }
+
+    /**
+     * Forgets all known values.
+     */
+    private void forget() {
+        this.autocommit = null;
+        this.readonly = null;
+        this.isolation = null;
+        this.schema = null;
+        this.catalog = null;
+        this.timeout = null;
+    }
+}
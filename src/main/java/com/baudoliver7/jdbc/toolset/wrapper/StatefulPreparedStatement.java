@@ -0,0 +1,101 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.wrapper;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Prepared statement of a {@link StatefulConnection}, which makes it forget its
+ * state when an execution fails.
+ *
+ * @since 0.5
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+final class StatefulPreparedStatement extends PreparedStatementWrap {
+
+    /**
+     * Connection.
+     */
+    private final StatefulConnection connection;
+
+    /**
+     * Ctor.
+     * @param origin Prepared statement
+     * @param connection Connection
+     */
+    StatefulPreparedStatement(final PreparedStatement origin, final StatefulConnection connection) {
+        super(origin);
+        this.connection = connection;
+    }
+
+    @Override
+    public Connection getConnection() {
+        return this.connection;
+    }
+
+    @Override
+    public ResultSet executeQuery() throws SQLException {
+        return this.guarded(super::executeQuery);
+    }
+
+    @Override
+    public int executeUpdate() throws SQLException {
+        return this.guarded(super::executeUpdate);
+    }
+
+    @Override
+    public boolean execute() throws SQLException {
+        return this.guarded(super::execute);
+    }
+
+    @Override
+    public long executeLargeUpdate() throws SQLException {
+        return this.guarded(super::executeLargeUpdate);
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        return this.guarded(super::executeBatch);
+    }
+
+    @Override
+    public long[] executeLargeBatch() throws SQLException {
+        return this.guarded(super::executeLargeBatch);
+    }
+
+    /**
+     * Executes, forgetting the state known by the connection on error.
+     * @param call Execution
+     * @param <T> Type of result
+     * @return Result
+     * @throws SQLException If fails
+     */
+    private <T> T guarded(final Call<T> call) throws SQLException {
+        return this.connection.guarded(call);
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.wrapper;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Statement of a {@link StatefulConnection}, which makes it forget its
+ * state when an execution fails.
+ *
+ * @since 0.5
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+final class StatefulStatement extends StatementWrap {
+
+    /**
+     * Connection.
+     */
+    private final StatefulConnection connection;
+
+    /**
+     * Ctor.
+     * @param origin Statement
+     * @param connection Connection
+     */
+    StatefulStatement(final Statement origin, final StatefulConnection connection) {
+        super(origin);
+        this.connection = connection;
+    }
+
+    @Override
+    public Connection getConnection() {
+        return this.connection;
+    }
+
+    @Override
+    public ResultSet executeQuery(final String sql) throws SQLException {
+        return this.guarded(() -> super.executeQuery(sql));
+    }
+
+    @Override
+    public int executeUpdate(final String sql) throws SQLException {
+        return this.guarded(() -> super.executeUpdate(sql));
+    }
+
+    @Override
+    public int executeUpdate(final String sql, final int agkeys) throws SQLException {
+        return this.guarded(() -> super.executeUpdate(sql, agkeys));
+    }
+
+    @Override
+    public int executeUpdate(final String sql, final int[] icolumns) throws SQLException {
+        return this.guarded(() -> super.executeUpdate(sql, icolumns));
+    }
+
+    @Override
+    public int executeUpdate(final String sql, final String[] ncolumns) throws SQLException {
+        return this.guarded(() -> super.executeUpdate(sql, ncolumns));
+    }
+
+    @Override
+    public boolean execute(final String sql) throws SQLException {
+        return this.guarded(() -> super.execute(sql));
+    }
+
+    @Override
+    public boolean execute(final String sql, final int agkeys) throws SQLException {
+        return this.guarded(() -> super.execute(sql, agkeys));
+    }
+
+    @Override
+    public boolean execute(final String sql, final int[] icolumns) throws SQLException {
+        return this.guarded(() -> super.execute(sql, icolumns));
+    }
+
+    @Override
+    public boolean execute(final String sql, final String[] ncolumns) throws SQLException {
+        return this.guarded(() -> super.execute(sql, ncolumns));
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        return this.guarded(super::executeBatch);
+    }
+
+    @Override
+    public long[] executeLargeBatch() throws SQLException {
+        return this.guarded(super::executeLargeBatch);
+    }
+
+    @Override
+    public long executeLargeUpdate(final String sql) throws SQLException {
+        return this.guarded(() -> super.executeLargeUpdate(sql));
+    }
+
+    @Override
+    public long executeLargeUpdate(final String sql, final int agkeys) throws SQLException {
+        return this.guarded(() -> super.executeLargeUpdate(sql, agkeys));
+    }
+
+    @Override
+    public long executeLargeUpdate(
+        final String sql, final int[] icolumns
+    ) throws SQLException {
+        return this.guarded(() -> super.executeLargeUpdate(sql, icolumns));
+    }
+
+    @Override
+    public long executeLargeUpdate(
+        final String sql, final String[] ncolumns
+    ) throws SQLException {
+        return this.guarded(() -> super.executeLargeUpdate(sql, ncolumns));
+    }
+
+    /**
+     * Executes, forgetting the state known by the connection on error.
+     * @param call Execution
+     * @param <T> Type of result
+     * @return Result
+     * @throws SQLException If fails
+     */
+    private <T> T guarded(final Call<T> call) throws SQLException {
+        return this.connection.guarded(call);
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.async;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link AsyncDataSource}.
+ *
+ * @since 0.5
+ */
+final class AsyncDataSourceTest {
+
+    /**
+     * Long query.
+     */
+    private static final String LONG = String.join(
+        " ",
+        "WITH RECURSIVE r(n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM r WHERE n < 100000000)",
+        "SELECT COUNT(*) FROM r"
+    );
+
+    /**
+     * H2 data source.
+     */
+    private JdbcDataSource origin;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        this.origin = new JdbcDataSource();
+        this.origin.setURL("jdbc:h2:mem:async;DB_CLOSE_DELAY=-1");
+        try (Connection conn = this.origin.getConnection()) {
+            conn.createStatement().execute(
+                "CREATE TABLE IF NOT EXISTS t1 AS SELECT X AS id FROM SYSTEM_RANGE(1, 10)"
+            );
+        }
+    }
+
+    @Test
+    void runsQueriesAsynchronously() throws Exception {
+        MatcherAssert.assertThat(
+            new AsyncDataSource(this.origin, 2).query(
+                "SELECT id FROM t1 WHERE id > ? ORDER BY id", rset -> rset.getInt(1), 7
+            ).get(5, TimeUnit.SECONDS),
+            Matchers.contains(8, 9, 10)
+        );
+    }
+
+    @Test
+    void boundsTasksHoldingConnection() throws Exception {
+        final AsyncDataSource src = new AsyncDataSource(this.origin, 2);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger max = new AtomicInteger();
+        final List<CompletableFuture<Integer>> futures = new ArrayList<>(10);
+        for (int idx = 0; idx < 10; ++idx) {
+            futures.add(
+                src.submit(
+                    conn -> {
+                        max.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        try {
+                            Thread.sleep(20L);
+                        } catch (final InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                        }
+                        running.decrementAndGet();
+                        return 1;
+                    }
+                )
+            );
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+            .get(5, TimeUnit.SECONDS);
+        MatcherAssert.assertThat(max.get(), Matchers.is(2));
+    }
+
+    @Test
+    void rejectsTasksBeyondBacklog() throws Exception {
+        final ExecutorService pool = Executors.newCachedThreadPool();
+        try {
+            final AtomicInteger handed = new AtomicInteger();
+            final Executor exec = job -> {
+                handed.incrementAndGet();
+                pool.execute(job);
+            };
+            final AsyncDataSource src = new AsyncDataSource(this.origin, 1, 1, exec);
+            final CountDownLatch latch = new CountDownLatch(1);
+            final CompletableFuture<Integer> first = src.submit(
+                conn -> {
+                    try {
+                        latch.await();
+                    } catch (final InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return 1;
+                }
+            );
+            final CompletableFuture<Integer> second = src.submit(conn -> 2);
+            final ExecutionException err = Assertions.assertThrows(
+                ExecutionException.class,
+                () -> src.submit(conn -> 3).get(5, TimeUnit.SECONDS)
+            );
+            MatcherAssert.assertThat(
+                err.getCause(), Matchers.instanceOf(RejectedExecutionException.class)
+            );
+            MatcherAssert.assertThat(
+                "Waiting task should not be handed to executor",
+                handed.get(),
+                Matchers.is(1)
+            );
+            latch.countDown();
+            MatcherAssert.assertThat(first.get(5, TimeUnit.SECONDS), Matchers.is(1));
+            MatcherAssert.assertThat(second.get(5, TimeUnit.SECONDS), Matchers.is(2));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void completesFutureOnError() {
+        final CompletableFuture<Integer> future = new AsyncDataSource(this.origin, 1).submit(
+            conn -> {
+                throw new AssertionError("boom");
+            }
+        );
+        final ExecutionException err = Assertions.assertThrows(
+            ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS)
+        );
+        MatcherAssert.assertThat(err.getCause(), Matchers.instanceOf(AssertionError.class));
+    }
+
+    @Test
+    void cancelsStatementsOnTimeout() throws Exception {
+        final AsyncDataSource src = new AsyncDataSource(this.origin, 1);
+        final CompletableFuture<Integer> slow = src.submit(
+            conn -> {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.executeQuery(AsyncDataSourceTest.LONG);
+                    return 1;
+                }
+            },
+            Duration.ofMillis(100L)
+        );
+        final ExecutionException err = Assertions.assertThrows(
+            ExecutionException.class, () -> slow.get(5, TimeUnit.SECONDS)
+        );
+        MatcherAssert.assertThat(
+            err.getCause(), Matchers.instanceOf(TimeoutException.class)
+        );
+        MatcherAssert.assertThat(
+            "Permit should be given back once statement is cancelled",
+            src.query("SELECT COUNT(*) FROM t1", rset -> rset.getInt(1))
+                .get(5, TimeUnit.SECONDS),
+            Matchers.contains(10)
+        );
+    }
+}
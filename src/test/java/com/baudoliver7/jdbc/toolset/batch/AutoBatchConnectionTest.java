@@ -0,0 +1,182 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.batch;
+
+import com.baudoliver7.jdbc.toolset.lockable.LocalLockedDataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link AutoBatchConnection}.
+ *
+ * @since 0.5
+ */
+final class AutoBatchConnectionTest {
+
+    /**
+     * H2 data source.
+     */
+    private JdbcDataSource origin;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        this.origin = new JdbcDataSource();
+        this.origin.setURL("jdbc:h2:mem:batch;DB_CLOSE_DELAY=-1");
+        try (Connection conn = this.origin.getConnection()) {
+            conn.createStatement().execute("CREATE TABLE IF NOT EXISTS t1 (id INT)");
+            conn.createStatement().execute("DELETE FROM t1");
+        }
+    }
+
+    @Test
+    void reportsUpdateCountsOnFlush() throws SQLException {
+        try (AutoBatchConnection conn = new AutoBatchConnection(this.origin.getConnection(), 2)) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO t1 VALUES (?)")) {
+                for (int idx = 0; idx < 3; ++idx) {
+                    stmt.setInt(1, idx);
+                    MatcherAssert.assertThat(
+                        stmt.executeUpdate(),
+                        Matchers.is(Statement.SUCCESS_NO_INFO)
+                    );
+                }
+            }
+            MatcherAssert.assertThat(conn.flush(), Matchers.is(new int[] {1, 1, 1}));
+            conn.rollback();
+        }
+    }
+
+    @Test
+    void sendsBufferedUpdatesBeforeRead() throws SQLException {
+        try (AutoBatchConnection conn = new AutoBatchConnection(this.origin.getConnection())) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO t1 VALUES (?)")) {
+                stmt.setInt(1, 1);
+                stmt.executeUpdate();
+                stmt.setInt(1, 2);
+                stmt.executeUpdate();
+            }
+            try (ResultSet rset = conn.createStatement().executeQuery("SELECT COUNT(*) FROM t1")) {
+                rset.next();
+                MatcherAssert.assertThat(rset.getInt(1), Matchers.is(2));
+            }
+            conn.rollback();
+        }
+    }
+
+    @Test
+    void sendsBufferedUpdatesOnCommitOfUnitOfWork() throws SQLException {
+        final LocalLockedDataSource src = new LocalLockedDataSource(
+            new AutoBatchDataSource(this.origin, 10)
+        );
+        try {
+            try (
+                Connection conn = src.getConnection();
+                PreparedStatement stmt = conn.prepareStatement("INSERT INTO t1 VALUES (?)")
+            ) {
+                for (int idx = 0; idx < 5; ++idx) {
+                    stmt.setInt(1, idx);
+                    stmt.executeUpdate();
+                }
+                conn.commit();
+            }
+            MatcherAssert.assertThat(this.rows(), Matchers.is(0));
+            src.commit();
+        } finally {
+            src.release();
+        }
+        MatcherAssert.assertThat(this.rows(), Matchers.is(5));
+    }
+
+    @Test
+    void reportsUpdateCountsThroughUnitOfWork() throws SQLException {
+        final LocalLockedDataSource src = new LocalLockedDataSource(
+            new AutoBatchDataSource(this.origin, 2)
+        );
+        try (
+            Connection conn = src.getConnection();
+            PreparedStatement stmt = conn.prepareStatement("INSERT INTO t1 VALUES (?)")
+        ) {
+            for (int idx = 0; idx < 3; ++idx) {
+                stmt.setInt(1, idx);
+                stmt.executeUpdate();
+            }
+            MatcherAssert.assertThat(
+                conn.unwrap(AutoBatchConnection.class).flush(),
+                Matchers.is(new int[] {1, 1, 1})
+            );
+            stmt.setInt(1, 3);
+            stmt.executeUpdate();
+            src.commit();
+            MatcherAssert.assertThat(
+                "Update counts of statement should survive commit",
+                stmt.unwrap(UpdateCounts.class).updateCounts(),
+                Matchers.is(new int[] {1, 1, 1, 1})
+            );
+            MatcherAssert.assertThat(
+                conn.unwrap(Connection.class),
+                Matchers.not(Matchers.instanceOf(AutoBatchConnection.class))
+            );
+        } finally {
+            src.release();
+        }
+        MatcherAssert.assertThat(this.rows(), Matchers.is(4));
+    }
+
+    @Test
+    void dropsBufferedUpdatesOnRollback() throws SQLException {
+        try (AutoBatchConnection conn = new AutoBatchConnection(this.origin.getConnection())) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO t1 VALUES (1)")) {
+                stmt.executeUpdate();
+                conn.rollback();
+            }
+            conn.commit();
+        }
+        MatcherAssert.assertThat(this.rows(), Matchers.is(0));
+    }
+
+    /**
+     * Counts rows of the test table.
+     * @return Number of rows
+     * @throws SQLException If fails
+     */
+    private int rows() throws SQLException {
+        try (
+            Connection conn = this.origin.getConnection();
+            ResultSet rset = conn.createStatement().executeQuery("SELECT COUNT(*) FROM t1")
+        ) {
+            rset.next();
+            return rset.getInt(1);
+        }
+    }
+}
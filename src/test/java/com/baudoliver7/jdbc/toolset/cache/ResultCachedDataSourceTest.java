@@ -0,0 +1,209 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.cache;
+
+import com.baudoliver7.jdbc.toolset.lockable.LocalLockedDataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link ResultCachedDataSource}.
+ *
+ * @since 0.5
+ */
+final class ResultCachedDataSourceTest {
+
+    /**
+     * Whitelisted query.
+     */
+    private static final String QUERY = "SELECT name FROM country WHERE code = ?";
+
+    /**
+     * Whitelisted query reading two tables of a comma join.
+     */
+    private static final String JOINED = String.join(
+        " ",
+        "SELECT k.name FROM country c, currency k",
+        "WHERE k.country = c.code AND c.code = ?"
+    );
+
+    /**
+     * H2 data source.
+     */
+    private JdbcDataSource origin;
+
+    /**
+     * Data source with result cache.
+     */
+    private DataSource cached;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        this.origin = new JdbcDataSource();
+        this.origin.setURL("jdbc:h2:mem:results;DB_CLOSE_DELAY=-1");
+        try (Connection conn = this.origin.getConnection()) {
+            conn.createStatement().execute(
+                "CREATE TABLE IF NOT EXISTS country (code CHAR(2), name VARCHAR(20))"
+            );
+            conn.createStatement().execute("DELETE FROM country");
+            conn.createStatement().execute("INSERT INTO country VALUES ('CI', 'Ivory Coast')");
+            conn.createStatement().execute(
+                "CREATE TABLE IF NOT EXISTS currency (country CHAR(2), name VARCHAR(20))"
+            );
+            conn.createStatement().execute("DELETE FROM currency");
+            conn.createStatement().execute("INSERT INTO currency VALUES ('CI', 'CFA franc')");
+        }
+        this.cached = new ResultCachedDataSource(
+            this.origin, new ResultCache(16, Duration.ofMinutes(1L)),
+            ResultCachedDataSourceTest.QUERY, ResultCachedDataSourceTest.JOINED
+        );
+    }
+
+    @Test
+    void invalidatesResultsOfTableWritten() throws SQLException {
+        MatcherAssert.assertThat(this.name(), Matchers.is("Ivory Coast"));
+        this.update(this.origin, "Cote d'Ivoire");
+        MatcherAssert.assertThat(
+            "Result should be cached", this.name(), Matchers.is("Ivory Coast")
+        );
+        this.update(this.cached, "Cote d'Ivoire");
+        MatcherAssert.assertThat(this.name(), Matchers.is("Cote d'Ivoire"));
+    }
+
+    @Test
+    void servesExecuteThenResultSetFromCache() throws SQLException {
+        MatcherAssert.assertThat(this.executed(), Matchers.is("Ivory Coast"));
+        this.update(this.origin, "Cote d'Ivoire");
+        MatcherAssert.assertThat(
+            "Result should be cached", this.executed(), Matchers.is("Ivory Coast")
+        );
+        MatcherAssert.assertThat(
+            "Result should be shared with executeQuery", this.name(), Matchers.is("Ivory Coast")
+        );
+    }
+
+    @Test
+    void invalidatesOnlyOnRealCommit() throws SQLException {
+        MatcherAssert.assertThat(this.name(), Matchers.is("Ivory Coast"));
+        final LocalLockedDataSource uds = new LocalLockedDataSource(this.cached);
+        try {
+            try (Connection conn = uds.getConnection()) {
+                this.update(uds, "Cote d'Ivoire");
+                conn.commit();
+            }
+            MatcherAssert.assertThat(this.name(), Matchers.is("Ivory Coast"));
+            uds.commit();
+        } finally {
+            uds.release();
+        }
+        MatcherAssert.assertThat(this.name(), Matchers.is("Cote d'Ivoire"));
+    }
+
+    @Test
+    void invalidatesResultsOfEveryTableOfCommaJoin() throws SQLException {
+        MatcherAssert.assertThat(this.currency(), Matchers.is("CFA franc"));
+        try (Connection conn = this.cached.getConnection()) {
+            conn.createStatement().executeUpdate("UPDATE currency SET name = 'XOF'");
+        }
+        MatcherAssert.assertThat(this.currency(), Matchers.is("XOF"));
+    }
+
+    /**
+     * Name of country CI, read through cache as jOOQ reads results.
+     * @return Name
+     * @throws SQLException If fails
+     */
+    private String executed() throws SQLException {
+        try (Connection conn = this.cached.getConnection();
+            PreparedStatement stmt = conn.prepareStatement(ResultCachedDataSourceTest.QUERY)) {
+            stmt.setString(1, "CI");
+            MatcherAssert.assertThat(stmt.execute(), Matchers.is(true));
+            final String name;
+            try (ResultSet rset = stmt.getResultSet()) {
+                rset.next();
+                name = rset.getString(1);
+            }
+            MatcherAssert.assertThat(stmt.getMoreResults(), Matchers.is(false));
+            MatcherAssert.assertThat(stmt.getUpdateCount(), Matchers.is(-1));
+            return name;
+        }
+    }
+
+    /**
+     * Name of currency of country CI, read through cache.
+     * @return Name
+     * @throws SQLException If fails
+     */
+    private String currency() throws SQLException {
+        try (Connection conn = this.cached.getConnection();
+            PreparedStatement stmt = conn.prepareStatement(ResultCachedDataSourceTest.JOINED)) {
+            stmt.setString(1, "CI");
+            try (ResultSet rset = stmt.executeQuery()) {
+                rset.next();
+                return rset.getString(1);
+            }
+        }
+    }
+
+    /**
+     * Name of country CI, read through cache.
+     * @return Name
+     * @throws SQLException If fails
+     */
+    private String name() throws SQLException {
+        try (Connection conn = this.cached.getConnection();
+            PreparedStatement stmt = conn.prepareStatement(ResultCachedDataSourceTest.QUERY)) {
+            stmt.setString(1, "CI");
+            try (ResultSet rset = stmt.executeQuery()) {
+                rset.next();
+                return rset.getString(1);
+            }
+        }
+    }
+
+    /**
+     * Updates name of country CI.
+     * @param src Data source to update with
+     * @param name New name
+     * @throws SQLException If fails
+     */
+    private void update(final DataSource src, final String name) throws SQLException {
+        try (Connection conn = src.getConnection();
+            PreparedStatement stmt = conn.prepareStatement(
+                "UPDATE country SET name = ? WHERE code = 'CI'"
+            )) {
+            stmt.setString(1, name);
+            stmt.executeUpdate();
+        }
+    }
+}
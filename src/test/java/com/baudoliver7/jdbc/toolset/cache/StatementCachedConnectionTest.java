@@ -0,0 +1,171 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.cache;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link StatementCachedConnection}.
+ *
+ * @since 0.5
+ */
+final class StatementCachedConnectionTest {
+
+    @Test
+    void reusesClosedStatement() throws SQLException {
+        try (
+            Connection conn = new StatementCachedConnection(
+                DriverManager.getConnection("jdbc:h2:mem:stmts1")
+            )
+        ) {
+            final PreparedStatement first = conn.prepareStatement("SELECT ?");
+            final PreparedStatement origin = first.unwrap(PreparedStatement.class);
+            first.setInt(1, 1);
+            first.close();
+            try (PreparedStatement second = conn.prepareStatement("SELECT ?")) {
+                MatcherAssert.assertThat(
+                    second.unwrap(PreparedStatement.class),
+                    Matchers.sameInstance(origin)
+                );
+                second.setInt(1, 2);
+                try (ResultSet rset = second.executeQuery()) {
+                    rset.next();
+                    MatcherAssert.assertThat(rset.getInt(1), Matchers.is(2));
+                }
+            }
+        }
+    }
+
+    @Test
+    void neverSharesStatementInUse() throws SQLException {
+        try (
+            Connection conn = new StatementCachedConnection(
+                DriverManager.getConnection("jdbc:h2:mem:stmts2")
+            );
+            PreparedStatement first = conn.prepareStatement("SELECT 1");
+            PreparedStatement second = conn.prepareStatement("SELECT 1")
+        ) {
+            MatcherAssert.assertThat(
+                second.unwrap(PreparedStatement.class),
+                Matchers.not(Matchers.sameInstance(first.unwrap(PreparedStatement.class)))
+            );
+        }
+    }
+
+    @Test
+    void distinguishesResultSetOptions() throws SQLException {
+        try (
+            Connection conn = new StatementCachedConnection(
+                DriverManager.getConnection("jdbc:h2:mem:stmts3")
+            )
+        ) {
+            final PreparedStatement first = conn.prepareStatement("SELECT 1");
+            final PreparedStatement origin = first.unwrap(PreparedStatement.class);
+            first.close();
+            try (
+                PreparedStatement second = conn.prepareStatement(
+                    "SELECT 1", Statement.RETURN_GENERATED_KEYS
+                )
+            ) {
+                MatcherAssert.assertThat(
+                    second.unwrap(PreparedStatement.class),
+                    Matchers.not(Matchers.sameInstance(origin))
+                );
+            }
+        }
+    }
+
+    @Test
+    void clearsBatchAndResultsBeforeReuse() throws SQLException {
+        try (
+            Connection conn = new StatementCachedConnection(
+                DriverManager.getConnection("jdbc:h2:mem:stmts5")
+            )
+        ) {
+            conn.createStatement().execute("CREATE TABLE t1 (id INT)");
+            final PreparedStatement first = conn.prepareStatement("INSERT INTO t1 VALUES (?)");
+            first.setInt(1, 1);
+            first.addBatch();
+            first.close();
+            try (PreparedStatement second = conn.prepareStatement("INSERT INTO t1 VALUES (?)")) {
+                MatcherAssert.assertThat(second.executeBatch().length, Matchers.is(0));
+            }
+            final PreparedStatement query = conn.prepareStatement("SELECT id FROM t1");
+            final ResultSet rset = query.executeQuery();
+            query.close();
+            MatcherAssert.assertThat(rset.isClosed(), Matchers.is(true));
+        }
+    }
+
+    @Test
+    void refusesCallsAfterClose() throws SQLException {
+        try (
+            Connection conn = new StatementCachedConnection(
+                DriverManager.getConnection("jdbc:h2:mem:stmts6")
+            )
+        ) {
+            final PreparedStatement stale = conn.prepareStatement("SELECT ?");
+            stale.close();
+            try (PreparedStatement current = conn.prepareStatement("SELECT ?")) {
+                current.setInt(1, 1);
+                MatcherAssert.assertThat(
+                    Assertions.assertThrows(SQLException.class, () -> stale.setInt(1, 2))
+                        .getSQLState(),
+                    Matchers.is("08003")
+                );
+                Assertions.assertThrows(SQLException.class, stale::executeQuery);
+                Assertions.assertThrows(SQLException.class, stale::addBatch);
+                Assertions.assertThrows(SQLException.class, stale::getResultSet);
+                try (ResultSet rset = current.executeQuery()) {
+                    rset.next();
+                    MatcherAssert.assertThat(rset.getInt(1), Matchers.is(1));
+                }
+            }
+        }
+    }
+
+    @Test
+    void closesEvictedStatement() throws SQLException {
+        try (
+            Connection conn = new StatementCachedConnection(
+                DriverManager.getConnection("jdbc:h2:mem:stmts4"), 1
+            )
+        ) {
+            final PreparedStatement first = conn.prepareStatement("SELECT 1");
+            final PreparedStatement origin = first.unwrap(PreparedStatement.class);
+            first.close();
+            conn.prepareStatement("SELECT 2").close();
+            MatcherAssert.assertThat(origin.isClosed(), Matchers.is(true));
+        }
+    }
+}
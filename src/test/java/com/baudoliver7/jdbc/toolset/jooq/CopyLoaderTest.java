@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.jooq;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link CopyLoader}.
+ *
+ * @since 0.5
+ */
+final class CopyLoaderTest {
+
+    @Test
+    void quotesValuesButNull() {
+        final StringBuilder csv = new StringBuilder();
+        CopyLoader.append(csv, null);
+        csv.append(',');
+        CopyLoader.append(csv, "");
+        csv.append(',');
+        CopyLoader.append(csv, "say \"hi\", bob");
+        csv.append(',');
+        CopyLoader.append(csv, 42);
+        MatcherAssert.assertThat(
+            csv.toString(),
+            Matchers.equalTo(",\"\",\"say \"\"hi\"\", bob\",\"42\"")
+        );
+    }
+
+    @Test
+    void writesBinaryInHex() {
+        final StringBuilder csv = new StringBuilder();
+        CopyLoader.append(csv, new byte[] {0x01, (byte) 0xAB});
+        MatcherAssert.assertThat(csv.toString(), Matchers.equalTo("\"\\x01ab\""));
+    }
+
+    @Test
+    void writesArraysAsLiterals() {
+        final StringBuilder csv = new StringBuilder();
+        CopyLoader.append(
+            csv, new Object[] {"a,b", null, "q\"\\", new Integer[][] {{1, 2}, {3, null}}}
+        );
+        MatcherAssert.assertThat(
+            csv.toString(),
+            Matchers.equalTo(
+                String.join(
+                    "",
+                    "\"{\"\"a,b\"\",NULL,\"\"q\\\"\"\\\\\"\",",
+                    "{{\"\"1\"\",\"\"2\"\"},{\"\"3\"\",NULL}}}\""
+                )
+            )
+        );
+    }
+
+    @Test
+    void writesPrimitiveAndBinaryArrays() {
+        final StringBuilder csv = new StringBuilder();
+        CopyLoader.append(csv, new int[] {1, 2});
+        csv.append(',');
+        CopyLoader.append(csv, new byte[][] {{0x0F}});
+        MatcherAssert.assertThat(
+            csv.toString(),
+            Matchers.equalTo("\"{\"\"1\"\",\"\"2\"\"}\",\"{\"\"\\\\x0f\"\"}\"")
+        );
+    }
+}
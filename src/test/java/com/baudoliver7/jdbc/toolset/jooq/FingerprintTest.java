@@ -0,0 +1,83 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.jooq;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link Fingerprint}.
+ *
+ * @since 0.5
+ */
+final class FingerprintTest {
+
+    @Test
+    void changesWithSequencesViewsAndRoutines() throws Exception {
+        final JdbcDataSource src = new JdbcDataSource();
+        src.setURL("jdbc:h2:mem:fingerprint;DB_CLOSE_DELAY=-1");
+        final Fingerprint print = new Fingerprint(src, "F1");
+        try (Connection conn = src.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE SCHEMA F1");
+            stmt.execute("CREATE TABLE F1.person (id INT PRIMARY KEY, name VARCHAR(50))");
+            final String initial = print.value();
+            MatcherAssert.assertThat(print.value(), Matchers.equalTo(initial));
+            stmt.execute("CREATE SEQUENCE F1.person_seq");
+            final String sequence = print.value();
+            MatcherAssert.assertThat(sequence, Matchers.not(Matchers.equalTo(initial)));
+            stmt.execute("CREATE VIEW F1.names AS SELECT name FROM F1.person");
+            final String view = print.value();
+            MatcherAssert.assertThat(view, Matchers.not(Matchers.equalTo(sequence)));
+            stmt.execute("CREATE OR REPLACE VIEW F1.names AS SELECT id, name FROM F1.person");
+            final String replaced = print.value();
+            MatcherAssert.assertThat(replaced, Matchers.not(Matchers.equalTo(view)));
+            stmt.execute("CREATE DOMAIN F1.mood AS ENUM('sad', 'happy')");
+            final String domain = print.value();
+            MatcherAssert.assertThat(domain, Matchers.not(Matchers.equalTo(replaced)));
+            stmt.execute(
+                "CREATE ALIAS F1.twice FOR 'java.lang.Math.multiplyExact(int, int)'"
+            );
+            MatcherAssert.assertThat(print.value(), Matchers.not(Matchers.equalTo(domain)));
+        }
+    }
+
+    @Test
+    void ignoresSchemasMatchedByWildcards() throws Exception {
+        final JdbcDataSource src = new JdbcDataSource();
+        src.setURL("jdbc:h2:mem:wildcards;DB_CLOSE_DELAY=-1");
+        final Fingerprint print = new Fingerprint(src, "W_1");
+        try (Connection conn = src.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE SCHEMA W_1");
+            stmt.execute("CREATE SCHEMA WX1");
+            stmt.execute("CREATE TABLE W_1.person (id INT PRIMARY KEY)");
+            final String initial = print.value();
+            stmt.execute("CREATE TABLE WX1.account (id INT PRIMARY KEY)");
+            MatcherAssert.assertThat(print.value(), Matchers.equalTo(initial));
+        }
+    }
+}
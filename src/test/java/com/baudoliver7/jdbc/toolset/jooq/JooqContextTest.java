@@ -0,0 +1,248 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.jooq;
+
+import com.baudoliver7.jdbc.toolset.lockable.LocalLockedDataSource;
+import com.baudoliver7.jdbc.toolset.routing.ReadWriteDataSource;
+import com.baudoliver7.jdbc.toolset.wrapper.DataSourceWrap;
+import com.baudoliver7.jdbc.toolset.wrapper.RoutingDataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import javax.sql.DataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.jooq.ExecuteContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Record1;
+import org.jooq.ResultQuery;
+import org.jooq.SQLDialect;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultExecuteListener;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link JooqContext}.
+ *
+ * @since 0.5
+ */
+final class JooqContextTest {
+
+    @Test
+    void resolvesDialectAtFirstQuery() {
+        final JooqContext ctx = new JooqContext(
+            JooqContextTest.h2("lazy"), DialectResolution.LAZY
+        );
+        MatcherAssert.assertThat(ctx.dialect(), Matchers.is(SQLDialect.DEFAULT));
+        ctx.selectOne().fetch();
+        MatcherAssert.assertThat(ctx.dialect(), Matchers.is(SQLDialect.H2));
+    }
+
+    @Test
+    void sharesDialectOfWrappedDataSource() throws SQLException {
+        final JdbcDataSource src = JooqContextTest.h2("shared");
+        new Dialects().warm(src);
+        try (Connection conn = src.getConnection()) {
+            MatcherAssert.assertThat(
+                new JooqContext(
+                    new LocalLockedDataSource(src, conn), DialectResolution.LAZY
+                ).dialect(),
+                Matchers.is(SQLDialect.H2)
+            );
+        }
+    }
+
+    @Test
+    void doesNotShareDialectWithRoutingDataSource() throws SQLException {
+        final JdbcDataSource src = JooqContextTest.h2("routed");
+        new Dialects().warm(src);
+        final DataSource routing = new ReadWriteDataSource(src);
+        MatcherAssert.assertThat(
+            new JooqContext(routing, DialectResolution.LAZY).dialect(),
+            Matchers.is(SQLDialect.DEFAULT)
+        );
+        new Dialects().warm(routing);
+        try (Connection conn = routing.getConnection()) {
+            MatcherAssert.assertThat(
+                new JooqContext(
+                    new LocalLockedDataSource(routing, conn), DialectResolution.LAZY
+                ).dialect(),
+                Matchers.is(SQLDialect.H2)
+            );
+        }
+    }
+
+    @Test
+    void doesNotShareDialectWithOwnRoutingDataSource() {
+        final JdbcDataSource src = JooqContextTest.h2("ownrouted");
+        new Dialects().warm(src);
+        MatcherAssert.assertThat(
+            new JooqContext(new Routed(src), DialectResolution.LAZY).dialect(),
+            Matchers.is(SQLDialect.DEFAULT)
+        );
+    }
+
+    @Test
+    void usesDialectGiven() {
+        MatcherAssert.assertThat(
+            new JooqContext(JooqContextTest.h2("given"), SQLDialect.POSTGRES).dialect(),
+            Matchers.is(SQLDialect.POSTGRES)
+        );
+    }
+
+    @Test
+    void loadsRecordsByChunks() {
+        final JdbcDataSource src = JooqContextTest.h2("loaded");
+        src.setURL("jdbc:h2:mem:loaded;DB_CLOSE_DELAY=-1");
+        final JooqContext ctx = new JooqContext(src);
+        ctx.execute("CREATE TABLE person (id INT, name VARCHAR(10))");
+        final Table<?> person = ctx.meta().getTables("PERSON").get(0);
+        final Field<Integer> id = DSL.field(DSL.name("ID"), Integer.class);
+        final Field<String> name = DSL.field(DSL.name("NAME"), String.class);
+        final List<Integer> chunks = new ArrayList<>(3);
+        MatcherAssert.assertThat(
+            ctx.load(
+                person,
+                IntStream.rangeClosed(1, 250).mapToObj(
+                    idx -> ctx.newRecord(id, name).values(idx, String.format("p%d", idx))
+                ),
+                100,
+                (index, rows, elapsed) -> chunks.add(rows)
+            ),
+            Matchers.is(250L)
+        );
+        MatcherAssert.assertThat(chunks, Matchers.contains(100, 100, 50));
+        MatcherAssert.assertThat(
+            ctx.select(name).from(person).where(id.eq(250)).fetchOne(name),
+            Matchers.is("p250")
+        );
+    }
+
+    @Test
+    void loadsChunkInBatch() {
+        final JdbcDataSource src = JooqContextTest.h2("batched");
+        src.setURL("jdbc:h2:mem:batched;DB_CLOSE_DELAY=-1");
+        final JooqContext ctx = new JooqContext(src);
+        ctx.execute("CREATE TABLE person (id INT, name VARCHAR(10))");
+        final Table<?> person = ctx.meta().getTables("PERSON").get(0);
+        final Field<Integer> id = DSL.field(DSL.name("ID"), Integer.class);
+        final Field<String> name = DSL.field(DSL.name("NAME"), String.class);
+        final List<Record> rows = new ArrayList<>(2);
+        rows.add(ctx.newRecord(id, name).values(1, "p1"));
+        rows.add(ctx.newRecord(id, name).values(2, null));
+        new BatchLoader(ctx).load(person, rows);
+        MatcherAssert.assertThat(ctx.fetchCount(person), Matchers.is(2));
+    }
+
+    @Test
+    void rendersKeptQueryOnce() {
+        final JdbcDataSource src = JooqContextTest.h2("kept");
+        src.setURL("jdbc:h2:mem:kept;DB_CLOSE_DELAY=-1");
+        final AtomicInteger renders = new AtomicInteger();
+        final AtomicInteger prepares = new AtomicInteger();
+        final JooqContext ctx = new JooqContext(
+            src, SQLDialect.H2,
+            new DefaultExecuteListener() {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                public void renderStart(final ExecuteContext context) {
+                    renders.incrementAndGet();
+                }
+
+                @Override
+                public void prepareStart(final ExecuteContext context) {
+                    prepares.incrementAndGet();
+                }
+            }
+        );
+        ctx.execute("CREATE TABLE person (id INT, name VARCHAR(10))");
+        ctx.execute("INSERT INTO person VALUES (1, 'p1'), (2, 'p2')");
+        final Field<Integer> id = DSL.field(DSL.name("ID"), Integer.class);
+        final Field<String> name = DSL.field(DSL.name("NAME"), String.class);
+        renders.set(0);
+        prepares.set(0);
+        try (KeptQueries kept = ctx.kept(2)) {
+            final ResultQuery<Record1<String>> byid = kept.query(
+                ctx.select(name).from(DSL.table(DSL.name("PERSON"))).where(id.eq(DSL.val(0)))
+            );
+            MatcherAssert.assertThat(byid.bind(1, 1).fetchOne(name), Matchers.is("p1"));
+            MatcherAssert.assertThat(
+                kept.query(byid).bind(1, 2).fetchOne(name), Matchers.is("p2")
+            );
+            MatcherAssert.assertThat(kept.size(), Matchers.is(1));
+        }
+        MatcherAssert.assertThat(renders.get(), Matchers.is(1));
+        MatcherAssert.assertThat(prepares.get(), Matchers.is(1));
+    }
+
+    @Test
+    void evictsLeastRecentlyKeptQuery() {
+        final JooqContext ctx = new JooqContext(JooqContextTest.h2("evicted"));
+        try (KeptQueries kept = ctx.kept(1)) {
+            final ResultQuery<Record1<Integer>> one = kept.query(ctx.select(DSL.val(1)));
+            MatcherAssert.assertThat(one.fetchOne(0, Integer.class), Matchers.is(1));
+            final ResultQuery<Record1<Integer>> two = kept.query(ctx.select(DSL.val(2)));
+            MatcherAssert.assertThat(two.fetchOne(0, Integer.class), Matchers.is(2));
+            MatcherAssert.assertThat(kept.size(), Matchers.is(1));
+        }
+        Assertions.assertThrows(
+            IllegalArgumentException.class, () -> ctx.kept(0)
+        );
+    }
+
+    /**
+     * Routing data source of a user.
+     *
+     * @since 0.5
+     */
+    private static final class Routed extends DataSourceWrap implements RoutingDataSource {
+
+        /**
+         * Ctor.
+         * @param origin Data source
+         */
+        Routed(final DataSource origin) {
+            super(origin);
+        }
+    }
+
+    /**
+     * New H2 data source.
+     * @param name Database name
+     * @return Data source
+     */
+    private static JdbcDataSource h2(final String name) {
+        final JdbcDataSource src = new JdbcDataSource();
+        src.setURL(String.format("jdbc:h2:mem:%s", name));
+        return src;
+    }
+}
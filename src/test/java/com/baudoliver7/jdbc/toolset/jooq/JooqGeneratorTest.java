@@ -0,0 +1,149 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.jooq;
+
+import com.baudoliver7.jdbc.toolset.wrapper.ConnectionWrap;
+import com.baudoliver7.jdbc.toolset.wrapper.DataSourceWrap;
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.Arrays;
+import javax.sql.DataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link JooqGenerator}.
+ *
+ * @since 0.5
+ */
+final class JooqGeneratorTest {
+
+    @Test
+    void generatesSchemasInTheirOwnPackages(@TempDir final Path target) throws Exception {
+        final JdbcDataSource src = new JdbcDataSource();
+        src.setURL("jdbc:h2:mem:codegen;DB_CLOSE_DELAY=-1");
+        try (Connection conn = src.getConnection()) {
+            JooqGeneratorTest.create(conn, "S1");
+            JooqGeneratorTest.create(conn, "S2");
+        }
+        new JooqGenerator(
+            JooqGeneratorTest.generic(src), "com.example.db", ".*",
+            target.toString(), Arrays.asList("S1", "S2"), 2
+        ).start();
+        for (final String schema : Arrays.asList("s1", "s2")) {
+            MatcherAssert.assertThat(
+                new File(
+                    target.toFile(),
+                    String.format("com/example/db/%s/tables/Person.java", schema)
+                ).exists(),
+                Matchers.is(true)
+            );
+        }
+    }
+
+    @Test
+    void skipsGenerationWhenSchemaIsUnchanged(@TempDir final Path target) throws Exception {
+        final JdbcDataSource src = new JdbcDataSource();
+        src.setURL("jdbc:h2:mem:incremental;DB_CLOSE_DELAY=-1");
+        try (Connection conn = src.getConnection()) {
+            JooqGeneratorTest.create(conn, "S3");
+        }
+        final JooqGenerator generator = new JooqGenerator(
+            JooqGeneratorTest.generic(src), "com.example.db", ".*",
+            target.toString(), Arrays.asList("S3")
+        );
+        generator.start();
+        final File person = new File(target.toFile(), "com/example/db/s3/tables/Person.java");
+        MatcherAssert.assertThat(person.delete(), Matchers.is(true));
+        generator.start();
+        MatcherAssert.assertThat(person.exists(), Matchers.is(false));
+        try (Connection conn = src.getConnection()) {
+            conn.createStatement().execute("ALTER TABLE S3.person ADD COLUMN age INT");
+        }
+        generator.start();
+        MatcherAssert.assertThat(person.exists(), Matchers.is(true));
+    }
+
+    /**
+     * Data source read by the generic JDBC meta model of jOOQ.
+     * <p>Meta model of H2 in jOOQ 3.14 doesn't support H2 2.x.</p>
+     * @param src Data source
+     * @return Data source
+     */
+    private static DataSource generic(final DataSource src) {
+        return new DataSourceWrap(src) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return new ConnectionWrap(super.getConnection()) {
+                    @Override
+                    public DatabaseMetaData getMetaData() throws SQLException {
+                        final DatabaseMetaData meta = super.getMetaData();
+                        return (DatabaseMetaData) Proxy.newProxyInstance(
+                            DatabaseMetaData.class.getClassLoader(),
+                            new Class<?>[] {DatabaseMetaData.class},
+                            (proxy, method, args) -> {
+                                final Object result;
+                                if ("getURL".equals(method.getName())) {
+                                    result = "jdbc:generic:codegen";
+                                } else {
+                                    try {
+                                        result = method.invoke(meta, args);
+                                    } catch (final InvocationTargetException ex) {
+                                        throw ex.getCause();
+                                    }
+                                }
+                                return result;
+                            }
+                        );
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * Creates a schema with a table.
+     * @param conn Connection
+     * @param schema Schema
+     * @throws SQLException If fails
+     */
+    private static void create(final Connection conn, final String schema)
+        throws SQLException {
+        conn.createStatement().execute(String.format("CREATE SCHEMA IF NOT EXISTS %s", schema));
+        conn.createStatement().execute(
+            String.format(
+                "CREATE TABLE IF NOT EXISTS %s.person (id INT PRIMARY KEY, name VARCHAR(50))",
+                schema
+            )
+        );
+    }
+}
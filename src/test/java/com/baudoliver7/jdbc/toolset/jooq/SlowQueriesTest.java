@@ -0,0 +1,103 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.jooq;
+
+import java.time.Duration;
+import java.util.List;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.jooq.Cursor;
+import org.jooq.Record;
+import org.jooq.SQLDialect;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link SlowQueries}.
+ *
+ * @since 0.5
+ */
+final class SlowQueriesTest {
+
+    @Test
+    void keepsLatestSlowQueries() {
+        final SlowQueries slow = new SlowQueries(2, Duration.ZERO);
+        final JooqContext ctx = SlowQueriesTest.context(slow);
+        for (int idx = 1; idx <= 3; ++idx) {
+            ctx.fetch("SELECT ?", idx);
+        }
+        final List<SlowQuery> queries = slow.snapshot();
+        MatcherAssert.assertThat(queries, Matchers.hasSize(2));
+        MatcherAssert.assertThat(queries.get(0).sequence(), Matchers.is(1L));
+        MatcherAssert.assertThat(queries.get(1).sql(), Matchers.is("SELECT ?"));
+        MatcherAssert.assertThat(queries.get(1).binds(), Matchers.is(1));
+        MatcherAssert.assertThat(queries.get(1).rows(), Matchers.is(1));
+        MatcherAssert.assertThat(slow.drain(), Matchers.hasSize(2));
+        MatcherAssert.assertThat(slow.snapshot(), Matchers.empty());
+    }
+
+    @Test
+    void ignoresFastQueriesWhenNotSampled() {
+        final SlowQueries slow = new SlowQueries(8, Duration.ofMinutes(1));
+        SlowQueriesTest.context(slow).fetch("SELECT 1");
+        MatcherAssert.assertThat(slow.snapshot(), Matchers.empty());
+    }
+
+    @Test
+    void samplesFastQueries() {
+        final SlowQueries slow = new SlowQueries(8, Duration.ofMinutes(1), 1.0);
+        SlowQueriesTest.context(slow).fetch("SELECT 1");
+        MatcherAssert.assertThat(slow.snapshot().get(0).slow(), Matchers.is(false));
+    }
+
+    @Test
+    void timesQueriesWhichOverlap() {
+        final SlowQueries slow = new SlowQueries(8, Duration.ZERO);
+        final JooqContext ctx = SlowQueriesTest.context(slow);
+        try (Cursor<Record> cursor = ctx.fetchLazy("SELECT 1")) {
+            ctx.fetch("SELECT 2");
+            cursor.fetch();
+        }
+        MatcherAssert.assertThat(slow.snapshot(), Matchers.hasSize(2));
+    }
+
+    @Test
+    void rejectsEmptyCapacity() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class, () -> new SlowQueries(0, Duration.ZERO)
+        );
+    }
+
+    /**
+     * Context on H2 with a listener.
+     * @param slow Listener
+     * @return Context
+     */
+    private static JooqContext context(final SlowQueries slow) {
+        final JdbcDataSource src = new JdbcDataSource();
+        src.setURL("jdbc:h2:mem:slow");
+        return new JooqContext(src, SQLDialect.H2, slow);
+    }
+}
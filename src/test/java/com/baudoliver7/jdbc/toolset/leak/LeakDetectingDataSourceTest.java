@@ -0,0 +1,153 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.leak;
+
+import com.baudoliver7.jdbc.toolset.lockable.LocalLockedDataSource;
+import com.baudoliver7.jdbc.toolset.wrapper.DataSourceWrap;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link LeakDetectingDataSource}.
+ *
+ * @since 0.5
+ */
+final class LeakDetectingDataSourceTest {
+
+    /**
+     * H2 data source.
+     */
+    private JdbcDataSource origin;
+
+    /**
+     * Leaks reported.
+     */
+    private List<Leak> leaks;
+
+    @BeforeEach
+    void setUp() {
+        this.origin = new JdbcDataSource();
+        this.origin.setURL("jdbc:h2:mem:leaks;DB_CLOSE_DELAY=-1");
+        this.leaks = new CopyOnWriteArrayList<>();
+    }
+
+    @Test
+    void reportsConnectionHeldTooLong() throws Exception {
+        try (LeakDetectingDataSource src = new LeakDetectingDataSource(
+            this.origin, Duration.ofMillis(50L), 1.0, this.leaks::add
+        )) {
+            try (Connection conn = src.getConnection()) {
+                this.await();
+                MatcherAssert.assertThat(conn.isClosed(), Matchers.is(false));
+            }
+            MatcherAssert.assertThat(this.leaks, Matchers.hasSize(1));
+            MatcherAssert.assertThat(this.leaks.get(0).collected(), Matchers.is(false));
+            MatcherAssert.assertThat(this.leaks.get(0).trace(), Matchers.notNullValue());
+            MatcherAssert.assertThat(src.outstanding(), Matchers.is(0));
+        }
+    }
+
+    @Test
+    void reportsEveryLeakOfSweepDespiteFailingListener() throws Exception {
+        try (LeakDetectingDataSource src = new LeakDetectingDataSource(
+            this.origin, Duration.ofMillis(50L), 0.0,
+            leak -> {
+                this.leaks.add(leak);
+                throw new IllegalStateException("Listener failed");
+            }
+        )) {
+            try (Connection first = src.getConnection();
+                Connection second = src.getConnection()) {
+                this.await();
+                Thread.sleep(5L);
+                MatcherAssert.assertThat(this.leaks, Matchers.hasSize(2));
+                MatcherAssert.assertThat(first.isClosed(), Matchers.is(false));
+                MatcherAssert.assertThat(second.isClosed(), Matchers.is(false));
+            }
+        }
+    }
+
+    @Test
+    void reportsConnectionCollectedWithoutClose() throws Exception {
+        try (LeakDetectingDataSource src = new LeakDetectingDataSource(
+            this.origin, Duration.ofMinutes(1L), 0.0, this.leaks::add
+        )) {
+            src.getConnection().createStatement().close();
+            final long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(10L);
+            while (this.leaks.isEmpty() && System.nanoTime() < end) {
+                System.gc();
+                Thread.sleep(20L);
+            }
+            MatcherAssert.assertThat(this.leaks, Matchers.hasSize(1));
+            MatcherAssert.assertThat(this.leaks.get(0).collected(), Matchers.is(true));
+            MatcherAssert.assertThat(this.leaks.get(0).trace(), Matchers.nullValue());
+            MatcherAssert.assertThat(src.outstanding(), Matchers.is(0));
+        }
+    }
+
+    @Test
+    void ignoresConnectionsOfUnitOfWork() throws SQLException {
+        try (Connection conn = this.origin.getConnection();
+            LeakDetectingDataSource src = new LeakDetectingDataSource(
+                new LocalLockedDataSource(this.origin, conn), Duration.ofMillis(50L),
+                1.0, this.leaks::add
+            )) {
+            src.getConnection().close();
+            src.getConnection();
+            MatcherAssert.assertThat(src.outstanding(), Matchers.is(0));
+        }
+    }
+
+    @Test
+    void ignoresConnectionsOfUnitOfWorkBehindWrapper() throws SQLException {
+        try (Connection conn = this.origin.getConnection();
+            LeakDetectingDataSource src = new LeakDetectingDataSource(
+                new DataSourceWrap(new LocalLockedDataSource(this.origin, conn)) {
+                }, Duration.ofMillis(50L), 1.0, this.leaks::add
+            )) {
+            src.getConnection();
+            MatcherAssert.assertThat(src.outstanding(), Matchers.is(0));
+        }
+    }
+
+    /**
+     * Waits for a leak to be reported.
+     * @throws InterruptedException If interrupted
+     */
+    private void await() throws InterruptedException {
+        final long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(5L);
+        while (this.leaks.isEmpty() && System.nanoTime() < end) {
+            Thread.sleep(10L);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.lockable;
+
+import com.baudoliver7.jdbc.toolset.wrapper.DataSourceWrap;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.sql.DataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link LocalLockedDataSource}.
+ *
+ * @since 0.5
+ */
+final class LocalLockedDataSourceTest {
+
+    /**
+     * H2 data source.
+     */
+    private JdbcDataSource origin;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        this.origin = new JdbcDataSource();
+        this.origin.setURL("jdbc:h2:mem:locked;DB_CLOSE_DELAY=-1");
+        try (Connection conn = this.origin.getConnection()) {
+            conn.createStatement().execute("CREATE TABLE IF NOT EXISTS t1 (id INT)");
+            conn.createStatement().execute("DELETE FROM t1");
+        }
+    }
+
+    @Test
+    void acquiresConnectionOnlyOnFirstUse() throws SQLException {
+        final Counted counted = new Counted(this.origin);
+        final LocalLockedDataSource src = new LocalLockedDataSource(counted);
+        MatcherAssert.assertThat(counted.count(), Matchers.is(0));
+        final Connection first = src.getConnection().unwrap(Connection.class);
+        final Connection second = src.getConnection().unwrap(Connection.class);
+        MatcherAssert.assertThat(counted.count(), Matchers.is(1));
+        MatcherAssert.assertThat(first, Matchers.sameInstance(second));
+        src.release();
+        MatcherAssert.assertThat(first.isClosed(), Matchers.is(true));
+    }
+
+    @Test
+    void locksEachThreadToItsConnection() throws Exception {
+        final LocalLockedDataSource src = new LocalLockedDataSource(this.origin);
+        final Connection mine = src.getConnection().unwrap(Connection.class);
+        final AtomicReference<Connection> other = new AtomicReference<>();
+        final Thread thread = new Thread(
+            () -> {
+                try {
+                    other.set(src.getConnection().unwrap(Connection.class));
+                    src.release();
+                } catch (final SQLException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            }
+        );
+        thread.start();
+        thread.join();
+        MatcherAssert.assertThat(other.get(), Matchers.not(Matchers.sameInstance(mine)));
+        src.release();
+    }
+
+    @Test
+    void commitsOnlyOnExplicitCommit() throws SQLException {
+        final LocalLockedDataSource src = new LocalLockedDataSource(this.origin);
+        try (Connection conn = src.getConnection()) {
+            conn.createStatement().execute("INSERT INTO t1 VALUES (1)");
+            conn.commit();
+        }
+        src.release();
+        MatcherAssert.assertThat(this.rows(), Matchers.is(0));
+        try (Connection conn = src.getConnection()) {
+            conn.createStatement().execute("INSERT INTO t1 VALUES (2)");
+        }
+        src.commit();
+        src.release();
+        MatcherAssert.assertThat(this.rows(), Matchers.is(1));
+    }
+
+    @Test
+    void givesBackConnectionOnCommit() throws SQLException {
+        final LocalLockedDataSource src = new LocalLockedDataSource(this.origin);
+        final Connection first = src.getConnection().unwrap(Connection.class);
+        src.commit();
+        MatcherAssert.assertThat(first.isClosed(), Matchers.is(true));
+        final Connection second = src.getConnection().unwrap(Connection.class);
+        src.rollback();
+        MatcherAssert.assertThat(second, Matchers.not(Matchers.sameInstance(first)));
+        MatcherAssert.assertThat(second.isClosed(), Matchers.is(true));
+    }
+
+    /**
+     * Counts rows of the test table.
+     * @return Number of rows
+     * @throws SQLException If fails
+     */
+    private int rows() throws SQLException {
+        try (
+            Connection conn = this.origin.getConnection();
+            ResultSet rset = conn.createStatement().executeQuery("SELECT COUNT(*) FROM t1")
+        ) {
+            rset.next();
+            return rset.getInt(1);
+        }
+    }
+
+    /**
+     * Data source which counts acquired connections.
+     *
+     * @since 0.5
+     */
+    private static final class Counted extends DataSourceWrap {
+
+        /**
+         * Number of connections acquired.
+         */
+        private final AtomicInteger acquired;
+
+        /**
+         * Ctor.
+         * @param origin Origin
+         */
+        Counted(final DataSource origin) {
+            super(origin);
+            this.acquired = new AtomicInteger();
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            this.acquired.incrementAndGet();
+            return super.getConnection();
+        }
+
+        /**
+         * Number of connections acquired.
+         * @return Count
+         */
+        int count() {
+            return this.acquired.get();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.lockable;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link NestedDataSource}.
+ *
+ * @since 0.5
+ */
+final class NestedDataSourceTest {
+
+    /**
+     * H2 data source.
+     */
+    private JdbcDataSource origin;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        this.origin = new JdbcDataSource();
+        this.origin.setURL("jdbc:h2:mem:nested;DB_CLOSE_DELAY=-1");
+        try (Connection conn = this.origin.getConnection()) {
+            conn.createStatement().execute("CREATE TABLE IF NOT EXISTS t1 (id INT)");
+            conn.createStatement().execute("DELETE FROM t1");
+        }
+    }
+
+    @Test
+    void rollsBackOnlyNestedUnitOfWork() throws SQLException {
+        final LocalLockedDataSource uds = new LocalLockedDataSource(this.origin);
+        final DataSource nested = new NestedDataSource(uds);
+        try {
+            for (int idx = 1; idx <= 3; ++idx) {
+                try (Connection conn = nested.getConnection()) {
+                    conn.createStatement().execute(
+                        String.format("INSERT INTO t1 VALUES (%d)", idx)
+                    );
+                    if (idx == 2) {
+                        conn.rollback();
+                    } else {
+                        conn.commit();
+                    }
+                }
+            }
+            uds.commit();
+        } finally {
+            uds.release();
+        }
+        MatcherAssert.assertThat(this.ids(), Matchers.is("1,3"));
+    }
+
+    @Test
+    void commitsOnlyWithOwner() throws SQLException {
+        final LocalLockedDataSource uds = new LocalLockedDataSource(this.origin);
+        try {
+            try (Connection outer = new NestedDataSource(uds).getConnection()) {
+                outer.createStatement().execute("INSERT INTO t1 VALUES (1)");
+                try (Connection inner = new NestedDataSource(uds).getConnection()) {
+                    inner.createStatement().execute("INSERT INTO t1 VALUES (2)");
+                    inner.rollback();
+                }
+                outer.commit();
+            }
+            MatcherAssert.assertThat(this.ids(), Matchers.is(""));
+            uds.commit();
+        } finally {
+            uds.release();
+        }
+        MatcherAssert.assertThat(this.ids(), Matchers.is("1"));
+    }
+
+    @Test
+    void rollsBackOnCloseWithoutCommit() throws SQLException {
+        final LocalLockedDataSource uds = new LocalLockedDataSource(this.origin);
+        final DataSource nested = new NestedDataSource(uds);
+        try {
+            for (int idx = 1; idx <= 2; ++idx) {
+                try (Connection conn = nested.getConnection()) {
+                    conn.createStatement().execute(
+                        String.format("INSERT INTO t1 VALUES (%d)", idx)
+                    );
+                    if (idx == 1) {
+                        conn.commit();
+                    }
+                }
+            }
+            uds.commit();
+        } finally {
+            uds.release();
+        }
+        MatcherAssert.assertThat(this.ids(), Matchers.is("1"));
+    }
+
+    /**
+     * Ids committed.
+     * @return Ids separated by commas
+     * @throws SQLException If fails
+     */
+    private String ids() throws SQLException {
+        final StringBuilder ids = new StringBuilder();
+        try (Connection conn = this.origin.getConnection();
+            ResultSet rset = conn.createStatement().executeQuery(
+                "SELECT id FROM t1 ORDER BY id"
+            )) {
+            while (rset.next()) {
+                if (ids.length() > 0) {
+                    ids.append(',');
+                }
+                ids.append(rset.getInt(1));
+            }
+        }
+        return ids.toString();
+    }
+}
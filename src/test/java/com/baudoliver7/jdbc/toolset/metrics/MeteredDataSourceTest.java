@@ -0,0 +1,141 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link MeteredDataSource}.
+ *
+ * @since 0.5
+ */
+final class MeteredDataSourceTest {
+
+    @Test
+    void recordsLatencies() throws SQLException {
+        final JdbcDataSource origin = new JdbcDataSource();
+        origin.setURL("jdbc:h2:mem:metrics");
+        final Metrics metrics = new Metrics();
+        try (Connection conn = new MeteredDataSource(origin, metrics).getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT 1")) {
+                stmt.executeQuery().close();
+                stmt.executeQuery().close();
+            }
+            conn.commit();
+            conn.rollback();
+        }
+        MatcherAssert.assertThat(metrics.acquire().getCount(), Matchers.is(1L));
+        MatcherAssert.assertThat(metrics.hold().getCount(), Matchers.is(1L));
+        MatcherAssert.assertThat(metrics.prepare().getCount(), Matchers.is(1L));
+        MatcherAssert.assertThat(metrics.execute().getCount(), Matchers.is(2L));
+        MatcherAssert.assertThat(metrics.commit().getCount(), Matchers.is(1L));
+        MatcherAssert.assertThat(metrics.rollback().getCount(), Matchers.is(1L));
+    }
+
+    @Test
+    void recordsStatementLevelExecutionsOfPreparedStatements() throws SQLException {
+        final JdbcDataSource origin = new JdbcDataSource();
+        origin.setURL("jdbc:h2:mem:metrics");
+        final Metrics metrics = new Metrics();
+        try (Connection conn = new MeteredDataSource(origin, metrics).getConnection();
+            PreparedStatement stmt = conn.prepareStatement("SELECT 1")) {
+            Assertions.assertThrows(SQLException.class, () -> stmt.execute("SELECT 2"));
+            Assertions.assertThrows(SQLException.class, () -> stmt.executeQuery("SELECT 3"));
+            MatcherAssert.assertThat(stmt.getConnection(), Matchers.sameInstance(conn));
+        }
+        MatcherAssert.assertThat(metrics.execute().getCount(), Matchers.is(2L));
+    }
+
+    @Test
+    void estimatesPercentiles() {
+        final Histogram histogram = new Histogram();
+        for (long value = 1L; value <= 1000L; ++value) {
+            histogram.record(value * 1000L);
+        }
+        final Snapshot snapshot = histogram.snapshot();
+        MatcherAssert.assertThat(snapshot.count(), Matchers.is(1000L));
+        MatcherAssert.assertThat(
+            (double) snapshot.p50(), Matchers.closeTo(500_000.0, 35_000.0)
+        );
+        MatcherAssert.assertThat(
+            (double) snapshot.p99(), Matchers.closeTo(990_000.0, 70_000.0)
+        );
+        MatcherAssert.assertThat(snapshot.max(), Matchers.is(1_000_000L));
+    }
+
+    @Test
+    void exportsHistogramsThroughJmx() throws SQLException, JMException {
+        final Metrics metrics = new Metrics();
+        metrics.execute().record(42L);
+        metrics.register("test");
+        try {
+            MatcherAssert.assertThat(
+                ManagementFactory.getPlatformMBeanServer().getAttribute(
+                    new ObjectName(
+                        "com.baudoliver7.jdbc.toolset:type=Metrics,name=\"test\",operation=execute"
+                    ),
+                    "Count"
+                ),
+                Matchers.is(1L)
+            );
+        } finally {
+            metrics.unregister("test");
+        }
+    }
+
+    @Test
+    void leavesNoHistogramRegisteredWhenRegistrationFails() throws JMException {
+        final ObjectName taken = new ObjectName(
+            "com.baudoliver7.jdbc.toolset:type=Metrics,name=\"partial\",operation=commit"
+        );
+        ManagementFactory.getPlatformMBeanServer().registerMBean(new Histogram(), taken);
+        try {
+            Assertions.assertThrows(
+                SQLException.class, () -> new Metrics().register("partial")
+            );
+            MatcherAssert.assertThat(
+                ManagementFactory.getPlatformMBeanServer().queryNames(
+                    new ObjectName(
+                        "com.baudoliver7.jdbc.toolset:type=Metrics,name=\"partial\",*"
+                    ),
+                    null
+                ),
+                Matchers.contains(taken)
+            );
+        } finally {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(taken);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.pool;
+
+import com.baudoliver7.jdbc.toolset.cache.StatementCachedDataSource;
+import com.baudoliver7.jdbc.toolset.wrapper.ConnectionWrap;
+import com.baudoliver7.jdbc.toolset.wrapper.DataSourceWrap;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link PooledDataSource}.
+ *
+ * @since 0.5
+ */
+final class PooledDataSourceTest {
+
+    /**
+     * H2 data source.
+     */
+    private JdbcDataSource origin;
+
+    @BeforeEach
+    void setUp() {
+        this.origin = new JdbcDataSource();
+        this.origin.setURL("jdbc:h2:mem:pool;DB_CLOSE_DELAY=-1");
+    }
+
+    @Test
+    void reusesPhysicalConnection() throws SQLException {
+        try (PooledDataSource pool = new PooledDataSource(this.origin, 2)) {
+            final Connection first;
+            try (Connection conn = pool.getConnection()) {
+                first = conn.unwrap(Connection.class);
+            }
+            try (Connection conn = pool.getConnection()) {
+                MatcherAssert.assertThat(
+                    conn.unwrap(Connection.class),
+                    Matchers.sameInstance(first)
+                );
+            }
+        }
+    }
+
+    @Test
+    void givesBackConnectionOnClose() throws SQLException {
+        try (PooledDataSource pool = new PooledDataSource(this.origin, 1)) {
+            final Connection conn = pool.getConnection();
+            final Connection physical = conn.unwrap(Connection.class);
+            conn.close();
+            MatcherAssert.assertThat(conn.isClosed(), Matchers.is(true));
+            MatcherAssert.assertThat(physical.isClosed(), Matchers.is(false));
+        }
+    }
+
+    @Test
+    void rollsBackPendingTransactionOnClose() throws SQLException {
+        try (PooledDataSource pool = new PooledDataSource(this.origin, 1)) {
+            try (Connection conn = pool.getConnection()) {
+                conn.createStatement().execute("CREATE TABLE IF NOT EXISTS t1 (id INT)");
+                conn.setAutoCommit(false);
+                conn.createStatement().execute("INSERT INTO t1 VALUES (1)");
+            }
+            try (Connection conn = pool.getConnection()) {
+                conn.setAutoCommit(true);
+                MatcherAssert.assertThat(
+                    conn.createStatement().executeQuery("SELECT * FROM t1").next(),
+                    Matchers.is(false)
+                );
+            }
+        }
+    }
+
+    @Test
+    void refusesCallsAfterClose() throws SQLException {
+        try (PooledDataSource pool = new PooledDataSource(this.origin, 1)) {
+            final Connection stale = pool.getConnection();
+            stale.close();
+            try (Connection conn = pool.getConnection()) {
+                Assertions.assertThrows(
+                    SQLException.class,
+                    () -> stale.setAutoCommit(false)
+                );
+                Assertions.assertThrows(SQLException.class, stale::createStatement);
+                Assertions.assertThrows(
+                    SQLException.class, () -> stale.unwrap(Connection.class)
+                );
+                MatcherAssert.assertThat(stale.isValid(1), Matchers.is(false));
+                MatcherAssert.assertThat(conn.getAutoCommit(), Matchers.is(true));
+            }
+        }
+    }
+
+    @Test
+    void restoresStateOfConnectionOnClose() throws SQLException {
+        try (PooledDataSource pool = new PooledDataSource(this.origin, 1)) {
+            final Statement stmt;
+            final String schema;
+            try (Connection conn = pool.getConnection()) {
+                schema = conn.getSchema();
+                conn.createStatement().execute("CREATE SCHEMA IF NOT EXISTS moved");
+                conn.setSchema("MOVED");
+                conn.setAutoCommit(false);
+                conn.setReadOnly(true);
+                conn.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+                stmt = conn.createStatement();
+                MatcherAssert.assertThat(stmt.getConnection(), Matchers.sameInstance(conn));
+            }
+            MatcherAssert.assertThat(stmt.isClosed(), Matchers.is(true));
+            try (Connection conn = pool.getConnection()) {
+                MatcherAssert.assertThat(conn.getSchema(), Matchers.is(schema));
+                MatcherAssert.assertThat(conn.getAutoCommit(), Matchers.is(true));
+                MatcherAssert.assertThat(conn.isReadOnly(), Matchers.is(false));
+                MatcherAssert.assertThat(
+                    conn.getTransactionIsolation(),
+                    Matchers.is(Connection.TRANSACTION_READ_COMMITTED)
+                );
+            }
+        }
+    }
+
+    @Test
+    void warmsMinimumOfConnectionsUp() throws SQLException {
+        final AtomicInteger opened = new AtomicInteger();
+        final AtomicInteger prepared = new AtomicInteger();
+        final AtomicInteger validated = new AtomicInteger();
+        final DataSourceWrap counted = new DataSourceWrap(this.origin) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                opened.incrementAndGet();
+                return new ConnectionWrap(super.getConnection()) {
+                    @Override
+                    public PreparedStatement prepareStatement(
+                        final String sql
+                    ) throws SQLException {
+                        prepared.incrementAndGet();
+                        return super.prepareStatement(sql);
+                    }
+
+                    @Override
+                    public boolean isValid(final int seconds) throws SQLException {
+                        MatcherAssert.assertThat(seconds, Matchers.greaterThan(0));
+                        validated.incrementAndGet();
+                        return super.isValid(seconds);
+                    }
+                };
+            }
+        };
+        try (
+            PooledDataSource pool = new PooledDataSource(
+                new StatementCachedDataSource(counted), 5, 3,
+                Duration.ZERO, Duration.ZERO
+            )
+        ) {
+            MatcherAssert.assertThat(
+                pool.warm("SELECT 1", "SELECT 2"),
+                Matchers.greaterThan(Duration.ZERO)
+            );
+            pool.warm("SELECT 1", "SELECT 2");
+            MatcherAssert.assertThat(opened.get(), Matchers.is(3));
+            MatcherAssert.assertThat(
+                "Idle connections should be validated again at each warm-up",
+                validated.get(),
+                Matchers.is(6)
+            );
+            MatcherAssert.assertThat(prepared.get(), Matchers.is(6));
+            try (
+                Connection conn = pool.getConnection();
+                PreparedStatement stmt = conn.prepareStatement("SELECT 1")
+            ) {
+                MatcherAssert.assertThat(stmt.executeQuery().next(), Matchers.is(true));
+            }
+            MatcherAssert.assertThat(
+                "Statements prepared at warm-up should be reused",
+                prepared.get(),
+                Matchers.is(6)
+            );
+        }
+    }
+
+    @Test
+    void timesOutWhenExhausted() throws SQLException {
+        try (
+            PooledDataSource pool = new PooledDataSource(
+                this.origin, 1, 0, Duration.ZERO, Duration.ZERO, Duration.ofMillis(50L)
+            );
+            Connection conn = pool.getConnection()
+        ) {
+            MatcherAssert.assertThat(conn.isClosed(), Matchers.is(false));
+            Assertions.assertThrows(
+                SQLTransientConnectionException.class,
+                pool::getConnection
+            );
+        }
+    }
+
+    @Test
+    void handsOffConnectionToWaitingThread() throws Exception {
+        try (PooledDataSource pool = new PooledDataSource(this.origin, 1)) {
+            final Connection conn = pool.getConnection();
+            final Connection physical = conn.unwrap(Connection.class);
+            final Thread releaser = new Thread(
+                () -> {
+                    try {
+                        Thread.sleep(20L);
+                        conn.close();
+                    } catch (final InterruptedException | SQLException ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                }
+            );
+            releaser.start();
+            try (Connection other = pool.getConnection()) {
+                MatcherAssert.assertThat(
+                    other.unwrap(Connection.class),
+                    Matchers.sameInstance(physical)
+                );
+            }
+            releaser.join();
+        }
+    }
+}
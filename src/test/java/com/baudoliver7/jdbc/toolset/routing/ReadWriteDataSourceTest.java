@@ -0,0 +1,123 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.routing;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link ReadWriteDataSource}.
+ *
+ * @since 0.5
+ */
+final class ReadWriteDataSourceTest {
+
+    /**
+     * Primary.
+     */
+    private JdbcDataSource primary;
+
+    /**
+     * Replica.
+     */
+    private JdbcDataSource replica;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        this.primary = ReadWriteDataSourceTest.database("primary");
+        this.replica = ReadWriteDataSourceTest.database("replica");
+    }
+
+    @Test
+    void routesReadsToReplica() throws SQLException {
+        try (Connection conn = new ReadWriteDataSource(this.primary, this.replica)
+            .getConnection()) {
+            conn.setReadOnly(true);
+            MatcherAssert.assertThat(
+                ReadWriteDataSourceTest.name(conn), Matchers.is("replica")
+            );
+        }
+    }
+
+    @Test
+    void routesWritesToPrimary() throws SQLException {
+        try (Connection conn = new ReadWriteDataSource(this.primary, this.replica)
+            .getConnection()) {
+            MatcherAssert.assertThat(
+                ReadWriteDataSourceTest.name(conn), Matchers.is("primary")
+            );
+        }
+    }
+
+    @Test
+    void fallsBackToPrimaryWhenReplicasLag() throws SQLException {
+        try (Connection conn = new ReadWriteDataSource(
+            this.primary, Arrays.asList(this.replica), replica -> false
+        ).getConnection()) {
+            conn.setReadOnly(true);
+            MatcherAssert.assertThat(
+                ReadWriteDataSourceTest.name(conn), Matchers.is("primary")
+            );
+        }
+    }
+
+    /**
+     * Creates a database which knows its name.
+     * @param name Name
+     * @return Data source
+     * @throws SQLException If fails
+     */
+    private static JdbcDataSource database(final String name) throws SQLException {
+        final JdbcDataSource src = new JdbcDataSource();
+        src.setURL(String.format("jdbc:h2:mem:%s;DB_CLOSE_DELAY=-1", name));
+        try (Connection conn = src.getConnection()) {
+            conn.createStatement().execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(10))");
+            conn.createStatement().execute("DELETE FROM node");
+            conn.createStatement().execute(
+                String.format("INSERT INTO node VALUES ('%s')", name)
+            );
+        }
+        return src;
+    }
+
+    /**
+     * Name of database a connection is bound to.
+     * @param conn Connection
+     * @return Name
+     * @throws SQLException If fails
+     */
+    private static String name(final Connection conn) throws SQLException {
+        try (ResultSet rset = conn.createStatement().executeQuery("SELECT name FROM node")) {
+            rset.next();
+            return rset.getString(1);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.scope;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link TransactionScope}.
+ *
+ * @since 0.5
+ */
+final class TransactionScopeTest {
+
+    /**
+     * H2 data source.
+     */
+    private JdbcDataSource origin;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        this.origin = new JdbcDataSource();
+        this.origin.setURL("jdbc:h2:mem:scope;DB_CLOSE_DELAY=-1");
+        try (Connection conn = this.origin.getConnection()) {
+            conn.createStatement().execute("CREATE TABLE IF NOT EXISTS t1 (id INT)");
+            conn.createStatement().execute("DELETE FROM t1");
+        }
+    }
+
+    @Test
+    void commitsWorkOfSubtasks() throws SQLException {
+        new TransactionScope(this.origin).call(
+            scope -> {
+                final List<Future<Integer>> forks = new ArrayList<>(4);
+                for (int idx = 0; idx < 4; ++idx) {
+                    final int value = idx;
+                    forks.add(scope.fork(sub -> TransactionScopeTest.insert(sub, value)));
+                }
+                int total = 0;
+                for (final Future<Integer> fork : forks) {
+                    total += fork.get();
+                }
+                return total;
+            }
+        );
+        MatcherAssert.assertThat(this.rows(), Matchers.is(4));
+    }
+
+    @Test
+    void sharesConnectionWithSubtasks() throws SQLException {
+        MatcherAssert.assertThat(
+            new TransactionScope(this.origin).call(
+                scope -> {
+                    TransactionScopeTest.insert(scope, 1);
+                    return scope.fork(
+                        sub -> {
+                            try (
+                                Connection conn = sub.getConnection();
+                                ResultSet rset = conn.createStatement()
+                                    .executeQuery("SELECT COUNT(*) FROM t1")
+                            ) {
+                                rset.next();
+                                return rset.getInt(1);
+                            }
+                        }
+                    ).get();
+                }
+            ),
+            Matchers.is(1)
+        );
+    }
+
+    @Test
+    void rollsBackWhenSubtaskFails() throws SQLException {
+        Assertions.assertThrows(
+            SQLException.class,
+            () -> new TransactionScope(this.origin).call(
+                scope -> {
+                    TransactionScopeTest.insert(scope, 1);
+                    scope.fork(
+                        sub -> {
+                            throw new IllegalStateException("failed");
+                        }
+                    );
+                    return 0;
+                }
+            )
+        );
+        MatcherAssert.assertThat(this.rows(), Matchers.is(0));
+    }
+
+    @Test
+    void letsAnotherThreadCloseConnection() throws SQLException {
+        new TransactionScope(this.origin).call(
+            scope -> {
+                final Connection conn = scope.getConnection();
+                conn.createStatement().execute("INSERT INTO t1 VALUES (1)");
+                scope.fork(
+                    sub -> {
+                        conn.close();
+                        return 0;
+                    }
+                ).get();
+                return TransactionScopeTest.insert(scope, 2);
+            }
+        );
+        MatcherAssert.assertThat(this.rows(), Matchers.is(2));
+    }
+
+    @Test
+    void rollsBackWhenSubtaskKeepsConnection() throws SQLException {
+        final TransactionScope tx = new TransactionScope(
+            this.origin, task -> new Thread(task).start(), Duration.ofMillis(200L)
+        );
+        Assertions.assertThrows(
+            SQLException.class,
+            () -> tx.call(
+                scope -> {
+                    scope.fork(
+                        sub -> {
+                            final Connection conn = sub.getConnection();
+                            conn.createStatement().execute("INSERT INTO t1 VALUES (1)");
+                            return 0;
+                        }
+                    );
+                    return 0;
+                }
+            )
+        );
+        MatcherAssert.assertThat(this.rows(), Matchers.is(0));
+    }
+
+    @Test
+    void refusesCallsOnClosedConnection() throws SQLException {
+        new TransactionScope(this.origin).call(
+            scope -> {
+                final Connection conn = scope.getConnection();
+                conn.close();
+                MatcherAssert.assertThat(conn.isClosed(), Matchers.is(true));
+                MatcherAssert.assertThat(
+                    Assertions.assertThrows(
+                        SQLException.class, conn::createStatement
+                    ).getSQLState(),
+                    Matchers.is("08003")
+                );
+                Assertions.assertThrows(SQLException.class, conn::commit);
+                return TransactionScopeTest.insert(scope, 1);
+            }
+        );
+        MatcherAssert.assertThat(this.rows(), Matchers.is(1));
+    }
+
+    @Test
+    void failsWhenSubtaskOutlivesTimeout() throws SQLException {
+        final TransactionScope tx = new TransactionScope(
+            this.origin, task -> new Thread(task).start(), Duration.ofMillis(200L)
+        );
+        Assertions.assertThrows(
+            SQLException.class,
+            () -> tx.call(
+                scope -> {
+                    TransactionScopeTest.insert(scope, 1);
+                    scope.fork(
+                        sub -> {
+                            Thread.sleep(5_000L);
+                            return 0;
+                        }
+                    );
+                    return 0;
+                }
+            )
+        );
+        MatcherAssert.assertThat(this.rows(), Matchers.is(0));
+    }
+
+    /**
+     * Inserts a row through a scope.
+     * @param scope Scope
+     * @param value Value
+     * @return Number of rows inserted
+     * @throws SQLException If fails
+     */
+    private static int insert(final Scope scope, final int value) throws SQLException {
+        try (Connection conn = scope.getConnection()) {
+            final int count = conn.createStatement().executeUpdate(
+                String.format("INSERT INTO t1 VALUES (%d)", value)
+            );
+            conn.commit();
+            return count;
+        }
+    }
+
+    /**
+     * Counts committed rows of the test table.
+     * @return Number of rows
+     * @throws SQLException If fails
+     */
+    private int rows() throws SQLException {
+        try (
+            Connection conn = this.origin.getConnection();
+            ResultSet rset = conn.createStatement().executeQuery("SELECT COUNT(*) FROM t1")
+        ) {
+            rset.next();
+            return rset.getInt(1);
+        }
+    }
+}
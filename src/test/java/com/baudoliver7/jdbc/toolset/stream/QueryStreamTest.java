@@ -0,0 +1,91 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.stream;
+
+import com.baudoliver7.jdbc.toolset.lockable.LocalLockedDataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link QueryStream}.
+ *
+ * @since 0.5
+ */
+final class QueryStreamTest {
+
+    /**
+     * H2 data source.
+     */
+    private JdbcDataSource origin;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        this.origin = new JdbcDataSource();
+        this.origin.setURL("jdbc:h2:mem:stream;DB_CLOSE_DELAY=-1");
+        try (Connection conn = this.origin.getConnection()) {
+            conn.createStatement().execute(
+                "CREATE TABLE IF NOT EXISTS t1 AS SELECT X AS id FROM SYSTEM_RANGE(1, 100)"
+            );
+        }
+    }
+
+    @Test
+    void streamsRowsLazily() throws SQLException {
+        try (Stream<Integer> ids = new QueryStream<>(
+            this.origin, "SELECT id FROM t1 WHERE id > ? ORDER BY id", 10,
+            rset -> rset.getInt(1)
+        ).stream(90)) {
+            MatcherAssert.assertThat(
+                ids.limit(3).collect(Collectors.toList()),
+                Matchers.contains(91, 92, 93)
+            );
+        }
+    }
+
+    @Test
+    void keepsConnectionOfUnitOfWorkOpen() throws SQLException {
+        final LocalLockedDataSource src = new LocalLockedDataSource(this.origin);
+        try {
+            try (RowCursor<Integer> ids = new QueryStream<>(
+                src, "SELECT COUNT(*) FROM t1", rset -> rset.getInt(1)
+            ).iterator()) {
+                MatcherAssert.assertThat(ids.next(), Matchers.is(100));
+                MatcherAssert.assertThat(ids.hasNext(), Matchers.is(false));
+            }
+            try (Connection conn = src.getConnection()) {
+                MatcherAssert.assertThat(conn.isClosed(), Matchers.is(false));
+                MatcherAssert.assertThat(conn.getAutoCommit(), Matchers.is(false));
+            }
+        } finally {
+            src.release();
+        }
+    }
+}
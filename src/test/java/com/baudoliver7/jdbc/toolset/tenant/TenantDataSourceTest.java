@@ -0,0 +1,169 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.tenant;
+
+import com.baudoliver7.jdbc.toolset.pool.PooledDataSource;
+import com.baudoliver7.jdbc.toolset.wrapper.ConnectionWrap;
+import com.baudoliver7.jdbc.toolset.wrapper.DataSourceWrap;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link TenantDataSource}.
+ *
+ * @since 0.5
+ */
+final class TenantDataSourceTest {
+
+    /**
+     * Number of schemas set on physical connections.
+     */
+    private AtomicInteger switches;
+
+    /**
+     * Shared data source counting schemas set.
+     */
+    private DataSourceWrap shared;
+
+    /**
+     * Key of tenant.
+     */
+    private ThreadTenant key;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        final JdbcDataSource src = new JdbcDataSource();
+        src.setURL("jdbc:h2:mem:tenants;DB_CLOSE_DELAY=-1");
+        try (Connection conn = src.getConnection()) {
+            conn.createStatement().execute("CREATE SCHEMA IF NOT EXISTS ACME");
+            conn.createStatement().execute("CREATE SCHEMA IF NOT EXISTS GLOBEX");
+        }
+        this.switches = new AtomicInteger();
+        this.shared = new DataSourceWrap(src) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return new ConnectionWrap(super.getConnection()) {
+                    @Override
+                    public void setSchema(final String schema) throws SQLException {
+                        TenantDataSourceTest.this.switches.incrementAndGet();
+                        super.setSchema(schema);
+                    }
+                };
+            }
+        };
+        this.key = new ThreadTenant();
+    }
+
+    @Test
+    void setsSchemaOfTenantAtEveryBorrow() throws SQLException {
+        try (PooledDataSource pool = new PooledDataSource(this.shared, 1)) {
+            final TenantDataSource src = new TenantDataSource(pool, this.key, 2);
+            try {
+                for (final String tenant : new String[] {"ACME", "ACME", "GLOBEX"}) {
+                    this.key.bind(tenant);
+                    try (Connection conn = src.getConnection()) {
+                        MatcherAssert.assertThat(conn.getSchema(), Matchers.is(tenant));
+                    }
+                }
+            } finally {
+                this.key.unbind();
+            }
+        }
+    }
+
+    @Test
+    void leavesNoTenantSchemaToOtherBorrowers() throws SQLException {
+        try (PooledDataSource pool = new PooledDataSource(this.shared, 1)) {
+            final String initial;
+            try (Connection conn = pool.getConnection()) {
+                initial = conn.getSchema();
+            }
+            final TenantDataSource src = new TenantDataSource(pool, this.key, 2);
+            try {
+                this.key.bind("ACME");
+                try (Connection conn = src.getConnection()) {
+                    conn.setAutoCommit(false);
+                    conn.commit();
+                }
+            } finally {
+                this.key.unbind();
+            }
+            try (Connection conn = pool.getConnection()) {
+                MatcherAssert.assertThat(conn.getSchema(), Matchers.is(initial));
+            }
+        }
+    }
+
+    @Test
+    void capsConnectionsPerTenant() throws SQLException {
+        final TenantDataSource src = new TenantDataSource(
+            this.shared, Collections.emptyMap(), this.key, 1, Duration.ofMillis(50L)
+        );
+        try {
+            this.key.bind("ACME");
+            try (Connection conn = src.getConnection()) {
+                MatcherAssert.assertThat(conn.getSchema(), Matchers.is("ACME"));
+                Assertions.assertThrows(
+                    SQLTransientConnectionException.class, src::getConnection
+                );
+                this.key.bind("GLOBEX");
+                src.getConnection().close();
+                this.key.bind("ACME");
+            }
+            src.getConnection().close();
+        } finally {
+            this.key.unbind();
+        }
+    }
+
+    @Test
+    void routesToDedicatedDataSource() throws SQLException {
+        final JdbcDataSource own = new JdbcDataSource();
+        own.setURL("jdbc:h2:mem:bigcorp;DB_CLOSE_DELAY=-1");
+        final TenantDataSource src = new TenantDataSource(
+            this.shared, Collections.singletonMap("BIGCORP", own), this.key, 2
+        );
+        try {
+            this.key.bind("BIGCORP");
+            try (Connection conn = src.getConnection()) {
+                MatcherAssert.assertThat(
+                    conn.getMetaData().getURL(), Matchers.containsString("bigcorp")
+                );
+            }
+        } finally {
+            this.key.unbind();
+        }
+        MatcherAssert.assertThat(this.switches.get(), Matchers.is(0));
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.timeout;
+
+import com.baudoliver7.jdbc.toolset.wrapper.ConnectionWrap;
+import com.baudoliver7.jdbc.toolset.wrapper.DataSourceWrap;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link TimeoutDataSource}.
+ *
+ * @since 0.5
+ */
+final class TimeoutDataSourceTest {
+
+    /**
+     * Long query.
+     */
+    private static final String LONG = String.join(
+        " ",
+        "WITH RECURSIVE r(n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM r WHERE n < 100000000)",
+        "SELECT COUNT(*) FROM r"
+    );
+
+    /**
+     * H2 data source.
+     */
+    private JdbcDataSource origin;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        this.origin = new JdbcDataSource();
+        this.origin.setURL("jdbc:h2:mem:timeout;DB_CLOSE_DELAY=-1");
+        try (Connection conn = this.origin.getConnection()) {
+            conn.createStatement().execute(
+                "CREATE TABLE IF NOT EXISTS t1 AS SELECT X AS id FROM SYSTEM_RANGE(1, 10)"
+            );
+        }
+    }
+
+    @Test
+    void cancelsQueriesPastDefaultTimeout() throws SQLException {
+        try (
+            Connection conn = new TimeoutDataSource(
+                this.origin, Duration.ofMillis(200L)
+            ).getConnection();
+            Statement stmt = conn.createStatement()
+        ) {
+            final long start = System.nanoTime();
+            Assertions.assertThrows(
+                SQLException.class, () -> stmt.executeQuery(TimeoutDataSourceTest.LONG)
+            );
+            MatcherAssert.assertThat(
+                Duration.ofNanos(System.nanoTime() - start),
+                Matchers.lessThan(Duration.ofSeconds(5L))
+            );
+            try (ResultSet rset = stmt.executeQuery("SELECT COUNT(*) FROM t1")) {
+                rset.next();
+                MatcherAssert.assertThat(
+                    "Connection should remain usable once statement is cancelled",
+                    rset.getInt(1),
+                    Matchers.is(10)
+                );
+            }
+        }
+    }
+
+    @Test
+    void letsStatementOverrideTimeout() throws SQLException {
+        try (
+            Connection conn = new TimeoutDataSource(
+                this.origin, Duration.ofMillis(1500L), Duration.ofSeconds(10L)
+            ).getConnection();
+            PreparedStatement stmt = conn.prepareStatement(TimeoutDataSourceTest.LONG)
+        ) {
+            MatcherAssert.assertThat(stmt.getQueryTimeout(), Matchers.is(2));
+            stmt.setQueryTimeout(1);
+            MatcherAssert.assertThat(stmt.getQueryTimeout(), Matchers.is(1));
+            Assertions.assertThrows(SQLException.class, stmt::executeQuery);
+            MatcherAssert.assertThat(
+                "Query timeout should not be given to driver",
+                stmt.unwrap(PreparedStatement.class).getQueryTimeout(),
+                Matchers.is(0)
+            );
+        }
+    }
+
+    @Test
+    void restoresNetworkTimeoutOnClose() throws SQLException {
+        final AtomicInteger network = new AtomicInteger(7);
+        final DataSource src = new DataSourceWrap(this.origin) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return new ConnectionWrap(super.getConnection()) {
+                    @Override
+                    public int getNetworkTimeout() {
+                        return network.get();
+                    }
+
+                    @Override
+                    public void setNetworkTimeout(
+                        final Executor executor, final int milliseconds
+                    ) {
+                        network.set(milliseconds);
+                    }
+                };
+            }
+        };
+        try (
+            Connection conn = new TimeoutDataSource(
+                src, Duration.ofSeconds(1L), Duration.ofSeconds(10L)
+            ).getConnection()
+        ) {
+            MatcherAssert.assertThat(network.get(), Matchers.is(10_000));
+            conn.setNetworkTimeout(Runnable::run, 500);
+        }
+        MatcherAssert.assertThat(
+            "Network timeout should not carry over to next borrower",
+            network.get(),
+            Matchers.is(7)
+        );
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.validation;
+
+import com.baudoliver7.jdbc.toolset.pool.PooledDataSource;
+import com.baudoliver7.jdbc.toolset.wrapper.ConnectionWrap;
+import com.baudoliver7.jdbc.toolset.wrapper.DataSourceWrap;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link ValidatedDataSource}.
+ *
+ * @since 0.5
+ */
+final class ValidatedDataSourceTest {
+
+    /**
+     * Number of physical connections opened.
+     */
+    private AtomicInteger opened;
+
+    /**
+     * Number of validations.
+     */
+    private AtomicInteger validations;
+
+    /**
+     * Data source counting connections and validations.
+     */
+    private DataSourceWrap origin;
+
+    @BeforeEach
+    void setUp() {
+        final JdbcDataSource src = new JdbcDataSource();
+        src.setURL("jdbc:h2:mem:validated;DB_CLOSE_DELAY=-1");
+        this.opened = new AtomicInteger();
+        this.validations = new AtomicInteger();
+        this.origin = new DataSourceWrap(src) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                ValidatedDataSourceTest.this.opened.incrementAndGet();
+                return new ConnectionWrap(super.getConnection()) {
+                    @Override
+                    public boolean isValid(final int timeout) throws SQLException {
+                        ValidatedDataSourceTest.this.validations.incrementAndGet();
+                        return super.isValid(timeout);
+                    }
+
+                    @Override
+                    public PreparedStatement prepareStatement(final String sql)
+                        throws SQLException {
+                        if ("LOST".equals(sql)) {
+                            throw new SQLException("Connection lost", "08006");
+                        }
+                        return super.prepareStatement(sql);
+                    }
+                };
+            }
+        };
+    }
+
+    @Test
+    void skipsValidationOfFreshConnection() throws SQLException {
+        try (PooledDataSource pool = new PooledDataSource(this.origin, 1)) {
+            final ValidatedDataSource src = new ValidatedDataSource(
+                pool, Duration.ofMinutes(1L)
+            );
+            for (int idx = 0; idx < 3; ++idx) {
+                try (Connection conn = src.getConnection()) {
+                    conn.prepareStatement("SELECT 1").executeQuery().close();
+                }
+            }
+            MatcherAssert.assertThat(this.validations.get(), Matchers.is(1));
+            MatcherAssert.assertThat(this.opened.get(), Matchers.is(1));
+        }
+    }
+
+    @Test
+    void validatesAgainConnectionOnlyBorrowed() throws Exception {
+        try (PooledDataSource pool = new PooledDataSource(this.origin, 1)) {
+            final ValidatedDataSource src = new ValidatedDataSource(
+                pool, Duration.ofMillis(200L)
+            );
+            for (int idx = 0; idx < 3; ++idx) {
+                src.getConnection().close();
+                Thread.sleep(120L);
+            }
+            MatcherAssert.assertThat(
+                "Borrowing without use should not make connection fresher",
+                this.validations.get(),
+                Matchers.is(2)
+            );
+        }
+    }
+
+    @Test
+    void replacesLostConnection() throws SQLException {
+        try (PooledDataSource pool = new PooledDataSource(this.origin, 1)) {
+            final ValidatedDataSource src = new ValidatedDataSource(pool);
+            try (Connection conn = src.getConnection()) {
+                Assertions.assertThrows(
+                    SQLException.class, () -> conn.prepareStatement("LOST")
+                );
+            }
+            try (Connection conn = src.getConnection()) {
+                MatcherAssert.assertThat(conn.isValid(1), Matchers.is(true));
+            }
+            MatcherAssert.assertThat(this.opened.get(), Matchers.is(2));
+        }
+    }
+}
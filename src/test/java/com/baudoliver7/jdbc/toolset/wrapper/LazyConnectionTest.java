@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.wrapper;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link LazyConnection}.
+ *
+ * @since 0.5
+ */
+final class LazyConnectionTest {
+
+    /**
+     * Number of physical connections acquired.
+     */
+    private AtomicInteger acquired;
+
+    /**
+     * Data source counting physical connections acquired.
+     */
+    private DataSourceWrap origin;
+
+    @BeforeEach
+    void setUp() {
+        final JdbcDataSource src = new JdbcDataSource();
+        src.setURL("jdbc:h2:mem:lazy;DB_CLOSE_DELAY=-1");
+        this.acquired = new AtomicInteger();
+        this.origin = new DataSourceWrap(src) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                LazyConnectionTest.this.acquired.incrementAndGet();
+                return super.getConnection();
+            }
+        };
+    }
+
+    @Test
+    void doesNotAcquireUntilUsed() throws SQLException {
+        try (Connection conn = new LazyDataSource(this.origin).getConnection()) {
+            conn.setAutoCommit(false);
+            conn.setReadOnly(true);
+            conn.commit();
+            MatcherAssert.assertThat(this.acquired.get(), Matchers.is(0));
+        }
+        MatcherAssert.assertThat(this.acquired.get(), Matchers.is(0));
+    }
+
+    @Test
+    void replaysSettingsOnAcquisition() throws SQLException {
+        try (Connection conn = new LazyDataSource(this.origin).getConnection()) {
+            conn.setAutoCommit(false);
+            conn.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+            conn.createStatement().execute("SELECT 1");
+            MatcherAssert.assertThat(this.acquired.get(), Matchers.is(1));
+            MatcherAssert.assertThat(
+                conn.getAutoCommit(),
+                Matchers.is(false)
+            );
+            MatcherAssert.assertThat(
+                conn.getTransactionIsolation(),
+                Matchers.is(Connection.TRANSACTION_SERIALIZABLE)
+            );
+        }
+    }
+}
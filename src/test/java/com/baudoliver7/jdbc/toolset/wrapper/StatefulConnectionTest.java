@@ -0,0 +1,119 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Olivier B. OURA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.baudoliver7.jdbc.toolset.wrapper;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.h2.jdbc.JdbcConnection;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link StatefulConnection}.
+ *
+ * @since 0.5
+ */
+final class StatefulConnectionTest {
+
+    /**
+     * Number of calls forwarded to the driver.
+     */
+    private AtomicInteger calls;
+
+    /**
+     * Connection counting calls forwarded.
+     */
+    private Connection origin;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        final JdbcDataSource src = new JdbcDataSource();
+        src.setURL("jdbc:h2:mem:stateful;DB_CLOSE_DELAY=-1");
+        this.calls = new AtomicInteger();
+        this.origin = new ConnectionWrap(src.getConnection()) {
+            @Override
+            public void setAutoCommit(final boolean auto) throws SQLException {
+                StatefulConnectionTest.this.calls.incrementAndGet();
+                super.setAutoCommit(auto);
+            }
+
+            @Override
+            public void setSchema(final String schema) throws SQLException {
+                StatefulConnectionTest.this.calls.incrementAndGet();
+                super.setSchema(schema);
+            }
+        };
+    }
+
+    @Test
+    void forwardsOnlyRealChanges() throws SQLException {
+        try (Connection conn = new StatefulConnection(this.origin)) {
+            for (int idx = 0; idx < 3; ++idx) {
+                conn.setAutoCommit(false);
+                conn.setAutoCommit(true);
+                conn.setSchema("PUBLIC");
+            }
+            MatcherAssert.assertThat(conn.getSchema(), Matchers.is("PUBLIC"));
+            MatcherAssert.assertThat(this.calls.get(), Matchers.is(7));
+        }
+    }
+
+    @Test
+    void forgetsStateOnErrorAndEscape() throws SQLException {
+        try (Connection conn = new StatefulConnection(this.origin)) {
+            conn.setSchema("PUBLIC");
+            Assertions.assertThrows(SQLException.class, () -> conn.setSchema("UNKNOWN"));
+            conn.setSchema("PUBLIC");
+            conn.unwrap(JdbcConnection.class).setSchema("INFORMATION_SCHEMA");
+            conn.setSchema("PUBLIC");
+            MatcherAssert.assertThat(conn.getSchema(), Matchers.is("PUBLIC"));
+            MatcherAssert.assertThat(this.calls.get(), Matchers.is(4));
+        }
+    }
+
+    @Test
+    void forgetsSchemaOnRollbackAndFailureAndAfterEscape() throws SQLException {
+        try (Connection conn = new StatefulConnection(this.origin)) {
+            conn.setSchema("PUBLIC");
+            conn.setAutoCommit(false);
+            conn.rollback();
+            conn.setSchema("PUBLIC");
+            Assertions.assertThrows(
+                SQLException.class,
+                () -> conn.createStatement().execute("SELECT * FROM unknown")
+            );
+            conn.setSchema("PUBLIC");
+            conn.setAutoCommit(false);
+            conn.unwrap(JdbcConnection.class);
+            conn.setSchema("PUBLIC");
+            conn.setSchema("PUBLIC");
+            MatcherAssert.assertThat(this.calls.get(), Matchers.is(7));
+        }
+    }
+}